@@ -26,6 +26,7 @@ import com.viaversion.viaversion.api.command.ViaVersionCommand;
 import com.viaversion.viaversion.api.configuration.ConfigurationProvider;
 import com.viaversion.viaversion.api.connection.ConnectionManager;
 import com.viaversion.viaversion.api.debug.DebugHandler;
+import com.viaversion.viaversion.api.debug.PacketProfiler;
 import com.viaversion.viaversion.api.platform.ViaInjector;
 import com.viaversion.viaversion.api.platform.ViaPlatform;
 import com.viaversion.viaversion.api.platform.ViaPlatformLoader;
@@ -125,6 +126,13 @@ public interface ViaManager {
      */
     DebugHandler debugHandler();
 
+    /**
+     * Returns the packet profiler.
+     *
+     * @return packet profiler
+     */
+    PacketProfiler packetProfiler();
+
     /**
      * Returns a mutable set of self-added subplatform version strings.
      * This set is expanded by the subplatform itself (e.g. ViaBackwards), and may not contain all running ones.
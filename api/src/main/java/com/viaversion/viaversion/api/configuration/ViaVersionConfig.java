@@ -27,6 +27,8 @@ import com.viaversion.viaversion.api.connection.StorableObject;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.minecraft.WorldIdentifiers;
 import com.viaversion.viaversion.api.protocol.version.BlockedProtocolVersions;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 public interface ViaVersionConfig extends Config {
@@ -353,6 +355,13 @@ public interface ViaVersionConfig extends Config {
      */
     boolean isReduceBlockStorageMemory();
 
+    /**
+     * Returns the maximum number of connected chunk sections shared between players with packet-level block connections, or 0 if disabled.
+     *
+     * @return maximum number of cached connected sections, or 0 if disabled
+     */
+    int blockConnectionCacheSize();
+
     /**
      * When activated with serverside-blockconnections, flower parts with blocks above will be sent as stems.
      * Useful for lobbyservers where users can't build and those stems are used decoratively.
@@ -555,4 +564,54 @@ public interface ViaVersionConfig extends Config {
      * @return true if enabled
      */
     boolean sendServerDetails();
+
+    /**
+     * If enabled, expanded mapping tables are cached in the data folder to speed up subsequent startups.
+     *
+     * @return true if enabled
+     */
+    boolean cacheMappings();
+
+    /**
+     * If enabled, mapping data of protocols is only loaded once they are needed by a connection.
+     *
+     * @return true if enabled
+     */
+    boolean lazyMappingLoading();
+
+    /**
+     * Returns the client versions to load mapping data for right after startup if {@link #lazyMappingLoading()} is enabled.
+     *
+     * @return client versions to warm up mapping data for
+     */
+    List<ProtocolVersion> mappingWarmupVersions();
+
+    /**
+     * Returns the number of minutes after which mapping data of protocols without any connections is unloaded
+     * if {@link #lazyMappingLoading()} is enabled, or -1 if disabled.
+     *
+     * @return minutes after which unused mapping data is unloaded, or -1 if disabled
+     */
+    int unloadUnusedMappingsAfter();
+
+    /**
+     * If enabled, entities are tracked in a single store shared by the protocols of a connection.
+     *
+     * @return true if enabled
+     */
+    boolean sharedEntityTracker();
+
+    /**
+     * Returns the maximum size in kilobytes of rewritten text components cached per protocol, or 0 if disabled.
+     *
+     * @return maximum size of cached components per protocol in kilobytes, or 0 if disabled
+     */
+    int componentCacheSize();
+
+    /**
+     * Returns the maximum size in kilobytes of transformed packets shared between connections, or 0 if disabled.
+     *
+     * @return maximum size of cached transformed packets in kilobytes, or 0 if disabled
+     */
+    int transformedPacketCacheSize();
 }
@@ -27,6 +27,7 @@ import com.viaversion.viaversion.api.data.entity.EntityTracker;
 import com.viaversion.viaversion.api.data.item.ItemHasher;
 import com.viaversion.viaversion.api.minecraft.ClientWorld;
 import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketTracker;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.exception.InformativeException;
@@ -37,6 +38,7 @@ import io.netty.handler.codec.CodecException;
 import java.util.Collection;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -288,6 +290,46 @@ public interface UserConnection {
         }
     }
 
+    /**
+     * Transforms the packet in place if no protocol in the pipeline has to change more than its packet id.
+     * The buffer is left untouched if this returns false.
+     *
+     * @param buf       ByteBuf with packet id and packet contents
+     * @param direction packet direction
+     * @return true if the packet has been transformed in place, false if it has to be copied and fully transformed
+     */
+    default boolean transformInPlace(ByteBuf buf, Direction direction) {
+        return false;
+    }
+
+    /**
+     * Transforms the packet in place depending on whether the connection is clientside or not.
+     *
+     * @see #transformInPlace(ByteBuf, Direction)
+     */
+    default boolean transformOutgoingInPlace(ByteBuf buf) {
+        return transformInPlace(buf, isClientSide() ? Direction.SERVERBOUND : Direction.CLIENTBOUND);
+    }
+
+    /**
+     * Transforms the packet in place depending on whether the connection is clientside or not.
+     *
+     * @see #transformInPlace(ByteBuf, Direction)
+     */
+    default boolean transformIncomingInPlace(ByteBuf buf) {
+        return transformInPlace(buf, isClientSide() ? Direction.CLIENTBOUND : Direction.SERVERBOUND);
+    }
+
+    /**
+     * Holds back incoming packets until the given future has completed, transforming them in their original order afterwards.
+     * This allows waiting for data such as mappings without blocking the connection's thread.
+     *
+     * @param future future to wait for
+     */
+    default void delayIncomingPackets(CompletableFuture<?> future) {
+        future.join();
+    }
+
     /**
      * Returns the internal id incremented for each new connection.
      *
@@ -38,6 +38,15 @@ public interface MappingData {
      */
     void load();
 
+    /**
+     * Releases the loaded mapping data if supported, to be loaded again with {@link #load()} once needed.
+     *
+     * @return true if the mapping data has been unloaded
+     */
+    default boolean unload() {
+        return false;
+    }
+
     /**
      * Returns the mapped block state id, or 0 if unmapped.
      *
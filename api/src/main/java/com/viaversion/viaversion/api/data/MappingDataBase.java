@@ -128,6 +128,34 @@ public class MappingDataBase implements MappingData {
         loadExtras(data);
     }
 
+    @Override
+    public boolean unload() {
+        if (getClass() != MappingDataBase.class) {
+            // Extra data of subclasses is not necessarily safe to load multiple times
+            return false;
+        }
+
+        argumentTypeMappings = null;
+        entityMappings = null;
+        recipeSerializerMappings = null;
+        itemDataSerializerMappings = null;
+        slotDisplayMappings = null;
+        attributeMappings = null;
+        blockEntityMappings = null;
+        particleMappings = null;
+        itemMappings = null;
+        blockMappings = null;
+        blockStateMappings = null;
+        soundMappings = null;
+        statisticsMappings = null;
+        enchantmentMappings = null;
+        paintingMappings = null;
+        menuMappings = null;
+        tags = null;
+        changedBlocks = null;
+        return true;
+    }
+
     protected @Nullable List<String> identifiersFromGlobalIds(final CompoundTag mappingsTag, final String key) {
         return MappingDataLoader.INSTANCE.identifiersFromGlobalIds(mappingsTag, key);
     }
@@ -31,7 +31,6 @@ import com.google.gson.JsonSyntaxException;
 import com.viaversion.nbt.io.NBTIO;
 import com.viaversion.nbt.io.TagReader;
 import com.viaversion.nbt.tag.CompoundTag;
-import com.viaversion.nbt.tag.IntArrayTag;
 import com.viaversion.nbt.tag.IntTag;
 import com.viaversion.nbt.tag.ListTag;
 import com.viaversion.nbt.tag.StringTag;
@@ -59,15 +58,22 @@ public class MappingDataLoader {
     public static final MappingDataLoader INSTANCE = new MappingDataLoader(MappingDataLoader.class, "assets/viaversion/data/");
     public static final TagReader<CompoundTag> MAPPINGS_READER = NBTIO.reader(CompoundTag.class).named();
     private static final Map<String, String[]> GLOBAL_IDENTIFIER_INDEXES = new HashMap<>();
-    private static final byte DIRECT_ID = 0;
-    private static final byte SHIFTS_ID = 1;
-    private static final byte CHANGES_ID = 2;
-    private static final byte IDENTITY_ID = 3;
+    static final byte DIRECT_ID = 0;
+    static final byte SHIFTS_ID = 1;
+    static final byte CHANGES_ID = 2;
+    static final byte IDENTITY_ID = 3;
+    private static final MappingHolderSupplier<int[]> INT_ARRAY_HOLDER = size -> {
+        final int[] array = new int[size];
+        Arrays.fill(array, -1);
+        return array;
+    };
 
     private final Map<String, CompoundTag> mappingsCache = new HashMap<>();
     private final Class<?> dataLoaderClass;
     private final String dataPath;
     private boolean cacheValid = true;
+    private volatile boolean fileCacheInitialized;
+    private MappingFileCache fileCache;
 
     public MappingDataLoader(final Class<?> dataLoaderClass, final String dataPath) {
         this.dataLoaderClass = dataLoaderClass;
@@ -177,24 +183,46 @@ public class MappingDataLoader {
     }
 
     public @Nullable CompoundTag loadNBTFromFile(final String name) {
+        final MappingFileCache fileCache = name.startsWith("mappings-") || name.startsWith("identifiers-") ? fileCache() : null;
+        if (fileCache != null) {
+            final CompoundTag cachedData = fileCache.read(name);
+            if (cachedData != null) {
+                return cachedData;
+            }
+        }
+
         final InputStream resource = getResource(name);
         if (resource == null) {
             return null;
         }
 
+        final CompoundTag data;
         try (final InputStream stream = new BufferedInputStream(resource)) {
-            return MAPPINGS_READER.read(stream);
+            data = MAPPINGS_READER.read(stream);
         } catch (final IOException e) {
             throw new RuntimeException(e);
         }
+
+        if (fileCache != null) {
+            fileCache.write(name, data);
+        }
+        return data;
+    }
+
+    private @Nullable MappingFileCache fileCache() {
+        if (!fileCacheInitialized) {
+            synchronized (this) {
+                if (!fileCacheInitialized) {
+                    fileCache = Via.getConfig().cacheMappings() ? MappingFileCache.create(this, dataLoaderClass, dataPath) : null;
+                    fileCacheInitialized = true;
+                }
+            }
+        }
+        return fileCache;
     }
 
     public @Nullable Mappings loadMappings(final CompoundTag mappingsTag, final String key) {
-        return loadMappings(mappingsTag, key, size -> {
-            final int[] array = new int[size];
-            Arrays.fill(array, -1);
-            return array;
-        }, (array, id, mappedId) -> array[id] = mappedId, IntArrayMappings::of);
+        return loadMappings(mappingsTag, key, INT_ARRAY_HOLDER, (array, id, mappedId) -> array[id] = mappedId, IntArrayMappings::of);
     }
 
     @Beta
@@ -214,8 +242,18 @@ public class MappingDataLoader {
         final byte strategy = tag.getByteTag("id").asByte();
         final V mappings;
         if (strategy == DIRECT_ID) {
-            final IntArrayTag valuesTag = tag.getIntArrayTag("val");
-            return IntArrayMappings.of(valuesTag.getValue(), mappedSize);
+            final int[] values = tag.getIntArrayTag("val").getValue();
+            if (holderSupplier == INT_ARRAY_HOLDER) {
+                return IntArrayMappings.of(values, mappedSize);
+            }
+
+            // Custom holders get the same entries as from the expanded shift or change strategies
+            mappings = holderSupplier.get(values.length);
+            for (int id = 0; id < values.length; id++) {
+                if (values[id] != -1) {
+                    addConsumer.addTo(mappings, id, values[id]);
+                }
+            }
         } else if (strategy == SHIFTS_ID) {
             final int[] shiftsAt = tag.getIntArrayTag("at").getValue();
             final int[] shiftsTo = tag.getIntArrayTag("to").getValue();
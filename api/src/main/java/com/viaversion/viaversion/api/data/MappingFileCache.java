@@ -0,0 +1,298 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.data;
+
+import com.viaversion.nbt.limiter.TagLimiter;
+import com.viaversion.nbt.tag.ByteTag;
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.nbt.tag.IntArrayTag;
+import com.viaversion.nbt.tag.IntTag;
+import com.viaversion.nbt.tag.ListTag;
+import com.viaversion.nbt.tag.Tag;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.zip.CRC32C;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * On-disk cache of mapping files with their int tables already expanded.
+ * <p>
+ * A cache file consists of a header, the NBT structure of the file with all int arrays stripped,
+ * and the stripped int arrays in traversal order, which are read back in bulk.
+ * Cache files are invalidated by a hash of the jar the data was loaded from.
+ */
+final class MappingFileCache {
+
+    private static final int MAGIC = 0x5656_4D43;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES * 3 + Long.BYTES;
+    private static final int MAX_NESTING_LEVEL = 512;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private final MappingDataLoader loader;
+    private final Path directory;
+    private final long jarHash;
+
+    private MappingFileCache(final MappingDataLoader loader, final Path directory, final long jarHash) {
+        this.loader = loader;
+        this.directory = directory;
+        this.jarHash = jarHash;
+    }
+
+    /**
+     * Creates a file cache for the given loader if its data is loaded from a jar file.
+     *
+     * @param loader          mapping data loader
+     * @param dataLoaderClass class used to load the bundled resources
+     * @param dataPath        path of the bundled resources
+     * @return file cache, or null if the data source cannot be hashed
+     */
+    static @Nullable MappingFileCache create(final MappingDataLoader loader, final Class<?> dataLoaderClass, final String dataPath) {
+        final Path jar = jarPath(dataLoaderClass);
+        if (jar == null) {
+            return null;
+        }
+
+        final long hash;
+        try {
+            hash = hash(jar);
+        } catch (final IOException e) {
+            loader.getLogger().log(Level.WARNING, "Failed to hash " + jar + ", mapping cache disabled", e);
+            return null;
+        }
+
+        final String directoryName = dataPath.replaceAll("[^a-zA-Z0-9._-]+", "-").replaceAll("^-|-$", "");
+        final Path directory = loader.getDataFolder().toPath().resolve("cache").resolve(directoryName);
+        return new MappingFileCache(loader, directory, hash);
+    }
+
+    private static @Nullable Path jarPath(final Class<?> dataLoaderClass) {
+        final CodeSource codeSource = dataLoaderClass.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return null;
+        }
+
+        try {
+            final Path path = Path.of(codeSource.getLocation().toURI());
+            return Files.isRegularFile(path) ? path : null;
+        } catch (final URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long hash(final Path file) throws IOException {
+        final CRC32C crc = new CRC32C();
+        final ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+            return crc.getValue() << 32 ^ channel.size();
+        }
+    }
+
+    /**
+     * Returns the cached data of the given file, or null if not present or outdated.
+     *
+     * @param name name of the mapping file
+     * @return cached data, or null if not present or outdated
+     */
+    @Nullable CompoundTag read(final String name) {
+        final Path file = cacheFile(name);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        // Read through a stream rather than a memory mapped buffer, as the data is copied into arrays either way
+        // and a mapping would keep the file open until garbage collected, failing later attempts to replace it
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readLong() != jarHash) {
+                return null;
+            }
+
+            final byte[] structure = new byte[checkedLength(in.readInt())];
+            in.readFully(structure);
+            final CompoundTag tag = CompoundTag.read(new DataInputStream(new ByteArrayInputStream(structure)), TagLimiter.create(Integer.MAX_VALUE, MAX_NESTING_LEVEL), 0);
+
+            // Fill the stripped arrays back in
+            final List<IntArrayEntry> entries = new ArrayList<>();
+            collectIntArrays(tag, entries);
+            if (in.readInt() != entries.size()) {
+                return null;
+            }
+
+            final byte[] scratch = new byte[BUFFER_SIZE];
+            for (final IntArrayEntry entry : entries) {
+                final int[] values = new int[checkedLength(in.readInt())];
+                readInts(in, values, scratch);
+                entry.parent().put(entry.key(), new IntArrayTag(values));
+            }
+            return tag;
+        } catch (final IOException | RuntimeException e) {
+            loader.getLogger().log(Level.WARNING, "Failed to read cached mapping file " + name + ", loading it from the jar instead", e);
+            return null;
+        }
+    }
+
+    private static int checkedLength(final int length) throws IOException {
+        if (length < 0) {
+            throw new IOException("Invalid length " + length);
+        }
+        return length;
+    }
+
+    private static void readInts(final DataInputStream in, final int[] values, final byte[] scratch) throws IOException {
+        final IntBuffer ints = ByteBuffer.wrap(scratch).asIntBuffer();
+        int offset = 0;
+        while (offset < values.length) {
+            final int length = Math.min(values.length - offset, scratch.length / Integer.BYTES);
+            in.readFully(scratch, 0, length * Integer.BYTES);
+            ints.clear();
+            ints.get(values, offset, length);
+            offset += length;
+        }
+    }
+
+    /**
+     * Writes the given mapping file data to the cache, with shift and change encoded mappings expanded.
+     *
+     * @param name name of the mapping file
+     * @param tag  loaded data of the mapping file
+     */
+    void write(final String name, final CompoundTag tag) {
+        final CompoundTag data = tag.copy();
+        expandMappings(tag, data);
+
+        final List<IntArrayEntry> entries = new ArrayList<>();
+        collectIntArrays(data, entries);
+
+        // Strip the arrays from the structure, then write them separately
+        long arraysSize = Integer.BYTES;
+        for (final IntArrayEntry entry : entries) {
+            entry.parent().put(entry.key(), new IntArrayTag(new int[0]));
+            arraysSize += (long) Integer.BYTES * (entry.values().length + 1);
+        }
+
+        try {
+            final ByteArrayOutputStream structure = new ByteArrayOutputStream();
+            data.write(new DataOutputStream(structure));
+
+            final long size = HEADER_SIZE + structure.size() + arraysSize;
+            if (size > Integer.MAX_VALUE) {
+                return;
+            }
+
+            final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(jarHash);
+            buffer.putInt(structure.size()).put(structure.toByteArray());
+
+            final IntBuffer ints = buffer.asIntBuffer();
+            ints.put(entries.size());
+            for (final IntArrayEntry entry : entries) {
+                ints.put(entry.values().length).put(entry.values());
+            }
+
+            Files.createDirectories(directory);
+            final Path tempFile = Files.createTempFile(directory, name, ".tmp");
+            try (final FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                buffer.rewind();
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(tempFile, cacheFile(name), StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            loader.getLogger().log(Level.WARNING, "Failed to write cached mapping file " + name, e);
+        }
+    }
+
+    private void expandMappings(final CompoundTag original, final CompoundTag data) {
+        for (final Map.Entry<String, Tag> entry : original.entrySet()) {
+            if (!(entry.getValue() instanceof CompoundTag mappingTag) || !(mappingTag.get("id") instanceof ByteTag strategy)) {
+                continue;
+            }
+
+            final byte id = strategy.asByte();
+            if (id != MappingDataLoader.SHIFTS_ID && id != MappingDataLoader.CHANGES_ID) {
+                continue;
+            }
+
+            // Store the expanded int array directly, mapped ids of missing entries are -1 either way
+            final Mappings mappings = loader.loadMappings(original, entry.getKey());
+            if (!(mappings instanceof IntArrayMappings intArrayMappings)) {
+                continue;
+            }
+
+            final CompoundTag expanded = new CompoundTag();
+            expanded.put("id", new ByteTag(MappingDataLoader.DIRECT_ID));
+            expanded.put("val", new IntArrayTag(intArrayMappings.raw()));
+            if (mappingTag.get("mappedSize") instanceof IntTag mappedSize) {
+                expanded.put("mappedSize", mappedSize.copy());
+            }
+            data.put(entry.getKey(), expanded);
+        }
+    }
+
+    private static void collectIntArrays(final CompoundTag tag, final List<IntArrayEntry> entries) {
+        for (final Map.Entry<String, Tag> entry : tag.entrySet()) {
+            final Tag value = entry.getValue();
+            if (value instanceof IntArrayTag intArrayTag) {
+                entries.add(new IntArrayEntry(tag, entry.getKey(), intArrayTag.getValue()));
+            } else if (value instanceof CompoundTag compoundTag) {
+                collectIntArrays(compoundTag, entries);
+            } else if (value instanceof ListTag<?> listTag) {
+                for (final Tag element : listTag) {
+                    if (element instanceof CompoundTag compoundTag) {
+                        collectIntArrays(compoundTag, entries);
+                    }
+                }
+            }
+        }
+    }
+
+    private Path cacheFile(final String name) {
+        return directory.resolve(name + ".bin");
+    }
+
+    private record IntArrayEntry(CompoundTag parent, String key, int[] values) {
+    }
+}
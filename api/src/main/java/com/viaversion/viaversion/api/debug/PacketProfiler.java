@@ -0,0 +1,97 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.debug;
+
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Optional profiler recording the time spent and memory allocated by each protocol transforming packets read by the connection pipelines,
+ * as well as the size of the packets before and after going through the pipeline.
+ */
+public interface PacketProfiler {
+
+    /**
+     * Returns whether packets are currently being profiled.
+     *
+     * @return whether packets are currently being profiled
+     */
+    boolean enabled();
+
+    /**
+     * Sets whether packets should be profiled. Already recorded data is kept until {@link #reset()} is called.
+     *
+     * @param enabled whether packets should be profiled
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Clears all recorded data.
+     */
+    void reset();
+
+    /**
+     * Returns the time in milliseconds since the profiler was enabled or reset, or 0 if never enabled.
+     *
+     * @return the time in milliseconds data has been recorded for
+     */
+    long recordingTime();
+
+    /**
+     * Returns a snapshot of the recorded data, sorted by the total time spent in descending order.
+     *
+     * @return snapshot of the recorded data
+     */
+    List<Entry> entries();
+
+    /**
+     * Recorded data of a protocol transforming a packet type.
+     *
+     * @param protocolClass  protocol class
+     * @param direction      packet direction
+     * @param state          protocol state
+     * @param packetId       unmapped packet id as read by the protocol
+     * @param packetType     unmapped packet type if known
+     * @param count          number of times the packet has been transformed
+     * @param nanos          total time spent transforming the packet in nanoseconds
+     * @param allocatedBytes total memory allocated while transforming the packet, or 0 if not supported by the JVM
+     * @param bytesIn        total size of the packet before going through the pipeline
+     * @param bytesOut       total size of the packet after going through the pipeline, not counting cancelled or failed packets
+     */
+    record Entry(Class<? extends Protocol> protocolClass, Direction direction, State state, int packetId,
+                 @Nullable PacketType packetType, long count, long nanos, long allocatedBytes, long bytesIn, long bytesOut) {
+
+        /**
+         * Returns the average time spent transforming the packet in nanoseconds.
+         *
+         * @return average time spent transforming the packet in nanoseconds
+         */
+        public long averageNanos() {
+            return count != 0 ? nanos / count : 0;
+        }
+    }
+}
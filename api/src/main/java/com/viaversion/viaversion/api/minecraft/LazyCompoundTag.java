@@ -0,0 +1,109 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.minecraft;
+
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.viaversion.api.type.Type;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Compound tag kept in its network form until accessed.
+ *
+ * @see com.viaversion.viaversion.api.type.types.misc.LazyCompoundTagType
+ */
+public final class LazyCompoundTag {
+
+    private final @Nullable Type<CompoundTag> rawType;
+    private byte @Nullable [] raw;
+    private @Nullable CompoundTag tag;
+
+    private LazyCompoundTag(final @Nullable Type<CompoundTag> rawType, final byte @Nullable [] raw, final @Nullable CompoundTag tag) {
+        this.rawType = rawType;
+        this.raw = raw;
+        this.tag = tag;
+    }
+
+    /**
+     * Returns a lazy tag of the given raw bytes.
+     *
+     * @param rawType type the bytes have been written with
+     * @param raw     raw tag bytes
+     * @return lazy tag of the raw bytes
+     */
+    public static LazyCompoundTag raw(final Type<CompoundTag> rawType, final byte[] raw) {
+        return new LazyCompoundTag(rawType, raw, null);
+    }
+
+    /**
+     * Returns an already parsed lazy tag.
+     *
+     * @param tag tag, may be null
+     * @return lazy tag of the given tag
+     */
+    public static LazyCompoundTag of(final @Nullable CompoundTag tag) {
+        return new LazyCompoundTag(null, null, tag);
+    }
+
+    /**
+     * Returns the tag, parsing it on first access. Once parsed, the tag is written from the parsed and possibly modified value.
+     *
+     * @return the tag, or null if the tag was empty
+     */
+    public @Nullable CompoundTag get() {
+        if (raw != null) {
+            tag = rawType.read(Unpooled.wrappedBuffer(raw));
+            raw = null;
+        }
+        return tag;
+    }
+
+    /**
+     * Returns whether the tag has been parsed.
+     *
+     * @return true if the tag has been parsed
+     */
+    public boolean isParsed() {
+        return raw == null;
+    }
+
+    /**
+     * Writes the tag with the given type, copying the raw bytes as-is if they are still present and of the same type.
+     *
+     * @param buffer buffer to write to
+     * @param type   compound tag type to write with
+     */
+    public void write(final ByteBuf buffer, final Type<CompoundTag> type) {
+        if (raw != null && rawType == type) {
+            buffer.writeBytes(raw);
+        } else {
+            type.write(buffer, get());
+        }
+    }
+
+    @Override
+    public String toString() {
+        return raw != null ? "LazyCompoundTag{raw=" + raw.length + " bytes}" : "LazyCompoundTag{tag=" + tag + "}";
+    }
+}
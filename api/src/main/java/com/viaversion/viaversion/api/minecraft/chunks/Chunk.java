@@ -24,6 +24,7 @@ package com.viaversion.viaversion.api.minecraft.chunks;
 
 import com.viaversion.nbt.tag.CompoundTag;
 import com.viaversion.viaversion.api.minecraft.blockentity.BlockEntity;
+import com.viaversion.viaversion.api.type.types.chunk.SerializedChunkSections;
 import java.util.BitSet;
 import java.util.List;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -130,4 +131,13 @@ public interface Chunk {
      * @return list of block entities
      */
     List<BlockEntity> blockEntities();
+
+    /**
+     * Returns the sections if they have not been read yet, to be read once {@link #getSections()} is called.
+     *
+     * @return serialized sections if not read yet, else null
+     */
+    default @Nullable SerializedChunkSections serializedSections() {
+        return null;
+    }
 }
@@ -24,6 +24,7 @@ package com.viaversion.viaversion.api.minecraft.chunks;
 
 import com.viaversion.nbt.tag.CompoundTag;
 import com.viaversion.viaversion.api.minecraft.blockentity.BlockEntity;
+import com.viaversion.viaversion.api.type.types.chunk.SerializedChunkSections;
 import java.util.BitSet;
 import java.util.List;
 import org.checkerframework.checker.nullness.qual.Nullable;
@@ -34,6 +35,7 @@ public class Chunk1_21_5 implements Chunk {
     protected ChunkSection[] sections;
     protected Heightmap[] heightmaps;
     protected final List<BlockEntity> blockEntities;
+    private SerializedChunkSections serializedSections;
 
     public Chunk1_21_5(int x, int z, ChunkSection[] sections, Heightmap[] heightmaps, List<BlockEntity> blockEntities) {
         this.x = x;
@@ -43,6 +45,11 @@ public class Chunk1_21_5 implements Chunk {
         this.blockEntities = blockEntities;
     }
 
+    public Chunk1_21_5(int x, int z, SerializedChunkSections serializedSections, Heightmap[] heightmaps, List<BlockEntity> blockEntities) {
+        this(x, z, (ChunkSection[]) null, heightmaps, blockEntities);
+        this.serializedSections = serializedSections;
+    }
+
     @Override
     public boolean isBiomeData() {
         return false;
@@ -95,12 +102,18 @@ public class Chunk1_21_5 implements Chunk {
 
     @Override
     public ChunkSection[] getSections() {
+        if (serializedSections != null) {
+            // The read sections may be changed from here on
+            sections = serializedSections.read();
+            serializedSections = null;
+        }
         return sections;
     }
 
     @Override
     public void setSections(ChunkSection[] sections) {
         this.sections = sections;
+        this.serializedSections = null;
     }
 
     @Override
@@ -142,4 +155,9 @@ public class Chunk1_21_5 implements Chunk {
     public List<BlockEntity> blockEntities() {
         return blockEntities;
     }
+
+    @Override
+    public @Nullable SerializedChunkSections serializedSections() {
+        return serializedSections;
+    }
 }
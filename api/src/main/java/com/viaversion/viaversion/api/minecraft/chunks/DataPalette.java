@@ -108,6 +108,51 @@ public interface DataPalette {
      */
     void setPaletteIndexAt(int sectionCoordinate, int index);
 
+    /**
+     * Writes the palette indices of all section coordinates into the given array.
+     *
+     * @param indices array with the length of the section size to write the palette indices to
+     */
+    default void paletteIndices(final int[] indices) {
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = paletteIndexAt(i);
+        }
+    }
+
+    /**
+     * Sets the palette indices of all section coordinates from the given array.
+     *
+     * @param indices array with the length of the section size holding the palette indices
+     */
+    default void setPaletteIndices(final int[] indices) {
+        for (int i = 0; i < indices.length; i++) {
+            setPaletteIndexAt(i, indices[i]);
+        }
+    }
+
+    /**
+     * Writes the ids of all section coordinates into the given array.
+     *
+     * @param ids array with the length of the section size to write the ids to
+     */
+    default void ids(final int[] ids) {
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = idAt(i);
+        }
+    }
+
+    /**
+     * Sets the ids of all section coordinates from the given array, adding them to the palette if needed.
+     * The contents of the given array may be overwritten in the process.
+     *
+     * @param ids array with the length of the section size holding the ids
+     */
+    default void setIds(final int[] ids) {
+        for (int i = 0; i < ids.length; i++) {
+            setIdAt(i, ids[i]);
+        }
+    }
+
     /**
      * Adds a new id to the palette.
      *
@@ -26,6 +26,7 @@ import it.unimi.dsi.fastutil.ints.Int2IntMap;
 import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.Arrays;
 
 public final class DataPaletteImpl implements DataPalette {
 
@@ -83,6 +84,57 @@ public final class DataPaletteImpl implements DataPalette {
         values.set(sectionCoordinate, index);
     }
 
+    @Override
+    public void paletteIndices(final int[] indices) {
+        values.getAll(indices);
+    }
+
+    @Override
+    public void setPaletteIndices(final int[] indices) {
+        int combinedIndices = 0;
+        for (final int index : indices) {
+            combinedIndices |= index;
+        }
+
+        if (combinedIndices == 0) {
+            values = new EmptyChunkData(indices.length);
+        } else if (combinedIndices <= 0xFF) {
+            values = new ByteChunkData(indices);
+        } else {
+            values = new ShortChunkData(indices);
+        }
+    }
+
+    @Override
+    public void ids(final int[] ids) {
+        values.getAll(ids);
+        final int[] palette = this.palette.toIntArray();
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = palette[ids[i]];
+        }
+    }
+
+    @Override
+    public void setIds(final int[] ids) {
+        // Convert ids to palette indices in place, only looking up the index again when the id changes
+        int lastId = 0;
+        int lastIndex = -1;
+        for (int i = 0; i < ids.length; i++) {
+            final int id = ids[i];
+            if (id != lastId || lastIndex == -1) {
+                lastIndex = inversePalette.get(id);
+                if (lastIndex == -1) {
+                    lastIndex = palette.size();
+                    palette.add(id);
+                    inversePalette.put(id, lastIndex);
+                }
+                lastId = id;
+            }
+            ids[i] = lastIndex;
+        }
+        setPaletteIndices(ids);
+    }
+
     @Override
     public int size() {
         return palette.size();
@@ -139,6 +191,8 @@ public final class DataPaletteImpl implements DataPalette {
         int get(int idx);
 
         void set(int idx, int val);
+
+        void getAll(int[] out);
     }
 
     private class EmptyChunkData implements ChunkData {
@@ -154,6 +208,11 @@ public final class DataPaletteImpl implements DataPalette {
             return 0;
         }
 
+        @Override
+        public void getAll(int[] out) {
+            Arrays.fill(out, 0);
+        }
+
         @Override
         public void set(int idx, int val) {
             if (val != 0) {
@@ -170,11 +229,25 @@ public final class DataPaletteImpl implements DataPalette {
             this.data = new byte[size];
         }
 
+        public ByteChunkData(int[] values) {
+            this.data = new byte[values.length];
+            for (int i = 0; i < values.length; i++) {
+                this.data[i] = (byte) values[i];
+            }
+        }
+
         @Override
         public int get(int idx) {
             return data[idx] & 0xFF;
         }
 
+        @Override
+        public void getAll(int[] out) {
+            for (int i = 0; i < out.length; i++) {
+                out[i] = data[i] & 0xFF;
+            }
+        }
+
         @Override
         public void set(int idx, int val) {
             // Overflowed size of byte (over 256 different materials), go up to short
@@ -197,11 +270,25 @@ public final class DataPaletteImpl implements DataPalette {
             }
         }
 
+        public ShortChunkData(int[] values) {
+            this.data = new short[values.length];
+            for (int i = 0; i < values.length; i++) {
+                this.data[i] = (short) values[i];
+            }
+        }
+
         @Override
         public int get(int idx) {
             return data[idx];
         }
 
+        @Override
+        public void getAll(int[] out) {
+            for (int i = 0; i < out.length; i++) {
+                out[i] = data[i];
+            }
+        }
+
         @Override
         public void set(int idx, int val) {
             data[idx] = (short) val;
@@ -45,6 +45,7 @@ import com.viaversion.viaversion.exception.CancelException;
 import com.viaversion.viaversion.exception.InformativeException;
 import com.viaversion.viaversion.util.ProtocolLogger;
 import com.viaversion.viaversion.util.ProtocolUtil;
+import java.lang.management.ManagementFactory;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -72,6 +73,7 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
     protected final PacketMappings clientboundMappings;
     protected final PacketMappings serverboundMappings;
     private final Map<Class<?>, Object> storedObjects = new HashMap<>();
+    private final boolean customTransform = hasCustomTransform();
     private boolean initialized;
     private ProtocolLogger logger;
 
@@ -213,8 +215,26 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
 
     @Override
     public final void loadMappingData() {
+        final boolean debug = Via.getManager().isDebug();
+        final long start = debug ? System.nanoTime() : 0;
+        final long allocatedBefore = debug ? allocatedBytes() : -1;
+
         getMappingData().load();
         onMappingDataLoaded();
+
+        if (debug) {
+            final long millis = (System.nanoTime() - start) / 1_000_000;
+            final long allocated = allocatedBefore != -1 ? allocatedBytes() - allocatedBefore : -1;
+            Via.getPlatform().getLogger().info("Loaded mapping data of " + getClass().getSimpleName() + " in " + millis + "ms"
+                + (allocated != -1 ? " (" + (allocated >> 10) + " KiB allocated)" : ""));
+        }
+    }
+
+    private static long allocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean && threadBean.isThreadAllocatedMemoryEnabled()) {
+            return threadBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
     }
 
     /**
@@ -438,6 +458,24 @@ public abstract class AbstractProtocol<CU extends ClientboundPacketType, CM exte
         }
     }
 
+    @Override
+    public @Nullable PacketMappings getPacketMappings(final Direction direction, final State state) {
+        return direction == Direction.CLIENTBOUND ? clientboundMappings : serverboundMappings;
+    }
+
+    @Override
+    public boolean transformsOutsidePacketMappings(final UserConnection connection, final Direction direction) {
+        return customTransform;
+    }
+
+    private boolean hasCustomTransform() {
+        try {
+            return getClass().getMethod("transform", Direction.class, State.class, PacketWrapper.class).getDeclaringClass() != AbstractProtocol.class;
+        } catch (final NoSuchMethodException e) {
+            return true;
+        }
+    }
+
     @Override
     public ProtocolLogger getLogger() {
         return logger;
@@ -31,6 +31,7 @@ import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.protocol.packet.ServerboundPacketType;
 import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.packet.mapping.PacketMappings;
 import com.viaversion.viaversion.api.protocol.packet.provider.PacketTypesProvider;
 import com.viaversion.viaversion.api.protocol.remapper.PacketHandler;
 import com.viaversion.viaversion.api.rewriter.ComponentRewriter;
@@ -269,6 +270,37 @@ public interface Protocol<CU extends ClientboundPacketType, CM extends Clientbou
      */
     void transform(Direction direction, State state, PacketWrapper packetWrapper) throws InformativeException, CancelException;
 
+    /**
+     * Returns the packet mappings used to transform packets of the given direction and state.
+     * Pipelines use these to find packets that no protocol has to transform beyond changing their id.
+     *
+     * @param direction packet direction
+     * @param state     protocol state
+     * @return packet mappings, or null if packets of the given direction and state may also be transformed outside of them
+     */
+    default @Nullable PacketMappings getPacketMappings(Direction direction, State state) {
+        return null;
+    }
+
+    /**
+     * Returns whether this protocol currently transforms packets of the given connection and direction outside of its
+     * {@link #getPacketMappings(Direction, State) packet mappings}, for example by overriding {@link #transform(Direction, State, PacketWrapper)}.
+     * If so, pipelines pass every packet to this protocol instead of only those with a handler.
+     * <p>
+     * {@link AbstractProtocol} returns true if the transform method is overridden, protocols only transforming
+     * some packets outside of their mappings may override this to narrow it down.
+     * <p>
+     * Pipelines only check this when their protocols change, implementations with a changing result
+     * have to call {@link ProtocolPipeline#invalidateDispatchTables()} whenever it changes.
+     *
+     * @param connection user connection
+     * @param direction  packet direction
+     * @return whether packets are transformed outside of the packet mappings
+     */
+    default boolean transformsOutsidePacketMappings(UserConnection connection, Direction direction) {
+        return false;
+    }
+
     /**
      * Returns a packet type provider for this protocol to get packet types by id.
      * Depending on the Protocol, not every state may be populated.
@@ -244,6 +244,16 @@ public interface ProtocolManager {
      */
     void completeMappingDataLoading(Class<? extends Protocol> protocolClass);
 
+    /**
+     * Starts loading the mapping data of the protocol if not already loaded, without waiting for it to complete.
+     *
+     * @param protocolClass protocol class
+     * @return future completed once the mapping data has been loaded, or null if there is nothing left to load
+     */
+    default @Nullable CompletableFuture<Void> loadMappingDataAsync(Class<? extends Protocol> protocolClass) {
+        return getMappingLoaderFuture(protocolClass);
+    }
+
     /**
      * Shuts down the executor and uncaches mappings if all futures have been completed.
      *
@@ -304,8 +314,17 @@ public interface ProtocolManager {
 
     /**
      * Returns whether the mappings have been loaded and the mapping loader executor shutdown.
+     * This is never the case if mappings are {@link #isLazyMappingLoading() loaded lazily}.
      *
      * @return whether the mappings have been loaded
      */
     boolean hasLoadedMappings();
+
+    /**
+     * Returns whether mapping data is only loaded once a connection needs it instead of at startup,
+     * possibly being unloaded again after not being used for a while.
+     *
+     * @return whether mapping data is loaded lazily
+     */
+    boolean isLazyMappingLoading();
 }
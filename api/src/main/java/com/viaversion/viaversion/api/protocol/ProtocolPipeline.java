@@ -80,6 +80,26 @@ public interface ProtocolPipeline {
      */
     void transform(Direction direction, State state, PacketWrapper packetWrapper) throws InformativeException, CancelException;
 
+    /**
+     * Returns the packet id a packet ends up with after going through the pipeline if no protocol
+     * has to transform more than its id, allowing callers to skip copying and transforming the packet.
+     *
+     * @param direction packet direction
+     * @param state     protocol state
+     * @param packetId  unmapped packet id
+     * @return mapped packet id, or -1 if the packet has to be fully transformed
+     */
+    default int mappedIdWithoutHandlers(Direction direction, State state, int packetId) {
+        return -1;
+    }
+
+    /**
+     * Clears the packet dispatch cached by this pipeline. Has to be called whenever the result of
+     * {@link Protocol#transformsOutsidePacketMappings(UserConnection, Direction)} changes for the pipeline's connection.
+     */
+    default void invalidateDispatchTables() {
+    }
+
     List<Protocol> pipes(@Nullable Class<? extends Protocol> protocolClass, boolean skipCurrentPipeline, Direction direction);
 
     /**
@@ -47,6 +47,7 @@ public class PacketTracker {
     private final UserConnection connection;
     private long sentPacketsTotal;
     private long receivedPacketsTotal;
+    private long skippedCopiesTotal;
 
     public PacketTracker(UserConnection connection) {
         this.connection = connection;
@@ -59,6 +60,13 @@ public class PacketTracker {
         this.sentPacketsTotal++;
     }
 
+    /**
+     * Increments the number of packets passed on without being copied, as no protocol had to transform their contents.
+     */
+    public void incrementSkippedCopies() {
+        this.skippedCopiesTotal++;
+    }
+
     @Deprecated(forRemoval = true)
     public boolean incrementReceived() {
         return incrementReceived(0);
@@ -128,6 +136,10 @@ public class PacketTracker {
         this.receivedPacketsTotal = receivedPackets;
     }
 
+    public long getSkippedCopies() {
+        return skippedCopiesTotal;
+    }
+
     public long getIntervalPackets() {
         return this.packetTracker.count;
     }
@@ -247,6 +259,7 @@ public class PacketTracker {
     public void reset() {
         sentPacketsTotal = 0;
         receivedPacketsTotal = 0;
+        skippedCopiesTotal = 0;
         startTime = System.nanoTime();
         packetTracker.reset();
         packetSizeTracker.reset();
@@ -41,6 +41,11 @@ final class PacketIdMapping implements PacketMapping {
         wrapper.setId(mappedPacketId);
     }
 
+    @Override
+    public int mappedId(final int unmappedId) {
+        return mappedPacketId;
+    }
+
     @Override
     public void appendHandler(final PacketHandler handler) {
         if (this.handler == null) {
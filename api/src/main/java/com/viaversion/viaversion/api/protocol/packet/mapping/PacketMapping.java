@@ -39,6 +39,23 @@ public interface PacketMapping {
      */
     void applyType(PacketWrapper wrapper);
 
+    /**
+     * Returns the packet id the given unmapped packet id is changed to by {@link #applyType(PacketWrapper)}.
+     *
+     * @param unmappedId unmapped packet id
+     * @return mapped packet id
+     */
+    int mappedId(int unmappedId);
+
+    /**
+     * Returns the packet type set by {@link #applyType(PacketWrapper)}.
+     *
+     * @return mapped packet type, or null if the packet type is not set by this mapping
+     */
+    default @Nullable PacketType mappedPacketType() {
+        return null;
+    }
+
     /**
      * Returns a packet transformer to transform a packet from one protocol version to another.
      *
@@ -43,6 +43,16 @@ final class PacketTypeMapping implements PacketMapping {
         }
     }
 
+    @Override
+    public int mappedId(final int unmappedId) {
+        return mappedPacketType != null ? mappedPacketType.getId() : unmappedId;
+    }
+
+    @Override
+    public @Nullable PacketType mappedPacketType() {
+        return mappedPacketType;
+    }
+
     @Override
     public void appendHandler(final PacketHandler handler) {
         if (this.handler == null) {
@@ -47,4 +47,35 @@ public interface PacketHandler {
             handler.handle(wrapper);
         };
     }
+
+    /**
+     * Returns whether the output of this handler only depends on the packet contents, so that transformed packets may be shared between connections.
+     * Such handlers must neither read nor modify any connection state, nor send or cancel packets.
+     *
+     * @return whether the transformed packet may be cached
+     * @see #cacheable(PacketHandler)
+     */
+    default boolean isCacheable() {
+        return false;
+    }
+
+    /**
+     * Returns a packet handler delegating to the given handler and marked as {@link #isCacheable() cacheable}.
+     *
+     * @param handler packet handler only depending on the packet contents
+     * @return a cacheable packet handler
+     */
+    static PacketHandler cacheable(final PacketHandler handler) {
+        return new PacketHandler() {
+            @Override
+            public void handle(final PacketWrapper wrapper) throws InformativeException {
+                handler.handle(wrapper);
+            }
+
+            @Override
+            public boolean isCacheable() {
+                return true;
+            }
+        };
+    }
 }
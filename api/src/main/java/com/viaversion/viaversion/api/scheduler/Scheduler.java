@@ -22,6 +22,7 @@
  */
 package com.viaversion.viaversion.api.scheduler;
 
+import com.viaversion.viaversion.api.connection.UserConnection;
 import java.util.concurrent.TimeUnit;
 
 public interface Scheduler {
@@ -52,6 +53,18 @@ public interface Scheduler {
      */
     Task scheduleRepeating(Runnable runnable, long delay, long period, TimeUnit timeUnit);
 
+    /**
+     * Schedules the given task to be executed on the connection's event loop once the deadline has passed,
+     * batched together with other connection tasks on the same event loop.
+     * The task is dropped once the connection becomes inactive or its channel is closed.
+     *
+     * @param connection connection with a channel
+     * @param deadline   deadline in milliseconds as given by {@link System#currentTimeMillis()}
+     * @param repeating  whether the task should be retried after throwing an exception
+     * @param task       task to execute, returning its next deadline or -1
+     */
+    void scheduleConnectionTask(UserConnection connection, long deadline, boolean repeating, ConnectionTask task);
+
     /**
      * Shuts down the scheduler and awaits task termination.
      */
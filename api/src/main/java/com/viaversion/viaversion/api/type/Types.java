@@ -32,6 +32,7 @@ import com.viaversion.viaversion.api.minecraft.EulerAngle;
 import com.viaversion.viaversion.api.minecraft.GameProfile;
 import com.viaversion.viaversion.api.minecraft.GlobalBlockPosition;
 import com.viaversion.viaversion.api.minecraft.HolderSet;
+import com.viaversion.viaversion.api.minecraft.LazyCompoundTag;
 import com.viaversion.viaversion.api.minecraft.PlayerMessageSignature;
 import com.viaversion.viaversion.api.minecraft.ProfileKey;
 import com.viaversion.viaversion.api.minecraft.Quaternion;
@@ -113,11 +114,13 @@ import com.viaversion.viaversion.api.type.types.misc.GameProfileType;
 import com.viaversion.viaversion.api.type.types.misc.HolderSetType;
 import com.viaversion.viaversion.api.type.types.misc.HolderType;
 import com.viaversion.viaversion.api.type.types.misc.KeyType;
+import com.viaversion.viaversion.api.type.types.misc.LazyCompoundTagType;
 import com.viaversion.viaversion.api.type.types.misc.LengthPrefixedTagType;
 import com.viaversion.viaversion.api.type.types.misc.NamedCompoundTagType;
 import com.viaversion.viaversion.api.type.types.misc.PlayerMessageSignatureType;
 import com.viaversion.viaversion.api.type.types.misc.ProfileKeyType;
 import com.viaversion.viaversion.api.type.types.misc.ProfilePropertyType;
+import com.viaversion.viaversion.api.type.types.misc.RawTagType;
 import com.viaversion.viaversion.api.type.types.misc.ResolvableProfileType;
 import com.viaversion.viaversion.api.type.types.misc.SoundEventType;
 import com.viaversion.viaversion.api.type.types.misc.TagKeyType;
@@ -169,6 +172,8 @@ public final class Types {
     /* Other Types */
     public static final Type<JsonElement> COMPONENT = new ComponentType();
     public static final Type<JsonElement> OPTIONAL_COMPONENT = new ComponentType.OptionalComponentType();
+    public static final Type<String> RAW_COMPONENT = new ComponentType.RawComponentType();
+    public static final Type<String> OPTIONAL_RAW_COMPONENT = new ComponentType.OptionalRawComponentType();
 
     public static final Type<String> STRING = new StringType();
     public static final Type<String> OPTIONAL_STRING = new StringType.OptionalStringType();
@@ -208,6 +213,8 @@ public final class Types {
     public static final Type<CompoundTag[]> NAMED_COMPOUND_TAG_ARRAY = new ArrayType<>(Types.NAMED_COMPOUND_TAG);
     public static final Type<CompoundTag> COMPOUND_TAG = new CompoundTagType();
     public static final Type<CompoundTag> OPTIONAL_COMPOUND_TAG = CompoundTagType.OptionalCompoundTagType.type();
+    public static final Type<LazyCompoundTag> LAZY_NAMED_COMPOUND_TAG = new LazyCompoundTagType(NAMED_COMPOUND_TAG, true);
+    public static final Type<LazyCompoundTag> LAZY_COMPOUND_TAG = new LazyCompoundTagType(COMPOUND_TAG, false);
     public static final HolderType<CompoundTag> TRUSTED_COMPOUND_TAG_HOLDER = new CompoundTagHolderType();
 
     public static final Type<Tag> TAG = new TagType();
@@ -218,6 +225,7 @@ public final class Types {
 
     public static final Type<Tag> TRUSTED_TAG = new TagType(false);
     public static final Type<Tag> TRUSTED_OPTIONAL_TAG = TagType.OptionalTagType.trustedType();
+    public static final Type<byte[]> RAW_TAG = new RawTagType();
     public static final Type<CompoundTag> TRUSTED_COMPOUND_TAG = new CompoundTagType(false);
     public static final Type<CompoundTag> TRUSTED_OPTIONAL_COMPOUND_TAG = CompoundTagType.OptionalCompoundTagType.trustedType();
 
@@ -25,13 +25,20 @@ package com.viaversion.viaversion.api.type.types;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonParser;
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.type.OptionalType;
 import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.TypeConverter;
 import com.viaversion.viaversion.api.type.Types;
 import io.netty.buffer.ByteBuf;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
 
-public class ComponentType extends Type<JsonElement> {
+public class ComponentType extends Type<JsonElement> implements TypeConverter<JsonElement> {
     private static final StringType STRING_TAG = new StringType(262144);
 
     public ComponentType() {
@@ -40,26 +47,119 @@ public class ComponentType extends Type<JsonElement> {
 
     @Override
     public JsonElement read(ByteBuf buffer) {
-        String s = STRING_TAG.read(buffer);
+        return parse(STRING_TAG.read(buffer));
+    }
+
+    @Override
+    public void write(ByteBuf buffer, JsonElement object) {
+        STRING_TAG.write(buffer, object.toString());
+    }
+
+    @Override
+    public JsonElement from(final Object o) {
+        if (o instanceof final String s) {
+            return parse(s);
+        }
+        return (JsonElement) o;
+    }
+
+    private static JsonElement parse(final String s) {
         try {
             return JsonParser.parseString(s);
         } catch (JsonSyntaxException e) {
-            if (Via.getManager().isDebug()) {
-                Via.getPlatform().getLogger().severe("Error when trying to parse json: " + s);
+            throw invalidJson(s, e);
+        }
+    }
+
+    /**
+     * Checks whether the string is valid json as accepted by {@link JsonParser#parseString(String)}, without building the json tree.
+     *
+     * @param s json string
+     * @throws JsonSyntaxException if the string is not valid json
+     */
+    private static void validate(final String s) {
+        final JsonReader reader = new JsonReader(new StringReader(s));
+        reader.setStrictness(Strictness.LENIENT);
+        try {
+            reader.skipValue();
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
             }
-            throw e;
+        } catch (final EOFException e) {
+            // Empty documents are parsed as json null
+            if (!s.isBlank()) {
+                throw invalidJson(s, new JsonSyntaxException(e));
+            }
+        } catch (final IOException e) {
+            throw invalidJson(s, new JsonSyntaxException(e));
+        } catch (final JsonSyntaxException e) {
+            throw invalidJson(s, e);
         }
     }
 
-    @Override
-    public void write(ByteBuf buffer, JsonElement object) {
-        STRING_TAG.write(buffer, object.toString());
+    private static JsonSyntaxException invalidJson(final String s, final JsonSyntaxException e) {
+        if (Via.getManager().isDebug()) {
+            Via.getPlatform().getLogger().severe("Error when trying to parse json: " + s);
+        }
+        return e;
     }
 
-    public static final class OptionalComponentType extends OptionalType<JsonElement> {
+    public static final class OptionalComponentType extends OptionalType<JsonElement> implements TypeConverter<JsonElement> {
 
         public OptionalComponentType() {
             super(Types.COMPONENT);
         }
+
+        @Override
+        public JsonElement from(final Object o) {
+            return o instanceof final String s ? parse(s) : (JsonElement) o;
+        }
+    }
+
+    /**
+     * Json component kept in its serialized form, for packet handlers only passing the component through.
+     * <p>
+     * Packet wrappers convert between the raw and parsed form when the same value is read as {@link Types#COMPONENT} by another
+     * handler, so the component is only parsed once an actual consumer needs it, and written without being re-serialized otherwise.
+     * The json is still validated when read from the buffer, only without building the json tree.
+     */
+    public static final class RawComponentType extends Type<String> implements TypeConverter<String> {
+
+        public RawComponentType() {
+            super("Raw Component", String.class);
+        }
+
+        @Override
+        public String read(final ByteBuf buffer) {
+            // Still fail on malformed json when reading, like the parsed component does
+            final String value = STRING_TAG.read(buffer);
+            validate(value);
+            return value;
+        }
+
+        @Override
+        public void write(final ByteBuf buffer, final String value) {
+            STRING_TAG.write(buffer, value);
+        }
+
+        @Override
+        public String from(final Object o) {
+            if (o instanceof final JsonElement element) {
+                return element.toString();
+            }
+            return (String) o;
+        }
+    }
+
+    public static final class OptionalRawComponentType extends OptionalType<String> implements TypeConverter<String> {
+
+        public OptionalRawComponentType() {
+            super(Types.RAW_COMPONENT);
+        }
+
+        @Override
+        public String from(final Object o) {
+            return o instanceof final JsonElement element ? element.toString() : (String) o;
+        }
     }
 }
@@ -27,7 +27,10 @@ import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
 import com.viaversion.viaversion.api.minecraft.chunks.ChunkSectionImpl;
 import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
 import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.Types;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.function.IntUnaryOperator;
 
 public class ChunkSectionType1_18 extends Type<ChunkSection> {
 
@@ -71,4 +74,103 @@ public class ChunkSectionType1_18 extends Type<ChunkSection> {
         }
         return length;
     }
+
+    /**
+     * Reads the length prefixed sections of a chunk without reading them as chunk sections yet.
+     * The returned sections still reference the given buffer; see {@link SerializedChunkSections#detach()} for keeping them any longer.
+     *
+     * @param buffer       buffer to read from
+     * @param sectionCount number of sections
+     * @return serialized sections
+     */
+    public SerializedChunkSections readSerialized(final ByteBuf buffer, final int sectionCount) {
+        final ByteBuf sectionsBuf = buffer.readSlice(Types.VAR_INT.readPrimitive(buffer));
+        final ByteBuf validationBuf = sectionsBuf.duplicate();
+        boolean copyable = true;
+        for (int i = 0; i < sectionCount && copyable; i++) {
+            copyable = skipCopyable(validationBuf);
+        }
+
+        if (copyable && !validationBuf.isReadable()) {
+            // Only copied if kept as is beyond the buffer's lifetime, remapping already writes to a new buffer
+            return new SerializedChunkSections(this, sectionCount, sectionsBuf, false);
+        }
+
+        // Don't forward unexpected data, read and write the sections to end up with the same data as when fully reading the chunk
+        final ByteBuf data = Unpooled.buffer(sectionsBuf.readableBytes());
+        for (int i = 0; i < sectionCount; i++) {
+            write(data, read(sectionsBuf));
+        }
+        return new SerializedChunkSections(this, sectionCount, data, true);
+    }
+
+    private boolean skipCopyable(final ByteBuf buffer) {
+        buffer.skipBytes(headerLength());
+        return blockPaletteType.skipCopyable(buffer) && biomePaletteType.skipCopyable(buffer);
+    }
+
+    /**
+     * Writes the length prefixed sections of a chunk, copying them as they are if still serialized in the same format.
+     *
+     * @param buffer buffer to write to
+     * @param chunk  chunk
+     */
+    public void writeSections(final ByteBuf buffer, final Chunk chunk) {
+        final SerializedChunkSections serializedSections = chunk.serializedSections();
+        if (serializedSections != null && serializedSections.sectionType().hasSameFormat(this)) {
+            serializedSections.write(buffer);
+            return;
+        }
+
+        Types.VAR_INT.writePrimitive(buffer, serializedSize(chunk));
+        for (final ChunkSection section : chunk.getSections()) {
+            write(buffer, section);
+        }
+    }
+
+    /**
+     * Copies a serialized section from the input to the output buffer, mapping the ids of its block palette.
+     * The block palette is only fully read if it directly stores global ids.
+     *
+     * @param input  buffer to read the serialized section from
+     * @param output buffer to write the serialized section to
+     * @param mapper block state id mapper
+     */
+    public void remapBlockStates(final ByteBuf input, final ByteBuf output, final IntUnaryOperator mapper) {
+        output.writeBytes(input, headerLength());
+        blockPaletteType.remap(input, output, mapper);
+        biomePaletteType.remap(input, output, null);
+    }
+
+    /**
+     * Returns whether {@link #remapBlockStates(ByteBuf, ByteBuf, IntUnaryOperator)} can be used to map block states
+     * to ids requiring the given number of bits in the global palette.
+     *
+     * @param mappedGlobalPaletteBlockBits global palette bits of the mapped block states
+     * @return whether block states can be remapped without reading the sections
+     */
+    public boolean canRemapBlockStates(final int mappedGlobalPaletteBlockBits) {
+        return blockPaletteType instanceof final PaletteType1_18 paletteType && paletteType.globalPaletteBits() == mappedGlobalPaletteBlockBits;
+    }
+
+    /**
+     * Returns whether sections serialized with this type can be read and written as is with the other type.
+     *
+     * @param other other section type
+     * @return whether both types use the same serialized format
+     */
+    public boolean hasSameFormat(final ChunkSectionType1_18 other) {
+        return other.getClass() == getClass()
+            && blockPaletteType.hasSameFormat(other.blockPaletteType)
+            && biomePaletteType.hasSameFormat(other.biomePaletteType);
+    }
+
+    /**
+     * Returns the length of the data written in front of the palettes.
+     *
+     * @return length of the data written in front of the palettes
+     */
+    protected int headerLength() {
+        return Short.BYTES; // non-air count
+    }
 }
@@ -65,4 +65,9 @@ public class ChunkSectionType26_1 extends ChunkSectionType1_18 {
         }
         return length;
     }
+
+    @Override
+    protected int headerLength() {
+        return Short.BYTES + Short.BYTES; // non-air and fluid count
+    }
 }
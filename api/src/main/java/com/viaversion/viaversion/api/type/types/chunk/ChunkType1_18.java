@@ -27,7 +27,6 @@ import com.viaversion.nbt.tag.CompoundTag;
 import com.viaversion.viaversion.api.minecraft.blockentity.BlockEntity;
 import com.viaversion.viaversion.api.minecraft.chunks.Chunk;
 import com.viaversion.viaversion.api.minecraft.chunks.Chunk1_18;
-import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.Types;
 import io.netty.buffer.ByteBuf;
@@ -51,12 +50,8 @@ public final class ChunkType1_18 extends Type<Chunk> {
         final int chunkZ = buffer.readInt();
         final CompoundTag heightMap = Types.NAMED_COMPOUND_TAG.read(buffer);
 
-        // Read sections
-        final ByteBuf sectionsBuf = buffer.readSlice(Types.VAR_INT.readPrimitive(buffer));
-        final ChunkSection[] sections = new ChunkSection[ySectionCount];
-        for (int i = 0; i < ySectionCount; i++) {
-            sections[i] = sectionType.read(sectionsBuf);
-        }
+        // Sections are only read once accessed
+        final SerializedChunkSections sections = sectionType.readSerialized(buffer, ySectionCount);
 
         final int blockEntitiesLength = Types.VAR_INT.readPrimitive(buffer);
         final List<BlockEntity> blockEntities = new ArrayList<>(blockEntitiesLength);
@@ -74,10 +69,7 @@ public final class ChunkType1_18 extends Type<Chunk> {
 
         Types.NAMED_COMPOUND_TAG.write(buffer, chunk.getHeightMap());
 
-        Types.VAR_INT.writePrimitive(buffer, sectionType.serializedSize(chunk));
-        for (final ChunkSection section : chunk.getSections()) {
-            sectionType.write(buffer, section);
-        }
+        sectionType.writeSections(buffer, chunk);
 
         Types.VAR_INT.writePrimitive(buffer, chunk.blockEntities().size());
         for (final BlockEntity blockEntity : chunk.blockEntities()) {
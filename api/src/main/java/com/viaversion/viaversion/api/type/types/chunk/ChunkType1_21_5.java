@@ -26,7 +26,6 @@ import com.google.common.base.Preconditions;
 import com.viaversion.viaversion.api.minecraft.blockentity.BlockEntity;
 import com.viaversion.viaversion.api.minecraft.chunks.Chunk;
 import com.viaversion.viaversion.api.minecraft.chunks.Chunk1_21_5;
-import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
 import com.viaversion.viaversion.api.minecraft.chunks.Heightmap;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.Types;
@@ -56,12 +55,8 @@ public class ChunkType1_21_5 extends Type<Chunk> {
 
         final Heightmap[] heightmaps = Types.HEIGHTMAP_ARRAY.read(buffer);
 
-        // Read sections
-        final ByteBuf sectionsBuf = buffer.readSlice(Types.VAR_INT.readPrimitive(buffer));
-        final ChunkSection[] sections = new ChunkSection[ySectionCount];
-        for (int i = 0; i < ySectionCount; i++) {
-            sections[i] = sectionType.read(sectionsBuf);
-        }
+        // Sections are only read once accessed
+        final SerializedChunkSections sections = sectionType.readSerialized(buffer, ySectionCount);
 
         final int blockEntitiesLength = Types.VAR_INT.readPrimitive(buffer);
         final List<BlockEntity> blockEntities = new ArrayList<>(blockEntitiesLength);
@@ -79,10 +74,7 @@ public class ChunkType1_21_5 extends Type<Chunk> {
 
         Types.HEIGHTMAP_ARRAY.write(buffer, chunk.heightmaps());
 
-        Types.VAR_INT.writePrimitive(buffer, sectionType.serializedSize(chunk));
-        for (final ChunkSection section : chunk.getSections()) {
-            sectionType.write(buffer, section);
-        }
+        sectionType.writeSections(buffer, chunk);
 
         Types.VAR_INT.writePrimitive(buffer, chunk.blockEntities().size());
         for (final BlockEntity blockEntity : chunk.blockEntities()) {
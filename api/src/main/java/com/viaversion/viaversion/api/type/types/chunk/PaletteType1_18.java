@@ -30,14 +30,18 @@ import com.viaversion.viaversion.api.type.types.VarIntType;
 import com.viaversion.viaversion.util.CompactArrayUtil;
 import com.viaversion.viaversion.util.MathUtil;
 import io.netty.buffer.ByteBuf;
+import java.util.function.IntUnaryOperator;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class PaletteType1_18 extends PaletteTypeBase {
     protected final int globalPaletteBits;
     protected final PaletteType type;
+    private final ThreadLocal<int[]> scratchValues;
 
     public PaletteType1_18(final PaletteType type, final int globalPaletteBits) {
         this.globalPaletteBits = globalPaletteBits;
         this.type = type;
+        this.scratchValues = ThreadLocal.withInitial(() -> new int[type.size()]);
     }
 
     @Override
@@ -74,6 +78,122 @@ public class PaletteType1_18 extends PaletteTypeBase {
         return palette;
     }
 
+    @Override
+    public void remap(final ByteBuf input, final ByteBuf output, @Nullable final IntUnaryOperator mapper) {
+        final int start = input.readerIndex();
+        final byte serializedBitsPerValue = input.readByte();
+        int bitsPerValue = serializedBitsPerValue;
+        if (bitsPerValue == 0) {
+            output.writeByte(0);
+            final int id = Types.VAR_INT.readPrimitive(input);
+            Types.VAR_INT.writePrimitive(output, mapper != null ? mapper.applyAsInt(id) : id);
+            copyValues(input, output, 0);
+            return;
+        }
+
+        if (bitsPerValue < 0 || bitsPerValue > type.highestBitsPerValue()) {
+            bitsPerValue = globalPaletteBits;
+        } else if (type == PaletteType.BLOCKS && bitsPerValue < 4) {
+            bitsPerValue = 4;
+        }
+
+        if (bitsPerValue != globalPaletteBits) {
+            // Only the palette entries need to be mapped, the values stay the same
+            output.writeByte(serializedBitsPerValue);
+            final int paletteLength = Types.VAR_INT.readPrimitive(input);
+            Types.VAR_INT.writePrimitive(output, paletteLength);
+            for (int i = 0; i < paletteLength; i++) {
+                final int id = Types.VAR_INT.readPrimitive(input);
+                Types.VAR_INT.writePrimitive(output, mapper != null ? mapper.applyAsInt(id) : id);
+            }
+        } else if (mapper != null) {
+            // The values are the ids themselves, read and write it fully
+            input.readerIndex(start);
+            super.remap(input, output, mapper);
+            return;
+        } else {
+            output.writeByte(serializedBitsPerValue);
+        }
+
+        copyValues(input, output, bitsPerValue);
+    }
+
+    @Override
+    public boolean skipCopyable(final ByteBuf buffer) {
+        int bitsPerValue = buffer.readByte();
+        if (bitsPerValue == 0) {
+            Types.VAR_INT.readPrimitive(buffer);
+            return skipValues(buffer, 0);
+        }
+
+        if (bitsPerValue < 0 || bitsPerValue > type.highestBitsPerValue()) {
+            bitsPerValue = globalPaletteBits;
+        } else if (type == PaletteType.BLOCKS && bitsPerValue < 4) {
+            return false; // Always written with at least 4 bits
+        }
+
+        if (bitsPerValue != globalPaletteBits) {
+            final int paletteLength = Types.VAR_INT.readPrimitive(buffer);
+            if (paletteLength <= 0) {
+                return false;
+            }
+            for (int i = 0; i < paletteLength; i++) {
+                Types.VAR_INT.readPrimitive(buffer);
+            }
+        }
+        return skipValues(buffer, bitsPerValue);
+    }
+
+    /**
+     * Skips the serialized compact values of a palette, returning whether they have the expected length.
+     *
+     * @param buffer       buffer to read the values from
+     * @param bitsPerValue bits per value
+     * @return whether the values have the expected length
+     */
+    protected boolean skipValues(final ByteBuf buffer, final int bitsPerValue) {
+        final int length = Types.VAR_INT.readPrimitive(buffer);
+        if (length != valuesLength(bitsPerValue)) {
+            return false;
+        }
+
+        buffer.skipBytes(length * Long.BYTES);
+        return true;
+    }
+
+    protected int valuesLength(final int bitsPerValue) {
+        if (bitsPerValue == 0) {
+            return 0;
+        }
+
+        final int valuesPerLong = (char) (64 / bitsPerValue);
+        return (type.size() + valuesPerLong - 1) / valuesPerLong;
+    }
+
+    public int globalPaletteBits() {
+        return globalPaletteBits;
+    }
+
+    /**
+     * Copies the serialized compact values of a palette.
+     *
+     * @param input        buffer to read the values from
+     * @param output       buffer to write the values to
+     * @param bitsPerValue bits per value
+     */
+    protected void copyValues(final ByteBuf input, final ByteBuf output, final int bitsPerValue) {
+        final int length = Types.VAR_INT.readPrimitive(input);
+        Types.VAR_INT.writePrimitive(output, length);
+        output.writeBytes(input, length * Long.BYTES);
+    }
+
+    @Override
+    public boolean hasSameFormat(final PaletteTypeBase other) {
+        return other.getClass() == getClass()
+            && ((PaletteType1_18) other).type == type
+            && ((PaletteType1_18) other).globalPaletteBits == globalPaletteBits;
+    }
+
     protected void readValues(final ByteBuf buffer, final int bitsPerValue, final DataPaletteImpl palette) {
         final long[] values = Types.LONG_ARRAY_PRIMITIVE.read(buffer);
         if (values.length == 0 || bitsPerValue == 0) {
@@ -83,9 +203,42 @@ public class PaletteType1_18 extends PaletteTypeBase {
         final int valuesPerLong = (char) (64 / bitsPerValue);
         final int expectedLength = (type.size() + valuesPerLong - 1) / valuesPerLong;
         if (values.length == expectedLength) {
-            CompactArrayUtil.iterateCompactArrayWithPadding(bitsPerValue, type.size(), values,
-                bitsPerValue == globalPaletteBits ? palette::setIdAt : palette::setPaletteIndexAt);
+            setValues(palette, bitsPerValue, values);
+        }
+    }
+
+    /**
+     * Unpacks the compact values of a section and sets them as palette indices, or as ids if using the global palette.
+     *
+     * @param palette      palette to set the values of
+     * @param bitsPerValue bits per value
+     * @param values       compact values with padding
+     */
+    protected void setValues(final DataPalette palette, final int bitsPerValue, final long[] values) {
+        final int[] scratch = scratchValues.get();
+        CompactArrayUtil.unpackCompactArrayWithPadding(bitsPerValue, values, scratch);
+        if (bitsPerValue == globalPaletteBits) {
+            palette.setIds(scratch);
+        } else {
+            palette.setPaletteIndices(scratch);
+        }
+    }
+
+    /**
+     * Returns the compact values of a section, being the palette indices, or the ids if using the global palette.
+     *
+     * @param palette      palette to get the values of
+     * @param bitsPerValue bits per value
+     * @return compact values with padding
+     */
+    protected long[] compactValues(final DataPalette palette, final int bitsPerValue) {
+        final int[] scratch = scratchValues.get();
+        if (bitsPerValue == globalPaletteBits) {
+            palette.ids(scratch);
+        } else {
+            palette.paletteIndices(scratch);
         }
+        return CompactArrayUtil.createCompactArrayWithPadding(bitsPerValue, scratch);
     }
 
     @Override
@@ -120,12 +273,7 @@ public class PaletteType1_18 extends PaletteTypeBase {
             return;
         }
 
-        final long[] values = CompactArrayUtil.createCompactArrayWithPadding(
-            bitsPerValue,
-            type.size(),
-            bitsPerValue == globalPaletteBits ? palette::idAt : palette::paletteIndexAt
-        );
-        Types.LONG_ARRAY_PRIMITIVE.write(buffer, values);
+        Types.LONG_ARRAY_PRIMITIVE.write(buffer, compactValues(palette, bitsPerValue));
     }
 
     private int bitsPerValue(final int size) {
@@ -26,7 +26,6 @@ import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
 import com.viaversion.viaversion.api.minecraft.chunks.DataPaletteImpl;
 import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
 import com.viaversion.viaversion.api.type.types.LongArrayType;
-import com.viaversion.viaversion.util.CompactArrayUtil;
 import io.netty.buffer.ByteBuf;
 
 // Values are written without the explicit length, as the length is always known
@@ -46,27 +45,28 @@ public final class PaletteType1_21_5 extends PaletteType1_18 {
         final int expectedLength = (type.size() + valuesPerLong - 1) / valuesPerLong;
         final long[] values = LongArrayType.readFixedLength(buffer, expectedLength);
         if (values.length != 0) {
-            CompactArrayUtil.iterateCompactArrayWithPadding(
-                bitsPerValue,
-                type.size(),
-                values,
-                bitsPerValue == globalPaletteBits ? palette::setIdAt : palette::setPaletteIndexAt
-            );
+            setValues(palette, bitsPerValue, values);
         }
     }
 
+    @Override
+    protected void copyValues(final ByteBuf input, final ByteBuf output, final int bitsPerValue) {
+        output.writeBytes(input, valuesLength(bitsPerValue) * Long.BYTES);
+    }
+
+    @Override
+    protected boolean skipValues(final ByteBuf buffer, final int bitsPerValue) {
+        buffer.skipBytes(valuesLength(bitsPerValue) * Long.BYTES);
+        return true;
+    }
+
     @Override
     protected void writeValues(final ByteBuf buffer, final DataPalette palette, final int bitsPerValue) {
         if (bitsPerValue == 0) {
             return;
         }
 
-        final long[] values = CompactArrayUtil.createCompactArrayWithPadding(
-            bitsPerValue,
-            type.size(),
-            bitsPerValue == globalPaletteBits ? palette::idAt : palette::paletteIndexAt
-        );
-        LongArrayType.writeFixedLength(buffer, values);
+        LongArrayType.writeFixedLength(buffer, compactValues(palette, bitsPerValue));
     }
 
     @Override
@@ -24,6 +24,8 @@ package com.viaversion.viaversion.api.type.types.chunk;
 
 import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
 import com.viaversion.viaversion.api.type.Type;
+import io.netty.buffer.ByteBuf;
+import java.util.function.IntUnaryOperator;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public abstract class PaletteTypeBase extends Type<DataPalette> {
@@ -39,4 +41,44 @@ public abstract class PaletteTypeBase extends Type<DataPalette> {
      * @return the size of the serialized data in bytes
      */
     public abstract int serializedSize(@Nullable DataPalette palette);
+
+    /**
+     * Copies a serialized palette from the input to the output buffer, mapping its ids if a mapper is given.
+     * Implementations may avoid fully reading the palette.
+     *
+     * @param input  buffer to read the serialized palette from
+     * @param output buffer to write the serialized palette to
+     * @param mapper id mapper, or null to copy the palette as is
+     */
+    public void remap(final ByteBuf input, final ByteBuf output, @Nullable final IntUnaryOperator mapper) {
+        final DataPalette palette = read(input);
+        if (mapper != null) {
+            for (int i = 0; i < palette.size(); i++) {
+                palette.setIdByIndex(i, mapper.applyAsInt(palette.idByIndex(i)));
+            }
+        }
+        write(output, palette);
+    }
+
+    /**
+     * Skips a serialized palette, returning whether it can be written back as is.
+     * Palettes that would not be written back the same way after reading them, such as ones with an unexpected number of values, cannot.
+     *
+     * @param buffer buffer to read the serialized palette from
+     * @return whether the serialized palette can be written back as is
+     */
+    public boolean skipCopyable(final ByteBuf buffer) {
+        read(buffer);
+        return false;
+    }
+
+    /**
+     * Returns whether palettes serialized with this type can be read and written as is with the other type.
+     *
+     * @param other other palette type
+     * @return whether both types use the same serialized format
+     */
+    public boolean hasSameFormat(final PaletteTypeBase other) {
+        return this == other;
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.type.types.chunk;
+
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
+import com.viaversion.viaversion.api.type.Types;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Chunk sections kept in their serialized form until needed as {@link ChunkSection}s,
+ * allowing block palettes to be remapped without fully reading and writing the sections.
+ */
+public final class SerializedChunkSections {
+    private final ChunkSectionType1_18 sectionType;
+    private final int sectionCount;
+    private ByteBuf data;
+    private ByteBuf spareData;
+    private boolean ownsData;
+
+    public SerializedChunkSections(final ChunkSectionType1_18 sectionType, final int sectionCount, final ByteBuf data) {
+        this(sectionType, sectionCount, data, true);
+    }
+
+    SerializedChunkSections(final ChunkSectionType1_18 sectionType, final int sectionCount, final ByteBuf data, final boolean ownsData) {
+        this.sectionType = sectionType;
+        this.sectionCount = sectionCount;
+        this.data = data;
+        this.ownsData = ownsData;
+    }
+
+    /**
+     * Reads the sections.
+     *
+     * @return read sections
+     */
+    public ChunkSection[] read() {
+        final ByteBuf buffer = data.duplicate();
+        final ChunkSection[] sections = new ChunkSection[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            sections[i] = sectionType.read(buffer);
+        }
+        return sections;
+    }
+
+    /**
+     * Writes the length prefixed sections.
+     *
+     * @param buffer buffer to write to
+     */
+    public void write(final ByteBuf buffer) {
+        Types.VAR_INT.writePrimitive(buffer, data.readableBytes());
+        buffer.writeBytes(data, data.readerIndex(), data.readableBytes());
+    }
+
+    /**
+     * Maps the block state ids of all sections.
+     *
+     * @param mapper block state id mapper
+     */
+    public void remapBlockStates(final IntUnaryOperator mapper) {
+        final ByteBuf input = data.duplicate();
+        // Swap between two buffers when remapped by multiple protocols in a row
+        final ByteBuf output = spareData != null ? spareData.clear() : Unpooled.buffer(input.readableBytes());
+        for (int i = 0; i < sectionCount; i++) {
+            sectionType.remapBlockStates(input, output, mapper);
+        }
+        // Never write into the buffer the sections were read from
+        this.spareData = ownsData ? data : null;
+        this.data = output;
+        this.ownsData = true;
+    }
+
+    /**
+     * Copies the data if it still references the buffer the sections were read from.
+     * Has to be called when keeping the sections beyond the handling of the packet they were read from,
+     * for example when storing or queuing the chunk, as the packet buffer is released afterwards.
+     */
+    public void detach() {
+        if (!ownsData) {
+            data = Unpooled.copiedBuffer(data);
+            ownsData = true;
+        }
+    }
+
+    /**
+     * Returns whether the data is independent of the buffer the sections were read from.
+     *
+     * @return whether the data is independent of the buffer the sections were read from
+     * @see #detach()
+     */
+    public boolean isDetached() {
+        return ownsData;
+    }
+
+    public ChunkSectionType1_18 sectionType() {
+        return sectionType;
+    }
+
+    public int sectionCount() {
+        return sectionCount;
+    }
+}
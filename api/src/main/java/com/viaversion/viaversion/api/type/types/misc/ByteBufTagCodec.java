@@ -0,0 +1,471 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.type.types.misc;
+
+import com.viaversion.nbt.limiter.TagLimiter;
+import com.viaversion.nbt.tag.ByteArrayTag;
+import com.viaversion.nbt.tag.ByteTag;
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.nbt.tag.DoubleTag;
+import com.viaversion.nbt.tag.FloatTag;
+import com.viaversion.nbt.tag.IntArrayTag;
+import com.viaversion.nbt.tag.IntTag;
+import com.viaversion.nbt.tag.ListTag;
+import com.viaversion.nbt.tag.LongArrayTag;
+import com.viaversion.nbt.tag.LongTag;
+import com.viaversion.nbt.tag.NumberTag;
+import com.viaversion.nbt.tag.ShortTag;
+import com.viaversion.nbt.tag.StringTag;
+import com.viaversion.nbt.tag.Tag;
+import io.netty.buffer.ByteBuf;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Reads and writes NBT directly from and to a buffer, without going through {@link java.io.DataInput} and {@link java.io.DataOutput} adapters.
+ * Reading counts bytes and nesting levels against the given {@link TagLimiter} the same way as the stream based readers,
+ * and truncated input is reported as an {@link EOFException} rather than an unchecked buffer exception.
+ */
+public final class ByteBufTagCodec {
+
+    private static final int END = 0;
+    private static final int BYTE = 1;
+    private static final int SHORT = 2;
+    private static final int INT = 3;
+    private static final int LONG = 4;
+    private static final int FLOAT = 5;
+    private static final int DOUBLE = 6;
+    private static final int BYTE_ARRAY = 7;
+    private static final int STRING = 8;
+    private static final int LIST = 9;
+    private static final int COMPOUND = 10;
+    private static final int INT_ARRAY = 11;
+    private static final int LONG_ARRAY = 12;
+
+    private ByteBufTagCodec() {
+    }
+
+    /**
+     * Reads the payload of a tag with the given id.
+     *
+     * @param buffer       buffer to read from
+     * @param id           tag id
+     * @param tagLimiter   limiter to count bytes and nesting levels against
+     * @param nestingLevel current nesting level
+     * @return read tag
+     * @throws IOException if the tag is invalid, truncated, or exceeds the limiter
+     */
+    public static Tag read(final ByteBuf buffer, final int id, final TagLimiter tagLimiter, final int nestingLevel) throws IOException {
+        switch (id) {
+            case BYTE -> {
+                tagLimiter.countBytes(Byte.BYTES);
+                checkReadable(buffer, Byte.BYTES);
+                return new ByteTag(buffer.readByte());
+            }
+            case SHORT -> {
+                tagLimiter.countBytes(Short.BYTES);
+                checkReadable(buffer, Short.BYTES);
+                return new ShortTag(buffer.readShort());
+            }
+            case INT -> {
+                tagLimiter.countBytes(Integer.BYTES);
+                checkReadable(buffer, Integer.BYTES);
+                return new IntTag(buffer.readInt());
+            }
+            case LONG -> {
+                tagLimiter.countBytes(Long.BYTES);
+                checkReadable(buffer, Long.BYTES);
+                return new LongTag(buffer.readLong());
+            }
+            case FLOAT -> {
+                tagLimiter.countBytes(Float.BYTES);
+                checkReadable(buffer, Float.BYTES);
+                return new FloatTag(buffer.readFloat());
+            }
+            case DOUBLE -> {
+                tagLimiter.countBytes(Double.BYTES);
+                checkReadable(buffer, Double.BYTES);
+                return new DoubleTag(buffer.readDouble());
+            }
+            case BYTE_ARRAY -> {
+                final int length = readArrayLength(buffer, tagLimiter, Byte.BYTES);
+                final byte[] value = new byte[length];
+                buffer.readBytes(value);
+                return new ByteArrayTag(value);
+            }
+            case STRING -> {
+                final String value = readString(buffer);
+                tagLimiter.countBytes(2 * value.length());
+                return new StringTag(value);
+            }
+            case LIST -> {
+                return readList(buffer, tagLimiter, nestingLevel);
+            }
+            case COMPOUND -> {
+                return readCompound(buffer, tagLimiter, nestingLevel);
+            }
+            case INT_ARRAY -> {
+                final int length = readArrayLength(buffer, tagLimiter, Integer.BYTES);
+                final int[] value = new int[length];
+                for (int i = 0; i < length; i++) {
+                    value[i] = buffer.readInt();
+                }
+                return new IntArrayTag(value);
+            }
+            case LONG_ARRAY -> {
+                final int length = readArrayLength(buffer, tagLimiter, Long.BYTES);
+                final long[] value = new long[length];
+                for (int i = 0; i < length; i++) {
+                    value[i] = buffer.readLong();
+                }
+                return new LongArrayTag(value);
+            }
+            default -> throw new IOException("Unknown tag id " + id);
+        }
+    }
+
+    /**
+     * Reads the payload of a compound tag.
+     *
+     * @param buffer       buffer to read from
+     * @param tagLimiter   limiter to count bytes and nesting levels against
+     * @param nestingLevel current nesting level
+     * @return read compound tag
+     * @throws IOException if the tag is invalid, truncated, or exceeds the limiter
+     */
+    public static CompoundTag readCompound(final ByteBuf buffer, final TagLimiter tagLimiter, final int nestingLevel) throws IOException {
+        tagLimiter.checkLevel(nestingLevel);
+        final CompoundTag tag = new CompoundTag();
+        int id;
+        while (true) {
+            checkReadable(buffer, Byte.BYTES);
+            if ((id = buffer.readByte()) == END) {
+                break;
+            }
+            final String name = readString(buffer);
+            tagLimiter.countBytes(2 * name.length());
+            tag.put(name, read(buffer, id, tagLimiter, nestingLevel + 1));
+        }
+        return tag;
+    }
+
+    private static ListTag<?> readList(final ByteBuf buffer, final TagLimiter tagLimiter, final int nestingLevel) throws IOException {
+        tagLimiter.checkLevel(nestingLevel);
+        tagLimiter.countBytes(Byte.BYTES + Integer.BYTES);
+        checkReadable(buffer, Byte.BYTES + Integer.BYTES);
+        final int id = buffer.readUnsignedByte();
+        final int size = buffer.readInt();
+        if (id == END) {
+            if (size > 0) {
+                throw new IOException("List of end tags with a size of " + size);
+            }
+            return new ListTag<>();
+        }
+
+        final ListTag<Tag> list = new ListTag<>(tagClass(id));
+        for (int i = 0; i < size; i++) {
+            list.add(read(buffer, id, tagLimiter, nestingLevel + 1));
+        }
+        return list;
+    }
+
+    /**
+     * Skips the payload of a tag with the given id without creating any tag objects.
+     * Strings are counted by their encoded length, which is at least their character count.
+     *
+     * @param buffer       buffer to read from
+     * @param id           tag id
+     * @param tagLimiter   limiter to count bytes and nesting levels against
+     * @param nestingLevel current nesting level
+     * @throws IOException if the tag is invalid, truncated, or exceeds the limiter
+     */
+    public static void skip(final ByteBuf buffer, final int id, final TagLimiter tagLimiter, final int nestingLevel) throws IOException {
+        switch (id) {
+            case BYTE -> skipBytes(buffer, tagLimiter, Byte.BYTES);
+            case SHORT -> skipBytes(buffer, tagLimiter, Short.BYTES);
+            case INT, FLOAT -> skipBytes(buffer, tagLimiter, Integer.BYTES);
+            case LONG, DOUBLE -> skipBytes(buffer, tagLimiter, Long.BYTES);
+            case BYTE_ARRAY -> buffer.skipBytes(readArrayLength(buffer, tagLimiter, Byte.BYTES));
+            case INT_ARRAY -> buffer.skipBytes(readArrayLength(buffer, tagLimiter, Integer.BYTES) * Integer.BYTES);
+            case LONG_ARRAY -> buffer.skipBytes(readArrayLength(buffer, tagLimiter, Long.BYTES) * Long.BYTES);
+            case STRING -> skipString(buffer, tagLimiter);
+            case LIST -> {
+                tagLimiter.checkLevel(nestingLevel);
+                tagLimiter.countBytes(Byte.BYTES + Integer.BYTES);
+                checkReadable(buffer, Byte.BYTES + Integer.BYTES);
+                final int elementId = buffer.readUnsignedByte();
+                final int size = buffer.readInt();
+                if (elementId == END) {
+                    if (size > 0) {
+                        throw new IOException("List of end tags with a size of " + size);
+                    }
+                    return;
+                }
+                for (int i = 0; i < size; i++) {
+                    skip(buffer, elementId, tagLimiter, nestingLevel + 1);
+                }
+            }
+            case COMPOUND -> {
+                tagLimiter.checkLevel(nestingLevel);
+                int entryId;
+                while (true) {
+                    checkReadable(buffer, Byte.BYTES);
+                    if ((entryId = buffer.readByte()) == END) {
+                        break;
+                    }
+                    skipString(buffer, tagLimiter);
+                    skip(buffer, entryId, tagLimiter, nestingLevel + 1);
+                }
+            }
+            default -> throw new IOException("Unknown tag id " + id);
+        }
+    }
+
+    private static void skipBytes(final ByteBuf buffer, final TagLimiter tagLimiter, final int bytes) throws EOFException {
+        tagLimiter.countBytes(bytes);
+        checkReadable(buffer, bytes);
+        buffer.skipBytes(bytes);
+    }
+
+    private static void skipString(final ByteBuf buffer, final TagLimiter tagLimiter) throws EOFException {
+        checkReadable(buffer, Short.BYTES);
+        final int length = buffer.readUnsignedShort();
+        tagLimiter.countBytes(2 * length);
+        checkReadable(buffer, length);
+        buffer.skipBytes(length);
+    }
+
+    private static int readArrayLength(final ByteBuf buffer, final TagLimiter tagLimiter, final int elementBytes) throws IOException {
+        tagLimiter.countBytes(Integer.BYTES);
+        checkReadable(buffer, Integer.BYTES);
+        final int length = buffer.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid array length " + length);
+        }
+        // Check against the remaining bytes before allocating anything
+        checkReadable(buffer, (long) length * elementBytes);
+        tagLimiter.countBytes(length * elementBytes);
+        return length;
+    }
+
+    private static void checkReadable(final ByteBuf buffer, final long bytes) throws EOFException {
+        if (buffer.readableBytes() < bytes) {
+            throw new EOFException("Truncated tag: expected " + bytes + " more bytes, but only " + buffer.readableBytes() + " are readable");
+        }
+    }
+
+    /**
+     * Writes the payload of a tag.
+     *
+     * @param buffer buffer to write to
+     * @param tag    tag to write
+     * @throws IOException if a string is too long to be written
+     */
+    public static void write(final ByteBuf buffer, final Tag tag) throws IOException {
+        switch (tag.getTagId()) {
+            case BYTE -> buffer.writeByte(((NumberTag) tag).asByte());
+            case SHORT -> buffer.writeShort(((NumberTag) tag).asShort());
+            case INT -> buffer.writeInt(((NumberTag) tag).asInt());
+            case LONG -> buffer.writeLong(((NumberTag) tag).asLong());
+            case FLOAT -> buffer.writeFloat(((NumberTag) tag).asFloat());
+            case DOUBLE -> buffer.writeDouble(((NumberTag) tag).asDouble());
+            case BYTE_ARRAY -> {
+                final byte[] value = ((ByteArrayTag) tag).getValue();
+                buffer.writeInt(value.length);
+                buffer.writeBytes(value);
+            }
+            case STRING -> writeString(buffer, ((StringTag) tag).getValue());
+            case LIST -> {
+                final ListTag<?> list = (ListTag<?>) tag;
+                final Class<? extends Tag> elementType = list.getElementType();
+                if (list.size() != 0) {
+                    buffer.writeByte(list.get(0).getTagId());
+                } else {
+                    buffer.writeByte(elementType != null ? tagId(elementType) : END);
+                }
+                buffer.writeInt(list.size());
+                for (final Tag element : list) {
+                    write(buffer, element);
+                }
+            }
+            case COMPOUND -> {
+                for (final Map.Entry<String, Tag> entry : ((CompoundTag) tag).entrySet()) {
+                    final Tag value = entry.getValue();
+                    buffer.writeByte(value.getTagId());
+                    writeString(buffer, entry.getKey());
+                    write(buffer, value);
+                }
+                buffer.writeByte(END);
+            }
+            case INT_ARRAY -> {
+                final int[] value = ((IntArrayTag) tag).getValue();
+                buffer.writeInt(value.length);
+                for (final int i : value) {
+                    buffer.writeInt(i);
+                }
+            }
+            case LONG_ARRAY -> {
+                final long[] value = ((LongArrayTag) tag).getValue();
+                buffer.writeInt(value.length);
+                for (final long l : value) {
+                    buffer.writeLong(l);
+                }
+            }
+            default -> throw new IOException("Unknown tag " + tag);
+        }
+    }
+
+    /**
+     * Reads a string in the modified UTF-8 format of {@link java.io.DataInput#readUTF()}.
+     *
+     * @param buffer buffer to read from
+     * @return read string
+     * @throws IOException if the string is malformed or truncated
+     */
+    public static String readString(final ByteBuf buffer) throws IOException {
+        checkReadable(buffer, Short.BYTES);
+        final int length = buffer.readUnsignedShort();
+        checkReadable(buffer, length);
+        final int start = buffer.readerIndex();
+        boolean ascii = true;
+        for (int i = 0; i < length; i++) {
+            if (buffer.getByte(start + i) <= 0) { // Also excludes 0, which is written as two bytes
+                ascii = false;
+                break;
+            }
+        }
+
+        if (ascii) {
+            final String value = buffer.toString(start, length, StandardCharsets.US_ASCII);
+            buffer.skipBytes(length);
+            return value;
+        }
+
+        final char[] chars = new char[length];
+        int charCount = 0;
+        final int end = start + length;
+        int index = start;
+        while (index < end) {
+            final int a = buffer.getByte(index++) & 0xFF;
+            if (a < 0x80) {
+                chars[charCount++] = (char) a;
+            } else if ((a & 0xE0) == 0xC0) {
+                if (index >= end) {
+                    throw new UTFDataFormatException("Malformed input: partial character at end");
+                }
+                final int b = buffer.getByte(index++);
+                if ((b & 0xC0) != 0x80) {
+                    throw new UTFDataFormatException("Malformed input around byte " + (index - start));
+                }
+                chars[charCount++] = (char) (((a & 0x1F) << 6) | (b & 0x3F));
+            } else if ((a & 0xF0) == 0xE0) {
+                if (index + 1 >= end) {
+                    throw new UTFDataFormatException("Malformed input: partial character at end");
+                }
+                final int b = buffer.getByte(index++);
+                final int c = buffer.getByte(index++);
+                if ((b & 0xC0) != 0x80 || (c & 0xC0) != 0x80) {
+                    throw new UTFDataFormatException("Malformed input around byte " + (index - start));
+                }
+                chars[charCount++] = (char) (((a & 0x0F) << 12) | ((b & 0x3F) << 6) | (c & 0x3F));
+            } else {
+                throw new UTFDataFormatException("Malformed input around byte " + (index - start));
+            }
+        }
+        buffer.skipBytes(length);
+        return new String(chars, 0, charCount);
+    }
+
+    /**
+     * Writes a string in the modified UTF-8 format of {@link java.io.DataOutput#writeUTF(String)}.
+     *
+     * @param buffer buffer to write to
+     * @param value  string to write
+     * @throws IOException if the encoded string is longer than 65535 bytes
+     */
+    public static void writeString(final ByteBuf buffer, final String value) throws IOException {
+        final int length = value.length();
+        int encodedLength = length;
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c >= 0x80 || c == 0) {
+                encodedLength += c >= 0x800 ? 2 : 1;
+            }
+        }
+        if (encodedLength > 0xFFFF) {
+            throw new UTFDataFormatException("Encoded string too long: " + encodedLength + " bytes");
+        }
+
+        buffer.writeShort(encodedLength);
+        if (encodedLength == length) {
+            buffer.writeCharSequence(value, StandardCharsets.US_ASCII);
+            return;
+        }
+
+        for (int i = 0; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c < 0x80 && c != 0) {
+                buffer.writeByte(c);
+            } else if (c < 0x800) {
+                buffer.writeByte(0xC0 | (c >> 6));
+                buffer.writeByte(0x80 | (c & 0x3F));
+            } else {
+                buffer.writeByte(0xE0 | (c >> 12));
+                buffer.writeByte(0x80 | ((c >> 6) & 0x3F));
+                buffer.writeByte(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Class<Tag> tagClass(final int id) throws IOException {
+        final Class<? extends Tag> tagClass = switch (id) {
+            case BYTE -> ByteTag.class;
+            case SHORT -> ShortTag.class;
+            case INT -> IntTag.class;
+            case LONG -> LongTag.class;
+            case FLOAT -> FloatTag.class;
+            case DOUBLE -> DoubleTag.class;
+            case BYTE_ARRAY -> ByteArrayTag.class;
+            case STRING -> StringTag.class;
+            case LIST -> ListTag.class;
+            case COMPOUND -> CompoundTag.class;
+            case INT_ARRAY -> IntArrayTag.class;
+            case LONG_ARRAY -> LongArrayTag.class;
+            default -> throw new IOException("Unknown tag id " + id);
+        };
+        return (Class<Tag>) tagClass;
+    }
+
+    private static int tagId(final Class<? extends Tag> tagClass) throws IOException {
+        for (int id = BYTE; id <= LONG_ARRAY; id++) {
+            if (tagClass(id) == tagClass) {
+                return id;
+            }
+        }
+        throw new IOException("Unknown tag class " + tagClass);
+    }
+}
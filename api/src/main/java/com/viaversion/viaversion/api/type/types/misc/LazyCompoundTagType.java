@@ -0,0 +1,116 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.type.types.misc;
+
+import com.viaversion.nbt.limiter.TagLimiter;
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.viaversion.api.minecraft.LazyCompoundTag;
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.TypeConverter;
+import com.viaversion.viaversion.api.type.Types;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import java.io.IOException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Reads a compound tag as its raw bytes, only validating its structure. The tag is parsed once accessed through {@link LazyCompoundTag#get()},
+ * and written back as-is otherwise.
+ * <p>
+ * Reading the value with the parsed tag type from a packet wrapper converts it in place.
+ */
+public final class LazyCompoundTagType extends Type<LazyCompoundTag> implements TypeConverter<LazyCompoundTag> {
+
+    private final Type<CompoundTag> tagType;
+    private final boolean named;
+
+    public LazyCompoundTagType(final Type<CompoundTag> tagType, final boolean named) {
+        super("Lazy " + tagType.getTypeName(), LazyCompoundTag.class);
+        this.tagType = tagType;
+        this.named = named;
+    }
+
+    @Override
+    public LazyCompoundTag read(final ByteBuf buffer) {
+        final int start = buffer.readerIndex();
+        final byte id = buffer.readByte();
+        if (id == 0) {
+            return LazyCompoundTag.of(null);
+        }
+
+        try {
+            if (id != CompoundTag.ID) {
+                throw new IOException(String.format("Expected root tag to be a CompoundTag, was %s", id));
+            }
+            if (named) {
+                buffer.skipBytes(buffer.readUnsignedShort());
+            }
+
+            final TagLimiter tagLimiter = TagLimiter.create(NamedCompoundTagType.MAX_NBT_BYTES, NamedCompoundTagType.MAX_NESTING_LEVEL);
+            ByteBufTagCodec.skip(buffer, id, tagLimiter, 0);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        // Copied instead of sliced, as the value may be kept around after the packet buffer has been released
+        final byte[] raw = ByteBufUtil.getBytes(buffer, start, buffer.readerIndex() - start);
+        return LazyCompoundTag.raw(tagType, raw);
+    }
+
+    @Override
+    public void write(final ByteBuf buffer, final LazyCompoundTag value) {
+        value.write(buffer, tagType);
+    }
+
+    @Override
+    public LazyCompoundTag from(final Object o) {
+        if (o instanceof final LazyCompoundTag lazyTag) {
+            return lazyTag;
+        }
+        return LazyCompoundTag.of((CompoundTag) o);
+    }
+
+    /**
+     * Returns the type used to parse and write the tag.
+     *
+     * @return the parsed tag type
+     */
+    public Type<CompoundTag> tagType() {
+        return tagType;
+    }
+
+    /**
+     * Returns the lazy type for the given compound tag type if present.
+     *
+     * @param tagType compound tag type
+     * @return lazy type for the given compound tag type, or null if there is none
+     */
+    public static @Nullable LazyCompoundTagType of(final Type<CompoundTag> tagType) {
+        if (tagType == Types.COMPOUND_TAG) {
+            return (LazyCompoundTagType) Types.LAZY_COMPOUND_TAG;
+        } else if (tagType == Types.NAMED_COMPOUND_TAG) {
+            return (LazyCompoundTagType) Types.LAZY_NAMED_COMPOUND_TAG;
+        }
+        return null;
+    }
+}
@@ -29,8 +29,6 @@ import com.viaversion.viaversion.api.type.OptionalType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.Types;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.ByteBufOutputStream;
 import java.io.IOException;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
@@ -75,7 +73,7 @@ public class NamedCompoundTagType extends Type<CompoundTag> {
         }
 
         final TagLimiter tagLimiter = TagLimiter.create(maxBytes, MAX_NESTING_LEVEL);
-        return CompoundTag.read(new ByteBufInputStream(buffer), tagLimiter, 0);
+        return ByteBufTagCodec.readCompound(buffer, tagLimiter, 0);
     }
 
     public static void write(final ByteBuf buffer, final Tag tag, final @Nullable String name) throws IOException {
@@ -84,12 +82,11 @@ public class NamedCompoundTagType extends Type<CompoundTag> {
             return;
         }
 
-        final ByteBufOutputStream out = new ByteBufOutputStream(buffer);
-        out.writeByte(tag.getTagId());
+        buffer.writeByte(tag.getTagId());
         if (name != null) {
-            out.writeUTF(name);
+            ByteBufTagCodec.writeString(buffer, name);
         }
-        tag.write(out);
+        ByteBufTagCodec.write(buffer, tag);
     }
 
     public static final class OptionalNamedCompoundTagType extends OptionalType<CompoundTag> {
@@ -0,0 +1,121 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package com.viaversion.viaversion.api.type.types.misc;
+
+import com.viaversion.nbt.limiter.TagLimiter;
+import com.viaversion.nbt.tag.Tag;
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.TypeConverter;
+import com.viaversion.viaversion.api.type.Types;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.io.IOException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Network tag kept as its raw bytes including the tag id, for packet handlers only passing the tag through or keying on it.
+ * An empty tag, as written for null values of {@link Types#TRUSTED_OPTIONAL_TAG}, is read as a single zero byte.
+ * <p>
+ * Packet wrappers convert between the raw and parsed form when the same value is read as a tag by another handler,
+ * so the tag is only parsed once an actual consumer needs it, and written without being re-serialized otherwise.
+ */
+public final class RawTagType extends Type<byte[]> implements TypeConverter<byte[]> {
+
+    private static final byte[] EMPTY = {0};
+
+    public RawTagType() {
+        super("Raw Tag", byte[].class);
+    }
+
+    @Override
+    public byte[] read(final ByteBuf buffer) {
+        final int start = buffer.readerIndex();
+        final byte id = buffer.readByte();
+        if (id == 0) {
+            return EMPTY;
+        }
+
+        try {
+            ByteBufTagCodec.skip(buffer, id, TagLimiter.create(Integer.MAX_VALUE, NamedCompoundTagType.MAX_NESTING_LEVEL), 0);
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        // Copied instead of sliced, as the value may be kept around after the packet buffer has been released
+        return ByteBufUtil.getBytes(buffer, start, buffer.readerIndex() - start);
+    }
+
+    @Override
+    public void write(final ByteBuf buffer, final byte[] value) {
+        buffer.writeBytes(value);
+    }
+
+    @Override
+    public byte[] from(final Object o) {
+        if (o instanceof final byte[] raw) {
+            return raw;
+        }
+        return serialize((Tag) o);
+    }
+
+    /**
+     * Returns whether the raw tag is empty, i.e. a null tag.
+     *
+     * @param raw raw tag
+     * @return whether the raw tag is empty
+     */
+    public static boolean isEmpty(final byte[] raw) {
+        return raw.length == 1 && raw[0] == 0;
+    }
+
+    /**
+     * Parses the raw tag into a new tag.
+     *
+     * @param raw raw tag
+     * @return parsed tag, or null if empty
+     */
+    public static @Nullable Tag parse(final byte[] raw) {
+        return Types.TRUSTED_TAG.read(Unpooled.wrappedBuffer(raw));
+    }
+
+    /**
+     * Serializes the tag into its raw form.
+     *
+     * @param tag tag, may be null
+     * @return raw tag
+     */
+    public static byte[] serialize(final @Nullable Tag tag) {
+        if (tag == null) {
+            return EMPTY;
+        }
+
+        final ByteBuf buffer = Unpooled.buffer();
+        try {
+            Types.TRUSTED_TAG.write(buffer, tag);
+            return ByteBufUtil.getBytes(buffer);
+        } finally {
+            buffer.release();
+        }
+    }
+}
@@ -22,7 +22,6 @@
  */
 package com.viaversion.viaversion.api.type.types.misc;
 
-import com.viaversion.nbt.io.TagRegistry;
 import com.viaversion.nbt.limiter.TagLimiter;
 import com.viaversion.nbt.tag.ByteArrayTag;
 import com.viaversion.nbt.tag.ByteTag;
@@ -44,7 +43,6 @@ import com.viaversion.viaversion.api.type.OptionalType;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.Types;
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.ByteBufInputStream;
 import java.io.IOException;
 import java.util.Map;
 
@@ -70,7 +68,7 @@ public class TagType extends Type<Tag> {
 
         final TagLimiter tagLimiter = TagLimiter.create(this.maxBytes, NamedCompoundTagType.MAX_NESTING_LEVEL);
         try {
-            return TagRegistry.read(id, new ByteBufInputStream(buffer), tagLimiter, 0);
+            return ByteBufTagCodec.read(buffer, id, tagLimiter, 0);
         } catch (final IOException e) {
             if (Via.getManager().isDebug()) {
                 throw new RuntimeException(e);
@@ -88,6 +88,51 @@ public final class CompactArrayUtil {
         }
     }
 
+    /**
+     * Packs all given values into a padded compact array, equivalent to {@link #createCompactArrayWithPadding(int, int, IntToLongFunction)}.
+     *
+     * @param bitsPerEntry bits per entry
+     * @param values       values to pack
+     * @return padded compact array
+     */
+    public static long[] createCompactArrayWithPadding(int bitsPerEntry, int[] values) {
+        long maxEntryValue = (1L << bitsPerEntry) - 1;
+        int valuesPerLong = 64 / bitsPerEntry;
+        long[] data = new long[(values.length + valuesPerLong - 1) / valuesPerLong];
+
+        int index = 0;
+        for (int cellIndex = 0; cellIndex < data.length; cellIndex++) {
+            long cell = 0;
+            for (int bitIndex = 0; bitIndex < valuesPerLong * bitsPerEntry && index < values.length; bitIndex += bitsPerEntry) {
+                cell |= (values[index++] & maxEntryValue) << bitIndex;
+            }
+            data[cellIndex] = cell;
+        }
+        return data;
+    }
+
+    /**
+     * Unpacks a padded compact array into the given array, filling it entirely.
+     * Equivalent to {@link #iterateCompactArrayWithPadding(int, int, long[], BiIntConsumer)}, but without a callback per value.
+     *
+     * @param bitsPerEntry bits per entry
+     * @param data         padded compact array holding at least as many values as the given array's length
+     * @param values       array to unpack the values into
+     */
+    public static void unpackCompactArrayWithPadding(int bitsPerEntry, long[] data, int[] values) {
+        long maxEntryValue = (1L << bitsPerEntry) - 1;
+        int valuesPerLong = 64 / bitsPerEntry;
+
+        int index = 0;
+        for (int cellIndex = 0; index < values.length; cellIndex++) {
+            long cell = data[cellIndex];
+            for (int i = 0; i < valuesPerLong && index < values.length; i++) {
+                values[index++] = (int) (cell & maxEntryValue);
+                cell >>>= bitsPerEntry;
+            }
+        }
+    }
+
     public static long[] createCompactArray(int bitsPerEntry, int entries, IntToLongFunction valueGetter) {
         long maxEntryValue = (1L << bitsPerEntry) - 1;
         long[] data = new long[(int) Math.ceil(entries * bitsPerEntry / 64.0)];
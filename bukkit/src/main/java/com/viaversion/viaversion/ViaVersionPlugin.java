@@ -24,6 +24,7 @@ import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.platform.PlatformTask;
 import com.viaversion.viaversion.api.platform.ViaPlatform;
 import com.viaversion.viaversion.bukkit.commands.BukkitCommandHandler;
+import com.viaversion.viaversion.bukkit.handlers.BukkitEncodeHandler;
 import com.viaversion.viaversion.bukkit.listeners.JoinListener;
 import com.viaversion.viaversion.bukkit.platform.BukkitViaAPI;
 import com.viaversion.viaversion.bukkit.platform.BukkitViaConfig;
@@ -275,6 +276,7 @@ public class ViaVersionPlugin extends JavaPlugin implements ViaPlatform<Player>
             plugins.add(new PluginInfo(p.isEnabled(), p.getDescription().getName(), p.getDescription().getVersion(), p.getDescription().getMain(), p.getDescription().getAuthors()));
 
         platformSpecific.add("plugins", GsonUtil.getGson().toJsonTree(plugins));
+        platformSpecific.addProperty("compressionReorderedPackets", BukkitEncodeHandler.reorderedPackets());
 
         return platformSpecific;
     }
@@ -20,6 +20,7 @@ package com.viaversion.viaversion.bukkit.handlers;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.platform.ViaInjector;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.bukkit.util.NMSUtil;
 import com.viaversion.viaversion.exception.CancelCodecException;
 import com.viaversion.viaversion.exception.CancelEncoderException;
@@ -34,9 +35,12 @@ import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.MessageToByteEncoder;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 @ChannelHandler.Sharable
 public final class BukkitEncodeHandler extends ViaEncodeHandler {
+    private static final LongAdder REORDERED_PACKETS = new LongAdder();
     private boolean handledCompression = BukkitChannelInitializer.COMPRESSION_ENABLED_EVENT != null || Boolean.getBoolean("com.viaversion.disableLegacyCompressionReorder");
 
     public BukkitEncodeHandler(final UserConnection connection) {
@@ -54,56 +58,85 @@ public final class BukkitEncodeHandler extends ViaEncodeHandler {
             return;
         }
 
+        if (!handledCompression && connection.getProtocolInfo().compressionEnabled()) {
+            final ByteBuf decompressed = handleCompressionOrder(ctx, bytebuf);
+            if (decompressed != null) {
+                encodeReordered(ctx, decompressed, out);
+                return;
+            }
+        }
+
+        if (connection.transformInPlace(bytebuf, Direction.CLIENTBOUND)) {
+            out.add(bytebuf.retain());
+            return;
+        }
+
         final ByteBuf transformedBuf = ByteBufUtil.copy(ctx.alloc(), bytebuf);
         try {
-            final boolean needsCompression = !handledCompression && connection.getProtocolInfo().compressionEnabled() && handleCompressionOrder(ctx, transformedBuf);
             connection.transformClientbound(transformedBuf, CancelEncoderException::generate);
-            if (needsCompression) {
-                recompress(ctx, transformedBuf);
-            }
-
             out.add(transformedBuf.retain());
         } finally {
             transformedBuf.release();
         }
     }
 
-    private boolean handleCompressionOrder(final ChannelHandlerContext ctx, final ByteBuf buf) throws Exception {
+    /**
+     * Checks the order of the compression handlers, moving the Via handlers behind them if needed.
+     *
+     * @return the decompressed packet if the packet was already compressed due to a bad order, else null
+     */
+    private @Nullable ByteBuf handleCompressionOrder(final ChannelHandlerContext ctx, final ByteBuf buf) throws Exception {
         final ChannelPipeline pipeline = ctx.pipeline();
         final List<String> names = pipeline.names();
         final int compressorIndex = names.indexOf(BukkitChannelInitializer.MINECRAFT_COMPRESSOR);
         if (compressorIndex == -1) {
-            return false;
+            return null;
         }
 
         handledCompression = true;
         final ViaInjector injector = Via.getManager().getInjector();
-        if (compressorIndex > names.indexOf(injector.getEncoderName())) {
-            // Need to decompress this packet due to bad order
-            final ByteBuf decompressed = (ByteBuf) PipelineUtil.callDecode((ByteToMessageDecoder) pipeline.get(BukkitChannelInitializer.MINECRAFT_DECOMPRESSOR), ctx, buf).get(0);
-            try {
-                buf.clear().writeBytes(decompressed);
-            } finally {
-                decompressed.release();
-            }
-
-            pipeline.addAfter(BukkitChannelInitializer.MINECRAFT_COMPRESSOR, injector.getEncoderName(), pipeline.remove(injector.getEncoderName()));
-            pipeline.addAfter(BukkitChannelInitializer.MINECRAFT_DECOMPRESSOR, injector.getDecoderName(), pipeline.remove(injector.getDecoderName()));
-            return true;
+        if (compressorIndex < names.indexOf(injector.getEncoderName())) {
+            return null;
         }
-        return false;
+
+        // Need to decompress this packet due to bad order
+        final ByteBuf decompressed = (ByteBuf) PipelineUtil.callDecode((ByteToMessageDecoder) pipeline.get(BukkitChannelInitializer.MINECRAFT_DECOMPRESSOR), ctx, buf).get(0);
+        pipeline.addAfter(BukkitChannelInitializer.MINECRAFT_COMPRESSOR, injector.getEncoderName(), pipeline.remove(injector.getEncoderName()));
+        pipeline.addAfter(BukkitChannelInitializer.MINECRAFT_DECOMPRESSOR, injector.getDecoderName(), pipeline.remove(injector.getDecoderName()));
+        return decompressed;
     }
 
-    private void recompress(final ChannelHandlerContext ctx, final ByteBuf buf) throws Exception {
-        final ByteBuf compressed = ctx.alloc().buffer();
+    private void encodeReordered(final ChannelHandlerContext ctx, final ByteBuf decompressed, final List<Object> out) throws Exception {
+        REORDERED_PACKETS.increment();
+
+        // The decompressed buffer may not be expandable, so it still needs a copy to be transformed
+        final ByteBuf transformedBuf;
+        try {
+            transformedBuf = ByteBufUtil.copy(ctx.alloc(), decompressed);
+        } finally {
+            decompressed.release();
+        }
+
+        final ByteBuf compressed = ctx.alloc().ioBuffer();
         try {
-            PipelineUtil.callEncode((MessageToByteEncoder<ByteBuf>) ctx.pipeline().get(BukkitChannelInitializer.MINECRAFT_COMPRESSOR), ctx, buf, compressed);
-            buf.clear().writeBytes(compressed);
+            connection.transformClientbound(transformedBuf, CancelEncoderException::generate);
+            PipelineUtil.callEncode((MessageToByteEncoder<ByteBuf>) ctx.pipeline().get(BukkitChannelInitializer.MINECRAFT_COMPRESSOR), ctx, transformedBuf, compressed);
+            out.add(compressed.retain());
         } finally {
+            transformedBuf.release();
             compressed.release();
         }
     }
 
+    /**
+     * Returns the number of packets that had to be decompressed and compressed again due to a bad handler order.
+     *
+     * @return number of packets that went through the compression reordering path
+     */
+    public static long reorderedPackets() {
+        return REORDERED_PACKETS.sum();
+    }
+
     @Override
     public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) throws Exception {
         if (PipelineUtil.containsCause(cause, CancelCodecException.class)) { // ProtocolLib previously wrapped all exceptions, check causes
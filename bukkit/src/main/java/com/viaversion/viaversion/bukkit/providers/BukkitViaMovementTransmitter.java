@@ -94,6 +94,11 @@ public class BukkitViaMovementTransmitter extends MovementTransmitterProvider {
         return idlePacket2;
     }
 
+    @Override
+    public boolean requiresMainThread() {
+        return USE_NMS;
+    }
+
     @Override
     public void sendPlayer(UserConnection info) {
         if (USE_NMS) {
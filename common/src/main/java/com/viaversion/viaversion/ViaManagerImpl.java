@@ -23,6 +23,7 @@ import com.viaversion.viaversion.api.configuration.ConfigurationProvider;
 import com.viaversion.viaversion.api.connection.ConnectionManager;
 import com.viaversion.viaversion.api.data.MappingDataLoader;
 import com.viaversion.viaversion.api.debug.DebugHandler;
+import com.viaversion.viaversion.api.debug.PacketProfiler;
 import com.viaversion.viaversion.api.platform.PlatformTask;
 import com.viaversion.viaversion.api.platform.UnsupportedSoftware;
 import com.viaversion.viaversion.api.platform.ViaInjector;
@@ -37,10 +38,11 @@ import com.viaversion.viaversion.commands.ViaCommandHandler;
 import com.viaversion.viaversion.configuration.ConfigurationProviderImpl;
 import com.viaversion.viaversion.connection.ConnectionManagerImpl;
 import com.viaversion.viaversion.debug.DebugHandlerImpl;
+import com.viaversion.viaversion.debug.PacketProfilerImpl;
 import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
 import com.viaversion.viaversion.protocol.ServerProtocolVersionRange;
 import com.viaversion.viaversion.protocol.ServerProtocolVersionSingleton;
-import com.viaversion.viaversion.protocols.v1_12_2to1_13.task.TabCompleteTask;
+import com.viaversion.viaversion.protocols.v1_8to1_9.provider.MovementTransmitterProvider;
 import com.viaversion.viaversion.protocols.v1_8to1_9.task.IdlePacketTask;
 import com.viaversion.viaversion.scheduler.TaskScheduler;
 import com.viaversion.viaversion.update.UpdateUtil;
@@ -50,6 +52,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -59,6 +62,7 @@ public class ViaManagerImpl implements ViaManager {
     private final ConnectionManager connectionManager = new ConnectionManagerImpl();
     private final ConfigurationProvider configurationProvider = new ConfigurationProviderImpl();
     private final DebugHandler debugHandler = new DebugHandlerImpl();
+    private final PacketProfiler packetProfiler = new PacketProfilerImpl();
     private final ViaProviders providers = new ViaProviders();
     private final Scheduler scheduler = new TaskScheduler();
     private final ViaPlatform<?> platform;
@@ -192,19 +196,25 @@ public class ViaManagerImpl implements ViaManager {
 
         final ProtocolVersion serverProtocolVersion = protocolManager.getServerProtocolVersion().lowestSupportedProtocolVersion();
         if (serverProtocolVersion.olderThan(ProtocolVersion.v1_9)) {
-            if (Via.getConfig().isSimulatePlayerTick()) {
+            // Otherwise scheduled per connection on its event loop
+            if (Via.getConfig().isSimulatePlayerTick() && providers.get(MovementTransmitterProvider.class).requiresMainThread()) {
                 Via.getPlatform().runRepeatingSync(new IdlePacketTask(), 1L);
             }
         }
-        if (serverProtocolVersion.olderThan(ProtocolVersion.v1_13)) {
-            if (Via.getConfig().get1_13TabCompleteDelay() > 0) {
-                Via.getPlatform().runRepeatingSync(new TabCompleteTask(), 1L);
-            }
-        }
 
         // Refresh Versions
         protocolManager.refreshVersions();
 
+        if (platform.getConf().lazyMappingLoading()) {
+            protocolManager.warmUpMappings(platform.getConf().mappingWarmupVersions());
+
+            final int unloadAfter = platform.getConf().unloadUnusedMappingsAfter();
+            if (unloadAfter > 0) {
+                final long unusedMillis = TimeUnit.MINUTES.toMillis(unloadAfter);
+                platform.runRepeatingAsync(() -> protocolManager.unloadUnusedMappings(unusedMillis), 20L * 60);
+            }
+        }
+
         for (final Runnable listener : postEnableListeners) {
             listener.run();
         }
@@ -324,6 +334,11 @@ public class ViaManagerImpl implements ViaManager {
         return debugHandler;
     }
 
+    @Override
+    public PacketProfiler packetProfiler() {
+        return packetProfiler;
+    }
+
     @Override
     public ViaInjector getInjector() {
         return injector;
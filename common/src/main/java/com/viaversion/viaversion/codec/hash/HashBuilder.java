@@ -18,18 +18,27 @@
 package com.viaversion.viaversion.codec.hash;
 
 import java.util.Arrays;
+import java.util.zip.Checksum;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
+/**
+ * Collects bytes to hash. If the hash function supports incremental hashing, written bytes are fed into its checksum
+ * whenever a small buffer is full instead of collecting all of them in a growing array.
+ */
 public final class HashBuilder {
 
     private static final byte[] EMPTY_BYTES = new byte[0];
     private static final int MAX_RETAINED_CAPACITY = 4096;
+    private static final int STREAMING_BUFFER_SIZE = 256;
     private final HashFunction hashFunction;
+    private final @Nullable Checksum checksum;
     private byte[] bytes = EMPTY_BYTES;
     private int index;
     private boolean direct;
 
     public HashBuilder(final HashFunction hashFunction) {
         this.hashFunction = hashFunction;
+        this.checksum = hashFunction.checksum();
     }
 
     public HashBuilder writeByte(final byte b) {
@@ -39,6 +48,13 @@ public final class HashBuilder {
     }
 
     public HashBuilder writeBytes(final byte[] bytes) {
+        if (this.checksum != null && this.index + bytes.length > this.bytes.length) {
+            // Feed larger arrays into the checksum directly
+            this.flush();
+            this.checksum.update(bytes, 0, bytes.length);
+            return this;
+        }
+
         this.ensureSize(bytes.length);
         System.arraycopy(bytes, 0, this.bytes, this.index, bytes.length);
         this.index += bytes.length;
@@ -51,7 +67,10 @@ public final class HashBuilder {
      * @param bytes the bytes to write directly
      */
     public void writeBytesDirect(final byte[] bytes) {
-        if (this.bytes.length == 0) {
+        if (this.checksum != null) {
+            this.flush();
+            this.checksum.update(bytes, 0, bytes.length);
+        } else if (this.bytes.length == 0) {
             // Set bytes directly if still empty
             this.bytes = bytes;
             this.index = bytes.length;
@@ -130,7 +149,10 @@ public final class HashBuilder {
      * @param bytes the minimum size in bytes that the writer should be able to hold
      */
     public HashBuilder preSize(final int bytes) {
-        if (this.bytes.length == 0) {
+        if (this.checksum != null) {
+            // The buffer is flushed when full, so there is no need for a larger one
+            this.ensureSize(Math.min(bytes, STREAMING_BUFFER_SIZE));
+        } else if (this.bytes.length == 0) {
             this.bytes = new byte[bytes];
         } else {
             this.ensureSize(bytes);
@@ -141,19 +163,48 @@ public final class HashBuilder {
     private void ensureSize(final int bytes) {
         final int length = this.bytes.length;
         final int required = this.index + bytes;
-        if (required > length) {
-            final int newLength = Math.max(length * 2, required);
-            this.bytes = Arrays.copyOf(this.bytes, newLength);
+        if (required <= length) {
+            return;
+        }
+
+        if (this.checksum != null) {
+            this.flush();
+            if (bytes > this.bytes.length) {
+                this.bytes = new byte[Math.max(bytes, STREAMING_BUFFER_SIZE)];
+            }
+            return;
+        }
+
+        final int newLength = Math.max(length * 2, required);
+        this.bytes = Arrays.copyOf(this.bytes, newLength);
+        this.direct = false;
+    }
+
+    private void flush() {
+        if (this.index != 0) {
+            this.checksum.update(this.bytes, 0, this.index);
+            this.index = 0;
+        }
+        if (this.direct) {
+            // Never write into externally owned arrays
+            this.bytes = EMPTY_BYTES;
             this.direct = false;
         }
     }
 
     public int hash() {
+        if (this.checksum != null) {
+            this.flush();
+            return (int) this.checksum.getValue();
+        }
         return this.hashFunction.hashBytes(this.bytes, this.index);
     }
 
     public void reset() {
         this.index = 0;
+        if (this.checksum != null) {
+            this.checksum.reset();
+        }
         // Discard the buffer if it was direct (externally owned) or exceeds max retained capacity
         if (this.direct || this.bytes.length > MAX_RETAINED_CAPACITY) {
             this.bytes = EMPTY_BYTES;
@@ -17,6 +17,9 @@
  */
 package com.viaversion.viaversion.codec.hash;
 
+import java.util.zip.Checksum;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
 @FunctionalInterface
 public interface HashFunction {
 
@@ -27,4 +30,13 @@ public interface HashFunction {
     default int hashBytes(final byte[] data) {
         return this.hashBytes(data, data.length);
     }
+
+    /**
+     * Returns a new checksum computing the same hash incrementally, or null if only whole arrays can be hashed.
+     *
+     * @return new checksum computing the same hash, or null if not supported
+     */
+    default @Nullable Checksum checksum() {
+        return null;
+    }
 }
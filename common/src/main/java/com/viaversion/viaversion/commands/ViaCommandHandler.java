@@ -30,6 +30,7 @@ import com.viaversion.viaversion.commands.defaultsubs.DumpSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.ListSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.PPSSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.PlayerSubCmd;
+import com.viaversion.viaversion.commands.defaultsubs.ProfileSubCmd;
 import com.viaversion.viaversion.commands.defaultsubs.ReloadSubCmd;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -54,6 +55,7 @@ public class ViaCommandHandler implements ViaVersionCommand {
     public ViaCommandHandler(final boolean checkForUpdates) {
         registerSubCommand(new ListSubCmd());
         registerSubCommand(new PPSSubCmd());
+        registerSubCommand(new ProfileSubCmd());
         registerSubCommand(new DebugSubCmd());
         registerSubCommand(new DumpSubCmd());
         registerSubCommand(new DisplayLeaksSubCmd());
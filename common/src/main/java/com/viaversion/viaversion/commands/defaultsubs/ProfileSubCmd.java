@@ -0,0 +1,132 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.commands.defaultsubs;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.command.ViaCommandSender;
+import com.viaversion.viaversion.api.command.ViaSubCommand;
+import com.viaversion.viaversion.api.debug.PacketProfiler;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+public class ProfileSubCmd implements ViaSubCommand {
+    private static final int DEFAULT_ENTRIES = 10;
+
+    @Override
+    public String name() {
+        return "profile";
+    }
+
+    @Override
+    public String description() {
+        return "Profiles the time spent transforming packets per protocol.";
+    }
+
+    @Override
+    public String usage() {
+        return "profile <start|stop|reset|show> [entries]";
+    }
+
+    @Override
+    public boolean execute(ViaCommandSender sender, String[] args) {
+        final PacketProfiler profiler = Via.getManager().packetProfiler();
+        if (args.length == 0) {
+            return false;
+        }
+
+        switch (args[0].toLowerCase(Locale.ROOT)) {
+            case "start" -> {
+                profiler.setEnabled(true);
+                sendMessage(sender, "&6Started packet profiling");
+            }
+            case "stop" -> {
+                profiler.setEnabled(false);
+                sendMessage(sender, "&6Stopped packet profiling");
+            }
+            case "reset" -> {
+                profiler.reset();
+                sendMessage(sender, "&6Reset packet profiling data");
+            }
+            case "show" -> {
+                int entries = DEFAULT_ENTRIES;
+                if (args.length == 2) {
+                    try {
+                        entries = Integer.parseInt(args[1]);
+                    } catch (final NumberFormatException e) {
+                        sendMessage(sender, "&cInvalid number of entries: %s", args[1]);
+                        return true;
+                    }
+                }
+                show(sender, profiler, entries);
+            }
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void show(final ViaCommandSender sender, final PacketProfiler profiler, final int limit) {
+        final List<PacketProfiler.Entry> entries = profiler.entries();
+        sendMessage(sender, "&4Packet Profile &7(%ss, %s)", profiler.recordingTime() / 1000, profiler.enabled() ? "&arunning&7" : "&cstopped&7");
+        if (entries.isEmpty()) {
+            sendMessage(sender, "&cNo packets recorded.");
+            return;
+        }
+
+        long totalNanos = 0;
+        for (final PacketProfiler.Entry entry : entries) {
+            totalNanos += entry.nanos();
+        }
+
+        for (int i = 0; i < Math.min(limit, entries.size()); i++) {
+            final PacketProfiler.Entry entry = entries.get(i);
+            final String packet = entry.packetType() != null ? entry.packetType().getName() : entry.state() + " " + entry.packetId();
+            sendMessage(sender, "&8[&6%s&8] &b%s %s&7: &f%.1f%% &7(%sx, %.2fms total, %.3fms avg, %s allocated, %s in, %s out)",
+                entry.protocolClass().getSimpleName(),
+                entry.direction(),
+                packet,
+                totalNanos != 0 ? entry.nanos() * 100D / totalNanos : 0D,
+                entry.count(),
+                entry.nanos() / 1_000_000D,
+                entry.averageNanos() / 1_000_000D,
+                formatBytes(entry.allocatedBytes()),
+                formatBytes(entry.bytesIn()),
+                formatBytes(entry.bytesOut()));
+        }
+    }
+
+    private static String formatBytes(final long bytes) {
+        if (bytes < 1024) {
+            return bytes + "B";
+        } else if (bytes < 1024 * 1024) {
+            return String.format(Locale.ROOT, "%.1fKiB", bytes / 1024D);
+        }
+        return String.format(Locale.ROOT, "%.1fMiB", bytes / (1024D * 1024D));
+    }
+
+    @Override
+    public List<String> onTabComplete(final ViaCommandSender sender, final String[] args) {
+        if (args.length == 1) {
+            return Arrays.asList("start", "stop", "reset", "show");
+        }
+        return Collections.emptyList();
+    }
+}
@@ -76,6 +76,7 @@ public class AbstractViaConfig extends Config implements ViaVersionConfig {
     private boolean teamColourFix;
     private boolean serversideBlockConnections;
     private boolean reduceBlockStorageMemory;
+    private int blockConnectionCacheSize;
     private boolean flowerStemWhenBlockAbove;
     private boolean vineClimbFix;
     private boolean snowCollisionFix;
@@ -102,6 +103,13 @@ public class AbstractViaConfig extends Config implements ViaVersionConfig {
     private boolean use1_8HitboxMargin;
     private boolean sendPlayerDetails;
     private boolean sendServerDetails;
+    private boolean cacheMappings;
+    private boolean lazyMappingLoading;
+    private List<ProtocolVersion> mappingWarmupVersions;
+    private int unloadUnusedMappingsAfter;
+    private boolean sharedEntityTracker;
+    private int componentCacheSize;
+    private int transformedPacketCacheSize;
 
     public AbstractViaConfig(final File configFile, final Logger logger) {
         super(configFile, logger);
@@ -149,6 +157,7 @@ public class AbstractViaConfig extends Config implements ViaVersionConfig {
         disable1_13TabComplete = getBoolean("disable-1_13-auto-complete", false);
         serversideBlockConnections = getBoolean("serverside-blockconnections", true);
         reduceBlockStorageMemory = getBoolean("reduce-blockstorage-memory", false);
+        blockConnectionCacheSize = Math.max(0, getInt("blockconnection-cache-size", 0));
         flowerStemWhenBlockAbove = getBoolean("flowerstem-when-block-above", false);
         vineClimbFix = getBoolean("vine-climb-fix", false);
         snowCollisionFix = getBoolean("fix-low-snow-collision", false);
@@ -177,9 +186,18 @@ public class AbstractViaConfig extends Config implements ViaVersionConfig {
         use1_8HitboxMargin = getBoolean("use-1_8-hitbox-margin", true);
         sendPlayerDetails = getBoolean("send-player-details", true);
         sendServerDetails = getBoolean("send-server-details", true);
+        cacheMappings = getBoolean("cache-mappings", false);
         packetTrackerConfig = loadRateLimitConfig(getSection("packet-limiter"), "%pps", 1);
         packetSizeTrackerConfig = loadRateLimitConfig(getSection("packet-size-limiter"), "%bps", 1024);
 
+        final ConfigSection lazyMappingSection = getSection("lazy-mapping-loading");
+        lazyMappingLoading = lazyMappingSection.getBoolean("enabled", false);
+        mappingWarmupVersions = loadMappingWarmupVersions(lazyMappingSection);
+        unloadUnusedMappingsAfter = lazyMappingSection.getInt("unload-after", -1);
+        sharedEntityTracker = getBoolean("shared-entity-tracker", false);
+        componentCacheSize = Math.max(0, getInt("component-cache-size", 0));
+        transformedPacketCacheSize = Math.max(0, getInt("transformed-packet-cache-size", 0));
+
         final ConfigSection loggingSection = getSection("logging");
         logBlockedJoins = loggingSection.getBoolean("log-blocked-joins", false);
         logEntityDataErrors = loggingSection.getBoolean("log-entity-data-errors", true);
@@ -299,6 +317,19 @@ public class AbstractViaConfig extends Config implements ViaVersionConfig {
         return new BlockedProtocolVersionsImpl(blockedProtocols, lowerBound, upperBound);
     }
 
+    private List<ProtocolVersion> loadMappingWarmupVersions(final ConfigSection section) {
+        final List<ProtocolVersion> versions = new ArrayList<>();
+        for (final String s : section.getListSafe("warmup-versions", String.class, "Invalid mapping warm-up version found in config: '%s'")) {
+            final ProtocolVersion protocolVersion = ProtocolVersion.getClosest(s);
+            if (protocolVersion == null) {
+                logger.warning("Unknown protocol version in warmup-versions: " + s);
+                continue;
+            }
+            versions.add(protocolVersion);
+        }
+        return versions;
+    }
+
     private RateLimitConfig loadRateLimitConfig(ConfigSection section, String placeholder, int countMultiplier) {
         final int maxPerSecond = section.getInt("max-per-second", -1);
         final int sustainedMaxPerSecond = section.getInt("sustained-max-per-second", -1);
@@ -510,6 +541,11 @@ public class AbstractViaConfig extends Config implements ViaVersionConfig {
         return reduceBlockStorageMemory;
     }
 
+    @Override
+    public int blockConnectionCacheSize() {
+        return blockConnectionCacheSize;
+    }
+
     @Override
     public boolean isStemWhenBlockAbove() {
         return flowerStemWhenBlockAbove;
@@ -654,4 +690,39 @@ public class AbstractViaConfig extends Config implements ViaVersionConfig {
     public boolean sendServerDetails() {
         return sendServerDetails;
     }
+
+    @Override
+    public boolean cacheMappings() {
+        return cacheMappings;
+    }
+
+    @Override
+    public boolean lazyMappingLoading() {
+        return lazyMappingLoading;
+    }
+
+    @Override
+    public List<ProtocolVersion> mappingWarmupVersions() {
+        return mappingWarmupVersions;
+    }
+
+    @Override
+    public int unloadUnusedMappingsAfter() {
+        return unloadUnusedMappingsAfter;
+    }
+
+    @Override
+    public boolean sharedEntityTracker() {
+        return sharedEntityTracker;
+    }
+
+    @Override
+    public int componentCacheSize() {
+        return componentCacheSize;
+    }
+
+    @Override
+    public int transformedPacketCacheSize() {
+        return transformedPacketCacheSize;
+    }
 }
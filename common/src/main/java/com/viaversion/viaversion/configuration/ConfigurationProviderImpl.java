@@ -17,8 +17,10 @@
  */
 package com.viaversion.viaversion.configuration;
 
+import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.configuration.Config;
 import com.viaversion.viaversion.api.configuration.ConfigurationProvider;
+import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -42,5 +44,8 @@ public class ConfigurationProviderImpl implements ConfigurationProvider {
         for (final Config config : configs) {
             config.reload();
         }
+
+        // Status responses depend on config values such as blocked versions
+        ((ProtocolManagerImpl) Via.getManager().getProtocolManager()).refreshStatusResponses();
     }
 }
@@ -0,0 +1,129 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.connection;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-use tokens for packets to pass through the serverbound pipeline without being transformed.
+ * <p>
+ * A token consists of a sequence number and a keyed hash of it using a per-connection secret, so tokens
+ * cannot be forged by clients. Issued tokens are tracked in a ring indexed by their sequence number,
+ * which grows if unconsumed tokens would otherwise be overwritten before they expire.
+ */
+public final class PassthroughTokens {
+
+    private static final SecureRandom SECRET_RANDOM = new SecureRandom();
+    private static final long EXPIRY_NANOS = TimeUnit.SECONDS.toNanos(10);
+    private static final int INITIAL_CAPACITY = 16;
+    private final long secret = SECRET_RANDOM.nextLong();
+    private long[] sequences = new long[INITIAL_CAPACITY]; // 0 marks a free slot
+    private long[] issueTimes = new long[INITIAL_CAPACITY];
+    private long lastSequence;
+
+    /**
+     * Issues a new token and returns its sequence number.
+     *
+     * @return sequence number of the token
+     * @see #hash(long)
+     */
+    public synchronized long issue() {
+        final long sequence = ++lastSequence;
+        final long now = System.nanoTime();
+        while (isLive(slot(sequence), now)) {
+            grow(now);
+        }
+
+        final int slot = slot(sequence);
+        sequences[slot] = sequence;
+        issueTimes[slot] = now;
+        return sequence;
+    }
+
+    /**
+     * Consumes the token of the given sequence number and hash if it has been issued and not yet expired.
+     *
+     * @param sequence sequence number of the token
+     * @param hash     hash of the token
+     * @return true if the token was valid
+     */
+    public synchronized boolean consume(final long sequence, final long hash) {
+        if (sequence <= 0 || hash != hash(sequence)) {
+            return false;
+        }
+
+        final int slot = slot(sequence);
+        if (sequences[slot] != sequence) {
+            return false;
+        }
+
+        sequences[slot] = 0;
+        return System.nanoTime() - issueTimes[slot] < EXPIRY_NANOS;
+    }
+
+    /**
+     * Returns the keyed hash of the given sequence number.
+     *
+     * @param sequence sequence number
+     * @return keyed hash of the sequence number
+     */
+    public long hash(final long sequence) {
+        long hash = (sequence ^ secret) * 0x9E3779B97F4A7C15L;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        return hash ^ (hash >>> 31) ^ secret;
+    }
+
+    private boolean isLive(final int slot, final long now) {
+        return sequences[slot] != 0 && now - issueTimes[slot] < EXPIRY_NANOS;
+    }
+
+    private int slot(final long sequence) {
+        return (int) (sequence & (sequences.length - 1));
+    }
+
+    private void grow(final long now) {
+        int capacity = sequences.length << 1;
+        while (!rehash(capacity, now)) {
+            capacity <<= 1;
+        }
+    }
+
+    private boolean rehash(final int capacity, final long now) {
+        final long[] newSequences = new long[capacity];
+        final long[] newIssueTimes = new long[capacity];
+        for (int i = 0; i < sequences.length; i++) {
+            final long sequence = sequences[i];
+            if (sequence == 0 || now - issueTimes[i] >= EXPIRY_NANOS) {
+                continue; // Drop expired tokens
+            }
+
+            final int slot = (int) (sequence & (capacity - 1));
+            if (newSequences[slot] != 0) {
+                return false;
+            }
+            newSequences[slot] = sequence;
+            newIssueTimes[slot] = issueTimes[i];
+        }
+
+        sequences = newSequences;
+        issueTimes = newIssueTimes;
+        return true;
+    }
+}
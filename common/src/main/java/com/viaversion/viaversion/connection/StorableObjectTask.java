@@ -20,9 +20,15 @@ package com.viaversion.viaversion.connection;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.StorableObject;
 import com.viaversion.viaversion.api.connection.UserConnection;
+import io.netty.channel.EventLoop;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Instance of {@link Runnable} that will run {@link #run(UserConnection, StorableObject)} for all active user connections.
+ * Connections are grouped by their event loop, with a single task being submitted to each loop per run.
  */
 public abstract class StorableObjectTask<T extends StorableObject> implements Runnable {
 
@@ -36,15 +42,23 @@ public abstract class StorableObjectTask<T extends StorableObject> implements Ru
 
     @Override
     public void run() {
+        final Map<EventLoop, List<UserConnection>> connectionsByLoop = new HashMap<>();
         for (final UserConnection connection : Via.getManager().getConnectionManager().getConnections()) {
             if (!connection.isActive() || !connection.has(storableObject)) {
                 continue;
             }
 
-            connection.getChannel().eventLoop().execute(() -> {
-                final T object = connection.get(storableObject);
-                if (object != null) {
-                    this.run(connection, object);
+            connectionsByLoop.computeIfAbsent(connection.getChannel().eventLoop(), $ -> new ArrayList<>()).add(connection);
+        }
+
+        for (final Map.Entry<EventLoop, List<UserConnection>> entry : connectionsByLoop.entrySet()) {
+            final List<UserConnection> connections = entry.getValue();
+            entry.getKey().execute(() -> {
+                for (final UserConnection connection : connections) {
+                    final T object = connection.get(storableObject);
+                    if (object != null) {
+                        this.run(connection, object);
+                    }
                 }
             });
         }
@@ -17,7 +17,6 @@
  */
 package com.viaversion.viaversion.connection;
 
-import com.google.common.cache.CacheBuilder;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.ProtocolInfo;
 import com.viaversion.viaversion.api.connection.StorableObject;
@@ -30,26 +29,36 @@ import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketTracker;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.protocol.packet.State;
 import com.viaversion.viaversion.api.type.Types;
 import com.viaversion.viaversion.api.type.types.VarIntType;
+import com.viaversion.viaversion.data.entity.EntityTrackerBase;
+import com.viaversion.viaversion.data.entity.SharedEntityStorage;
+import com.viaversion.viaversion.data.entity.SharedEntityTracker;
+import com.viaversion.viaversion.debug.PacketProfilerImpl;
 import com.viaversion.viaversion.exception.CancelException;
 import com.viaversion.viaversion.exception.InformativeException;
+import com.viaversion.viaversion.protocol.PacketDispatchTable;
+import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
+import com.viaversion.viaversion.protocol.ProtocolPipelineImpl;
+import com.viaversion.viaversion.protocol.TransformedPacketCache;
 import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
 import com.viaversion.viaversion.util.ChatColorUtil;
 import com.viaversion.viaversion.util.PipelineUtil;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPipeline;
 import io.netty.handler.codec.CodecException;
+import java.util.ArrayDeque;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Deque;
 import java.util.Map;
-import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
@@ -64,14 +73,16 @@ public class UserConnectionImpl implements UserConnection {
     private final Map<Class<? extends Protocol>, ItemHasher> itemHashers = new Reference2ObjectOpenHashMap<>();
     private final Map<Class<? extends Protocol>, ClientWorld> clientWorlds = new Reference2ObjectOpenHashMap<>();
     private final PacketTracker packetTracker = new PacketTracker(this);
-    private final Set<UUID> passthroughTokens = Collections.newSetFromMap(CacheBuilder.newBuilder()
-        .expireAfterWrite(10, TimeUnit.SECONDS)
-        .<UUID, Boolean>build().asMap());
+    private final PassthroughTokens passthroughTokens = new PassthroughTokens();
     private final ProtocolInfo protocolInfo = new ProtocolInfoImpl();
     private final Channel channel;
     private final boolean clientSide;
     private boolean active = true;
     private boolean pendingDisconnect;
+    private SharedEntityStorage sharedEntityStorage;
+    private final Deque<ByteBuf> delayedIncomingPackets = new ArrayDeque<>(); // Only accessed on the event loop
+    private @Nullable CompletableFuture<?> incomingPacketsDelay;
+    private boolean autoReadBeforeDelay;
 
     /**
      * Creates an UserConnection. When it's a client-side connection, some method behaviors are modified.
@@ -130,6 +141,13 @@ public class UserConnectionImpl implements UserConnection {
 
     @Override
     public void addEntityTracker(Class<? extends Protocol> protocolClass, EntityTracker tracker) {
+        // Subclasses may access their entity map directly, so only replace the plain implementation
+        if (tracker.getClass() == EntityTrackerBase.class && Via.getConfig().sharedEntityTracker()) {
+            if (sharedEntityStorage == null) {
+                sharedEntityStorage = new SharedEntityStorage();
+            }
+            tracker = new SharedEntityTracker(this, tracker.playerType(), sharedEntityStorage);
+        }
         entityTrackers.putIfAbsent(protocolClass, tracker);
     }
 
@@ -160,6 +178,7 @@ public class UserConnectionImpl implements UserConnection {
         }
         storedObjects.clear();
         entityTrackers.clear();
+        sharedEntityStorage = null;
         itemHashers.clear();
         clientWorlds.clear();
     }
@@ -261,7 +280,9 @@ public class UserConnectionImpl implements UserConnection {
             if (shouldTransformPacket()) {
                 // Bypass serverbound packet decoder transforming
                 Types.VAR_INT.writePrimitive(buf, PacketWrapper.PASSTHROUGH_ID);
-                Types.UUID.write(buf, generatePassthroughToken());
+                final long sequence = passthroughTokens.issue();
+                buf.writeLong(sequence);
+                buf.writeLong(passthroughTokens.hash(sequence));
             }
 
             buf.writeBytes(packet);
@@ -344,24 +365,146 @@ public class UserConnectionImpl implements UserConnection {
         if (!buf.isReadable()) {
             return;
         }
+        if (isDelayed(direction)) {
+            // Packets read before reading was paused are queued to keep their order
+            delayedIncomingPackets.add(buf.copy());
+            throw cancelSupplier.apply(CancelException.generate());
+        }
 
+        final int length = buf.readableBytes();
+        final int readerIndex = buf.readerIndex();
         final int id = Types.VAR_INT.readPrimitive(buf);
         if (id == PacketWrapper.PASSTHROUGH_ID) {
-            if (!passthroughTokens.remove(Types.UUID.read(buf))) {
+            if (!passthroughTokens.consume(buf.readLong(), buf.readLong())) {
                 throw new IllegalArgumentException("Invalid token");
             }
             return;
         }
 
+        // Packets only depending on their contents may be shared with other connections using the same protocols
+        final TransformedPacketCache packetCache = direction == Direction.CLIENTBOUND
+            ? ((ProtocolManagerImpl) Via.getManager().getProtocolManager()).getTransformedPacketCache() : null;
+        TransformedPacketCache.Key cacheKey = null;
+        if (packetCache != null && !Via.getManager().debugHandler().enabled() && protocolInfo.getPipeline() instanceof ProtocolPipelineImpl pipeline) {
+            final State state = protocolInfo.getState(direction);
+            final PacketDispatchTable dispatchTable = pipeline.dispatchTable(direction);
+            if (dispatchTable != null && dispatchTable.isCacheable(state, id)) {
+                cacheKey = TransformedPacketCache.key(dispatchTable, state, ByteBufUtil.getBytes(buf, readerIndex, length));
+                final byte[] output = packetCache.get(cacheKey);
+                if (output != null) {
+                    buf.setIndex(0, 0);
+                    buf.writeBytes(output);
+                    return;
+                }
+            }
+        }
+
         final int valuesReaderIndex = buf.readerIndex();
         final PacketWrapperImpl wrapper = new PacketWrapperImpl(id, buf, this);
+        final PacketProfilerImpl.Sample profilerSample = ((PacketProfilerImpl) Via.getManager().packetProfiler()).startSample(length);
+        wrapper.setProfilerSample(profilerSample);
+        int bytesOut = 0;
         try {
             protocolInfo.getPipeline().transform(direction, protocolInfo.getState(direction), wrapper);
+            writeToBuffer(wrapper, buf, id, valuesReaderIndex);
+            bytesOut = buf.readableBytes();
         } catch (final CancelException ex) {
             throw cancelSupplier.apply(ex);
+        } finally {
+            // Also record the time spent on cancelled and failed packets
+            if (profilerSample != null) {
+                profilerSample.complete(bytesOut);
+            }
+        }
+
+        if (cacheKey != null) {
+            packetCache.put(cacheKey, ByteBufUtil.getBytes(buf));
         }
+    }
+
+    @Override
+    public boolean transformInPlace(final ByteBuf buf, final Direction direction) {
+        if (!buf.isReadable() || Via.getManager().debugHandler().enabled() || isDelayed(direction)) {
+            return false;
+        }
+
+        final int readerIndex = buf.readerIndex();
+        final int id = Types.VAR_INT.readPrimitive(buf);
+        buf.readerIndex(readerIndex);
+        if (id == PacketWrapper.PASSTHROUGH_ID) {
+            return false;
+        }
+
+        final int mappedId = protocolInfo.getPipeline().mappedIdWithoutHandlers(direction, protocolInfo.getState(direction), id);
+        if (mappedId == -1) {
+            return false;
+        }
+        if (mappedId != id) {
+            // Only rewrite the id at the head if it doesn't need to be moved, and if nothing else may still hold on to the buffer's contents
+            if (!isExclusivelyOwned(buf) || VarIntType.varIntLength(mappedId) != VarIntType.varIntLength(id)) {
+                return false;
+            }
+
+            final int writerIndex = buf.writerIndex();
+            buf.writerIndex(readerIndex);
+            Types.VAR_INT.writePrimitive(buf, mappedId);
+            buf.writerIndex(writerIndex);
+        }
+
+        packetTracker.incrementSkippedCopies();
+        return true;
+    }
+
+    @Override
+    public void delayIncomingPackets(final CompletableFuture<?> future) {
+        if (future.isDone()) {
+            return;
+        }
+        if (channel == null) {
+            future.join();
+            return;
+        }
+
+        if (incomingPacketsDelay == null) {
+            // Stop reading further packets until the delay is over
+            autoReadBeforeDelay = channel.config().isAutoRead();
+            channel.config().setAutoRead(false);
+            incomingPacketsDelay = future;
+        } else {
+            incomingPacketsDelay = CompletableFuture.allOf(incomingPacketsDelay, future);
+        }
+
+        final CompletableFuture<?> delay = incomingPacketsDelay;
+        delay.whenComplete((result, throwable) -> channel.eventLoop().execute(() -> releaseDelayedIncomingPackets(delay)));
+    }
+
+    private void releaseDelayedIncomingPackets(final CompletableFuture<?> delay) {
+        if (incomingPacketsDelay != delay) {
+            // Extended in the meantime
+            return;
+        }
+
+        incomingPacketsDelay = null;
+        final ChannelHandlerContext context = PipelineUtil.getPreviousContext(Via.getManager().getInjector().getDecoderName(), channel.pipeline());
+        ByteBuf buf;
+        while ((buf = delayedIncomingPackets.poll()) != null) {
+            if (channel.isActive()) {
+                // Passed through the decoder again to be transformed
+                fireChannelRead(context, buf);
+            } else {
+                buf.release();
+            }
+        }
+        channel.config().setAutoRead(autoReadBeforeDelay);
+    }
+
+    private boolean isDelayed(final Direction direction) {
+        return incomingPacketsDelay != null && direction == (clientSide ? Direction.CLIENTBOUND : Direction.SERVERBOUND);
+    }
 
-        writeToBuffer(wrapper, buf, id, valuesReaderIndex);
+    private static boolean isExclusivelyOwned(final ByteBuf buf) {
+        // Retained slices and duplicates share their contents with the buffer they were derived from
+        return !buf.isReadOnly() && buf.refCnt() == 1 && buf.unwrap() == null;
     }
 
     private void writeToBuffer(final PacketWrapperImpl wrapper, final ByteBuf buf, final int originalId, final int originalReaderIndex) {
@@ -444,9 +587,8 @@ public class UserConnectionImpl implements UserConnection {
 
     @Override
     public UUID generatePassthroughToken() {
-        UUID token = UUID.randomUUID();
-        passthroughTokens.add(token);
-        return token;
+        final long sequence = passthroughTokens.issue();
+        return new UUID(sequence, passthroughTokens.hash(sequence));
     }
 
     @Override
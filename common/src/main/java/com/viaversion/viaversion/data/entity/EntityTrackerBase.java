@@ -34,10 +34,10 @@ import java.util.Map;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class EntityTrackerBase implements EntityTracker, ClientEntityIdChangeListener {
-    protected final Int2ObjectMap<TrackedEntity> entities = new Int2ObjectOpenHashMap<>();
+    protected final Int2ObjectMap<TrackedEntity> entities;
     private final UserConnection connection;
     private final EntityType playerType;
-    private Integer clientEntityId;
+    protected Integer clientEntityId;
     private int currentWorldSectionHeight = -1;
     private int currentMinY;
     private String currentWorld;
@@ -47,8 +47,20 @@ public class EntityTrackerBase implements EntityTracker, ClientEntityIdChangeLis
     private boolean instaBuild;
 
     public EntityTrackerBase(UserConnection connection, @Nullable EntityType playerType) {
+        this(connection, playerType, new Int2ObjectOpenHashMap<>());
+    }
+
+    /**
+     * Creates a tracker using the given map of tracked entities, e.g. an empty map for subclasses storing entities elsewhere.
+     *
+     * @param connection user connection
+     * @param playerType player entity type
+     * @param entities   map of tracked entities
+     */
+    protected EntityTrackerBase(UserConnection connection, @Nullable EntityType playerType, Int2ObjectMap<TrackedEntity> entities) {
         this.connection = connection;
         this.playerType = playerType;
+        this.entities = entities;
     }
 
     @Override
@@ -0,0 +1,148 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.data.entity;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import java.util.Arrays;
+
+/**
+ * Maps entity ids to slots shared by all {@link SharedEntityTracker}s of a connection, each of them keeping
+ * their own entity data in columns indexed by slot. A slot is freed once no tracker references it anymore.
+ */
+public final class SharedEntityStorage {
+    private static final int INITIAL_CAPACITY = 64;
+    private final Int2IntMap slots = new Int2IntOpenHashMap();
+    private int[] entityIds = new int[INITIAL_CAPACITY];
+    private int[] references = new int[INITIAL_CAPACITY];
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeSlotCount;
+    private int usedSlots;
+    // The same entity is usually looked up by every tracker in a row while handling the same packet
+    private int lastEntityId;
+    private int lastSlot = -1;
+
+    public SharedEntityStorage() {
+        slots.defaultReturnValue(-1);
+    }
+
+    /**
+     * Returns the slot of the entity, or -1 if not tracked by any tracker.
+     *
+     * @param entityId entity id
+     * @return slot of the entity, or -1 if not tracked
+     */
+    public int slot(final int entityId) {
+        if (lastSlot != -1 && lastEntityId == entityId) {
+            return lastSlot;
+        }
+
+        final int slot = slots.get(entityId);
+        if (slot != -1) {
+            lastEntityId = entityId;
+            lastSlot = slot;
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the slot of the entity, allocating a new one if not tracked yet.
+     * The slot has to be retained by the caller right after.
+     *
+     * @param entityId entity id
+     * @return slot of the entity
+     */
+    public int slotOrCreate(final int entityId) {
+        int slot = slot(entityId);
+        if (slot != -1) {
+            return slot;
+        }
+
+        if (freeSlotCount != 0) {
+            slot = freeSlots[--freeSlotCount];
+        } else {
+            slot = usedSlots++;
+            if (slot == entityIds.length) {
+                final int capacity = entityIds.length << 1;
+                entityIds = Arrays.copyOf(entityIds, capacity);
+                references = Arrays.copyOf(references, capacity);
+                freeSlots = Arrays.copyOf(freeSlots, capacity);
+            }
+        }
+
+        slots.put(entityId, slot);
+        entityIds[slot] = entityId;
+        lastEntityId = entityId;
+        lastSlot = slot;
+        return slot;
+    }
+
+    /**
+     * Marks the slot as used by another tracker.
+     *
+     * @param slot slot
+     */
+    public void retain(final int slot) {
+        references[slot]++;
+    }
+
+    /**
+     * Marks the slot as no longer used by a tracker, freeing it if no other tracker uses it.
+     *
+     * @param slot slot
+     */
+    public void release(final int slot) {
+        if (--references[slot] != 0) {
+            return;
+        }
+
+        slots.remove(entityIds[slot]);
+        freeSlots[freeSlotCount++] = slot;
+        if (lastSlot == slot) {
+            lastSlot = -1;
+        }
+    }
+
+    /**
+     * Returns the entity id stored in the slot.
+     *
+     * @param slot slot
+     * @return entity id of the slot
+     */
+    public int entityId(final int slot) {
+        return entityIds[slot];
+    }
+
+    /**
+     * Returns the number of slots that have been used so far, with all slots below it being valid indices.
+     *
+     * @return number of slots used so far
+     */
+    public int usedSlots() {
+        return usedSlots;
+    }
+
+    /**
+     * Returns the number of tracked entities.
+     *
+     * @return number of tracked entities
+     */
+    public int size() {
+        return slots.size();
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.data.entity;
+
+import com.google.common.base.Preconditions;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.data.entity.StoredEntityData;
+import com.viaversion.viaversion.api.data.entity.TrackedEntity;
+import com.viaversion.viaversion.api.minecraft.entities.EntityType;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Entity tracker backed by a {@link SharedEntityStorage}, keeping the entity types of its protocol
+ * and their data in columns indexed by the shared entity slots instead of a separate map of tracked entities.
+ * <p>
+ * Entities returned by {@link #entity(int)} are created once per tracked entity and detached from their slot
+ * once the entity is removed, keeping their last state like the ones of {@link EntityTrackerBase} do.
+ */
+public final class SharedEntityTracker extends EntityTrackerBase {
+    private final SharedEntityStorage storage;
+    private final Reference2IntMap<EntityType> typeIndices = new Reference2IntOpenHashMap<>();
+    private EntityType[] types = new EntityType[16]; // Index 0 marks untracked entities
+    private short[] typeColumn = new short[0];
+    private StoredEntityData[] dataColumn = new StoredEntityData[0];
+    private boolean[] sentEntityDataColumn = new boolean[0];
+    private SharedTrackedEntity[] entityColumn = new SharedTrackedEntity[0];
+
+    public SharedEntityTracker(final UserConnection connection, @Nullable final EntityType playerType, final SharedEntityStorage storage) {
+        super(connection, playerType, Int2ObjectMaps.emptyMap());
+        this.storage = storage;
+    }
+
+    @Override
+    public void addEntity(final int id, final EntityType type) {
+        final int slot = storage.slotOrCreate(id);
+        ensureCapacity();
+        if (typeColumn[slot] == 0) {
+            storage.retain(slot);
+        } else {
+            // The entity is replaced, leave previously returned entities as they are
+            detachEntity(slot);
+        }
+
+        typeColumn[slot] = typeIndex(type);
+        dataColumn[slot] = null;
+        sentEntityDataColumn[slot] = false;
+    }
+
+    @Override
+    public boolean hasEntity(final int id) {
+        return trackedSlot(id) != -1;
+    }
+
+    @Override
+    public @Nullable TrackedEntity entity(final int entityId) {
+        final int slot = trackedSlot(entityId);
+        if (slot == -1) {
+            return null;
+        }
+
+        SharedTrackedEntity entity = entityColumn[slot];
+        if (entity == null) {
+            entity = new SharedTrackedEntity(slot);
+            entityColumn[slot] = entity;
+        }
+        return entity;
+    }
+
+    @Override
+    public @Nullable EntityType entityType(final int id) {
+        final int slot = trackedSlot(id);
+        return slot != -1 ? types[typeColumn[slot]] : null;
+    }
+
+    @Override
+    public @Nullable StoredEntityData entityData(final int id) {
+        final int slot = trackedSlot(id);
+        return slot != -1 ? data(slot) : null;
+    }
+
+    @Override
+    public @Nullable StoredEntityData entityDataIfPresent(final int id) {
+        final int slot = trackedSlot(id);
+        return slot != -1 ? dataColumn[slot] : null;
+    }
+
+    @Override
+    public void removeEntity(final int id) {
+        final int slot = trackedSlot(id);
+        if (slot != -1) {
+            untrack(slot);
+        }
+    }
+
+    @Override
+    public void clearEntities() {
+        clearTrackedSlots();
+
+        // Re-add the client entity
+        if (clientEntityId != null) {
+            addEntity(clientEntityId, playerType());
+        }
+    }
+
+    @Override
+    public void clear() {
+        clearTrackedSlots();
+        clientEntityId = null;
+    }
+
+    @Override
+    public void setClientEntityId(final int clientEntityId) {
+        Preconditions.checkNotNull(playerType());
+        final int oldSlot = this.clientEntityId != null ? trackedSlot(this.clientEntityId) : -1;
+        if (oldSlot != -1) {
+            // Move the tracked data over to the new id
+            final short typeIndex = typeColumn[oldSlot];
+            final StoredEntityData data = dataColumn[oldSlot];
+            final boolean sentEntityData = sentEntityDataColumn[oldSlot];
+            final SharedTrackedEntity entity = entityColumn[oldSlot];
+            entityColumn[oldSlot] = null;
+            untrack(oldSlot);
+            addEntity(clientEntityId, types[typeIndex]);
+
+            final int slot = storage.slot(clientEntityId);
+            dataColumn[slot] = data;
+            sentEntityDataColumn[slot] = sentEntityData;
+            if (entity != null) {
+                entity.slot = slot;
+                entityColumn[slot] = entity;
+            }
+        } else {
+            addEntity(clientEntityId, playerType());
+        }
+
+        this.clientEntityId = clientEntityId;
+    }
+
+    private int trackedSlot(final int id) {
+        final int slot = storage.slot(id);
+        return slot != -1 && slot < typeColumn.length && typeColumn[slot] != 0 ? slot : -1;
+    }
+
+    private void untrack(final int slot) {
+        detachEntity(slot);
+        typeColumn[slot] = 0;
+        dataColumn[slot] = null;
+        sentEntityDataColumn[slot] = false;
+        storage.release(slot);
+    }
+
+    private void detachEntity(final int slot) {
+        final SharedTrackedEntity entity = entityColumn[slot];
+        if (entity != null) {
+            entity.detach();
+            entityColumn[slot] = null;
+        }
+    }
+
+    private void clearTrackedSlots() {
+        for (int slot = 0; slot < typeColumn.length; slot++) {
+            if (typeColumn[slot] != 0) {
+                untrack(slot);
+            }
+        }
+    }
+
+    private StoredEntityData data(final int slot) {
+        StoredEntityData data = dataColumn[slot];
+        if (data == null) {
+            data = new StoredEntityDataImpl(types[typeColumn[slot]]);
+            dataColumn[slot] = data;
+        }
+        return data;
+    }
+
+    private short typeIndex(final EntityType type) {
+        int index = typeIndices.getInt(type);
+        if (index == 0) {
+            index = typeIndices.size() + 1;
+            Preconditions.checkArgument(index <= Short.MAX_VALUE, "Too many entity types");
+            if (index == types.length) {
+                types = Arrays.copyOf(types, types.length << 1);
+            }
+            types[index] = type;
+            typeIndices.put(type, index);
+        }
+        return (short) index;
+    }
+
+    private void ensureCapacity() {
+        final int usedSlots = storage.usedSlots();
+        if (usedSlots > typeColumn.length) {
+            final int capacity = Math.max(usedSlots, typeColumn.length + (typeColumn.length >> 1));
+            typeColumn = Arrays.copyOf(typeColumn, capacity);
+            dataColumn = Arrays.copyOf(dataColumn, capacity);
+            sentEntityDataColumn = Arrays.copyOf(sentEntityDataColumn, capacity);
+            entityColumn = Arrays.copyOf(entityColumn, capacity);
+        }
+    }
+
+    private final class SharedTrackedEntity implements TrackedEntity {
+        private int slot;
+        // Own state once the entity is no longer tracked, as the slot may be reused for another entity
+        private EntityType type;
+        private StoredEntityData data;
+        private boolean sentEntityData;
+
+        private SharedTrackedEntity(final int slot) {
+            this.slot = slot;
+        }
+
+        private void detach() {
+            type = types[typeColumn[slot]];
+            data = dataColumn[slot];
+            sentEntityData = sentEntityDataColumn[slot];
+            slot = -1;
+        }
+
+        @Override
+        public EntityType entityType() {
+            return slot != -1 ? types[typeColumn[slot]] : type;
+        }
+
+        @Override
+        public StoredEntityData data() {
+            if (slot != -1) {
+                return SharedEntityTracker.this.data(slot);
+            }
+            if (data == null) {
+                data = new StoredEntityDataImpl(type);
+            }
+            return data;
+        }
+
+        @Override
+        public boolean hasData() {
+            return slot != -1 ? dataColumn[slot] != null : data != null;
+        }
+
+        @Override
+        public boolean hasSentEntityData() {
+            return slot != -1 ? sentEntityDataColumn[slot] : sentEntityData;
+        }
+
+        @Override
+        public void sentEntityData(final boolean sentEntityData) {
+            if (slot != -1) {
+                sentEntityDataColumn[slot] = sentEntityData;
+            } else {
+                this.sentEntityData = sentEntityData;
+            }
+        }
+    }
+}
@@ -17,6 +17,7 @@
  */
 package com.viaversion.viaversion.data.item;
 
+import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.viaversion.nbt.tag.CompoundTag;
 import com.viaversion.viaversion.api.connection.UserConnection;
@@ -25,6 +26,7 @@ import com.viaversion.viaversion.api.minecraft.codec.CodecContext;
 import com.viaversion.viaversion.api.minecraft.codec.CodecContext.RegistryAccess;
 import com.viaversion.viaversion.api.minecraft.codec.hash.Hasher;
 import com.viaversion.viaversion.api.minecraft.data.StructuredData;
+import com.viaversion.viaversion.api.minecraft.data.StructuredDataKey;
 import com.viaversion.viaversion.api.minecraft.item.HashedItem;
 import com.viaversion.viaversion.api.minecraft.item.HashedStructuredItem;
 import com.viaversion.viaversion.api.minecraft.item.Item;
@@ -33,16 +35,30 @@ import com.viaversion.viaversion.api.type.Types;
 import com.viaversion.viaversion.codec.CodecRegistryContext;
 import com.viaversion.viaversion.codec.hash.HashFunction;
 import com.viaversion.viaversion.codec.hash.HashOps;
+import com.viaversion.viaversion.rewriter.RegistryDataRewriter;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import it.unimi.dsi.fastutil.ints.Int2IntMap;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Map;
+import java.util.function.ToIntFunction;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class ItemHasherBase implements ItemHasher {
 
     public static int UNKNOWN_HASH = 399825415; // some random-ish number, from hashing Integer.MIN_VALUE+1 with crc32c
+    private static final int MIN_MEMOIZED_DATA_BYTES = 8;
+    private static final int MAX_MEMOIZED_DATA_BYTES = 4096;
+    private static final int MAX_MEMOIZED_BYTES = 64 * 1024;
     private final Map<Integer, HashedItem> hashes = CacheBuilder.newBuilder().concurrencyLevel(1).maximumSize(1024).<Integer, HashedItem>build().asMap();
+    // Data hashes keyed by their serialized data, as the same items are usually sent over and over again
+    private final Cache<DataKey, Integer> dataHashes = CacheBuilder.newBuilder()
+        .concurrencyLevel(1)
+        .maximumWeight(MAX_MEMOIZED_BYTES)
+        .weigher((DataKey key, Integer hash) -> key.data.length)
+        .build();
+    private ByteBuf dataBuffer = Unpooled.buffer();
+    private int registryMappingsVersion;
     protected final UserConnection connection;
     private boolean processingClientboundInventoryPacket;
     private final CodecContext context;
@@ -53,6 +69,7 @@ public class ItemHasherBase implements ItemHasher {
         this.context = new CodecRegistryContext(protocol, registryAccess, false);
         this.mappedContext = new CodecRegistryContext(protocol, registryAccess, true);
         this.connection = connection;
+        this.registryMappingsVersion = RegistryDataRewriter.mappingsVersion(connection);
     }
 
     /**
@@ -63,10 +80,22 @@ public class ItemHasherBase implements ItemHasher {
      * @return the hashed item
      */
     public HashedItem toHashedItem(final Item item, final boolean mapped) {
-        return toHashedItem(new HashOps(mapped ? mappedContext : context, HashFunction.CRC32C), item);
+        final int mappingsVersion = RegistryDataRewriter.mappingsVersion(connection);
+        if (mappingsVersion != registryMappingsVersion) {
+            // Hashes of registry elements depend on the ids of the last sent registries
+            dataHashes.invalidateAll();
+            registryMappingsVersion = mappingsVersion;
+        }
+
+        final HashOps hasher = new HashOps(mapped ? mappedContext : context, HashFunction.CRC32C);
+        return toHashedItem(hasher, item, data -> memoizedHash(hasher, data, mapped));
     }
 
     public static HashedItem toHashedItem(final Hasher hasher, final Item item) {
+        return toHashedItem(hasher, item, data -> hash(hasher, data));
+    }
+
+    private static HashedItem toHashedItem(final Hasher hasher, final Item item, final ToIntFunction<StructuredData<?>> hashFunction) {
         final HashedItem hashedItem = new HashedStructuredItem(item.identifier(), item.amount());
         for (final StructuredData<?> data : item.dataContainer().data().values()) {
             if (data.isEmpty()) {
@@ -74,12 +103,39 @@ public class ItemHasherBase implements ItemHasher {
                 continue;
             }
 
-            final int hash = hasher.context().isSupported(data.key()) ? hash(hasher, data) : ItemHasherBase.UNKNOWN_HASH;
+            final int hash = hasher.context().isSupported(data.key()) ? hashFunction.applyAsInt(data) : ItemHasherBase.UNKNOWN_HASH;
             hashedItem.dataHashesById().put(data.id(), hash);
         }
         return hashedItem;
     }
 
+    private int memoizedHash(final Hasher hasher, final StructuredData<?> data, final boolean mapped) {
+        // Serializing the data is a lot cheaper than hashing it, and fully determines the hash
+        dataBuffer.clear();
+        data.write(dataBuffer);
+        final int length = dataBuffer.readableBytes();
+        if (length < MIN_MEMOIZED_DATA_BYTES || length > MAX_MEMOIZED_DATA_BYTES) {
+            if (dataBuffer.capacity() > MAX_MEMOIZED_DATA_BYTES) {
+                // Don't keep the buffer grown by large data around for the rest of the connection
+                dataBuffer.release();
+                dataBuffer = Unpooled.buffer();
+            }
+            return hash(hasher, data);
+        }
+
+        final byte[] bytes = new byte[length];
+        dataBuffer.readBytes(bytes);
+        final DataKey key = new DataKey(data.key(), mapped, bytes);
+        final Integer memoizedHash = dataHashes.getIfPresent(key);
+        if (memoizedHash != null) {
+            return memoizedHash;
+        }
+
+        final int hash = hash(hasher, data);
+        dataHashes.put(key, hash);
+        return hash;
+    }
+
     /**
      * Tracks the data for the given data container, storing the original hashes via the now transformed data hashes.
      *
@@ -142,4 +198,22 @@ public class ItemHasherBase implements ItemHasher {
         Types.TAG.write(hasher, tag);
         return hasher.hash();
     }
+
+    private record DataKey(StructuredDataKey<?> key, boolean mapped, byte[] data) {
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof final DataKey other)) return false;
+            return mapped == other.mapped && key == other.key && Arrays.equals(data, other.data);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = key.hashCode();
+            result = 31 * result + (mapped ? 1 : 0);
+            result = 31 * result + Arrays.hashCode(data);
+            return result;
+        }
+    }
 }
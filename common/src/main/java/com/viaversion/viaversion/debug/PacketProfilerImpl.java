@@ -0,0 +1,224 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.debug;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.debug.PacketProfiler;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
+import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.packet.provider.PacketTypesProvider;
+import com.viaversion.viaversion.exception.CancelException;
+import com.viaversion.viaversion.exception.InformativeException;
+import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+public final class PacketProfilerImpl implements PacketProfiler {
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = threadBean();
+
+    private final Map<Key, Counters> counters = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private volatile long startTime;
+
+    @Override
+    public boolean enabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        if (enabled && startTime == 0) {
+            startTime = System.currentTimeMillis();
+        }
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void reset() {
+        counters.clear();
+        startTime = enabled ? System.currentTimeMillis() : 0;
+    }
+
+    @Override
+    public long recordingTime() {
+        final long startTime = this.startTime;
+        return startTime != 0 ? System.currentTimeMillis() - startTime : 0;
+    }
+
+    @Override
+    public List<Entry> entries() {
+        final List<Entry> entries = new ArrayList<>(counters.size());
+        for (final Map.Entry<Key, Counters> entry : counters.entrySet()) {
+            final Key key = entry.getKey();
+            final Counters counters = entry.getValue();
+            entries.add(new Entry(key.protocolClass(), key.direction(), key.state(), key.packetId(), packetType(key),
+                counters.count.sum(), counters.nanos.sum(), counters.allocatedBytes.sum(), counters.bytesIn.sum(), counters.bytesOut.sum()));
+        }
+        entries.sort(Comparator.comparingLong(Entry::nanos).reversed());
+        return entries;
+    }
+
+    private @Nullable PacketType packetType(final Key key) {
+        final Protocol<?, ?, ?, ?> protocol = Via.getManager().getProtocolManager().getProtocol(key.protocolClass());
+        if (protocol == null) {
+            return null;
+        }
+
+        final PacketTypesProvider<?, ?, ?, ?> provider = protocol.getPacketTypesProvider();
+        return key.direction() == Direction.CLIENTBOUND
+            ? provider.unmappedClientboundType(key.state(), key.packetId())
+            : provider.unmappedServerboundType(key.state(), key.packetId());
+    }
+
+    /**
+     * Returns a new sample to be set on a packet wrapper if profiling is enabled.
+     *
+     * @param bytesIn size of the packet before going through the pipeline
+     * @return new sample if profiling is enabled, else null
+     */
+    public @Nullable Sample startSample(final int bytesIn) {
+        return enabled ? new Sample(bytesIn) : null;
+    }
+
+    /**
+     * Lets the protocol transform the packet, recording the time spent and memory allocated if the packet is being profiled.
+     * Time and memory spent by protocols transforming the packet from within the protocol's transformation are not counted towards it.
+     *
+     * @param protocol  protocol
+     * @param direction packet direction
+     * @param state     protocol state
+     * @param wrapper   packet wrapper
+     */
+    public static void transform(final Protocol<?, ?, ?, ?> protocol, final Direction direction, final State state, final PacketWrapper wrapper) throws InformativeException, CancelException {
+        final Sample sample = wrapper instanceof PacketWrapperImpl wrapperImpl ? wrapperImpl.profilerSample() : null;
+        if (sample == null) {
+            protocol.transform(direction, state, wrapper);
+            return;
+        }
+
+        final int packetId = wrapper.getId();
+        final long parentChildNanos = sample.childNanos;
+        final long parentChildAllocatedBytes = sample.childAllocatedBytes;
+        sample.childNanos = 0;
+        sample.childAllocatedBytes = 0;
+
+        final long startBytes = allocatedBytes();
+        final long start = System.nanoTime();
+        try {
+            protocol.transform(direction, state, wrapper);
+        } finally {
+            final long nanos = System.nanoTime() - start;
+            final long allocatedBytes = allocatedBytes() - startBytes;
+            sample.add(new Key(protocol.getClass(), direction, state, packetId), nanos - sample.childNanos, allocatedBytes - sample.childAllocatedBytes);
+
+            // Exclude the nested transformation from the protocol transforming the packet further out
+            sample.childNanos = parentChildNanos + nanos;
+            sample.childAllocatedBytes = parentChildAllocatedBytes + allocatedBytes;
+        }
+    }
+
+    private static long allocatedBytes() {
+        return THREAD_BEAN != null ? THREAD_BEAN.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    private static com.sun.management.@Nullable ThreadMXBean threadBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean
+                && threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled()) {
+                return threadBean;
+            }
+        } catch (final LinkageError ignored) {
+            // Not available in this runtime
+        }
+        return null;
+    }
+
+    private Counters counters(final Key key) {
+        return counters.computeIfAbsent(key, $ -> new Counters());
+    }
+
+    /**
+     * Protocol transformations of a single packet, only committed once the final packet size is known.
+     */
+    public final class Sample {
+        private final int bytesIn;
+        private Key[] keys = new Key[4];
+        private long[] nanos = new long[4];
+        private long[] allocatedBytes = new long[4];
+        private int size;
+        private long childNanos;
+        private long childAllocatedBytes;
+
+        private Sample(final int bytesIn) {
+            this.bytesIn = bytesIn;
+        }
+
+        private void add(final Key key, final long nanos, final long allocatedBytes) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size << 1);
+                this.nanos = Arrays.copyOf(this.nanos, size << 1);
+                this.allocatedBytes = Arrays.copyOf(this.allocatedBytes, size << 1);
+            }
+            keys[size] = key;
+            this.nanos[size] = nanos;
+            this.allocatedBytes[size++] = allocatedBytes;
+        }
+
+        /**
+         * Commits the recorded transformations.
+         *
+         * @param bytesOut size of the packet after going through the pipeline, or 0 if cancelled or failed to transform
+         */
+        public void complete(final int bytesOut) {
+            if (!enabled) {
+                return;
+            }
+
+            for (int i = 0; i < size; i++) {
+                final Counters counters = counters(keys[i]);
+                counters.count.increment();
+                counters.nanos.add(nanos[i]);
+                counters.allocatedBytes.add(allocatedBytes[i]);
+                counters.bytesIn.add(bytesIn);
+                counters.bytesOut.add(bytesOut);
+            }
+        }
+    }
+
+    private record Key(Class<? extends Protocol> protocolClass, Direction direction, State state, int packetId) {
+    }
+
+    private static final class Counters {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+    }
+}
@@ -21,5 +21,5 @@ import com.google.gson.JsonObject;
 import java.util.Map;
 
 public record DumpTemplate(VersionInfo versionInfo, Map<String, Object> configuration,
-                           JsonObject platformDump, JsonObject injectionDump, JsonObject playerSample) {
+                           JsonObject platformDump, JsonObject injectionDump, JsonObject playerSample, JsonObject caches) {
 }
@@ -44,7 +44,7 @@ public class ViaDecodeHandler extends MessageToMessageDecoder<ByteBuf> implement
         if (!connection.checkIncomingPacket(buf.readableBytes())) {
             throw CancelDecoderException.generate(null);
         }
-        if (!connection.shouldTransformPacket()) {
+        if (!connection.shouldTransformPacket() || connection.transformIncomingInPlace(buf)) {
             out.add(buf.retain());
             return;
         }
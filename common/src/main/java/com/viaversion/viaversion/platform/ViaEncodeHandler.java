@@ -44,7 +44,7 @@ public class ViaEncodeHandler extends MessageToMessageEncoder<ByteBuf> implement
         if (!connection.checkOutgoingPacket()) {
             throw CancelEncoderException.generate(null);
         }
-        if (!connection.shouldTransformPacket()) {
+        if (!connection.shouldTransformPacket() || connection.transformOutgoingInPlace(buf)) {
             out.add(buf.retain());
             return;
         }
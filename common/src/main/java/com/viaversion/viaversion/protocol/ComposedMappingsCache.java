@@ -0,0 +1,144 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocol;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.data.IntArrayMappings;
+import com.viaversion.viaversion.api.data.MappingData;
+import com.viaversion.viaversion.api.data.Mappings;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Lazily composes the block state mappings of consecutive protocols into single tables, so chunk palettes only have to be remapped once
+ * when going through multiple protocols that do nothing but change their block states.
+ * <p>
+ * The total size of cached tables is bounded, least recently used tables are evicted first.
+ */
+public final class ComposedMappingsCache {
+    private static final long MAX_BYTES = 16L * 1024 * 1024;
+    private final Set<Class<? extends Protocol>> composablePaletteRemaps = ConcurrentHashMap.newKeySet();
+    private final Cache<List<Protocol>, Mappings> cache = CacheBuilder.newBuilder()
+        .maximumWeight(MAX_BYTES)
+        .weigher((List<Protocol> protocols, Mappings mappings) -> bytes(mappings))
+        .build();
+
+    /**
+     * Marks the protocol's chunk handling as only remapping block states of the chunk's palettes,
+     * allowing it to be composed with other such protocols.
+     *
+     * @param protocolClass protocol class
+     */
+    public void addComposablePaletteRemap(final Class<? extends Protocol> protocolClass) {
+        composablePaletteRemaps.add(protocolClass);
+    }
+
+    public boolean isComposablePaletteRemap(final Class<? extends Protocol> protocolClass) {
+        return composablePaletteRemaps.contains(protocolClass);
+    }
+
+    /**
+     * Returns block state mappings equivalent to applying the block state mappings of each given protocol in order,
+     * with missing block states mapped to 0.
+     *
+     * @param protocols protocols in the order block states go through them
+     * @return composed block state mappings
+     */
+    public Mappings getBlockStateMappings(final List<Protocol> protocols) {
+        final List<Protocol> key = List.copyOf(protocols);
+        Mappings mappings = cache.getIfPresent(key);
+        if (mappings == null) {
+            mappings = compose(key);
+            cache.put(key, mappings);
+            if (Via.getManager().isDebug()) {
+                Via.getPlatform().getLogger().info("Composed block state mappings of " + protocols.size() + " protocols starting at "
+                    + protocols.get(0).getClass().getSimpleName() + " (" + (bytes(mappings) / 1024) + " KiB, " + (totalBytes() / 1024) + " KiB total)");
+            }
+        }
+        return mappings;
+    }
+
+    private static Mappings compose(final List<Protocol> protocols) {
+        final List<Mappings> blockStateMappings = new ArrayList<>(protocols.size());
+        for (final Protocol protocol : protocols) {
+            final Mappings mappings = blockStateMappings(protocol);
+            if (mappings != null) {
+                // Protocols without block state mappings leave ids unchanged
+                blockStateMappings.add(mappings);
+            }
+        }
+        return compose(blockStateMappings);
+    }
+
+    /**
+     * Returns mappings equivalent to applying each of the given mappings in order,
+     * with missing ids mapped to 0 just like {@link MappingData#getNewBlockStateId(int)}.
+     *
+     * @param mappings mappings in the order ids go through them
+     * @return composed mappings
+     */
+    public static Mappings compose(final List<Mappings> mappings) {
+        if (mappings.isEmpty()) {
+            return IntArrayMappings.of(new int[0], -1);
+        }
+
+        final int size = mappings.get(0).size();
+        final int[] composed = new int[size];
+        for (int id = 0; id < size; id++) {
+            int mappedId = id;
+            for (final Mappings hop : mappings) {
+                // Same result as MappingData#getNewBlockStateId, without logging missing ids for every table entry
+                mappedId = hop.getNewIdOrDefault(mappedId, 0);
+            }
+            composed[id] = mappedId;
+        }
+        return IntArrayMappings.of(composed, mappings.get(mappings.size() - 1).mappedSize());
+    }
+
+    private static @Nullable Mappings blockStateMappings(final Protocol protocol) {
+        final MappingData mappingData = protocol.getMappingData();
+        return mappingData != null ? mappingData.getBlockStateMappings() : null;
+    }
+
+    /**
+     * Returns the approximate memory used by cached tables in bytes.
+     *
+     * @return approximate memory used by cached tables in bytes
+     */
+    public long totalBytes() {
+        long bytes = 0;
+        for (final Mappings mappings : cache.asMap().values()) {
+            bytes += bytes(mappings);
+        }
+        return bytes;
+    }
+
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    private static int bytes(final Mappings mappings) {
+        return mappings.size() * Integer.BYTES;
+    }
+}
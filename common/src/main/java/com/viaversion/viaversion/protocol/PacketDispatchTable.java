@@ -0,0 +1,225 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocol;
+
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
+import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.packet.mapping.PacketMapping;
+import com.viaversion.viaversion.api.protocol.packet.mapping.PacketMappings;
+import com.viaversion.viaversion.api.protocol.remapper.PacketHandler;
+import com.viaversion.viaversion.debug.PacketProfilerImpl;
+import com.viaversion.viaversion.exception.CancelException;
+import com.viaversion.viaversion.exception.InformativeException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Packet dispatch over a fixed list of protocols, skipping protocols whose packet mappings only change the packet type or id.
+ * Packets are only passed to protocols that have a handler for them, or that transform packets outside of their packet mappings.
+ * <p>
+ * Rows are computed lazily per state and starting protocol index and can be shared between pipelines with the same protocols.
+ */
+public final class PacketDispatchTable {
+    public static final int MAX_PACKET_ID = 0xFF;
+    private static final int STATES = State.values().length;
+    private static final PacketMapping[] NO_MAPPINGS = new PacketMapping[0];
+    private final Protocol[] protocols;
+    private final Direction direction;
+    private final Row[][] rows;
+    private final CacheableIds[] cacheable;
+
+    public PacketDispatchTable(final List<Protocol> protocols, final Direction direction) {
+        this.protocols = protocols.toArray(new Protocol[0]);
+        this.direction = direction;
+        this.rows = new Row[STATES][this.protocols.length + 1];
+        this.cacheable = new CacheableIds[STATES];
+    }
+
+    /**
+     * Applies the protocols to the packet wrapper, equivalent to {@link PacketWrapper#apply(Direction, State, List)}.
+     *
+     * @param state   protocol state
+     * @param wrapper packet wrapper
+     */
+    public void apply(State state, final PacketWrapper wrapper) throws InformativeException, CancelException {
+        int index = 0;
+        while (index < protocols.length) {
+            final int id = wrapper.getId();
+            if (id < 0 || id > MAX_PACKET_ID) {
+                wrapper.apply(direction, state, Arrays.asList(protocols).subList(index, protocols.length));
+                return;
+            }
+
+            final Row row = row(state, index);
+            for (final PacketMapping skippedMapping : row.skippedMappings[id]) {
+                skippedMapping.applyType(wrapper);
+            }
+
+            final int protocolIndex = row.protocolIndices[id];
+            if (protocolIndex == protocols.length) {
+                return;
+            }
+
+            PacketProfilerImpl.transform(protocols[protocolIndex], direction, state, wrapper);
+            wrapper.resetReader();
+
+            final PacketType packetType = wrapper.getPacketType();
+            if (packetType != null) {
+                state = packetType.state();
+            }
+            index = protocolIndex + 1;
+        }
+    }
+
+    /**
+     * Returns the packet id the given packet ends up with if no protocol has to transform more than its id.
+     *
+     * @param state    protocol state
+     * @param packetId unmapped packet id
+     * @return mapped packet id, or -1 if the packet has to be fully transformed
+     */
+    public int mappedIdWithoutHandlers(final State state, final int packetId) {
+        if (packetId < 0 || packetId > MAX_PACKET_ID) {
+            return -1;
+        }
+
+        final Row row = row(state, 0);
+        return row.protocolIndices[packetId] == protocols.length ? row.mappedIds[packetId] : -1;
+    }
+
+    /**
+     * Returns whether the packet is transformed by at least one protocol and only by {@link PacketHandler#isCacheable() cacheable} handlers.
+     *
+     * @param state    protocol state
+     * @param packetId unmapped packet id
+     * @return whether the transformed packet only depends on its contents
+     */
+    public boolean isCacheable(final State state, final int packetId) {
+        if (packetId < 0 || packetId > MAX_PACKET_ID) {
+            return false;
+        }
+
+        CacheableIds stateCacheable = cacheable[state.ordinal()];
+        if (stateCacheable == null) {
+            // Published through a final field just like rows, racing computations are equally harmless
+            final boolean[] ids = new boolean[MAX_PACKET_ID + 1];
+            for (int id = 0; id <= MAX_PACKET_ID; id++) {
+                ids[id] = computeCacheable(state, id);
+            }
+            stateCacheable = new CacheableIds(ids);
+            cacheable[state.ordinal()] = stateCacheable;
+        }
+        return stateCacheable.ids[packetId];
+    }
+
+    private boolean computeCacheable(final State state, int id) {
+        boolean handled = false;
+        int index = 0;
+        while (index < protocols.length) {
+            final Row row = row(state, index);
+            final int protocolIndex = row.protocolIndices[id];
+            if (protocolIndex == protocols.length) {
+                break;
+            }
+
+            // Follow the same path as apply, as long as the handlers don't change the packet type
+            final PacketMappings mappings = protocols[protocolIndex].getPacketMappings(direction, state);
+            if (mappings == null) {
+                return false;
+            }
+
+            final int mappedId = row.mappedIds[id];
+            final PacketMapping mapping = mappings.mappedPacket(state, mappedId);
+            if (mapping == null || mapping.handler() == null || !mapping.handler().isCacheable()) {
+                return false;
+            }
+
+            id = mapping.mappedId(mappedId);
+            if (id < 0 || id > MAX_PACKET_ID || changesState(mapping, state)) {
+                return false;
+            }
+
+            handled = true;
+            index = protocolIndex + 1;
+        }
+        return handled;
+    }
+
+    private Row row(final State state, final int startIndex) {
+        final Row[] stateRows = rows[state.ordinal()];
+        Row row = stateRows[startIndex];
+        if (row == null) {
+            // Rows only have final fields, so they are safely published through the plain array without further synchronization.
+            // Racing computations result in equal rows and are harmless
+            row = computeRow(state, startIndex);
+            stateRows[startIndex] = row;
+        }
+        return row;
+    }
+
+    private Row computeRow(final State state, final int startIndex) {
+        final int[] protocolIndices = new int[MAX_PACKET_ID + 1];
+        final int[] mappedIds = new int[MAX_PACKET_ID + 1];
+        final PacketMapping[][] skippedMappings = new PacketMapping[MAX_PACKET_ID + 1][];
+        final List<PacketMapping> skipped = new ArrayList<>();
+        for (int id = 0; id <= MAX_PACKET_ID; id++) {
+            int mappedId = id;
+            int index = startIndex;
+            for (; index < protocols.length; index++) {
+                final PacketMappings mappings = protocols[index].getPacketMappings(direction, state);
+                if (mappings == null) {
+                    break;
+                }
+
+                final PacketMapping mapping = mappings.mappedPacket(state, mappedId);
+                if (mapping == null) {
+                    continue;
+                }
+                if (mapping.handler() != null || changesState(mapping, state)) {
+                    // Leave state changes to the protocol, as the following protocols look up their mappings in the new state
+                    break;
+                }
+
+                mappedId = mapping.mappedId(mappedId);
+                skipped.add(mapping);
+            }
+
+            protocolIndices[id] = index;
+            mappedIds[id] = mappedId;
+            // Every mapping has to be applied in order to end up with the same packet type as with a full transform
+            skippedMappings[id] = skipped.isEmpty() ? NO_MAPPINGS : skipped.toArray(NO_MAPPINGS);
+            skipped.clear();
+        }
+        return new Row(protocolIndices, mappedIds, skippedMappings);
+    }
+
+    private static boolean changesState(final PacketMapping mapping, final State state) {
+        final PacketType mappedPacketType = mapping.mappedPacketType();
+        return mappedPacketType != null && mappedPacketType.state() != state;
+    }
+
+    private record Row(int[] protocolIndices, int[] mappedIds, PacketMapping[][] skippedMappings) {
+    }
+
+    private record CacheableIds(boolean[] ids) {
+    }
+}
@@ -20,13 +20,16 @@ package com.viaversion.viaversion.protocol;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
+import com.google.gson.JsonElement;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.data.MappingData;
 import com.viaversion.viaversion.api.data.MappingDataLoader;
 import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.ProtocolManager;
 import com.viaversion.viaversion.api.protocol.ProtocolPathEntry;
 import com.viaversion.viaversion.api.protocol.ProtocolPathKey;
+import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
 import com.viaversion.viaversion.api.protocol.packet.ClientboundPacketType;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketType;
@@ -88,6 +91,7 @@ import com.viaversion.viaversion.protocols.v1_8to1_9.Protocol1_8To1_9;
 import com.viaversion.viaversion.protocols.v1_9_1to1_9_3.Protocol1_9_1To1_9_3;
 import com.viaversion.viaversion.protocols.v1_9_3to1_10.Protocol1_9_3To1_10;
 import com.viaversion.viaversion.protocols.v1_9to1_9_1.Protocol1_9To1_9_1;
+import com.viaversion.viaversion.util.GsonUtil;
 import com.viaversion.viaversion.util.MathUtil;
 import com.viaversion.viaversion.util.Pair;
 import io.netty.buffer.ByteBuf;
@@ -100,6 +104,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -125,13 +130,22 @@ public class ProtocolManagerImpl implements ProtocolManager {
     private final Object2ObjectMap<ProtocolVersion, Object2ObjectMap<ProtocolVersion, Protocol>> registryMap = new Object2ObjectOpenHashMap<>(32);
     private final Map<Class<? extends Protocol>, Protocol<?, ?, ?, ?>> protocols = new Reference2ObjectOpenHashMap<>(64);
     private final Map<ProtocolPathKey, List<ProtocolPathEntry>> pathCache = new ConcurrentHashMap<>();
+    private final Map<DispatchTableKey, PacketDispatchTable> dispatchTables = new ConcurrentHashMap<>();
+    private final ComposedMappingsCache composedMappings = new ComposedMappingsCache();
     private final Set<ProtocolVersion> supportedVersions = new HashSet<>();
+    private final StatusResponseCache statusResponseCache = new StatusResponseCache();
+    private volatile JsonElement supportedVersionsJson;
     private final List<Pair<Range<ProtocolVersion>, Protocol>> serverboundBaseProtocols = Lists.newCopyOnWriteArrayList();
     private final List<Pair<Range<ProtocolVersion>, Protocol>> clientboundBaseProtocols = Lists.newCopyOnWriteArrayList();
 
     private final ReadWriteLock mappingLoaderLock = new ReentrantReadWriteLock();
     private Map<Class<? extends Protocol>, CompletableFuture<Void>> mappingLoaderFutures = new Reference2ObjectOpenHashMap<>();
+    private final Map<Class<? extends Protocol>, Class<? extends Protocol>> mappingLoaderDependencies = new Reference2ObjectOpenHashMap<>();
+    private final Map<Class<? extends Protocol>, Long> mappingsLastUsed = new ConcurrentHashMap<>();
+    private Map<Class<? extends Protocol>, LazyMappingLoader> lazyMappingLoaders; // Only set if mappings are loaded lazily
+    private TransformedPacketCache transformedPacketCache; // Only set if enabled
     private ExecutorService mappingLoaderExecutor;
+    private int activeLazyMappingLoaders; // Guarded by the mapping loader lock
     private boolean mappingsLoaded;
 
     private ServerProtocolVersion serverProtocolVersion = new ServerProtocolVersionSingleton(ProtocolVersion.unknown);
@@ -149,6 +163,15 @@ public class ProtocolManagerImpl implements ProtocolManager {
     }
 
     public void registerProtocols() {
+        if (Via.getConfig().lazyMappingLoading()) {
+            enableLazyMappingLoading();
+        }
+
+        final int packetCacheSize = Via.getConfig().transformedPacketCacheSize();
+        if (packetCacheSize > 0) {
+            transformedPacketCache = new TransformedPacketCache(packetCacheSize * 1024L);
+        }
+
         // Base Protocol
         BASE_PROTOCOL.initialize();
         BASE_PROTOCOL.register(Via.getManager().getProviders());
@@ -232,6 +255,10 @@ public class ProtocolManagerImpl implements ProtocolManager {
         if (!pathCache.isEmpty()) {
             pathCache.clear();
         }
+        if (!dispatchTables.isEmpty()) {
+            dispatchTables.clear();
+        }
+        composedMappings.clear();
 
         protocols.put(protocol.getClass(), protocol);
 
@@ -293,6 +320,31 @@ public class ProtocolManagerImpl implements ProtocolManager {
                 supportedVersions.add(pathEntry.outputProtocolVersion());
             }
         }
+
+        // Only serialize once the set is complete
+        refreshStatusResponses();
+    }
+
+    /**
+     * Reserializes the supported versions and clears cached status responses, to be called after the supported versions or config changed.
+     */
+    public void refreshStatusResponses() {
+        supportedVersionsJson = GsonUtil.getGson().toJsonTree(Via.getAPI().getSupportedVersions());
+        statusResponseCache.invalidateAll();
+    }
+
+    /**
+     * Returns the supported versions as sent in status responses, only serialized once per {@link #refreshStatusResponses()}.
+     *
+     * @return serialized supported versions, not to be modified
+     */
+    public JsonElement getSupportedVersionsJson() {
+        JsonElement json = supportedVersionsJson;
+        if (json == null) {
+            json = GsonUtil.getGson().toJsonTree(Via.getAPI().getSupportedVersions());
+            supportedVersionsJson = json;
+        }
+        return json;
     }
 
     @Override
@@ -385,6 +437,45 @@ public class ProtocolManagerImpl implements ProtocolManager {
         return shortest; // null if none found
     }
 
+    /**
+     * Returns a packet dispatch table for the given protocols, shared between all pipelines with the same protocols.
+     *
+     * @param protocols protocols in the order packets go through them
+     * @param direction packet direction
+     * @return packet dispatch table
+     */
+    public PacketDispatchTable getDispatchTable(final List<Protocol> protocols, final Direction direction) {
+        final DispatchTableKey key = new DispatchTableKey(List.copyOf(protocols), direction);
+        return dispatchTables.computeIfAbsent(key, k -> new PacketDispatchTable(k.protocols(), k.direction()));
+    }
+
+    /**
+     * Returns the cache of id mappings composed over multiple protocols.
+     *
+     * @return composed mappings cache
+     */
+    public ComposedMappingsCache getComposedMappings() {
+        return composedMappings;
+    }
+
+    /**
+     * Returns the cache of rewritten status responses.
+     *
+     * @return status response cache
+     */
+    public StatusResponseCache getStatusResponseCache() {
+        return statusResponseCache;
+    }
+
+    /**
+     * Returns the cache of transformed packets shared between connections if enabled.
+     *
+     * @return transformed packet cache, or null if disabled
+     */
+    public @Nullable TransformedPacketCache getTransformedPacketCache() {
+        return transformedPacketCache;
+    }
+
     @Override
     public @Nullable <T extends Protocol> T getProtocol(Class<T> protocolClass) {
         return (T) protocols.get(protocolClass);
@@ -472,17 +563,31 @@ public class ProtocolManagerImpl implements ProtocolManager {
         return BASE_PROTOCOL;
     }
 
+    /**
+     * Only loads mapping data once needed instead of at startup, to be called before registering any protocols.
+     */
+    public void enableLazyMappingLoading() {
+        Preconditions.checkArgument(protocols.isEmpty(), "Protocols have already been registered");
+        lazyMappingLoaders = new Reference2ObjectOpenHashMap<>();
+    }
+
     @Override
     public void completeMappingDataLoading(Class<? extends Protocol> protocolClass) {
-        if (mappingsLoaded) return;
-
-        CompletableFuture<Void> future = getMappingLoaderFuture(protocolClass);
+        CompletableFuture<Void> future = loadMappingDataAsync(protocolClass);
         if (future != null) {
             // Wait for completion
             future.join();
         }
     }
 
+    @Override
+    public @Nullable CompletableFuture<Void> loadMappingDataAsync(Class<? extends Protocol> protocolClass) {
+        if (mappingsLoaded) return null;
+
+        CompletableFuture<Void> future = lazyMappingLoaders != null ? loadMappingsLazily(protocolClass) : getMappingLoaderFuture(protocolClass);
+        return future;
+    }
+
     @Override
     public boolean checkForMappingCompletion() {
         mappingLoaderLock.readLock().lock();
@@ -498,6 +603,11 @@ public class ProtocolManagerImpl implements ProtocolManager {
                 }
             }
 
+            if (lazyMappingLoaders != null) {
+                // Keep the executor for mappings loaded later on
+                return true;
+            }
+
             shutdownLoaderExecutor();
             return true;
         } finally {
@@ -507,6 +617,11 @@ public class ProtocolManagerImpl implements ProtocolManager {
 
     @Override
     public void addMappingLoaderFuture(Class<? extends Protocol> protocolClass, Runnable runnable) {
+        if (lazyMappingLoaders != null) {
+            addLazyMappingLoader(protocolClass, null, runnable);
+            return;
+        }
+
         CompletableFuture<Void> future = CompletableFuture.runAsync(runnable, mappingLoaderExecutor).exceptionally(mappingLoaderThrowable(protocolClass));
 
         mappingLoaderLock.writeLock().lock();
@@ -519,6 +634,11 @@ public class ProtocolManagerImpl implements ProtocolManager {
 
     @Override
     public void addMappingLoaderFuture(Class<? extends Protocol> protocolClass, Class<? extends Protocol> dependsOn, Runnable runnable) {
+        if (lazyMappingLoaders != null) {
+            addLazyMappingLoader(protocolClass, dependsOn, runnable);
+            return;
+        }
+
         CompletableFuture<Void> future = getMappingLoaderFuture(dependsOn)
             .whenCompleteAsync((v, throwable) -> runnable.run(), mappingLoaderExecutor).exceptionally(mappingLoaderThrowable(protocolClass));
 
@@ -530,6 +650,169 @@ public class ProtocolManagerImpl implements ProtocolManager {
         }
     }
 
+    private void addLazyMappingLoader(Class<? extends Protocol> protocolClass, @Nullable Class<? extends Protocol> dependsOn, Runnable runnable) {
+        mappingLoaderLock.writeLock().lock();
+        try {
+            lazyMappingLoaders.put(protocolClass, new LazyMappingLoader(runnable, false));
+            if (dependsOn != null) {
+                mappingLoaderDependencies.put(protocolClass, dependsOn);
+            }
+        } finally {
+            mappingLoaderLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts loading the mapping data of the given protocol and the ones it depends on if not already loaded or loading.
+     *
+     * @param protocolClass protocol class
+     * @return future of the mapping data loading, or null if the protocol has no mapping data to load
+     */
+    private @Nullable CompletableFuture<Void> loadMappingsLazily(Class<? extends Protocol> protocolClass) {
+        final long now = System.currentTimeMillis();
+        mappingLoaderLock.writeLock().lock();
+        try {
+            return submitLazyMappingLoader(protocolClass, now);
+        } finally {
+            mappingLoaderLock.writeLock().unlock();
+        }
+    }
+
+    private @Nullable CompletableFuture<Void> submitLazyMappingLoader(Class<? extends Protocol> protocolClass, long now) {
+        mappingsLastUsed.put(protocolClass, now);
+
+        final Class<? extends Protocol> dependsOn = mappingLoaderDependencies.get(protocolClass);
+        final CompletableFuture<Void> dependency = dependsOn != null ? submitLazyMappingLoader(dependsOn, now) : null;
+
+        CompletableFuture<Void> future = mappingLoaderFutures.get(protocolClass);
+        if (future != null) {
+            // The dependency might have been unloaded in the meantime
+            return dependency != null && !dependency.isDone() ? CompletableFuture.allOf(future, dependency) : future;
+        }
+
+        final LazyMappingLoader loader = lazyMappingLoaders.remove(protocolClass);
+        if (loader == null) {
+            return null;
+        }
+
+        if (Via.getManager().isDebug()) {
+            Via.getPlatform().getLogger().info((loader.reload() ? "Reloading" : "Loading") + " mapping data of " + protocolClass.getSimpleName());
+        }
+
+        if (dependency != null) {
+            future = dependency.whenCompleteAsync((v, throwable) -> loader.runnable().run(), mappingLoaderExecutor);
+        } else {
+            future = CompletableFuture.runAsync(loader.runnable(), mappingLoaderExecutor);
+        }
+        activeLazyMappingLoaders++;
+        future = future.exceptionally(mappingLoaderThrowable(protocolClass)).whenComplete((v, throwable) -> lazyMappingLoaderCompleted());
+        mappingLoaderFutures.put(protocolClass, future);
+        return future;
+    }
+
+    private void lazyMappingLoaderCompleted() {
+        mappingLoaderLock.writeLock().lock();
+        try {
+            if (--activeLazyMappingLoaders == 0) {
+                // Clear cached mapping files once nothing is loading them anymore, as the executor is never shut down
+                MappingDataLoader.INSTANCE.clearCache();
+            }
+        } finally {
+            mappingLoaderLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts loading mapping data needed for the given client versions to join, if mappings are loaded lazily.
+     *
+     * @param clientVersions client versions to load mapping data for
+     */
+    public void warmUpMappings(Collection<ProtocolVersion> clientVersions) {
+        if (lazyMappingLoaders == null) {
+            return;
+        }
+
+        for (ProtocolVersion clientVersion : clientVersions) {
+            for (ProtocolVersion serverVersion : serverProtocolVersion.supportedProtocolVersions()) {
+                List<ProtocolPathEntry> path = getProtocolPath(clientVersion, serverVersion);
+                if (path == null) continue;
+
+                for (ProtocolPathEntry entry : path) {
+                    loadMappingsLazily(entry.protocol().getClass());
+                }
+            }
+        }
+    }
+
+    /**
+     * Unloads the mapping data of protocols not used by any connection for the given time, if mappings are loaded lazily.
+     * Unloaded mapping data is loaded again once a connection needs it.
+     *
+     * @param unusedMillis time in milliseconds after which mapping data of an unused protocol is unloaded
+     */
+    public void unloadUnusedMappings(long unusedMillis) {
+        if (lazyMappingLoaders == null) {
+            return;
+        }
+
+        final long now = System.currentTimeMillis();
+        for (UserConnection connection : Via.getManager().getConnectionManager().getConnections()) {
+            ProtocolPipeline pipeline = connection.getProtocolInfo().getPipeline();
+            if (pipeline == null) continue;
+
+            // Pipelines may be changed by their connection's thread, so only iterate over a snapshot.
+            // Protocols currently being added are marked as used when completing their mapping data loading
+            for (Protocol protocol : pipeline.pipes().toArray(new Protocol[0])) {
+                if (protocol != null) {
+                    markMappingsUsed(protocol.getClass(), now);
+                }
+            }
+        }
+
+        final List<String> unloaded = new ArrayList<>();
+        mappingLoaderLock.writeLock().lock();
+        try {
+            Iterator<Map.Entry<Class<? extends Protocol>, CompletableFuture<Void>>> iterator = mappingLoaderFutures.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Class<? extends Protocol>, CompletableFuture<Void>> entry = iterator.next();
+                Class<? extends Protocol> protocolClass = entry.getKey();
+                Long lastUsed = mappingsLastUsed.get(protocolClass);
+                if (!entry.getValue().isDone() || lastUsed != null && now - lastUsed < unusedMillis) {
+                    continue;
+                }
+
+                Protocol<?, ?, ?, ?> protocol = protocols.get(protocolClass);
+                MappingData mappingData = protocol != null ? protocol.getMappingData() : null;
+                if (mappingData == null || !mappingData.unload()) {
+                    continue;
+                }
+
+                // Only the mapping data itself has to be loaded again, data derived from it is kept
+                iterator.remove();
+                lazyMappingLoaders.put(protocolClass, new LazyMappingLoader(mappingData::load, true));
+                mappingsLastUsed.remove(protocolClass);
+                unloaded.add(protocolClass.getSimpleName());
+            }
+        } finally {
+            mappingLoaderLock.writeLock().unlock();
+        }
+
+        if (!unloaded.isEmpty()) {
+            composedMappings.clear();
+            if (Via.getManager().isDebug()) {
+                Via.getPlatform().getLogger().info("Unloaded unused mapping data of " + String.join(", ", unloaded));
+            }
+        }
+    }
+
+    private void markMappingsUsed(Class<? extends Protocol> protocolClass, long now) {
+        // Also mark the protocols whose mapping data is required to load this protocol's
+        while (protocolClass != null) {
+            mappingsLastUsed.put(protocolClass, now);
+            protocolClass = mappingLoaderDependencies.get(protocolClass);
+        }
+    }
+
     @Override
     public @Nullable CompletableFuture<Void> getMappingLoaderFuture(Class<? extends Protocol> protocolClass) {
         mappingLoaderLock.readLock().lock();
@@ -556,6 +839,11 @@ public class ProtocolManagerImpl implements ProtocolManager {
         return mappingsLoaded;
     }
 
+    @Override
+    public boolean isLazyMappingLoading() {
+        return lazyMappingLoaders != null;
+    }
+
     public void shutdownLoaderExecutor() {
         Preconditions.checkArgument(!mappingsLoaded);
 
@@ -577,4 +865,10 @@ public class ProtocolManagerImpl implements ProtocolManager {
             return null;
         };
     }
+
+    private record LazyMappingLoader(Runnable runnable, boolean reload) {
+    }
+
+    private record DispatchTableKey(List<Protocol> protocols, Direction direction) {
+    }
 }
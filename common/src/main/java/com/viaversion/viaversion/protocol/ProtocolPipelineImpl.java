@@ -30,6 +30,7 @@ import com.viaversion.viaversion.exception.CancelException;
 import com.viaversion.viaversion.exception.InformativeException;
 import com.viaversion.viaversion.util.ProtocolUtil;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
@@ -43,6 +44,8 @@ public class ProtocolPipelineImpl implements ProtocolPipeline {
     private final List<Protocol> protocolList = new ArrayList<>();
     private final Set<Class<? extends Protocol>> protocolSet = new HashSet<>();
     private final UserConnection userConnection;
+    private final PacketDispatchTable[] dispatchTables = new PacketDispatchTable[Direction.values().length];
+    private final boolean[] resolvedDispatchTables = new boolean[Direction.values().length];
     private List<Protocol> reversedProtocolList = new ArrayList<>();
     private int baseProtocols;
 
@@ -65,6 +68,7 @@ public class ProtocolPipelineImpl implements ProtocolPipeline {
 
         protocolSet.add(protocol.getClass());
         protocol.init(userConnection);
+        invalidateDispatchTables();
     }
 
     @Override
@@ -80,6 +84,7 @@ public class ProtocolPipelineImpl implements ProtocolPipeline {
         protocolList.addAll(protocols);
 
         refreshReversedList();
+        invalidateDispatchTables();
     }
 
     private void refreshReversedList() {
@@ -106,14 +111,59 @@ public class ProtocolPipelineImpl implements ProtocolPipeline {
             logPacket(direction, state, packetWrapper, originalID, false);
         }
 
-        // Apply protocols
-        packetWrapper.apply(direction, state, protocolListFor(direction));
+        // Apply protocols, only going through those with handlers for the packet if possible
+        final PacketDispatchTable dispatchTable = dispatchTable(direction);
+        if (dispatchTable != null) {
+            dispatchTable.apply(state, packetWrapper);
+        } else {
+            packetWrapper.apply(direction, state, protocolListFor(direction));
+        }
 
         if (debug && debugHandler.logPostPacketTransform() && debugHandler.shouldLog(packetWrapper, direction)) {
             logPacket(direction, state, packetWrapper, originalID, true);
         }
     }
 
+    @Override
+    public int mappedIdWithoutHandlers(final Direction direction, final State state, final int packetId) {
+        final PacketDispatchTable dispatchTable = dispatchTable(direction);
+        return dispatchTable != null ? dispatchTable.mappedIdWithoutHandlers(state, packetId) : -1;
+    }
+
+    /**
+     * Returns the packet dispatch table of the current protocols for the given direction.
+     * The table is resolved once until the pipeline changes or {@link #invalidateDispatchTables()} is called.
+     *
+     * @param direction packet direction
+     * @return packet dispatch table, or null if a protocol currently transforms packets outside of its packet mappings
+     * @see Protocol#transformsOutsidePacketMappings(UserConnection, Direction)
+     */
+    public @Nullable PacketDispatchTable dispatchTable(final Direction direction) {
+        final int index = direction.ordinal();
+        if (!resolvedDispatchTables[index]) {
+            dispatchTables[index] = createDispatchTable(direction);
+            resolvedDispatchTables[index] = true;
+        }
+        return dispatchTables[index];
+    }
+
+    private @Nullable PacketDispatchTable createDispatchTable(final Direction direction) {
+        for (final Protocol protocol : protocolList) {
+            if (protocol.transformsOutsidePacketMappings(userConnection, direction)) {
+                return null;
+            }
+        }
+
+        final ProtocolManagerImpl protocolManager = (ProtocolManagerImpl) Via.getManager().getProtocolManager();
+        return protocolManager.getDispatchTable(protocolListFor(direction), direction);
+    }
+
+    @Override
+    public void invalidateDispatchTables() {
+        Arrays.fill(dispatchTables, null);
+        Arrays.fill(resolvedDispatchTables, false);
+    }
+
     private List<Protocol> protocolListFor(final Direction direction) {
         return direction == Direction.SERVERBOUND ? protocolList : reversedProtocolList;
     }
@@ -222,6 +272,7 @@ public class ProtocolPipelineImpl implements ProtocolPipeline {
         reversedProtocolList.clear();
         protocolSet.clear();
         baseProtocols = 0;
+        invalidateDispatchTables();
 
         this.add(Via.getManager().getProtocolManager().getBaseProtocol());
     }
@@ -0,0 +1,115 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocol;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Short-lived cache of rewritten status responses, mapping the raw status of a server to the rewritten status per client version.
+ * <p>
+ * Entries also depend on the supported versions and config values such as blocked versions, so the cache is cleared whenever
+ * the versions are refreshed or the config is reloaded.
+ */
+public final class StatusResponseCache {
+    private static final int MAX_SIZE = 64;
+    private static final int EXPIRE_SECONDS = 5;
+    private final Cache<Key, Entry> responses = CacheBuilder.newBuilder()
+        .maximumSize(MAX_SIZE)
+        .expireAfterWrite(EXPIRE_SECONDS, TimeUnit.SECONDS)
+        .build();
+
+    /**
+     * Returns the rewritten status for the given key if present.
+     *
+     * @param key cache key
+     * @return rewritten status, or null if not cached
+     */
+    public @Nullable Entry get(final Key key) {
+        return responses.getIfPresent(key);
+    }
+
+    /**
+     * Caches the rewritten status for the given key.
+     *
+     * @param key   cache key
+     * @param entry rewritten status
+     */
+    public void put(final Key key, final Entry entry) {
+        responses.put(key, entry);
+    }
+
+    public void invalidateAll() {
+        responses.invalidateAll();
+    }
+
+    public long size() {
+        return responses.size();
+    }
+
+    /**
+     * Returns a cache key for the status sent by the server.
+     *
+     * @param clientVersion client protocol version
+     * @param serverVersion closest server protocol version
+     * @param status        raw status string as sent by the server, including its length prefix
+     * @return cache key
+     */
+    public static Key key(final ProtocolVersion clientVersion, final ProtocolVersion serverVersion, final byte[] status) {
+        return new Key(clientVersion, serverVersion, status);
+    }
+
+    /**
+     * Rewritten status response.
+     *
+     * @param status     rewritten status json
+     * @param compatible whether a protocol path between the client and server version exists
+     */
+    public record Entry(String status, boolean compatible) {
+    }
+
+    public static final class Key {
+        private final ProtocolVersion clientVersion;
+        private final ProtocolVersion serverVersion;
+        private final byte[] status;
+        private final int hashCode;
+
+        private Key(final ProtocolVersion clientVersion, final ProtocolVersion serverVersion, final byte[] status) {
+            this.clientVersion = clientVersion;
+            this.serverVersion = serverVersion;
+            this.status = status;
+            this.hashCode = 31 * (31 * clientVersion.hashCode() + serverVersion.hashCode()) + Arrays.hashCode(status);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return hashCode == key.hashCode && clientVersion.equals(key.clientVersion) && serverVersion.equals(key.serverVersion) && Arrays.equals(status, key.status);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocol;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import java.util.Arrays;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Bounded cache of fully transformed packets shared by all connections, mapping the raw input of a packet to its raw output.
+ * <p>
+ * Only packets whose handlers are all {@link PacketDispatchTable#isCacheable(State, int) cacheable} are stored, e.g. tags or commands
+ * sent to every player joining the same server. Entries are keyed by the dispatch table, and with that the protocol path, as well as the
+ * state and full packet bytes, so different contents never share an entry.
+ * <p>
+ * Protocols mark handlers explicitly where they register them, e.g. through the {@code cacheable} flag of the tag and command rewriters.
+ * Recipes are not marked, as their items go through item rewriters using connection state such as item hashers. Feature flags are
+ * only remapped by id or tracked per connection, so there is nothing to share.
+ */
+public final class TransformedPacketCache {
+    private final Cache<Key, byte[]> packets;
+
+    public TransformedPacketCache(final long maxBytes) {
+        this.packets = CacheBuilder.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((Key key, byte[] output) -> key.input.length + output.length)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Returns the transformed packet bytes for the given key if present.
+     *
+     * @param key cache key
+     * @return transformed packet bytes, including the packet id, or null if not cached
+     */
+    public byte @Nullable [] get(final Key key) {
+        return packets.getIfPresent(key);
+    }
+
+    /**
+     * Caches the transformed packet bytes for the given key.
+     *
+     * @param key    cache key
+     * @param output transformed packet bytes, including the packet id
+     */
+    public void put(final Key key, final byte[] output) {
+        packets.put(key, output);
+    }
+
+    public CacheStats stats() {
+        return packets.stats();
+    }
+
+    public static Key key(final PacketDispatchTable table, final State state, final byte[] input) {
+        return new Key(table, state, input);
+    }
+
+    public static final class Key {
+        private final PacketDispatchTable table;
+        private final State state;
+        private final byte[] input;
+        private final int hashCode;
+
+        private Key(final PacketDispatchTable table, final State state, final byte[] input) {
+            this.table = table;
+            this.state = state;
+            this.input = input;
+            this.hashCode = 31 * (31 * System.identityHashCode(table) + state.hashCode()) + Arrays.hashCode(input);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return hashCode == key.hashCode && table == key.table && state == key.state && Arrays.equals(input, key.input);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
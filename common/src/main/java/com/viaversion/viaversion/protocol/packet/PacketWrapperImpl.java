@@ -18,9 +18,11 @@
 package com.viaversion.viaversion.protocol.packet;
 
 import com.google.common.base.Preconditions;
+import com.viaversion.nbt.tag.CompoundTag;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.ProtocolInfo;
 import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.minecraft.LazyCompoundTag;
 import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketType;
@@ -30,6 +32,9 @@ import com.viaversion.viaversion.api.protocol.remapper.PacketHandler;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.TypeConverter;
 import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.api.type.types.misc.LazyCompoundTagType;
+import com.viaversion.viaversion.api.type.types.misc.RawTagType;
+import com.viaversion.viaversion.debug.PacketProfilerImpl;
 import com.viaversion.viaversion.exception.CancelException;
 import com.viaversion.viaversion.exception.InformativeException;
 import com.viaversion.viaversion.util.ArrayUtil;
@@ -37,16 +42,24 @@ import com.viaversion.viaversion.util.PipelineUtil;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelFuture;
 import java.io.IOException;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Deque;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class PacketWrapperImpl implements PacketWrapper {
-    private final Deque<PacketValue<?>> readableObjects = new ArrayDeque<>();
-    private final List<PacketValue<?>> packetValues = new ArrayList<>();
+    private static final int INITIAL_CAPACITY = 8;
+    /**
+     * Packet values are kept in parallel arrays, split into written values in [start, writeIndex)
+     * and values still to be read in [readIndex, size). Values are only moved when resetting
+     * the reader after values have been added or removed.
+     */
+    private Type<?>[] types = new Type[INITIAL_CAPACITY];
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int start;
+    private int writeIndex;
+    private int readIndex;
+    private int size;
     private final ByteBuf inputBuffer;
     private final UserConnection userConnection;
     private boolean send = true;
@@ -59,6 +72,7 @@ public class PacketWrapperImpl implements PacketWrapper {
      */
     private boolean allActionsRead;
     private int id;
+    private PacketProfilerImpl.Sample profilerSample;
 
     public PacketWrapperImpl(int packetId, @Nullable ByteBuf inputBuffer, UserConnection userConnection) {
         this.id = packetId;
@@ -75,40 +89,45 @@ public class PacketWrapperImpl implements PacketWrapper {
 
     @Override
     public <T> T get(Type<T> type, int index) throws InformativeException {
-        int currentIndex = 0;
-        for (PacketValue<?> packetValue : packetValues) {
-            if (packetValue.type() != type) {
-                continue;
-            }
-            if (currentIndex == index) {
-                //noinspection unchecked
-                return (T) packetValue.value();
-            }
-            currentIndex++;
+        final int valueIndex = writtenIndexOf(type, index);
+        if (valueIndex == -1) {
+            throw createInformativeException(new ArrayIndexOutOfBoundsException("Could not find type " + type.getTypeName() + " at " + index), type, index);
+        }
+        if (types[valueIndex] != type) {
+            // Switch between the raw and parsed component or tag
+            final T value = convert(type, values[valueIndex]);
+            types[valueIndex] = type;
+            values[valueIndex] = value;
+            return value;
         }
-        throw createInformativeException(new ArrayIndexOutOfBoundsException("Could not find type " + type.getTypeName() + " at " + index), type, index);
+        //noinspection unchecked
+        return (T) values[valueIndex];
     }
 
     @Override
     public boolean is(Type type, int index) {
+        return writtenIndexOf(type, index) != -1;
+    }
+
+    private int writtenIndexOf(final Type<?> type, final int index) {
         int currentIndex = 0;
-        for (PacketValue<?> packetValue : packetValues) {
-            if (packetValue.type() != type) {
+        for (int i = start; i < writeIndex; i++) {
+            if (types[i] != type && !isConvertibleComponent(type, types[i]) && !isConvertibleTag(type, types[i])) {
                 continue;
             }
             if (currentIndex == index) {
-                return true;
+                return i;
             }
             currentIndex++;
         }
-        return false;
+        return -1;
     }
 
     @Override
     public boolean isReadable(Type type, int index) {
         int currentIndex = 0;
-        for (PacketValue<?> packetValue : readableObjects) {
-            if (packetValue.type().getBaseClass() != type.getBaseClass()) {
+        for (int i = readIndex; i < size; i++) {
+            if (types[i].getBaseClass() != type.getBaseClass()) {
                 continue;
             }
             if (currentIndex == index) {
@@ -122,23 +141,23 @@ public class PacketWrapperImpl implements PacketWrapper {
 
     @Override
     public <T> void set(Type<T> type, int index, @Nullable T value) throws InformativeException {
-        int currentIndex = 0;
-        for (PacketValue packetValue : packetValues) {
-            if (packetValue.type() != type) {
-                continue;
-            }
-            if (currentIndex == index) {
-                packetValue.setValue(value);
-                return;
-            }
-            currentIndex++;
+        final int valueIndex = writtenIndexOf(type, index);
+        if (valueIndex == -1) {
+            throw createInformativeException(new ArrayIndexOutOfBoundsException("Could not find type " + type.getTypeName() + " at " + index), type, index);
         }
-        throw createInformativeException(new ArrayIndexOutOfBoundsException("Could not find type " + type.getTypeName() + " at " + index), type, index);
+        types[valueIndex] = type;
+        values[valueIndex] = value;
     }
 
     @Override
     public <T> T read(Type<T> type) {
-        return readableObjects.isEmpty() ? readFromBuffer(type) : pollReadableObject(type).value;
+        if (readIndex == size) {
+            return readFromBuffer(type);
+        }
+
+        final T value = peekReadableObject(type);
+        readIndex++;
+        return value;
     }
 
     private <T> T readFromBuffer(Type<T> type) {
@@ -146,26 +165,72 @@ public class PacketWrapperImpl implements PacketWrapper {
         try {
             return type.read(inputBuffer);
         } catch (Exception e) {
-            throw createInformativeException(e, type, packetValues.size() + 1);
+            throw createInformativeException(e, type, writeIndex - start + 1);
         }
     }
 
-    private <T> PacketValue<T> pollReadableObject(Type<T> type) {
-        PacketValue<?> readValue = readableObjects.poll();
-        Type<?> readType = readValue.type();
+    private <T> T peekReadableObject(Type<T> type) {
+        final Type<?> readType = types[readIndex];
         if (readType == type
             || (type.getBaseClass() == readType.getBaseClass()
             && type.getOutputClass() == readType.getOutputClass())) {
             //noinspection unchecked
-            return (PacketValue<T>) readValue;
+            return (T) values[readIndex];
+        } else if (isConvertibleComponent(type, readType) || isConvertibleTag(type, readType)) {
+            // Switch between the raw and parsed component or tag, keeping it in the form last read in
+            final T value = convert(type, values[readIndex]);
+            types[readIndex] = type;
+            values[readIndex] = value;
+            return value;
+        } else if (isCompoundTagType(type) && isCompoundTagType(readType)) {
+            // Same for lazily parsed compound tags, parsing them once read as a normal tag
+            //noinspection unchecked
+            final T value = type instanceof LazyCompoundTagType lazyType ? (T) lazyType.from(values[readIndex])
+                : (T) (values[readIndex] instanceof LazyCompoundTag lazyTag ? lazyTag.get() : values[readIndex]);
+            types[readIndex] = type;
+            values[readIndex] = value;
+            return value;
         } else {
-            throw createInformativeException(new IOException("Unable to read type " + type.getTypeName() + ", found " + readValue.type().getTypeName()), type, readableObjects.size());
+            throw createInformativeException(new IOException("Unable to read type " + type.getTypeName() + ", found " + readType.getTypeName()), type, size - readIndex);
         }
     }
 
+    private static boolean isConvertibleComponent(final Type<?> type, final Type<?> otherType) {
+        return (isComponentType(type) && isComponentType(otherType)) || (isOptionalComponentType(type) && isOptionalComponentType(otherType));
+    }
+
+    private static boolean isComponentType(final Type<?> type) {
+        return type == Types.COMPONENT || type == Types.RAW_COMPONENT;
+    }
+
+    private static boolean isOptionalComponentType(final Type<?> type) {
+        return type == Types.OPTIONAL_COMPONENT || type == Types.OPTIONAL_RAW_COMPONENT;
+    }
+
+    private static boolean isConvertibleTag(final Type<?> type, final Type<?> otherType) {
+        return (type == Types.RAW_TAG && isTagType(otherType)) || (isTagType(type) && otherType == Types.RAW_TAG);
+    }
+
+    private static boolean isTagType(final Type<?> type) {
+        return type == Types.TRUSTED_TAG || type == Types.TRUSTED_OPTIONAL_TAG || type == Types.TAG || type == Types.OPTIONAL_TAG;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T convert(final Type<T> type, final Object value) {
+        if (type instanceof TypeConverter<?>) {
+            return ((TypeConverter<T>) type).from(value);
+        }
+        // Parsed tag read from its raw form
+        return (T) RawTagType.parse((byte[]) value);
+    }
+
+    private static boolean isCompoundTagType(final Type<?> type) {
+        return type instanceof LazyCompoundTagType || type.getOutputClass() == CompoundTag.class;
+    }
+
     @Override
     public <T> void write(Type<T> type, T value) {
-        addPacketValue(new PacketValue<>(type, value));
+        addPacketValue(type, value);
     }
 
     /**
@@ -191,21 +256,70 @@ public class PacketWrapperImpl implements PacketWrapper {
 
     @Override
     public <T> T passthrough(Type<T> type) throws InformativeException {
-        if (readableObjects.isEmpty()) {
+        if (readIndex == size) {
             T value = readFromBuffer(type);
-            addPacketValue(new PacketValue<>(type, value));
+            addPacketValue(type, value);
             return value;
+        }
+
+        final T value = peekReadableObject(type);
+        if (allActionsRead) {
+            readIndex++;
+        } else if (writeIndex == readIndex) {
+            // Keep the value (and its original type) in place
+            writeIndex++;
+            readIndex++;
         } else {
-            PacketValue<T> value = pollReadableObject(type);
-            addPacketValue(value);
-            return value.value;
+            final Type<?> readType = types[readIndex++];
+            addPacketValue(readType, value);
         }
+        return value;
     }
 
-    private void addPacketValue(final PacketValue<?> packetValue) {
-        if (!allActionsRead) {
-            packetValues.add(packetValue);
+    private void addPacketValue(final Type<?> type, @Nullable final Object value) {
+        if (allActionsRead) {
+            return;
         }
+        if (writeIndex == readIndex) {
+            makeGap();
+        }
+
+        types[writeIndex] = type;
+        values[writeIndex++] = value;
+    }
+
+    /**
+     * Moves the values still to be read towards the end to make room for written values.
+     */
+    private void makeGap() {
+        final int readable = size - readIndex;
+        final int gap = Math.max(4, readable >> 1);
+        final int requiredCapacity = size + gap;
+        if (requiredCapacity > types.length) {
+            final int capacity = Math.max(requiredCapacity, types.length << 1);
+            types = Arrays.copyOf(types, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+
+        System.arraycopy(types, readIndex, types, readIndex + gap, readable);
+        System.arraycopy(values, readIndex, values, readIndex + gap, readable);
+        readIndex += gap;
+        size += gap;
+    }
+
+    /**
+     * Moves the values still to be read directly behind the written values, making them part of the written values.
+     */
+    private void moveReadableToWritten() {
+        if (writeIndex != readIndex) {
+            final int readable = size - readIndex;
+            System.arraycopy(types, readIndex, types, writeIndex, readable);
+            System.arraycopy(values, readIndex, values, writeIndex, readable);
+            Arrays.fill(values, writeIndex + readable, size, null);
+            size = writeIndex + readable;
+        }
+        writeIndex = size;
+        readIndex = size;
     }
 
     @Override
@@ -223,8 +337,7 @@ public class PacketWrapperImpl implements PacketWrapper {
     @Override
     public void passthroughAll() throws InformativeException {
         // Copy previous objects
-        packetValues.addAll(readableObjects);
-        readableObjects.clear();
+        moveReadableToWritten();
         // If the buffer has readable bytes, copy them.
         if (inputBuffer.isReadable()) {
             passthrough(Types.REMAINING_BYTES);
@@ -241,24 +354,24 @@ public class PacketWrapperImpl implements PacketWrapper {
 
     public boolean areStoredPacketValuesEmpty() {
         // Check for read/added packet values, not the input buffer
-        return packetValues.isEmpty() && readableObjects.isEmpty();
+        return writeIndex == start && readIndex == size;
     }
 
     public void writeProcessedValues(ByteBuf buffer) throws InformativeException {
         if (id != -1) {
             Types.VAR_INT.writePrimitive(buffer, id);
         }
-        if (!readableObjects.isEmpty()) {
-            packetValues.addAll(readableObjects);
-            readableObjects.clear();
+        if (readIndex != size) {
+            moveReadableToWritten();
         }
 
-        for (int i = 0; i < packetValues.size(); i++) {
-            PacketValue<?> packetValue = packetValues.get(i);
+        for (int i = start; i < writeIndex; i++) {
+            final Type<?> type = types[i];
             try {
-                packetValue.write(buffer);
+                //noinspection unchecked
+                ((Type<Object>) type).write(buffer, values[i]);
             } catch (final Exception e) {
-                throw createInformativeException(e, packetValue.type(), i);
+                throw createInformativeException(e, type, i - start);
             }
         }
     }
@@ -271,7 +384,7 @@ public class PacketWrapperImpl implements PacketWrapper {
             .set("Server Protocol", protocolInfo.serverProtocolVersion().getName())
             .set("Index", index)
             .set("Type", type.getTypeName())
-            .set("Data", this.packetValues)
+            .set("Data", valuesToString(start, writeIndex))
             .set("Packet ID", this.id);
     }
 
@@ -280,13 +393,16 @@ public class PacketWrapperImpl implements PacketWrapper {
         if (inputBuffer != null) {
             inputBuffer.clear();
         }
-        readableObjects.clear(); // :(
+        // :(
+        Arrays.fill(values, readIndex, size, null);
+        size = readIndex;
     }
 
     @Override
     public void clearPacket() {
         clearInputBuffer();
-        packetValues.clear();
+        Arrays.fill(values, start, writeIndex, null);
+        writeIndex = start;
     }
 
     @Override
@@ -446,7 +562,7 @@ public class PacketWrapperImpl implements PacketWrapper {
         // Indexed loop to allow additions to the tail
         for (int i = 0, size = pipeline.size(); i < size; i++) {
             Protocol<?, ?, ?, ?> protocol = pipeline.get(i);
-            protocol.transform(direction, state, this);
+            PacketProfilerImpl.transform(protocol, direction, state, this);
             resetReader();
             if (this.packetType != null) {
                 state = this.packetType.state();
@@ -471,11 +587,33 @@ public class PacketWrapperImpl implements PacketWrapper {
 
     @Override
     public void resetReader() {
-        // Move all packet values to the readable for next Protocol
-        for (int i = packetValues.size() - 1; i >= 0; i--) {
-            this.readableObjects.addFirst(this.packetValues.get(i));
+        // Make all packet values readable for the next protocol, only moving them if there's a gap in between
+        if (readIndex == size) {
+            // Nothing left to read, the written values simply become the readable ones
+            Arrays.fill(values, writeIndex, size, null);
+            size = writeIndex;
+        } else {
+            final int written = writeIndex - start;
+            final int newStart = readIndex - written;
+            if (newStart != start) {
+                System.arraycopy(types, start, types, newStart, written);
+                System.arraycopy(values, start, values, newStart, written);
+                Arrays.fill(values, start, newStart, null);
+            }
+            start = newStart;
         }
-        this.packetValues.clear();
+
+        if (start > types.length >> 1) {
+            // Move the values back to the front, as gaps made by every protocol would otherwise keep growing the arrays
+            final int length = size - start;
+            System.arraycopy(types, start, types, 0, length);
+            System.arraycopy(values, start, values, 0, length);
+            Arrays.fill(values, length, size, null);
+            start = 0;
+            size = length;
+        }
+        writeIndex = start;
+        readIndex = start;
     }
 
     @Override
@@ -484,11 +622,11 @@ public class PacketWrapperImpl implements PacketWrapper {
             return;
         }
 
-        final int size = packetValues.size();
-        Preconditions.checkArgument(values <= size, "Tried resetting more values than there are readable values");
-        for (int i = size - 1; i >= size - values; i--) {
-            this.readableObjects.addFirst(this.packetValues.remove(i));
-        }
+        Preconditions.checkArgument(values <= writeIndex - start, "Tried resetting more values than there are readable values");
+        System.arraycopy(types, writeIndex - values, types, readIndex - values, values);
+        System.arraycopy(this.values, writeIndex - values, this.values, readIndex - values, values);
+        writeIndex -= values;
+        readIndex -= values;
     }
 
     @Override
@@ -593,6 +731,14 @@ public class PacketWrapperImpl implements PacketWrapper {
         return inputBuffer;
     }
 
+    public PacketProfilerImpl.@Nullable Sample profilerSample() {
+        return profilerSample;
+    }
+
+    public void setProfilerSample(final PacketProfilerImpl.@Nullable Sample profilerSample) {
+        this.profilerSample = profilerSample;
+    }
+
     public void setAllActionsRead(final boolean allActionsRead) {
         this.allActionsRead = allActionsRead;
     }
@@ -612,11 +758,26 @@ public class PacketWrapperImpl implements PacketWrapper {
         return "PacketWrapper{" +
             "type=" + packetType +
             ", id=" + id +
-            ", values=" + packetValues +
-            ", readable=" + readableObjects +
+            ", values=" + valuesToString(start, writeIndex) +
+            ", readable=" + valuesToString(readIndex, size) +
             '}';
     }
 
+    private String valuesToString(final int from, final int to) {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = from; i < to; i++) {
+            if (i != from) {
+                builder.append(", ");
+            }
+            builder.append('{').append(types[i]).append(": ").append(ArrayUtil.toString(values[i])).append('}');
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * @deprecated packet values are no longer stored as individual objects
+     */
+    @Deprecated(forRemoval = true)
     public static final class PacketValue<T> {
         private final Type<T> type;
         private T value;
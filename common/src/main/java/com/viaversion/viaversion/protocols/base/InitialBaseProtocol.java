@@ -19,6 +19,7 @@ package com.viaversion.viaversion.protocols.base;
 
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.ProtocolInfo;
+import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.platform.providers.ViaProviders;
 import com.viaversion.viaversion.api.protocol.AbstractProtocol;
 import com.viaversion.viaversion.api.protocol.Protocol;
@@ -28,6 +29,7 @@ import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
 import com.viaversion.viaversion.api.protocol.packet.Direction;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.packet.mapping.PacketMappings;
 import com.viaversion.viaversion.api.protocol.packet.provider.PacketTypesProvider;
 import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
 import com.viaversion.viaversion.api.protocol.version.VersionProvider;
@@ -42,6 +44,8 @@ import com.viaversion.viaversion.protocols.base.packet.BasePacketTypesProvider;
 import com.viaversion.viaversion.protocols.base.packet.BaseServerboundPacket;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Initial base protocol which is kept always in the pipeline.
@@ -116,11 +120,25 @@ public class InitialBaseProtocol extends AbstractProtocol<BaseClientboundPacket,
             // Add other protocols
             if (protocolPath != null) {
                 List<Protocol> protocols = new ArrayList<>(protocolPath.size());
+                List<CompletableFuture<Void>> mappingLoaders = new ArrayList<>();
                 for (ProtocolPathEntry entry : protocolPath) {
                     protocols.add(entry.protocol());
 
-                    // Ensure mapping data has already been loaded
-                    protocolManager.completeMappingDataLoading(entry.protocol().getClass());
+                    if (!protocolManager.isLazyMappingLoading()) {
+                        // Ensure mapping data has already been loaded
+                        protocolManager.completeMappingDataLoading(entry.protocol().getClass());
+                        continue;
+                    }
+
+                    final CompletableFuture<Void> future = protocolManager.loadMappingDataAsync(entry.protocol().getClass());
+                    if (future != null) {
+                        mappingLoaders.add(future);
+                    }
+                }
+
+                // Hold back further packets until lazily loaded mapping data is ready instead of blocking the event loop
+                if (!mappingLoaders.isEmpty()) {
+                    wrapper.user().delayIncomingPackets(CompletableFuture.allOf(mappingLoaders.toArray(CompletableFuture[]::new)));
                 }
 
                 // Add protocols to pipeline
@@ -179,6 +197,20 @@ public class InitialBaseProtocol extends AbstractProtocol<BaseClientboundPacket,
         }
     }
 
+    @Override
+    public @Nullable PacketMappings getPacketMappings(final Direction direction, final State state) {
+        if (direction == Direction.SERVERBOUND && state == State.HANDSHAKE) {
+            return null;
+        }
+        return direction == Direction.CLIENTBOUND ? clientboundMappings : serverboundMappings;
+    }
+
+    @Override
+    public boolean transformsOutsidePacketMappings(final UserConnection connection, final Direction direction) {
+        // Only the serverbound handshake is transformed outside of the mappings, which is excluded above
+        return false;
+    }
+
     @Override
     protected PacketTypesProvider<BaseClientboundPacket, BaseClientboundPacket, BaseServerboundPacket, BaseServerboundPacket> createPacketTypesProvider() {
         return BasePacketTypesProvider.INSTANCE;
@@ -25,7 +25,6 @@ import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.ProtocolInfo;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.protocol.AbstractProtocol;
-import com.viaversion.viaversion.api.protocol.ProtocolPathEntry;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.protocol.packet.State;
 import com.viaversion.viaversion.api.protocol.packet.provider.PacketTypesProvider;
@@ -35,15 +34,17 @@ import com.viaversion.viaversion.api.protocol.version.VersionProvider;
 import com.viaversion.viaversion.api.type.Types;
 import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
 import com.viaversion.viaversion.protocol.ServerProtocolVersionSingleton;
+import com.viaversion.viaversion.protocol.StatusResponseCache;
 import com.viaversion.viaversion.protocols.base.ClientboundLoginPackets;
 import com.viaversion.viaversion.protocols.base.ClientboundStatusPackets;
 import com.viaversion.viaversion.protocols.base.packet.BaseClientboundPacket;
 import com.viaversion.viaversion.protocols.base.packet.BasePacketTypesProvider;
 import com.viaversion.viaversion.protocols.base.packet.BaseServerboundPacket;
 import com.viaversion.viaversion.util.GsonUtil;
-import java.util.List;
+import io.netty.buffer.Unpooled;
 import java.util.UUID;
 import java.util.logging.Level;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class ClientboundBaseProtocol1_7 extends AbstractProtocol<BaseClientboundPacket, BaseClientboundPacket, BaseServerboundPacket, BaseServerboundPacket> {
 
@@ -57,73 +58,49 @@ public class ClientboundBaseProtocol1_7 extends AbstractProtocol<BaseClientbound
         registerClientbound(ClientboundStatusPackets.STATUS_RESPONSE, new PacketHandlers() {
             @Override
             public void register() {
-                map(Types.STRING);
                 handler(wrapper -> {
-                    ProtocolInfo info = wrapper.user().getProtocolInfo();
-                    String originalStatus = wrapper.get(Types.STRING, 0);
-                    try {
-                        JsonElement json = GsonUtil.getGson().fromJson(originalStatus, JsonElement.class);
-                        JsonObject version;
-                        int protocol = 0; // Unknown!
-
-                        if (json.isJsonObject()) {
-                            if (json.getAsJsonObject().has("version")) {
-                                version = json.getAsJsonObject().get("version").getAsJsonObject();
-                                if (version.has("protocol")) {
-                                    protocol = ((Long) version.get("protocol").getAsLong()).intValue();
-                                }
-                            } else {
-                                json.getAsJsonObject().add("version", version = new JsonObject());
-                            }
-                        } else {
-                            // Format properly
-                            json = new JsonObject();
-                            json.getAsJsonObject().add("version", version = new JsonObject());
-                        }
-
-                        final ProtocolVersion protocolVersion = ProtocolVersion.getProtocol(protocol);
+                    // Only copy the raw status, as it doesn't need to be decoded for cached responses
+                    final byte[] originalStatus = wrapper.read(Types.REMAINING_BYTES);
+                    if (!Via.getAPI().getServerVersion().isKnown()) { // Set the Server protocol if the detection on startup failed
+                        detectServerProtocol(decodeStatus(originalStatus));
+                    }
 
-                        if (Via.getConfig().isSendSupportedVersions()) { // Send supported versions
-                            version.add("supportedVersions", GsonUtil.getGson().toJsonTree(Via.getAPI().getSupportedVersions()));
-                        }
+                    // Ensure the server has a version provider
+                    final VersionProvider versionProvider = Via.getManager().getProviders().get(VersionProvider.class);
+                    if (versionProvider == null) {
+                        wrapper.write(Types.STRING, decodeStatus(originalStatus));
+                        wrapper.user().setActive(false);
+                        return;
+                    }
 
-                        if (!Via.getAPI().getServerVersion().isKnown()) { // Set the Server protocol if the detection on startup failed
-                            ProtocolManagerImpl protocolManager = (ProtocolManagerImpl) Via.getManager().getProtocolManager();
-                            protocolManager.setServerProtocol(new ServerProtocolVersionSingleton(protocolVersion));
-                        }
+                    final ProtocolVersion closestServerProtocol;
+                    try {
+                        closestServerProtocol = versionProvider.getClosestServerProtocol(wrapper.user());
+                    } catch (final Exception e) {
+                        throw new RuntimeException(e);
+                    }
 
-                        // Ensure the server has a version provider
-                        VersionProvider versionProvider = Via.getManager().getProviders().get(VersionProvider.class);
-                        if (versionProvider == null) {
-                            wrapper.user().setActive(false);
+                    // Pings of the same client version for the same status only need to be rewritten once
+                    final ProtocolVersion clientVersion = wrapper.user().getProtocolInfo().protocolVersion();
+                    final StatusResponseCache statusCache = ((ProtocolManagerImpl) Via.getManager().getProtocolManager()).getStatusResponseCache();
+                    final StatusResponseCache.Key key = StatusResponseCache.key(clientVersion, closestServerProtocol, originalStatus);
+                    StatusResponseCache.Entry status = statusCache.get(key);
+                    if (status == null) {
+                        final String decodedStatus = decodeStatus(originalStatus);
+                        status = rewriteStatus(clientVersion, closestServerProtocol, decodedStatus);
+                        if (status == null) {
+                            wrapper.write(Types.STRING, decodedStatus);
                             return;
                         }
+                        statusCache.put(key, status);
+                    }
 
-                        ProtocolVersion closestServerProtocol;
-                        try {
-                            closestServerProtocol = versionProvider.getClosestServerProtocol(wrapper.user());
-                        } catch (Exception e) {
-                            throw new RuntimeException(e);
-                        }
-
-                        List<ProtocolPathEntry> protocols = Via.getManager().getProtocolManager().getProtocolPath(info.protocolVersion(), closestServerProtocol);
-                        if (protocols != null) {
-                            if (protocolVersion.equalTo(closestServerProtocol) || protocolVersion.getVersion() == 0) { // Fix ServerListPlus
-                                version.addProperty("protocol", info.protocolVersion().getOriginalVersion());
-                            }
-                        } else {
-                            // not compatible :(, *plays very sad violin*
-                            wrapper.user().setActive(false);
-                        }
-
-                        if (Via.getConfig().blockedProtocolVersions().contains(info.protocolVersion())) {
-                            version.addProperty("protocol", -1); // Show blocked versions as outdated
-                        }
-
-                        wrapper.set(Types.STRING, 0, GsonUtil.getGson().toJson(json)); // Update value
-                    } catch (JsonParseException e) {
-                        Via.getPlatform().getLogger().log(Level.SEVERE, "Error handling StatusResponse", e);
+                    if (!status.compatible()) {
+                        // not compatible :(, *plays very sad violin*
+                        wrapper.user().setActive(false);
                     }
+                    // Written as a string for later protocols reading the status, the bytes are only encoded once when the packet is written
+                    wrapper.write(Types.STRING, status.status());
                 });
             }
         });
@@ -153,6 +130,68 @@ public class ClientboundBaseProtocol1_7 extends AbstractProtocol<BaseClientbound
         return true;
     }
 
+    private static void detectServerProtocol(final String status) {
+        try {
+            final JsonElement json = GsonUtil.getGson().fromJson(status, JsonElement.class);
+            final JsonObject version = json.isJsonObject() && json.getAsJsonObject().has("version") ? json.getAsJsonObject().get("version").getAsJsonObject() : null;
+            final ProtocolVersion protocolVersion = ProtocolVersion.getProtocol(statusProtocol(version));
+            final ProtocolManagerImpl protocolManager = (ProtocolManagerImpl) Via.getManager().getProtocolManager();
+            protocolManager.setServerProtocol(new ServerProtocolVersionSingleton(protocolVersion));
+        } catch (final JsonParseException ignored) {
+            // Logged when rewriting the status
+        }
+    }
+
+    private static String decodeStatus(final byte[] status) {
+        return Types.STRING.read(Unpooled.wrappedBuffer(status));
+    }
+
+    private static StatusResponseCache.@Nullable Entry rewriteStatus(final ProtocolVersion clientVersion, final ProtocolVersion closestServerProtocol, final String originalStatus) {
+        JsonElement json;
+        try {
+            json = GsonUtil.getGson().fromJson(originalStatus, JsonElement.class);
+        } catch (final JsonParseException e) {
+            Via.getPlatform().getLogger().log(Level.SEVERE, "Error handling StatusResponse", e);
+            return null;
+        }
+
+        JsonObject version;
+        if (json.isJsonObject()) {
+            if (json.getAsJsonObject().has("version")) {
+                version = json.getAsJsonObject().get("version").getAsJsonObject();
+            } else {
+                json.getAsJsonObject().add("version", version = new JsonObject());
+            }
+        } else {
+            // Format properly
+            json = new JsonObject();
+            json.getAsJsonObject().add("version", version = new JsonObject());
+        }
+
+        final ProtocolVersion protocolVersion = ProtocolVersion.getProtocol(statusProtocol(version));
+        final ProtocolManagerImpl protocolManager = (ProtocolManagerImpl) Via.getManager().getProtocolManager();
+        if (Via.getConfig().isSendSupportedVersions()) { // Send supported versions
+            version.add("supportedVersions", protocolManager.getSupportedVersionsJson());
+        }
+
+        final boolean compatible = protocolManager.getProtocolPath(clientVersion, closestServerProtocol) != null;
+        if (compatible && (protocolVersion.equalTo(closestServerProtocol) || protocolVersion.getVersion() == 0)) { // Fix ServerListPlus
+            version.addProperty("protocol", clientVersion.getOriginalVersion());
+        }
+
+        if (Via.getConfig().blockedProtocolVersions().contains(clientVersion)) {
+            version.addProperty("protocol", -1); // Show blocked versions as outdated
+        }
+        return new StatusResponseCache.Entry(GsonUtil.getGson().toJson(json), compatible);
+    }
+
+    private static int statusProtocol(@Nullable final JsonObject version) {
+        if (version != null && version.has("protocol")) {
+            return ((Long) version.get("protocol").getAsLong()).intValue();
+        }
+        return 0; // Unknown!
+    }
+
     public UUID passthroughUUID(final PacketWrapper wrapper) {
         String uuidString = wrapper.passthrough(Types.STRING);
         if (uuidString.length() == 32) { // Trimmed UUIDs are 32 characters
@@ -73,8 +73,8 @@ final class Protocol98_1To99_1 extends AbstractProtocol<ClientboundPacket26_1, C
 
         registerClientbound(ClientboundConfigurationPackets1_21_9.REGISTRY_DATA, registryDataRewriter::handle);
 
-        tagRewriter.registerGeneric(ClientboundPackets26_1.UPDATE_TAGS);
-        tagRewriter.registerGeneric(ClientboundConfigurationPackets1_21_9.UPDATE_TAGS);
+        tagRewriter.registerGeneric(ClientboundPackets26_1.UPDATE_TAGS, true);
+        tagRewriter.registerGeneric(ClientboundConfigurationPackets1_21_9.UPDATE_TAGS, true);
 
         // If needed for item or component changes
         componentRewriter.registerOpenScreen1_14(ClientboundPackets26_1.OPEN_SCREEN);
@@ -117,7 +117,7 @@ final class Protocol98_1To99_1 extends AbstractProtocol<ClientboundPacket26_1, C
                     super.handleArgument(wrapper, argumentType);
                 }
             }
-        }.registerDeclareCommands1_19(ClientboundPackets26_1.COMMANDS);*/
+        }.registerDeclareCommands1_19(ClientboundPackets26_1.COMMANDS, true);*/
     }
 
     @Override
@@ -593,6 +593,10 @@ public class Protocol1_12_2To1_13 extends AbstractProtocol<ClientboundPackets1_1
                         wrapper.cancel();
                         tracker.setTimeToSend(System.currentTimeMillis() + Via.getConfig().get1_13TabCompleteDelay() * 50L);
                         tracker.setLastTabComplete(wrapper.get(Types.STRING, 0));
+                        Via.getManager().getScheduler().scheduleConnectionTask(wrapper.user(), tracker.getTimeToSend(), false, (connection, now) -> {
+                            tracker.sendPacketToServer(connection);
+                            return -1;
+                        });
                     }
                 });
             }
@@ -859,10 +863,6 @@ public class Protocol1_12_2To1_13 extends AbstractProtocol<ClientboundPackets1_1
             .reader(11, ParticleType.Readers.DUST)
             .reader(27, ParticleType.Readers.ITEM1_13);
 
-        if (Via.getConfig().isServersideBlockConnections() && Via.getManager().getProviders().get(BlockConnectionProvider.class) instanceof PacketBlockConnectionProvider) {
-            BlockConnectionStorage.init();
-        }
-
         super.onMappingDataLoaded();
     }
 
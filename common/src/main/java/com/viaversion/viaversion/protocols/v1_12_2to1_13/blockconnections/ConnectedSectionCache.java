@@ -0,0 +1,206 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.protocols.v1_12_2to1_13.blockconnections;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+/**
+ * Cache of connected chunk sections shared by all connections, so that players loading the same chunks don't each have to compute their block connections.
+ * <p>
+ * Entries are keyed by the section position and a hash of its unconnected contents, with a copy of the contents being compared on a hit to rule out hash collisions.
+ * Since connections also depend on blocks around the section, every block read outside the section is recorded with the result
+ * and compared against the connection's own block storage before the entry is reused.
+ * Changed blocks therefore never need explicit invalidation, as a differing section or neighbourhood results in a miss.
+ */
+public final class ConnectedSectionCache {
+
+    private static final SectionConnector CONNECTION_DATA = new SectionConnector() {
+        @Override
+        public void connectSection(final UserConnection user, final DataPalette blocks, final int xOff, final int yOff, final int zOff, final Recorder recorder) {
+            ConnectionData.connectSection(user, blocks, xOff, yOff, zOff, recorder);
+        }
+
+        @Override
+        public int getBlockData(final UserConnection user, final int x, final int y, final int z) {
+            return ConnectionData.blockConnectionProvider.getBlockData(user, x, y, z);
+        }
+
+        @Override
+        public void updateBlockStorage(final UserConnection user, final int x, final int y, final int z, final int blockState) {
+            ConnectionData.updateBlockStorage(user, x, y, z, blockState);
+        }
+    };
+    private final ThreadLocal<Recorder> activeRecorder = new ThreadLocal<>();
+    private final Cache<SectionKey, ConnectedSection> cache;
+    private final SectionConnector connector;
+
+    ConnectedSectionCache(final int maxSize) {
+        this(maxSize, CONNECTION_DATA);
+    }
+
+    public ConnectedSectionCache(final int maxSize, final SectionConnector connector) {
+        this.cache = CacheBuilder.newBuilder().maximumSize(maxSize).recordStats().build();
+        this.connector = connector;
+    }
+
+    /**
+     * Connects the blocks of the given section, reusing a cached result if the section and the blocks read around it are the same.
+     *
+     * @param user        user connection
+     * @param environment environment id of the world
+     * @param chunkX      chunk x
+     * @param sectionY    section y index
+     * @param chunkZ      chunk z
+     * @param blocks      block palette of the section, to be connected in place
+     */
+    public void connectSection(final UserConnection user, final int environment, final int chunkX, final int sectionY, final int chunkZ, final DataPalette blocks) {
+        final int xOff = chunkX << 4;
+        final int yOff = sectionY << 4;
+        final int zOff = chunkZ << 4;
+        final SectionKey key = new SectionKey(environment, chunkX, sectionY, chunkZ, contentHash(blocks));
+        final ConnectedSection cached = cache.getIfPresent(key);
+        if (cached != null && cached.matches(connector, user, blocks)) {
+            cached.apply(connector, user, blocks, xOff, yOff, zOff);
+            return;
+        }
+
+        final int[] contents = new int[ChunkSection.SIZE];
+        for (int idx = 0; idx < ChunkSection.SIZE; idx++) {
+            contents[idx] = blocks.idAt(idx);
+        }
+
+        final Recorder recorder = new Recorder(xOff, yOff, zOff);
+        activeRecorder.set(recorder);
+        try {
+            connector.connectSection(user, blocks, xOff, yOff, zOff, recorder);
+        } finally {
+            activeRecorder.remove();
+        }
+        cache.put(key, recorder.build(contents));
+    }
+
+    /**
+     * Records a block read by a connection handler if a section is currently being connected on this thread.
+     */
+    public void recordRead(final int x, final int y, final int z, final int blockState) {
+        final Recorder recorder = activeRecorder.get();
+        if (recorder != null) {
+            recorder.read(x, y, z, blockState);
+        }
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static long contentHash(final DataPalette blocks) {
+        long hash = 0xCBF29CE484222325L;
+        for (int idx = 0; idx < ChunkSection.SIZE; idx++) {
+            hash = (hash ^ blocks.idAt(idx)) * 0x100000001B3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Computes block connections and accesses the block storage of a connection.
+     */
+    public interface SectionConnector {
+
+        void connectSection(UserConnection user, DataPalette blocks, int xOff, int yOff, int zOff, Recorder recorder);
+
+        int getBlockData(UserConnection user, int x, int y, int z);
+
+        void updateBlockStorage(UserConnection user, int x, int y, int z, int blockState);
+    }
+
+    public static final class Recorder {
+        private final IntArrayList changes = new IntArrayList();
+        private final IntArrayList reads = new IntArrayList();
+        private final int minX;
+        private final int minY;
+        private final int minZ;
+
+        private Recorder(final int minX, final int minY, final int minZ) {
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+        }
+
+        public void changed(final int index, final int blockState) {
+            changes.add(index);
+            changes.add(blockState);
+        }
+
+        private void read(final int x, final int y, final int z, final int blockState) {
+            // Blocks inside the section are determined by its contents
+            if (x >= minX && x < minX + 16 && y >= minY && y < minY + 16 && z >= minZ && z < minZ + 16) {
+                return;
+            }
+
+            reads.add(x);
+            reads.add(y);
+            reads.add(z);
+            reads.add(blockState);
+        }
+
+        private ConnectedSection build(final int[] contents) {
+            return new ConnectedSection(contents, changes.toIntArray(), reads.toIntArray());
+        }
+    }
+
+    /**
+     * Position and content hash of a section, the hash only being used to spread entries of the same position.
+     */
+    private record SectionKey(int environment, int chunkX, int sectionY, int chunkZ, long contentHash) {
+    }
+
+    /**
+     * Connected section with its unconnected contents, pairs of changed block indices and states, and the blocks read outside the section as x, y, z and state entries.
+     */
+    private record ConnectedSection(int[] contents, int[] changes, int[] reads) {
+
+        boolean matches(final SectionConnector connector, final UserConnection user, final DataPalette blocks) {
+            for (int idx = 0; idx < ChunkSection.SIZE; idx++) {
+                if (blocks.idAt(idx) != contents[idx]) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < reads.length; i += 4) {
+                if (connector.getBlockData(user, reads[i], reads[i + 1], reads[i + 2]) != reads[i + 3]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void apply(final SectionConnector connector, final UserConnection user, final DataPalette blocks, final int xOff, final int yOff, final int zOff) {
+            for (int i = 0; i < changes.length; i += 2) {
+                final int index = changes[i];
+                final int blockState = changes[i + 1];
+                blocks.setIdAt(index, blockState);
+                connector.updateBlockStorage(user, xOff + ChunkSection.xFromIndex(index), yOff + ChunkSection.yFromIndex(index), zOff + ChunkSection.zFromIndex(index), blockState);
+            }
+        }
+    }
+}
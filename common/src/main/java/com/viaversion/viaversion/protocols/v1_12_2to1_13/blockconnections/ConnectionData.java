@@ -17,6 +17,7 @@
  */
 package com.viaversion.viaversion.protocols.v1_12_2to1_13.blockconnections;
 
+import com.google.common.cache.CacheStats;
 import com.viaversion.nbt.tag.ByteArrayTag;
 import com.viaversion.nbt.tag.CompoundTag;
 import com.viaversion.nbt.tag.IntArrayTag;
@@ -51,6 +52,7 @@ import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class ConnectionData {
     public static BlockConnectionProvider blockConnectionProvider;
@@ -59,6 +61,7 @@ public final class ConnectionData {
     static Int2ObjectMap<ConnectionHandler> connectionHandlerMap = new Int2ObjectOpenHashMap<>();
     static Int2ObjectMap<BlockData> blockConnectionData = new Int2ObjectOpenHashMap<>();
     private static final BlockChangeRecord1_8[] EMPTY_RECORDS = new BlockChangeRecord1_8[0];
+    private static ConnectedSectionCache sectionCache;
 
     static {
         KEY_TO_ID.defaultReturnValue(-1);
@@ -121,6 +124,7 @@ public final class ConnectionData {
     public static void connectBlocks(UserConnection user, Chunk chunk) {
         int xOff = chunk.getX() << 4;
         int zOff = chunk.getZ() << 4;
+        final ConnectedSectionCache cache = needStoreBlocks() ? sectionCache : null;
 
         for (int s = 0; s < chunk.getSections().length; s++) {
             ChunkSection section = chunk.getSections()[s];
@@ -142,25 +146,52 @@ public final class ConnectionData {
                 continue;
             }
 
-            int yOff = s << 4;
+            if (cache != null) {
+                final int environment = user.getClientWorld(Protocol1_12_2To1_13.class).getEnvironment().id();
+                cache.connectSection(user, environment, chunk.getX(), s, chunk.getZ(), blocks);
+            } else {
+                connectSection(user, blocks, xOff, s << 4, zOff, null);
+            }
+        }
+    }
 
-            for (int idx = 0; idx < ChunkSection.SIZE; idx++) {
-                int id = blocks.idAt(idx);
-                ConnectionHandler handler = ConnectionData.getConnectionHandler(id);
-                if (handler == null) {
-                    continue;
-                }
+    static void connectSection(UserConnection user, DataPalette blocks, int xOff, int yOff, int zOff, ConnectedSectionCache.@Nullable Recorder recorder) {
+        for (int idx = 0; idx < ChunkSection.SIZE; idx++) {
+            int id = blocks.idAt(idx);
+            ConnectionHandler handler = ConnectionData.getConnectionHandler(id);
+            if (handler == null) {
+                continue;
+            }
 
-                BlockPosition position = new BlockPosition(xOff + ChunkSection.xFromIndex(idx), yOff + ChunkSection.yFromIndex(idx), zOff + ChunkSection.zFromIndex(idx));
-                int connectedId = handler.connect(user, position, id);
-                if (connectedId != id) {
-                    blocks.setIdAt(idx, connectedId);
-                    updateBlockStorage(user, position.x(), position.y(), position.z(), connectedId);
+            BlockPosition position = new BlockPosition(xOff + ChunkSection.xFromIndex(idx), yOff + ChunkSection.yFromIndex(idx), zOff + ChunkSection.zFromIndex(idx));
+            int connectedId = handler.connect(user, position, id);
+            if (connectedId != id) {
+                blocks.setIdAt(idx, connectedId);
+                updateBlockStorage(user, position.x(), position.y(), position.z(), connectedId);
+                if (recorder != null) {
+                    recorder.changed(idx, connectedId);
                 }
             }
         }
     }
 
+    static int getBlockData(UserConnection user, BlockPosition position) {
+        final int blockState = blockConnectionProvider.getBlockData(user, position.x(), position.y(), position.z());
+        if (sectionCache != null) {
+            sectionCache.recordRead(position.x(), position.y(), position.z(), blockState);
+        }
+        return blockState;
+    }
+
+    /**
+     * Returns the statistics of the shared connected section cache.
+     *
+     * @return cache statistics, or null if the cache is disabled
+     */
+    public static @Nullable CacheStats connectedSectionCacheStats() {
+        return sectionCache != null ? sectionCache.stats() : null;
+    }
+
     public static void init() {
         if (!Via.getConfig().isServersideBlockConnections()) {
             return;
@@ -246,6 +277,11 @@ public final class ConnectionData {
         if (Via.getConfig().getBlockConnectionMethod().equalsIgnoreCase("packet")) {
             blockConnectionProvider = new PacketBlockConnectionProvider();
             Via.getManager().getProviders().register(BlockConnectionProvider.class, blockConnectionProvider);
+
+            final int cacheSize = Via.getConfig().blockConnectionCacheSize();
+            if (cacheSize > 0) {
+                sectionCache = new ConnectedSectionCache(cacheSize);
+            }
         }
     }
 
@@ -26,6 +26,6 @@ public interface ConnectionHandler {
     int connect(UserConnection user, BlockPosition position, int blockState);
 
     default int getBlockData(UserConnection user, BlockPosition position) {
-        return ConnectionData.blockConnectionProvider.getBlockData(user, position.x(), position.y(), position.z());
+        return ConnectionData.getBlockData(user, position);
     }
 }
@@ -18,37 +18,32 @@
 package com.viaversion.viaversion.protocols.v1_12_2to1_13.storage;
 
 import com.google.common.collect.EvictingQueue;
-import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.StorableObject;
 import com.viaversion.viaversion.api.minecraft.BlockPosition;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
-import java.util.Map;
+import it.unimi.dsi.fastutil.Hash;
+import it.unimi.dsi.fastutil.HashCommon;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import java.util.Arrays;
 import java.util.Queue;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class BlockConnectionStorage implements StorableObject {
-    private static Constructor<?> fastUtilLongObjectHashMap;
-
-    private final Map<Long, SectionData> blockStorage = createLongObjectMap();
+    private final Long2ObjectMap<SectionData> blockStorage = new Long2ObjectOpenHashMap<>();
     @SuppressWarnings("UnstableApiUsage")
     private final Queue<BlockPosition> modified = EvictingQueue.create(5);
 
     // Cache to retrieve section quicker
     private long lastIndex = -1;
     private SectionData lastSection;
+    // Only written from the event loop, but read for reporting
+    private volatile long memoryUsage;
 
-    static {
-        try {
-            //noinspection StringBufferReplaceableByString - prevent relocation
-            String className = new StringBuilder("it").append(".unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap").toString();
-            fastUtilLongObjectHashMap = Class.forName(className).getConstructor();
-            Via.getPlatform().getLogger().info("Using FastUtil Long2ObjectOpenHashMap for block connections");
-        } catch (ClassNotFoundException | NoSuchMethodException ignored) {
-        }
-    }
-
+    /**
+     * @deprecated sections are always stored in a fastutil map, there is nothing to initialize anymore
+     */
+    @Deprecated(forRemoval = true)
     public static void init() {
     }
 
@@ -64,9 +59,16 @@ public class BlockConnectionStorage implements StorableObject {
             blockStorage.put(index, section = new SectionData());
             lastSection = section;
             lastIndex = index;
+            memoryUsage += section.estimatedMemoryUsage();
         }
 
+        final long previousUsage = section.estimatedMemoryUsage();
         section.setBlockAt(x, y, z, blockState);
+
+        final long usage = section.estimatedMemoryUsage();
+        if (usage != previousUsage) {
+            memoryUsage += usage - previousUsage;
+        }
     }
 
     public int get(int x, int y, int z) {
@@ -109,8 +111,18 @@ public class BlockConnectionStorage implements StorableObject {
         return false;
     }
 
+    /**
+     * Returns the estimated heap usage of the stored sections in bytes, excluding the map itself.
+     *
+     * @return estimated heap usage in bytes
+     */
+    public long estimatedMemoryUsage() {
+        return memoryUsage;
+    }
+
     public void clear() {
         blockStorage.clear();
+        memoryUsage = 0;
         lastSection = null;
         lastIndex = -1;
         modified.clear();
@@ -135,7 +147,10 @@ public class BlockConnectionStorage implements StorableObject {
     }
 
     private void removeSection(long index) {
-        blockStorage.remove(index);
+        final SectionData section = blockStorage.remove(index);
+        if (section != null) {
+            memoryUsage -= section.estimatedMemoryUsage();
+        }
         if (lastIndex == index) {
             lastIndex = -1;
             lastSection = null;
@@ -146,36 +161,45 @@ public class BlockConnectionStorage implements StorableObject {
         return (((x >> 4) & 0x3FFFFFFL) << 38) | (((y >> 4) & 0xFFFL) << 26) | ((z >> 4) & 0x3FFFFFFL);
     }
 
-    private <T> Map<Long, T> createLongObjectMap() {
-        if (fastUtilLongObjectHashMap != null) {
-            try {
-                //noinspection unchecked
-                return (Map<Long, T>) fastUtilLongObjectHashMap.newInstance();
-            } catch (IllegalAccessException | InstantiationException | InvocationTargetException e) {
-                e.printStackTrace();
-            }
-        }
-        return new HashMap<>();
-    }
-
+    /**
+     * Section storing block states as bit-packed palette indices, resized as more distinct states are added.
+     * Sections with more than 256 distinct states fall back to storing the states directly.
+     * Palettes with 8 bit indices additionally keep a reverse lookup map instead of scanning all entries.
+     */
     private static final class SectionData {
-        private final short[] blockStates = new short[4096];
+        private static final int SIZE = 4096;
+        private static final int MIN_BITS = 2;
+        private static final int MAX_PALETTE_BITS = 8;
+        private static final int DIRECT_BITS = 16;
+        private long[] data;
+        private int[] palette; // Null in direct mode, with the first entry always being air
+        private Int2IntOpenHashMap paletteIndices; // Only set for the largest palettes
+        private int paletteSize;
+        private int bits;
         private short nonEmptyBlocks;
 
+        SectionData() {
+            resize(MIN_BITS);
+            this.palette = new int[1 << MIN_BITS];
+            this.paletteSize = 1;
+        }
+
         public int blockAt(int x, int y, int z) {
-            return blockStates[encodeBlockPos(x, y, z)];
+            final int value = read(encodeBlockPos(x, y, z));
+            return palette != null ? palette[value] : value;
         }
 
         public void setBlockAt(int x, int y, int z, int blockState) {
-            int index = encodeBlockPos(x, y, z);
-            if (blockState == blockStates[index]) {
+            final int index = encodeBlockPos(x, y, z);
+            final int previous = blockAt(x, y, z);
+            if (blockState == previous) {
                 return;
             }
 
-            blockStates[index] = (short) blockState;
+            write(index, valueFor(blockState));
             if (blockState == 0) {
                 nonEmptyBlocks--;
-            } else {
+            } else if (previous == 0) {
                 nonEmptyBlocks++;
             }
         }
@@ -184,6 +208,106 @@ public class BlockConnectionStorage implements StorableObject {
             return nonEmptyBlocks;
         }
 
+        public long estimatedMemoryUsage() {
+            // Object headers and fields, plus the array contents
+            long size = 32 + 16 + (long) data.length * Long.BYTES;
+            if (palette != null) {
+                size += 16 + (long) palette.length * Integer.BYTES;
+            }
+            if (paletteIndices != null) {
+                // Key and value arrays, the map only grows along with the palette
+                size += 48 + 2L * Integer.BYTES * (HashCommon.arraySize(paletteIndices.size(), Hash.DEFAULT_LOAD_FACTOR) + 1);
+            }
+            return size;
+        }
+
+        private int valueFor(int blockState) {
+            if (palette == null) {
+                return blockState;
+            }
+
+            if (paletteIndices != null) {
+                final int index = paletteIndices.get(blockState);
+                if (index != -1) {
+                    return index;
+                }
+            } else {
+                for (int i = 0; i < paletteSize; i++) {
+                    if (palette[i] == blockState) {
+                        return i;
+                    }
+                }
+            }
+
+            if (paletteSize == palette.length) {
+                if (bits == MAX_PALETTE_BITS) {
+                    toDirect();
+                    return blockState;
+                }
+
+                grow(bits << 1);
+            }
+
+            palette[paletteSize] = blockState;
+            if (paletteIndices != null) {
+                paletteIndices.put(blockState, paletteSize);
+            }
+            return paletteSize++;
+        }
+
+        private void grow(int newBits) {
+            final long[] oldData = data;
+            final int oldBits = bits;
+            resize(newBits);
+            for (int i = 0; i < SIZE; i++) {
+                write(i, read(oldData, oldBits, i));
+            }
+            palette = Arrays.copyOf(palette, 1 << newBits);
+            if (newBits == MAX_PALETTE_BITS) {
+                paletteIndices = new Int2IntOpenHashMap(paletteSize);
+                paletteIndices.defaultReturnValue(-1);
+                for (int i = 0; i < paletteSize; i++) {
+                    paletteIndices.put(palette[i], i);
+                }
+            }
+        }
+
+        private void toDirect() {
+            final long[] oldData = data;
+            final int oldBits = bits;
+            final int[] oldPalette = palette;
+            resize(DIRECT_BITS);
+            for (int i = 0; i < SIZE; i++) {
+                write(i, oldPalette[read(oldData, oldBits, i)]);
+            }
+            palette = null;
+            paletteIndices = null;
+            paletteSize = 0;
+        }
+
+        private void resize(int bits) {
+            this.bits = bits;
+            this.data = new long[SIZE * bits / Long.SIZE];
+        }
+
+        private int read(int index) {
+            return read(data, bits, index);
+        }
+
+        private void write(int index, int value) {
+            // Bits are always a power of two, so values never span across longs
+            final int bitIndex = index * bits;
+            final int arrayIndex = bitIndex >> 6;
+            final int shift = bitIndex & 63;
+            final long mask = (1L << bits) - 1;
+            data[arrayIndex] = (data[arrayIndex] & ~(mask << shift)) | ((value & mask) << shift);
+        }
+
+        private static int read(long[] data, int bits, int index) {
+            final int bitIndex = index * bits;
+            return (int) ((data[bitIndex >> 6] >>> (bitIndex & 63)) & ((1L << bits) - 1));
+        }
+
         private static int encodeBlockPos(int x, int y, int z) {
             return ((y & 0xF) << 8) | ((x & 0xF) << 4) | (z & 0xF);
         }
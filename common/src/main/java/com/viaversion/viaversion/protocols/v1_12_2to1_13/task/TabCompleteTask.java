@@ -21,6 +21,10 @@ import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.connection.StorableObjectTask;
 import com.viaversion.viaversion.protocols.v1_12_2to1_13.storage.TabCompleteTracker;
 
+/**
+ * @deprecated delayed tab completions are scheduled per connection once queued, see {@link com.viaversion.viaversion.api.scheduler.Scheduler#scheduleConnectionTask}
+ */
+@Deprecated(forRemoval = true)
 public final class TabCompleteTask extends StorableObjectTask<TabCompleteTracker> {
 
     public TabCompleteTask() {
@@ -56,8 +56,8 @@ public class Protocol1_13_1To1_13_2 extends AbstractProtocol<ClientboundPackets1
 
                 // Display data
                 if (wrapper.passthrough(Types.BOOLEAN)) {
-                    wrapper.passthrough(Types.COMPONENT); // Title
-                    wrapper.passthrough(Types.COMPONENT); // Description
+                    wrapper.passthrough(Types.RAW_COMPONENT); // Title
+                    wrapper.passthrough(Types.RAW_COMPONENT); // Description
                     Item icon = wrapper.read(Types.ITEM1_13);
                     wrapper.write(Types.ITEM1_13_2, icon);
                     wrapper.passthrough(Types.VAR_INT); // Frame type
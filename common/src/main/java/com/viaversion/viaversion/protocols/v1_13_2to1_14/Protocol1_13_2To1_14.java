@@ -84,7 +84,7 @@ public class Protocol1_13_2To1_14 extends AbstractProtocol<ClientboundPackets1_1
                 return super.handleArgumentType(argumentType);
             }
         };
-        commandRewriter.registerDeclareCommands(ClientboundPackets1_13.COMMANDS);
+        commandRewriter.registerDeclareCommands(ClientboundPackets1_13.COMMANDS, true);
 
         registerClientbound(ClientboundPackets1_13.UPDATE_TAGS, new PacketHandlers() {
             @Override
@@ -117,7 +117,7 @@ public class Protocol1_13To1_13_1 extends AbstractProtocol<ClientboundPackets1_1
                 handler(wrapper -> {
                     int action = wrapper.get(Types.VAR_INT, 0);
                     if (action == 0) {
-                        wrapper.passthrough(Types.COMPONENT);
+                        wrapper.passthrough(Types.RAW_COMPONENT); // Title
                         wrapper.passthrough(Types.FLOAT);
                         wrapper.passthrough(Types.VAR_INT);
                         wrapper.passthrough(Types.VAR_INT);
@@ -129,7 +129,7 @@ public class Protocol1_13To1_13_1 extends AbstractProtocol<ClientboundPackets1_1
             }
         });
 
-        tagRewriter.register(ClientboundPackets1_13.UPDATE_TAGS, RegistryType.ITEM);
+        tagRewriter.register(ClientboundPackets1_13.UPDATE_TAGS, RegistryType.ITEM, true);
         particleRewriter.registerLevelParticles1_13(ClientboundPackets1_13.LEVEL_PARTICLES, Types.FLOAT);
 
         new StatisticsRewriter<>(this).register(ClientboundPackets1_13.AWARD_STATS);
@@ -78,7 +78,7 @@ public class Protocol1_15_2To1_16 extends AbstractProtocol<ClientboundPackets1_1
 
         WorldPacketRewriter1_16.register(this);
 
-        tagRewriter.register(ClientboundPackets1_15.UPDATE_TAGS, RegistryType.ENTITY);
+        tagRewriter.register(ClientboundPackets1_15.UPDATE_TAGS, RegistryType.ENTITY, true);
         particleRewriter.registerLevelParticles1_13(ClientboundPackets1_15.LEVEL_PARTICLES, Types.DOUBLE);
 
         new StatisticsRewriter<>(this).register(ClientboundPackets1_15.AWARD_STATS);
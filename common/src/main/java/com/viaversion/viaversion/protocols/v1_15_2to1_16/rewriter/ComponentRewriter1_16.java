@@ -94,4 +94,9 @@ public class ComponentRewriter1_16 extends JsonNBTComponentRewriter<ClientboundP
             object.addProperty("translate", mappedTranslation);
         }
     }
+
+    @Override
+    protected boolean isCacheable() {
+        return true;
+    }
 }
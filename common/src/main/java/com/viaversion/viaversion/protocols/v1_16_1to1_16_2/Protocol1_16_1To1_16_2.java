@@ -54,7 +54,7 @@ public class Protocol1_16_1To1_16_2 extends AbstractProtocol<ClientboundPackets1
 
         WorldPacketRewriter1_16_2.register(this);
 
-        tagRewriter.register(ClientboundPackets1_16.UPDATE_TAGS, RegistryType.ENTITY);
+        tagRewriter.register(ClientboundPackets1_16.UPDATE_TAGS, RegistryType.ENTITY, true);
         particleRewriter.registerLevelParticles1_13(ClientboundPackets1_16.LEVEL_PARTICLES, Types.DOUBLE);
 
         new StatisticsRewriter<>(this).register(ClientboundPackets1_16.AWARD_STATS);
@@ -47,4 +47,9 @@ public final class ComponentRewriter1_17 extends JsonNBTComponentRewriter<Client
             object.addProperty("translate", mappedTranslation);
         }
     }
+
+    @Override
+    protected boolean isCacheable() {
+        return true;
+    }
 }
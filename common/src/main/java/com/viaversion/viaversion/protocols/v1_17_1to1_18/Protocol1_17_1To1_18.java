@@ -66,7 +66,7 @@ public final class Protocol1_17_1To1_18 extends AbstractProtocol<ClientboundPack
         soundRewriter.registerSound(ClientboundPackets1_17_1.SOUND);
         soundRewriter.registerSound(ClientboundPackets1_17_1.SOUND_ENTITY);
 
-        tagRewriter.registerGeneric(ClientboundPackets1_17_1.UPDATE_TAGS);
+        tagRewriter.registerGeneric(ClientboundPackets1_17_1.UPDATE_TAGS, true);
 
         new StatisticsRewriter<>(this).register(ClientboundPackets1_17_1.AWARD_STATS);
 
@@ -80,4 +80,9 @@ public final class ComponentRewriter1_18 extends JsonNBTComponentRewriter<Client
             object.addProperty("translate", mappedTranslation);
         }
     }
+
+    @Override
+    protected boolean isCacheable() {
+        return true;
+    }
 }
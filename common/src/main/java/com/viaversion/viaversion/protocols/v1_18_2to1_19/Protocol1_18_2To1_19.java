@@ -70,7 +70,7 @@ public final class Protocol1_18_2To1_19 extends AbstractProtocol<ClientboundPack
 
     @Override
     protected void registerPackets() {
-        tagRewriter.registerGeneric(ClientboundPackets1_18.UPDATE_TAGS);
+        tagRewriter.registerGeneric(ClientboundPackets1_18.UPDATE_TAGS, true);
 
         entityRewriter.register();
         itemRewriter.register();
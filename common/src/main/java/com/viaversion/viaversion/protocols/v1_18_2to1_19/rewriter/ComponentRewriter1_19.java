@@ -50,4 +50,8 @@ public final class ComponentRewriter1_19 extends JsonNBTComponentRewriter<Client
         }
     }
 
+    @Override
+    protected boolean isCacheable() {
+        return true;
+    }
 }
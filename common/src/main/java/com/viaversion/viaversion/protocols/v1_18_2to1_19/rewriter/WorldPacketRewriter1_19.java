@@ -32,7 +32,7 @@ public final class WorldPacketRewriter1_19 {
         blockRewriter.registerBlockUpdate(ClientboundPackets1_18.BLOCK_UPDATE);
         blockRewriter.registerSectionBlocksUpdate(ClientboundPackets1_18.SECTION_BLOCKS_UPDATE);
         blockRewriter.registerLevelEvent(ClientboundPackets1_18.LEVEL_EVENT, 1010, 2001);
-        blockRewriter.registerLevelChunk1_19(ClientboundPackets1_18.LEVEL_CHUNK_WITH_LIGHT, ChunkType1_18::new);
+        blockRewriter.registerComposableLevelChunk1_19(ClientboundPackets1_18.LEVEL_CHUNK_WITH_LIGHT, ChunkType1_18::new);
 
         protocol.cancelClientbound(ClientboundPackets1_18.BLOCK_BREAK_ACK);
 
@@ -80,7 +80,7 @@ public final class Protocol1_19_1To1_19_3 extends AbstractProtocol<ClientboundPa
 
     @Override
     protected void registerPackets() {
-        tagRewriter.registerGeneric(ClientboundPackets1_19_1.UPDATE_TAGS);
+        tagRewriter.registerGeneric(ClientboundPackets1_19_1.UPDATE_TAGS, true);
 
         particleRewriter.registerLevelParticles1_19(ClientboundPackets1_19_1.LEVEL_PARTICLES);
 
@@ -131,7 +131,7 @@ public final class Protocol1_19_1To1_19_3 extends AbstractProtocol<ClientboundPa
                 }
             }
         };
-        commandRewriter.registerDeclareCommands1_19(ClientboundPackets1_19_1.COMMANDS);
+        commandRewriter.registerDeclareCommands1_19(ClientboundPackets1_19_1.COMMANDS, true);
 
         registerClientbound(ClientboundPackets1_19_1.SERVER_DATA, new PacketHandlers() {
             @Override
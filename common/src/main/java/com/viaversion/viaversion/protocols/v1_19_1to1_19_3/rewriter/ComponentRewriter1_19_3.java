@@ -37,4 +37,9 @@ public final class ComponentRewriter1_19_3 extends JsonNBTComponentRewriter<Clie
             case "multiplayer.disconnect.invalid_public_key" -> object.addProperty("translate", "Invalid signature for profile public key.\nTry restarting your game.");
         }
     }
+
+    @Override
+    protected boolean isCacheable() {
+        return true;
+    }
 }
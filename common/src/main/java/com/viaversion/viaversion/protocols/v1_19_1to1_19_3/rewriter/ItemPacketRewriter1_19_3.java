@@ -44,7 +44,7 @@ public final class ItemPacketRewriter1_19_3 extends ItemRewriter<ClientboundPack
         blockRewriter.registerBlockUpdate(ClientboundPackets1_19_1.BLOCK_UPDATE);
         blockRewriter.registerSectionBlocksUpdate(ClientboundPackets1_19_1.SECTION_BLOCKS_UPDATE);
         blockRewriter.registerLevelEvent(ClientboundPackets1_19_1.LEVEL_EVENT, 1010, 2001);
-        blockRewriter.registerLevelChunk1_19(ClientboundPackets1_19_1.LEVEL_CHUNK_WITH_LIGHT, ChunkType1_18::new);
+        blockRewriter.registerComposableLevelChunk1_19(ClientboundPackets1_19_1.LEVEL_CHUNK_WITH_LIGHT, ChunkType1_18::new);
         blockRewriter.registerBlockEntityData(ClientboundPackets1_19_1.BLOCK_ENTITY_DATA);
 
         registerCooldown(ClientboundPackets1_19_1.COOLDOWN);
@@ -59,7 +59,7 @@ public final class Protocol1_19_3To1_19_4 extends AbstractProtocol<ClientboundPa
     protected void registerPackets() {
         super.registerPackets();
 
-        tagRewriter.registerGeneric(ClientboundPackets1_19_3.UPDATE_TAGS);
+        tagRewriter.registerGeneric(ClientboundPackets1_19_3.UPDATE_TAGS, true);
         particleRewriter.registerLevelParticles1_19(ClientboundPackets1_19_3.LEVEL_PARTICLES);
 
         new StatisticsRewriter<>(this).register(ClientboundPackets1_19_3.AWARD_STATS);
@@ -78,7 +78,7 @@ public final class Protocol1_19_3To1_19_4 extends AbstractProtocol<ClientboundPa
                     super.handleArgument(wrapper, argumentType);
                 }
             }
-        }.registerDeclareCommands1_19(ClientboundPackets1_19_3.COMMANDS);
+        }.registerDeclareCommands1_19(ClientboundPackets1_19_3.COMMANDS, true);
 
         registerClientbound(ClientboundPackets1_19_3.SERVER_DATA, wrapper -> {
             JsonElement element = wrapper.read(Types.OPTIONAL_COMPONENT);
@@ -40,7 +40,7 @@ public final class ItemPacketRewriter1_19_4 extends ItemRewriter<ClientboundPack
         blockRewriter.registerBlockEvent(ClientboundPackets1_19_3.BLOCK_EVENT);
         blockRewriter.registerBlockUpdate(ClientboundPackets1_19_3.BLOCK_UPDATE);
         blockRewriter.registerSectionBlocksUpdate(ClientboundPackets1_19_3.SECTION_BLOCKS_UPDATE);
-        blockRewriter.registerLevelChunk1_19(ClientboundPackets1_19_3.LEVEL_CHUNK_WITH_LIGHT, ChunkType1_18::new);
+        blockRewriter.registerComposableLevelChunk1_19(ClientboundPackets1_19_3.LEVEL_CHUNK_WITH_LIGHT, ChunkType1_18::new);
         blockRewriter.registerBlockEntityData(ClientboundPackets1_19_3.BLOCK_ENTITY_DATA);
 
         protocol.registerClientbound(ClientboundPackets1_19_3.LEVEL_EVENT, new PacketHandlers() {
@@ -52,7 +52,7 @@ public final class Protocol1_19_4To1_20 extends AbstractProtocol<ClientboundPack
     protected void registerPackets() {
         super.registerPackets();
 
-        tagRewriter.registerGeneric(ClientboundPackets1_19_4.UPDATE_TAGS);
+        tagRewriter.registerGeneric(ClientboundPackets1_19_4.UPDATE_TAGS, true);
         particleRewriter.registerLevelParticles1_19(ClientboundPackets1_19_4.LEVEL_PARTICLES);
 
         final SoundRewriter<ClientboundPackets1_19_4> soundRewriter = new SoundRewriter<>(this);
@@ -64,8 +64,8 @@ public final class ItemPacketRewriter1_20 extends ItemRewriter<ClientboundPacket
 
                 // Display data
                 if (wrapper.passthrough(Types.BOOLEAN)) {
-                    wrapper.passthrough(Types.COMPONENT); // Title
-                    wrapper.passthrough(Types.COMPONENT); // Description
+                    wrapper.passthrough(Types.RAW_COMPONENT); // Title
+                    wrapper.passthrough(Types.RAW_COMPONENT); // Description
                     handleItemToClient(wrapper.user(), wrapper.passthrough(Types.ITEM1_13_2)); // Icon
                     wrapper.passthrough(Types.VAR_INT); // Frame type
                     int flags = wrapper.passthrough(Types.INT); // Flags
@@ -76,15 +76,15 @@ public final class Protocol1_20_2To1_20_3 extends AbstractProtocol<ClientboundPa
 
         cancelServerbound(ServerboundPackets1_20_3.CONTAINER_SLOT_STATE_CHANGED);
 
-        tagRewriter.registerGeneric(ClientboundPackets1_20_2.UPDATE_TAGS);
-        tagRewriter.registerGeneric(ClientboundConfigurationPackets1_20_2.UPDATE_TAGS);
+        tagRewriter.registerGeneric(ClientboundPackets1_20_2.UPDATE_TAGS, true);
+        tagRewriter.registerGeneric(ClientboundConfigurationPackets1_20_2.UPDATE_TAGS, true);
 
         final SoundRewriter<ClientboundPacket1_20_2> soundRewriter = new SoundRewriter<>(this);
         soundRewriter.registerSound1_19_3(ClientboundPackets1_20_2.SOUND);
         soundRewriter.registerSound1_19_3(ClientboundPackets1_20_2.SOUND_ENTITY);
 
         new StatisticsRewriter<>(this).register(ClientboundPackets1_20_2.AWARD_STATS);
-        new CommandRewriter1_19_4<>(this).registerDeclareCommands1_19(ClientboundPackets1_20_2.COMMANDS);
+        new CommandRewriter1_19_4<>(this).registerDeclareCommands1_19(ClientboundPackets1_20_2.COMMANDS, true);
 
         registerClientbound(ClientboundPackets1_20_2.SET_SCORE, wrapper -> {
             wrapper.passthrough(Types.STRING); // Owner
@@ -76,8 +76,8 @@ public final class Protocol1_20_5To1_21 extends AbstractProtocol<ClientboundPack
     protected void registerPackets() {
         super.registerPackets();
 
-        tagRewriter.registerGeneric(ClientboundPackets1_20_5.UPDATE_TAGS);
-        tagRewriter.registerGeneric(ClientboundConfigurationPackets1_20_5.UPDATE_TAGS);
+        tagRewriter.registerGeneric(ClientboundPackets1_20_5.UPDATE_TAGS, true);
+        tagRewriter.registerGeneric(ClientboundConfigurationPackets1_20_5.UPDATE_TAGS, true);
 
         final SoundRewriter<ClientboundPacket1_20_5> soundRewriter = new SoundRewriter<>(this);
         soundRewriter.registerSound1_19_3(ClientboundPackets1_20_5.SOUND);
@@ -149,7 +149,7 @@ public final class Protocol1_20To1_20_2 extends AbstractProtocol<ClientboundPack
         // hence packets are added to a queue. With the data from the login packet, we sent what is needed
         // during the configuration phase before finally transitioning to the play state with the client as well.
         registerClientbound(State.LOGIN, ClientboundLoginPackets.LOGIN_FINISHED, wrapper -> {
-            wrapper.user().get(ConfigurationState.class).setBridgePhase(BridgePhase.PROFILE_SENT);
+            wrapper.user().get(ConfigurationState.class).setBridgePhase(wrapper.user(), BridgePhase.PROFILE_SENT);
             wrapper.user().getProtocolInfo().setServerState(State.PLAY);
         });
 
@@ -160,7 +160,7 @@ public final class Protocol1_20To1_20_2 extends AbstractProtocol<ClientboundPack
             wrapper.user().getProtocolInfo().setServerState(State.PLAY);
 
             final ConfigurationState configurationState = wrapper.user().get(ConfigurationState.class);
-            configurationState.setBridgePhase(BridgePhase.CONFIGURATION);
+            configurationState.setBridgePhase(wrapper.user(), BridgePhase.CONFIGURATION);
             configurationState.sendQueuedPackets(wrapper.user());
         });
 
@@ -170,7 +170,7 @@ public final class Protocol1_20To1_20_2 extends AbstractProtocol<ClientboundPack
             wrapper.user().getProtocolInfo().setClientState(State.PLAY);
 
             final ConfigurationState configurationState = wrapper.user().get(ConfigurationState.class);
-            configurationState.setBridgePhase(BridgePhase.NONE);
+            configurationState.setBridgePhase(wrapper.user(), BridgePhase.NONE);
             configurationState.sendQueuedPackets(wrapper.user());
             configurationState.clear();
         });
@@ -212,7 +212,7 @@ public final class Protocol1_20To1_20_2 extends AbstractProtocol<ClientboundPack
 
             // Reenter the configuration state
             wrapper.user().getProtocolInfo().setClientState(State.CONFIGURATION);
-            configurationState.setBridgePhase(BridgePhase.CONFIGURATION);
+            configurationState.setBridgePhase(wrapper.user(), BridgePhase.CONFIGURATION);
 
             final LastResourcePack lastResourcePack = wrapper.user().get(LastResourcePack.class);
             sendConfigurationPackets(wrapper.user(), configurationState.lastDimensionRegistry(), lastResourcePack);
@@ -254,6 +254,17 @@ public final class Protocol1_20To1_20_2 extends AbstractProtocol<ClientboundPack
         }
     }
 
+    @Override
+    public boolean transformsOutsidePacketMappings(final UserConnection connection, final Direction direction) {
+        if (direction == Direction.SERVERBOUND) {
+            return false;
+        }
+
+        // Clientbound packets are queued or retyped while bridging the configuration phase, see ConfigurationState#setBridgePhase
+        final ConfigurationState configurationBridge = connection.get(ConfigurationState.class);
+        return configurationBridge == null || configurationBridge.bridgePhase() != BridgePhase.NONE;
+    }
+
     @Override
     public void transform(final Direction direction, final State state, final PacketWrapper packetWrapper) throws InformativeException, CancelException {
         if (direction == Direction.SERVERBOUND) {
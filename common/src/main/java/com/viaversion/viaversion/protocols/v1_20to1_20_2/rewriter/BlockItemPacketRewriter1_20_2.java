@@ -127,8 +127,8 @@ public final class BlockItemPacketRewriter1_20_2 extends ItemRewriter<Clientboun
 
                 // Display data
                 if (wrapper.passthrough(Types.BOOLEAN)) {
-                    wrapper.passthrough(Types.COMPONENT); // Title
-                    wrapper.passthrough(Types.COMPONENT); // Description
+                    wrapper.passthrough(Types.RAW_COMPONENT); // Title
+                    wrapper.passthrough(Types.RAW_COMPONENT); // Description
                     wrapper.write(Types.ITEM1_20_2, handleItemToClient(wrapper.user(), wrapper.read(Types.ITEM1_13_2))); // Icon
                     wrapper.passthrough(Types.VAR_INT); // Frame type
                     final int flags = wrapper.passthrough(Types.INT); // Flags
@@ -46,8 +46,13 @@ public class ConfigurationState implements StorableObject {
         return bridgePhase;
     }
 
-    public void setBridgePhase(final BridgePhase bridgePhase) {
+    public void setBridgePhase(final UserConnection connection, final BridgePhase bridgePhase) {
+        final boolean wasBridging = this.bridgePhase != BridgePhase.NONE;
         this.bridgePhase = bridgePhase;
+        if (wasBridging != (bridgePhase != BridgePhase.NONE)) {
+            // Packets are only transformed outside of the packet mappings while bridging
+            connection.getProtocolInfo().getPipeline().invalidateDispatchTables();
+        }
     }
 
     public @Nullable CompoundTag lastDimensionRegistry() {
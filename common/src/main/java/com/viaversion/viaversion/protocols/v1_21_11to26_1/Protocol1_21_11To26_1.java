@@ -136,8 +136,8 @@ public final class Protocol1_21_11To26_1 extends AbstractProtocol<ClientboundPac
         });
         registerClientbound(ClientboundConfigurationPackets1_21_9.REGISTRY_DATA, registryDataRewriter::handle);
 
-        tagRewriter.registerGeneric(ClientboundPackets1_21_11.UPDATE_TAGS);
-        tagRewriter.registerGeneric(ClientboundConfigurationPackets1_21_9.UPDATE_TAGS);
+        tagRewriter.registerGeneric(ClientboundPackets1_21_11.UPDATE_TAGS, true);
+        tagRewriter.registerGeneric(ClientboundConfigurationPackets1_21_9.UPDATE_TAGS, true);
 
         componentRewriter.registerOpenScreen1_14(ClientboundPackets1_21_11.OPEN_SCREEN);
         componentRewriter.registerComponentPacket(ClientboundPackets1_21_11.SET_ACTION_BAR_TEXT);
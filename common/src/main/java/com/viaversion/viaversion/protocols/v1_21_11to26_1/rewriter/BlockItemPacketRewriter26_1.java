@@ -52,6 +52,7 @@ import com.viaversion.viaversion.rewriter.StructuredItemRewriter;
 import com.viaversion.viaversion.rewriter.block.BlockRewriter1_21_5;
 import com.viaversion.viaversion.util.Either;
 import com.viaversion.viaversion.util.Key;
+import java.util.Set;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public final class BlockItemPacketRewriter26_1 extends StructuredItemRewriter<ClientboundPacket1_21_11, ServerboundPacket26_1, Protocol1_21_11To26_1> {
@@ -102,6 +103,21 @@ public final class BlockItemPacketRewriter26_1 extends StructuredItemRewriter<Cl
         recipeRewriter.registerPlaceGhostRecipe(ClientboundPackets1_21_11.PLACE_GHOST_RECIPE);
     }
 
+    @Override
+    protected void collectDataKeysToClient(final Set<StructuredDataKey<?>> keys) {
+        super.collectDataKeysToClient(keys);
+        keys.add(protocol.types().structuredDataKeys().container);
+        keys.add(StructuredDataKey.JUKEBOX_PLAYABLE1_21_5);
+        keys.add(StructuredDataKey.INSTRUMENT1_21_5);
+        keys.add(StructuredDataKey.PROVIDES_TRIM_MATERIAL1_21_5);
+        keys.add(StructuredDataKey.CHICKEN_VARIANT1_21_5);
+        keys.add(StructuredDataKey.ZOMBIE_NAUTILUS_VARIANT1_21_11);
+        keys.add(StructuredDataKey.DAMAGE_TYPE1_21_11);
+        keys.add(StructuredDataKey.PROVIDES_BANNER_PATTERNS1_21_5);
+        keys.add(StructuredDataKey.DAMAGE_RESISTANT1_21_2);
+        keys.add(StructuredDataKey.BLOCKS_ATTACKS1_21_5);
+    }
+
     @Override
     protected void handleItemDataComponentsToClient(final UserConnection connection, final Item item, final StructuredDataContainer container) {
         // Uses null instead of empty items now
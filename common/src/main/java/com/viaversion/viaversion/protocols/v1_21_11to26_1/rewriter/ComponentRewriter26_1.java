@@ -38,4 +38,9 @@ public final class ComponentRewriter26_1 extends NBTComponentRewriter<Clientboun
             itemTag.putInt("count", 1);
         }
     }
+
+    @Override
+    protected boolean isCacheable() {
+        return true;
+    }
 }
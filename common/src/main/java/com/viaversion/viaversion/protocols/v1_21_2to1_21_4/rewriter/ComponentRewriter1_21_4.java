@@ -45,4 +45,9 @@ public final class ComponentRewriter1_21_4 extends JsonNBTComponentRewriter<Clie
     protected SerializerVersion inputSerializerVersion() {
         return SerializerVersion.V1_20_5;
     }
+
+    @Override
+    protected boolean isCacheable() {
+        return true;
+    }
 }
@@ -93,8 +93,8 @@ public final class Protocol1_21_5To1_21_6 extends AbstractProtocol<ClientboundPa
         });
         registerClientbound(ClientboundConfigurationPackets1_21.REGISTRY_DATA, registryDataRewriter::handle);
 
-        tagRewriter.registerGeneric(ClientboundPackets1_21_5.UPDATE_TAGS);
-        tagRewriter.registerGeneric(ClientboundConfigurationPackets1_21.UPDATE_TAGS);
+        tagRewriter.registerGeneric(ClientboundPackets1_21_5.UPDATE_TAGS, true);
+        tagRewriter.registerGeneric(ClientboundConfigurationPackets1_21.UPDATE_TAGS, true);
 
         componentRewriter.registerOpenScreen1_14(ClientboundPackets1_21_5.OPEN_SCREEN);
         componentRewriter.registerComponentPacket(ClientboundPackets1_21_5.SET_ACTION_BAR_TEXT);
@@ -123,7 +123,7 @@ public final class Protocol1_21_5To1_21_6 extends AbstractProtocol<ClientboundPa
 
         new StatisticsRewriter<>(this).register(ClientboundPackets1_21_5.AWARD_STATS);
         new AttributeRewriter<>(this).register1_21(ClientboundPackets1_21_5.UPDATE_ATTRIBUTES);
-        new CommandRewriter1_19_4<>(this).registerDeclareCommands1_19(ClientboundPackets1_21_5.COMMANDS);
+        new CommandRewriter1_19_4<>(this).registerDeclareCommands1_19(ClientboundPackets1_21_5.COMMANDS, true);
 
         registerClientbound(ClientboundPackets1_21_5.CHANGE_DIFFICULTY, wrapper -> {
             final short difficulty = wrapper.read(Types.UNSIGNED_BYTE);
@@ -31,6 +31,7 @@ import com.viaversion.viaversion.protocols.v1_21_5to1_21_6.packet.ServerboundPac
 import com.viaversion.viaversion.rewriter.BlockRewriter;
 import com.viaversion.viaversion.rewriter.RecipeDisplayRewriter;
 import com.viaversion.viaversion.rewriter.StructuredItemRewriter;
+import java.util.Set;
 
 public final class BlockItemPacketRewriter1_21_6 extends StructuredItemRewriter<ClientboundPacket1_21_5, ServerboundPacket1_21_6, Protocol1_21_5To1_21_6> {
 
@@ -45,7 +46,7 @@ public final class BlockItemPacketRewriter1_21_6 extends StructuredItemRewriter<
         blockRewriter.registerBlockUpdate(ClientboundPackets1_21_5.BLOCK_UPDATE);
         blockRewriter.registerSectionBlocksUpdate1_20(ClientboundPackets1_21_5.SECTION_BLOCKS_UPDATE);
         blockRewriter.registerLevelEvent1_21(ClientboundPackets1_21_5.LEVEL_EVENT, 2001);
-        blockRewriter.registerLevelChunk1_19(ClientboundPackets1_21_5.LEVEL_CHUNK_WITH_LIGHT, ChunkType1_21_5::new);
+        blockRewriter.registerComposableLevelChunk1_19(ClientboundPackets1_21_5.LEVEL_CHUNK_WITH_LIGHT, ChunkType1_21_5::new);
         blockRewriter.registerBlockEntityData(ClientboundPackets1_21_5.BLOCK_ENTITY_DATA);
 
         protocol.registerClientbound(ClientboundPackets1_21_5.SET_CURSOR_ITEM, this::passthroughClientboundItem);
@@ -65,6 +66,13 @@ public final class BlockItemPacketRewriter1_21_6 extends StructuredItemRewriter<
         recipeRewriter.registerPlaceGhostRecipe(ClientboundPackets1_21_5.PLACE_GHOST_RECIPE);
     }
 
+    @Override
+    protected void collectDataKeysToClient(final Set<StructuredDataKey<?>> keys) {
+        super.collectDataKeysToClient(keys);
+        keys.add(StructuredDataKey.EQUIPPABLE1_21_5);
+        keys.add(StructuredDataKey.ATTRIBUTE_MODIFIERS1_21_5);
+    }
+
     @Override
     protected void handleItemDataComponentsToClient(final UserConnection connection, final Item item, final StructuredDataContainer container) {
         upgradeItemData(item);
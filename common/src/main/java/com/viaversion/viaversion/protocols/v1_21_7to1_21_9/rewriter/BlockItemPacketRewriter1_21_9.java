@@ -42,6 +42,7 @@ import com.viaversion.viaversion.rewriter.BlockRewriter;
 import com.viaversion.viaversion.rewriter.RecipeDisplayRewriter;
 import com.viaversion.viaversion.rewriter.StructuredItemRewriter;
 import com.viaversion.viaversion.rewriter.block.BlockRewriter1_21_5;
+import java.util.Set;
 
 public final class BlockItemPacketRewriter1_21_9 extends StructuredItemRewriter<ClientboundPacket1_21_6, ServerboundPacket1_21_9, Protocol1_21_7To1_21_9> {
 
@@ -81,6 +82,15 @@ public final class BlockItemPacketRewriter1_21_9 extends StructuredItemRewriter<
         protocol.registerClientbound(ClientboundPackets1_21_6.SET_BORDER_CENTER, this::updateBorderCenter);
     }
 
+    @Override
+    protected void collectDataKeysToClient(final Set<StructuredDataKey<?>> keys) {
+        super.collectDataKeysToClient(keys);
+        keys.add(StructuredDataKey.BEES1_20_5);
+        keys.add(StructuredDataKey.ENTITY_DATA1_20_5);
+        keys.add(StructuredDataKey.BLOCK_ENTITY_DATA1_20_5);
+        keys.add(StructuredDataKey.PROFILE1_20_5);
+    }
+
     @Override
     protected void handleItemDataComponentsToClient(final UserConnection connection, final Item item, final StructuredDataContainer container) {
         upgradeData(item, container);
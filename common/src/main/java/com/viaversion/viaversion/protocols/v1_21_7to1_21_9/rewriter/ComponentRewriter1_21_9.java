@@ -40,4 +40,9 @@ public final class ComponentRewriter1_21_9 extends NBTComponentRewriter<Clientbo
 
         removeDataComponents(componentsTag, StructuredDataKey.ENTITY_DATA1_20_5, StructuredDataKey.BLOCK_ENTITY_DATA1_20_5, StructuredDataKey.BEES1_20_5);
     }
+
+    @Override
+    protected boolean isCacheable() {
+        return true;
+    }
 }
@@ -45,4 +45,9 @@ public final class ComponentRewriter1_21_11 extends NBTComponentRewriter<Clientb
             }
         }
     }
+
+    @Override
+    protected boolean isCacheable() {
+        return true;
+    }
 }
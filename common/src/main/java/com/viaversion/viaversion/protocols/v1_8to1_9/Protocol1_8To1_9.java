@@ -18,6 +18,7 @@
 package com.viaversion.viaversion.protocols.v1_8to1_9;
 
 import com.google.gson.JsonElement;
+import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.platform.providers.ViaProviders;
 import com.viaversion.viaversion.api.protocol.AbstractProtocol;
@@ -47,6 +48,7 @@ import com.viaversion.viaversion.protocols.v1_8to1_9.storage.CommandBlockStorage
 import com.viaversion.viaversion.protocols.v1_8to1_9.storage.EntityTracker1_9;
 import com.viaversion.viaversion.protocols.v1_8to1_9.storage.InventoryTracker;
 import com.viaversion.viaversion.protocols.v1_8to1_9.storage.MovementTracker;
+import com.viaversion.viaversion.protocols.v1_8to1_9.task.IdlePacketTask;
 import com.viaversion.viaversion.util.ComponentUtil;
 import com.viaversion.viaversion.util.SerializerVersion;
 
@@ -106,9 +108,17 @@ public class Protocol1_8To1_9 extends AbstractProtocol<ClientboundPackets1_8, Cl
         userConnection.addEntityTracker(this.getClass(), new EntityTracker1_9(userConnection));
         userConnection.addClientWorld(this.getClass(), new ClientWorld1_9());
 
-        userConnection.put(new MovementTracker());
+        final MovementTracker movementTracker = new MovementTracker();
+        userConnection.put(movementTracker);
         userConnection.put(new InventoryTracker());
         userConnection.put(new CommandBlockStorage());
+
+        if (Via.getConfig().isSimulatePlayerTick() && userConnection.getChannel() != null
+            && !Via.getManager().getProviders().get(MovementTransmitterProvider.class).requiresMainThread()) {
+            // Bound to the tracker, so that the entry of a previous init stops once the tracker is replaced
+            Via.getManager().getScheduler().scheduleConnectionTask(userConnection, System.currentTimeMillis(), true,
+                (connection, now) -> IdlePacketTask.runOnEventLoop(connection, movementTracker, now));
+        }
     }
 
     @Override
@@ -26,26 +26,44 @@ import com.viaversion.viaversion.api.type.Types;
 import com.viaversion.viaversion.protocols.v1_8to1_9.Protocol1_8To1_9;
 import com.viaversion.viaversion.protocols.v1_8to1_9.packet.ServerboundPackets1_8;
 import com.viaversion.viaversion.protocols.v1_8to1_9.storage.MovementTracker;
+import io.netty.channel.EventLoop;
 import java.util.logging.Level;
 
 public class MovementTransmitterProvider implements Provider {
 
     public void sendPlayer(UserConnection userConnection) {
-        userConnection.getChannel().eventLoop().execute(() -> {
-            if (userConnection.getProtocolInfo().getClientState() != State.PLAY || !userConnection.getEntityTracker(Protocol1_8To1_9.class).hasClientEntityId()) {
-                return;
-            }
+        final EventLoop eventLoop = userConnection.getChannel().eventLoop();
+        if (eventLoop.inEventLoop()) {
+            sendIdlePacket(userConnection);
+        } else {
+            eventLoop.execute(() -> sendIdlePacket(userConnection));
+        }
+    }
+
+    /**
+     * Returns whether {@link #sendPlayer(UserConnection)} has to be called from the main thread.
+     * If false, idle packets are scheduled on the connection's event loop instead of a repeating main thread task.
+     *
+     * @return whether idle packets have to be sent from the main thread
+     */
+    public boolean requiresMainThread() {
+        return false;
+    }
+
+    private void sendIdlePacket(UserConnection userConnection) {
+        if (userConnection.getProtocolInfo().getClientState() != State.PLAY || !userConnection.getEntityTracker(Protocol1_8To1_9.class).hasClientEntityId()) {
+            return;
+        }
 
-            final MovementTracker movementTracker = userConnection.get(MovementTracker.class);
-            movementTracker.incrementIdlePacket();
+        final MovementTracker movementTracker = userConnection.get(MovementTracker.class);
+        movementTracker.incrementIdlePacket();
 
-            try {
-                final PacketWrapper playerMovement = PacketWrapper.create(ServerboundPackets1_8.MOVE_PLAYER_STATUS_ONLY, userConnection);
-                playerMovement.write(Types.BOOLEAN, movementTracker.isGround()); // on ground
-                playerMovement.sendToServer(Protocol1_8To1_9.class);
-            } catch (Throwable e) {
-                Via.getPlatform().getLogger().log(Level.WARNING, "Failed to send player movement packet", e);
-            }
-        });
+        try {
+            final PacketWrapper playerMovement = PacketWrapper.create(ServerboundPackets1_8.MOVE_PLAYER_STATUS_ONLY, userConnection);
+            playerMovement.write(Types.BOOLEAN, movementTracker.isGround()); // on ground
+            playerMovement.sendToServer(Protocol1_8To1_9.class);
+        } catch (Throwable e) {
+            Via.getPlatform().getLogger().log(Level.WARNING, "Failed to send player movement packet", e);
+        }
     }
 }
@@ -24,8 +24,30 @@ import com.viaversion.viaversion.protocols.v1_8to1_9.storage.MovementTracker;
 
 public final class IdlePacketTask implements Runnable {
 
+    /**
+     * Sends idle packets for a single connection from its event loop, used if the movement transmitter does not require the main thread.
+     *
+     * @param connection connection to send idle packets for
+     * @param tracker    movement tracker the task was scheduled for
+     * @param now        current time in milliseconds
+     * @return next time to check again, or -1 if the tracker has been removed or replaced
+     */
+    public static long runOnEventLoop(final UserConnection connection, final MovementTracker tracker, final long now) {
+        if (connection.get(MovementTracker.class) != tracker) {
+            // Replaced by a pipeline reinitialization, which schedules its own task
+            return -1;
+        }
+
+        if (tracker.getNextIdlePacket() <= now) {
+            Via.getManager().getProviders().get(MovementTransmitterProvider.class).sendPlayer(connection);
+        }
+        return Math.max(tracker.getNextIdlePacket(), now + 1);
+    }
+
     @Override
     public void run() {
+        final MovementTransmitterProvider provider = Via.getManager().getProviders().get(MovementTransmitterProvider.class);
+        final long now = System.currentTimeMillis();
         for (final UserConnection connection : Via.getManager().getConnectionManager().getConnections()) {
             if (!connection.isActive()) {
                 continue;
@@ -37,8 +59,8 @@ public final class IdlePacketTask implements Runnable {
             }
 
             final long nextIdleUpdate = tracker.getNextIdlePacket();
-            if (nextIdleUpdate <= System.currentTimeMillis()) {
-                Via.getManager().getProviders().get(MovementTransmitterProvider.class).sendPlayer(connection);
+            if (nextIdleUpdate <= now) {
+                provider.sendPlayer(connection);
             }
         }
     }
@@ -19,6 +19,8 @@ package com.viaversion.viaversion.rewriter;
 
 import com.google.common.base.Preconditions;
 import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.StorableObject;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.data.FullMappings;
 import com.viaversion.viaversion.api.data.MappingData;
@@ -37,6 +39,10 @@ import com.viaversion.viaversion.api.protocol.packet.ClientboundPacketType;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
 import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.api.type.types.chunk.SerializedChunkSections;
+import com.viaversion.viaversion.api.type.types.misc.LazyCompoundTagType;
+import com.viaversion.viaversion.protocol.ComposedMappingsCache;
+import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
 import com.viaversion.viaversion.util.MathUtil;
 import it.unimi.dsi.fastutil.ints.IntArrayList;
 import it.unimi.dsi.fastutil.ints.IntList;
@@ -192,6 +198,39 @@ public class BlockRewriter<C extends ClientboundPacketType> {
         });
     }
 
+    /**
+     * Registers the chunk handler like {@link #registerLevelChunk1_19(ClientboundPacketType, ChunkTypeSupplier)}, additionally declaring
+     * that the chunk's palettes are only remapped by the protocol's block state mappings. Palettes are then remapped in one go together with
+     * the following protocols in the pipeline declaring the same.
+     * <p>
+     * Must not be used if the block rewriter changes the handling of chunks or block entities.
+     *
+     * @param packetType        chunk packet type
+     * @param chunkTypeSupplier chunk type supplier
+     */
+    public void registerComposableLevelChunk1_19(C packetType, ChunkTypeSupplier chunkTypeSupplier) {
+        final ComposedMappingsCache composedMappings = composedMappings();
+        if (composedMappings != null) {
+            composedMappings.addComposablePaletteRemap(protocol.getClass());
+        }
+        protocol.registerClientbound(packetType, wrapper -> {
+            boolean handled = false;
+            try {
+                final Chunk chunk = handleChunk1_19(wrapper, chunkTypeSupplier);
+                handleBlockEntities(chunk, wrapper.user());
+                handled = !wrapper.isCancelled();
+            } finally {
+                if (!handled) {
+                    // Don't keep the chunk around if the following protocols won't get to it
+                    final ComposedPaletteRemap composedRemap = wrapper.user().get(ComposedPaletteRemap.class);
+                    if (composedRemap != null) {
+                        composedRemap.clear();
+                    }
+                }
+            }
+        });
+    }
+
     /**
      * Updates block entity ids, removes block entities mapped to -1, and calls {@link #handleBlockEntity(UserConnection, BlockEntity)} for block entities with data.
      *
@@ -245,17 +284,70 @@ public class BlockRewriter<C extends ClientboundPacketType> {
             MathUtil.ceilLog2(protocol.getMappingData().getBlockStateMappings().mappedSize()),
             MathUtil.ceilLog2(tracker.biomesSent())) : chunkType;
         final Chunk chunk = wrapper.passthroughAndMap(chunkType, mappedChunkType);
+        final ComposedPaletteRemap composedRemap = wrapper.user().get(ComposedPaletteRemap.class);
+        if (composedRemap != null && composedRemap.skip(chunk)) {
+            // Already remapped by a previous protocol
+            return chunk;
+        }
+
+        final Mappings composedMappings = composedBlockStateMappings(wrapper.user(), chunk);
+        final MappingData mappingData = protocol.getMappingData();
+        final SerializedChunkSections serializedSections = chunk.serializedSections();
+        final int mappedSize = composedMappings != null ? composedMappings.mappedSize() : mappingData.getBlockStateMappings().mappedSize();
+        if (serializedSections != null && serializedSections.sectionType().canRemapBlockStates(MathUtil.ceilLog2(mappedSize))) {
+            // Only rewrite the palette entries without reading the sections
+            serializedSections.remapBlockStates(composedMappings != null
+                ? id -> composedMappings.getNewIdOrDefault(id, 0)
+                : mappingData::getNewBlockStateId);
+            return chunk;
+        }
+
         for (final ChunkSection section : chunk.getSections()) {
             final DataPalette blockPalette = section.palette(PaletteType.BLOCKS);
             for (int i = 0; i < blockPalette.size(); i++) {
                 final int id = blockPalette.idByIndex(i);
-                blockPalette.setIdByIndex(i, protocol.getMappingData().getNewBlockStateId(id));
+                final int mappedId = composedMappings != null ? composedMappings.getNewIdOrDefault(id, 0) : protocol.getMappingData().getNewBlockStateId(id);
+                blockPalette.setIdByIndex(i, mappedId);
             }
         }
         return chunk;
     }
 
+    private @Nullable Mappings composedBlockStateMappings(final UserConnection connection, final Chunk chunk) {
+        final ComposedMappingsCache composedMappings = composedMappings();
+        if (composedMappings == null || !composedMappings.isComposablePaletteRemap(protocol.getClass())) {
+            return null;
+        }
+
+        final List<Protocol> pipes = connection.getProtocolInfo().getPipeline().reversedPipes();
+        final int index = pipes.indexOf(protocol);
+        if (index == -1) {
+            return null;
+        }
+
+        int end = index + 1;
+        while (end < pipes.size() && composedMappings.isComposablePaletteRemap(pipes.get(end).getClass())) {
+            end++;
+        }
+        if (end - index == 1) {
+            return null;
+        }
+
+        ComposedPaletteRemap composedRemap = connection.get(ComposedPaletteRemap.class);
+        if (composedRemap == null) {
+            composedRemap = new ComposedPaletteRemap();
+            connection.put(composedRemap);
+        }
+        composedRemap.set(chunk, end - index - 1);
+        return composedMappings.getBlockStateMappings(pipes.subList(index, end));
+    }
+
+    private static @Nullable ComposedMappingsCache composedMappings() {
+        return Via.getManager().getProtocolManager() instanceof ProtocolManagerImpl protocolManager ? protocolManager.getComposedMappings() : null;
+    }
+
     public void registerBlockEntityData(C packetType) {
+        final LazyCompoundTagType lazyTagType = overridesBlockEntityHandling() ? null : LazyCompoundTagType.of(compoundTagType);
         protocol.registerClientbound(packetType, wrapper -> {
             final BlockPosition position = wrapper.passthrough(positionType);
 
@@ -272,6 +364,12 @@ public class BlockRewriter<C extends ClientboundPacketType> {
                 wrapper.write(Types.VAR_INT, blockEntityId);
             }
 
+            if (lazyTagType != null) {
+                // Nothing to rewrite, keep the tag as is unless later protocols need it
+                wrapper.passthrough(lazyTagType);
+                return;
+            }
+
             final CompoundTag tag = wrapper.passthrough(compoundTagType);
             if (tag != null) {
                 final BlockEntity blockEntity = new BlockEntityImpl(BlockEntity.pack(position.x(), position.z()), (short) position.y(), blockEntityId, tag);
@@ -294,4 +392,32 @@ public class BlockRewriter<C extends ClientboundPacketType> {
 
         Type<Chunk> supply(int ySectionCount, int globalPaletteBlockBits, int globalPaletteBiomeBits);
     }
+
+    /**
+     * Tracks the chunk whose palettes have already been remapped for the following protocols in the pipeline.
+     */
+    private static final class ComposedPaletteRemap implements StorableObject {
+        private Chunk chunk;
+        private int remainingProtocols;
+
+        void set(final Chunk chunk, final int remainingProtocols) {
+            this.chunk = chunk;
+            this.remainingProtocols = remainingProtocols;
+        }
+
+        boolean skip(final Chunk chunk) {
+            if (this.chunk != chunk) {
+                return false;
+            }
+            if (--remainingProtocols == 0) {
+                this.chunk = null;
+            }
+            return true;
+        }
+
+        void clear() {
+            this.chunk = null;
+            this.remainingProtocols = 0;
+        }
+    }
 }
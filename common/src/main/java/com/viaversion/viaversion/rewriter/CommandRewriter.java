@@ -22,6 +22,7 @@ import com.viaversion.viaversion.api.data.FullMappings;
 import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.packet.ClientboundPacketType;
 import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.protocol.remapper.PacketHandler;
 import com.viaversion.viaversion.api.type.Types;
 import com.viaversion.viaversion.util.Key;
 import java.util.HashMap;
@@ -73,7 +74,19 @@ public class CommandRewriter<C extends ClientboundPacketType> {
     }
 
     public void registerDeclareCommands(C packetType) {
-        protocol.registerClientbound(packetType, wrapper -> {
+        registerDeclareCommands(packetType, false);
+    }
+
+    /**
+     * Registers the declare commands handler, optionally marked as {@link PacketHandler#isCacheable() cacheable}.
+     * Only pass true if {@link #handleArgument(PacketWrapper, String)} and {@link #handleArgumentType(String)},
+     * including any overrides, neither read nor modify connection state.
+     *
+     * @param packetType declare commands packet type
+     * @param cacheable  whether the transformed packet may be shared between connections
+     */
+    public void registerDeclareCommands(C packetType, boolean cacheable) {
+        final PacketHandler handler = wrapper -> {
             int size = wrapper.passthrough(Types.VAR_INT);
             for (int i = 0; i < size; i++) {
                 byte flags = wrapper.passthrough(Types.BYTE);
@@ -104,11 +117,24 @@ public class CommandRewriter<C extends ClientboundPacketType> {
             }
 
             wrapper.passthrough(Types.VAR_INT); // Root node index
-        });
+        };
+        protocol.registerClientbound(packetType, cacheable ? PacketHandler.cacheable(handler) : handler);
     }
 
     public void registerDeclareCommands1_19(C packetType) {
-        protocol.registerClientbound(packetType, wrapper -> {
+        registerDeclareCommands1_19(packetType, false);
+    }
+
+    /**
+     * Registers the declare commands handler, optionally marked as {@link PacketHandler#isCacheable() cacheable}.
+     * Only pass true if {@link #handleArgument(PacketWrapper, String)} and {@link #handleArgumentType(String)},
+     * including any overrides, neither read nor modify connection state.
+     *
+     * @param packetType declare commands packet type
+     * @param cacheable  whether the transformed packet may be shared between connections
+     */
+    public void registerDeclareCommands1_19(C packetType, boolean cacheable) {
+        final PacketHandler handler = wrapper -> {
             int size = wrapper.passthrough(Types.VAR_INT);
             for (int i = 0; i < size; i++) {
                 byte flags = wrapper.passthrough(Types.BYTE);
@@ -163,7 +189,8 @@ public class CommandRewriter<C extends ClientboundPacketType> {
             }
 
             wrapper.passthrough(Types.VAR_INT); // Root node index
-        });
+        };
+        protocol.registerClientbound(packetType, cacheable ? PacketHandler.cacheable(handler) : handler);
     }
 
     public void handleArgument(PacketWrapper wrapper, String argumentType) {
@@ -45,6 +45,7 @@ import com.viaversion.viaversion.api.type.Type;
 import com.viaversion.viaversion.api.type.Types;
 import com.viaversion.viaversion.data.entity.DimensionDataImpl;
 import com.viaversion.viaversion.rewriter.entitydata.EntityDataFilter;
+import com.viaversion.viaversion.rewriter.entitydata.EntityDataFilterTable;
 import com.viaversion.viaversion.rewriter.entitydata.EntityDataHandlerEvent;
 import com.viaversion.viaversion.rewriter.entitydata.EntityDataHandlerEventImpl;
 import com.viaversion.viaversion.util.Key;
@@ -63,6 +64,7 @@ public abstract class EntityRewriter<C extends ClientboundPacketType, T extends
     protected final List<EntityDataFilter> entityDataFilters = new ArrayList<>();
     protected final boolean trackMappedType;
     protected Mappings typeMappings;
+    private volatile EntityDataFilterTable filterTable;
 
     protected EntityRewriter(T protocol) {
         this(protocol, true);
@@ -101,20 +103,25 @@ public abstract class EntityRewriter<C extends ClientboundPacketType, T extends
     public void registerFilter(EntityDataFilter filter) {
         Preconditions.checkArgument(!entityDataFilters.contains(filter));
         entityDataFilters.add(filter);
+        filterTable = null;
     }
 
     @Override
     public void handleEntityData(final int entityId, final List<EntityData> dataList, final UserConnection connection) {
         final TrackedEntity entity = tracker(connection).entity(entityId);
         final EntityType type = entity != null ? entity.entityType() : null;
+        final EntityDataFilterTable.TypeFilters typeFilters = filterTable().filters(type);
 
         // Iterate over indexed list to allow for removal and addition of elements, decrease current index and size if an element is removed
-        int size = dataList.size();
+        int size = typeFilters.isEmpty() ? 0 : dataList.size();
         for (int i = 0; i < size; i++) {
             final EntityData entityData = dataList.get(i);
+            int index = entityData.id();
+            EntityDataFilterTable.FilterList filters = typeFilters.forIndex(index);
             EntityDataHandlerEvent event = null;
-            for (final EntityDataFilter filter : entityDataFilters) {
-                if (!filter.isFiltered(type, entityData)) {
+            for (int j = 0; j < filters.size(); j++) {
+                final EntityDataFilter filter = filters.filter(j);
+                if (filter.dataType() != null && filter.dataType() != entityData.dataType()) {
                     continue;
                 }
                 if (event == null) {
@@ -137,6 +144,14 @@ public abstract class EntityRewriter<C extends ClientboundPacketType, T extends
                     size--;
                     break;
                 }
+
+                if (entityData.id() != index) {
+                    // Continue with the remaining filters of the new index
+                    index = entityData.id();
+                    final int ordinal = filters.ordinal(j);
+                    filters = typeFilters.forIndex(index);
+                    j = filters.indexAfter(ordinal) - 1;
+                }
             }
 
             if (event != null && event.hasExtraData()) {
@@ -150,6 +165,16 @@ public abstract class EntityRewriter<C extends ClientboundPacketType, T extends
         }
     }
 
+    private EntityDataFilterTable filterTable() {
+        EntityDataFilterTable filterTable = this.filterTable;
+        if (filterTable == null || filterTable.size() != entityDataFilters.size()) {
+            // Compiled on first use, as filters may still be registered or changed after mapping data has been loaded
+            filterTable = new EntityDataFilterTable(entityDataFilters);
+            this.filterTable = filterTable;
+        }
+        return filterTable;
+    }
+
     @Override
     public int newEntityId(int id) {
         return typeMappings != null ? typeMappings.getNewIdOrDefault(id, id) : id;
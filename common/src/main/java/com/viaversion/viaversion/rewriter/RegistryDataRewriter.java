@@ -21,6 +21,7 @@ import com.viaversion.nbt.tag.CompoundTag;
 import com.viaversion.nbt.tag.ListTag;
 import com.viaversion.nbt.tag.StringTag;
 import com.viaversion.nbt.tag.Tag;
+import com.viaversion.viaversion.api.connection.StorableObject;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.data.FullMappings;
 import com.viaversion.viaversion.api.data.MappingData;
@@ -77,6 +78,7 @@ public class RegistryDataRewriter implements com.viaversion.viaversion.api.rewri
             keys[i] = Key.stripMinecraftNamespace(entries[i].key());
         }
         this.registryKeyMappings.put(key, new KeyMappings(keys));
+        registryDataVersion(connection).version++;
 
         switch (key) {
             case "enchantment" -> updateEnchantments(connection, entries);
@@ -421,8 +423,32 @@ public class RegistryDataRewriter implements com.viaversion.viaversion.api.rewri
         return registryKeyMappings;
     }
 
+    /**
+     * Returns a counter incremented whenever the connection is sent registry data, to invalidate data depending on the registry key mappings.
+     *
+     * @param connection user connection
+     * @return current version of the connection's registry data
+     */
+    public static int mappingsVersion(final UserConnection connection) {
+        final RegistryDataVersion version = connection.get(RegistryDataVersion.class);
+        return version != null ? version.version : 0;
+    }
+
+    private static RegistryDataVersion registryDataVersion(final UserConnection connection) {
+        RegistryDataVersion version = connection.get(RegistryDataVersion.class);
+        if (version == null) {
+            version = new RegistryDataVersion();
+            connection.put(version);
+        }
+        return version;
+    }
+
     @Override
     public boolean shouldRemoveRegistry(final String registryKey) {
         return this.toRemove.contains(Key.stripMinecraftNamespace(registryKey));
     }
+
+    private static final class RegistryDataVersion implements StorableObject {
+        private int version;
+    }
 }
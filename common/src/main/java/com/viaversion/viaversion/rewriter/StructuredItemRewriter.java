@@ -43,8 +43,11 @@ import com.viaversion.viaversion.api.type.types.version.VersionedTypesHolder;
 import com.viaversion.viaversion.data.item.ItemHasherBase;
 import com.viaversion.viaversion.util.Rewritable;
 import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import java.lang.reflect.Modifier;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.checkerframework.checker.nullness.qual.Nullable;
 
 public class StructuredItemRewriter<C extends ClientboundPacketType, S extends ServerboundPacketType,
@@ -52,8 +55,19 @@ public class StructuredItemRewriter<C extends ClientboundPacketType, S extends S
 
     public static final String MARKER_KEY = "VV|custom_data";
 
+    private final boolean backsUpInconvertibleData;
+    private final boolean passthroughFastPath;
+    private volatile Set<StructuredDataKey<?>> dataKeysToClient;
+
     public StructuredItemRewriter(T protocol) {
         super(protocol);
+        this.backsUpInconvertibleData = overrides("backupInconvertibleData", UserConnection.class, Item.class, StructuredDataContainer.class, CompoundTag.class) != StructuredItemRewriter.class;
+
+        // Items can only skip the full rewrite if every hook touching data is covered by the collected keys
+        final Class<?> keysDeclaringClass = overrides("collectDataKeysToClient", Set.class);
+        this.passthroughFastPath = !backsUpInconvertibleData
+            && overrides("handleItemDataComponentsToClient", UserConnection.class, Item.class, StructuredDataContainer.class).isAssignableFrom(keysDeclaringClass)
+            && overrides("handleRewritablesToClient", UserConnection.class, StructuredDataContainer.class, ItemHasher.class).isAssignableFrom(keysDeclaringClass);
     }
 
     /**
@@ -71,17 +85,29 @@ public class StructuredItemRewriter<C extends ClientboundPacketType, S extends S
             return item;
         }
 
+        final StructuredDataContainer dataContainer = item.dataContainer();
+        if (passthroughFastPath && isPassthrough(dataContainer)) {
+            // Nothing but ids to change, which won't affect data hashes either
+            updateItemDataComponentTypeIds(dataContainer, true);
+            final MappingData mappingData = protocol.getMappingData();
+            if (mappingData != null && mappingData.getItemMappings() != null) {
+                item.setIdentifier(mappingData.getNewItemId(item.identifier()));
+            }
+            return item;
+        }
+
         final ItemHasherBase itemHasher = itemHasher(connection); // get the original hashed item and store it later if there are any changes that could affect the data hashes
         final HashedItem originalHashedItem = hashItem(item, itemHasher);
 
-        final StructuredDataContainer dataContainer = item.dataContainer();
         updateItemDataComponentTypeIds(dataContainer, true);
 
         // Save the inconvertible data before we start modifying the item
-        final CompoundTag backupTag = new CompoundTag();
-        backupInconvertibleData(connection, item, dataContainer, backupTag);
-        if (!backupTag.isEmpty()) {
-            saveTag(createCustomTag(item), backupTag, "backup");
+        if (backsUpInconvertibleData) {
+            final CompoundTag backupTag = new CompoundTag();
+            backupInconvertibleData(connection, item, dataContainer, backupTag);
+            if (!backupTag.isEmpty()) {
+                saveTag(createCustomTag(item), backupTag, "backup");
+            }
         }
 
         final MappingData mappingData = protocol.getMappingData();
@@ -96,6 +122,87 @@ public class StructuredItemRewriter<C extends ClientboundPacketType, S extends S
         return item;
     }
 
+    private boolean isPassthrough(final StructuredDataContainer container) {
+        if (container.isEmpty()) {
+            return true;
+        }
+
+        Set<StructuredDataKey<?>> keys = this.dataKeysToClient;
+        if (keys == null) {
+            keys = new ReferenceOpenHashSet<>();
+            collectDataKeysToClient(keys);
+            this.dataKeysToClient = keys;
+        }
+
+        for (final StructuredDataKey<?> key : container.data().keySet()) {
+            if (keys.contains(key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects the unmapped data component keys that may be changed in clientbound items.
+     * Items without any of these components only have their item and data component type ids remapped.
+     * <p>
+     * Subclasses overriding {@link #handleItemDataComponentsToClient(UserConnection, Item, StructuredDataContainer)} have to
+     * override this method as well to keep that fast path, adding all keys they touch. Always remember to call the super method.
+     *
+     * @param keys set to add data component keys to
+     */
+    protected void collectDataKeysToClient(final Set<StructuredDataKey<?>> keys) {
+        for (final StructuredDataKey<?> key : protocol.types().structuredDataKeys().keys()) {
+            if (mayContainRewritable(key.type().getOutputClass())) {
+                keys.add(key);
+            }
+        }
+
+        if (protocol.getComponentRewriter() != null) {
+            keys.add(StructuredDataKey.ITEM_NAME);
+            keys.add(StructuredDataKey.CUSTOM_NAME);
+            keys.add(StructuredDataKey.LORE);
+            keys.add(StructuredDataKey.WRITTEN_BOOK_CONTENT);
+        }
+
+        // See replaceAnnoyingKeys
+        final List<StructuredDataKey<?>> unmappedKeys = protocol.types().structuredDataKeys().keys();
+        final List<StructuredDataKey<?>> mappedKeys = protocol.mappedTypes().structuredDataKeys().keys();
+        final int minSize = Math.min(unmappedKeys.size(), mappedKeys.size());
+        for (int i = 0; i < minSize; i++) {
+            if (unmappedKeys.get(i) != mappedKeys.get(i)) {
+                keys.add(unmappedKeys.get(i));
+            }
+        }
+    }
+
+    private static boolean mayContainRewritable(@Nullable final Class<?> outputClass) {
+        if (outputClass == null || outputClass == Object.class) {
+            return true;
+        }
+
+        final Class<?> type = outputClass.isArray() ? outputClass.getComponentType() : outputClass;
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            // Implementations may still be rewritable, only plain tags are known not to be
+            return !Tag.class.isAssignableFrom(type);
+        }
+        return Item.class.isAssignableFrom(type)
+            || Rewritable.class.isAssignableFrom(type)
+            || Holder.class.isAssignableFrom(type)
+            || EitherHolder.class.isAssignableFrom(type);
+    }
+
+    private Class<?> overrides(final String methodName, final Class<?>... parameterTypes) {
+        for (Class<?> clazz = getClass(); clazz != StructuredItemRewriter.class; clazz = clazz.getSuperclass()) {
+            try {
+                clazz.getDeclaredMethod(methodName, parameterTypes);
+                return clazz;
+            } catch (final NoSuchMethodException ignored) {
+            }
+        }
+        return StructuredItemRewriter.class;
+    }
+
     protected @Nullable HashedItem hashItem(final Item item, @Nullable final ItemHasherBase hasher) {
         // Hash the original item from open inventory data to be able to get it back out of serverbound hashed items
         return hasher == null || !hasher.isProcessingClientboundInventoryPacket() ? null : hasher.toHashedItem(item, false);
@@ -122,11 +122,36 @@ public class TagRewriter<C extends ClientboundPacketType> implements com.viavers
     }
 
     public void register(C packetType, @Nullable RegistryType readUntilType) {
-        protocol.registerClientbound(packetType, getHandler(readUntilType));
+        register(packetType, readUntilType, false);
+    }
+
+    /**
+     * Registers the tags handler reading until the given registry type, optionally marked as {@link PacketHandler#isCacheable() cacheable}.
+     * Only pass true if the handle methods, including any overrides, neither read nor modify connection state.
+     *
+     * @param packetType    tags packet type
+     * @param readUntilType last registry type contained in the packet, or null to read all
+     * @param cacheable     whether the transformed packet may be shared between connections
+     */
+    public void register(C packetType, @Nullable RegistryType readUntilType, boolean cacheable) {
+        final PacketHandler handler = getHandler(readUntilType);
+        protocol.registerClientbound(packetType, cacheable ? PacketHandler.cacheable(handler) : handler);
     }
 
     public void registerGeneric(C packetType) {
-        protocol.registerClientbound(packetType, this::handleGeneric);
+        registerGeneric(packetType, false);
+    }
+
+    /**
+     * Registers the generic tags handler, optionally marked as {@link PacketHandler#isCacheable() cacheable}.
+     * Only pass true if the handle methods, including any overrides, neither read nor modify connection state.
+     *
+     * @param packetType tags packet type
+     * @param cacheable  whether the transformed packet may be shared between connections
+     */
+    public void registerGeneric(C packetType, boolean cacheable) {
+        final PacketHandler handler = this::handleGeneric;
+        protocol.registerClientbound(packetType, cacheable ? PacketHandler.cacheable(handler) : handler);
     }
 
     public PacketHandler getHandler(@Nullable RegistryType readUntilType) {
@@ -90,11 +90,20 @@ public record EntityDataFilter(@Nullable EntityType type, boolean filterFamily,
         // Check if no specific index is filtered or the indexes are equal
         // Then check if the filter has no entity type or the type is equal to or part of the filtered parent type
         return (this.index == -1 || entityData.id() == this.index)
-            && (this.type == null || matchesType(type))
+            && filtersType(type)
             && (this.dataType == null || entityData.dataType() == this.dataType);
     }
 
-    private boolean matchesType(EntityType type) {
+    /**
+     * Returns whether entity data of the given entity type may be handled by this filter, not taking the index or data type into account.
+     *
+     * @param type entity type
+     * @return whether entity data of the given type may be filtered
+     */
+    public boolean filtersType(@Nullable EntityType type) {
+        if (this.type == null) {
+            return true;
+        }
         if (type == null) {
             return false;
         }
@@ -0,0 +1,208 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.rewriter.entitydata;
+
+import com.viaversion.viaversion.api.minecraft.entities.EntityType;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Compiled lookup of entity data filters, resolving the filters applying to an entity type and data index ahead of time.
+ * <p>
+ * Filters are resolved per entity type on first use, including family membership, and grouped by the data index they filter.
+ * The filters returned for a type and index keep their registration order, with only the data type left to be checked per entity data.
+ */
+public final class EntityDataFilterTable {
+    private final EntityDataFilter[] filters;
+    private final TypeFilters untrackedTypeFilters;
+    private volatile TypeFilters[] typeFilters = new TypeFilters[0];
+
+    public EntityDataFilterTable(final List<EntityDataFilter> filters) {
+        this.filters = filters.toArray(EntityDataFilter[]::new);
+        this.untrackedTypeFilters = compile(null);
+    }
+
+    /**
+     * Returns the filters applying to the given entity type.
+     *
+     * @param type entity type, or null if not tracked
+     * @return filters applying to the given entity type
+     */
+    public TypeFilters filters(@Nullable final EntityType type) {
+        if (type == null) {
+            return untrackedTypeFilters;
+        }
+
+        final int id = type.getId();
+        TypeFilters[] typeFilters = this.typeFilters;
+        if (id >= 0 && id < typeFilters.length) {
+            final TypeFilters compiled = typeFilters[id];
+            if (compiled != null && compiled.type == type) {
+                return compiled;
+            }
+        }
+
+        final TypeFilters compiled = compile(type);
+        if (id >= 0) {
+            // Racing threads compile the same immutable result, so losing an update is harmless
+            if (id >= typeFilters.length) {
+                typeFilters = Arrays.copyOf(typeFilters, Math.max(id + 1, typeFilters.length << 1));
+            } else {
+                typeFilters = typeFilters.clone();
+            }
+            typeFilters[id] = compiled;
+            this.typeFilters = typeFilters;
+        }
+        return compiled;
+    }
+
+    /**
+     * Returns the number of filters compiled into this table.
+     *
+     * @return number of filters
+     */
+    public int size() {
+        return filters.length;
+    }
+
+    private TypeFilters compile(@Nullable final EntityType type) {
+        final FilterList.Builder anyIndex = new FilterList.Builder();
+        final Int2ObjectMap<FilterList.Builder> byIndex = new Int2ObjectOpenHashMap<>();
+        for (int ordinal = 0; ordinal < filters.length; ordinal++) {
+            final EntityDataFilter filter = filters[ordinal];
+            if (!filter.filtersType(type)) {
+                continue;
+            }
+
+            if (filter.index() == -1) {
+                // Filters without an index apply to every index
+                anyIndex.add(filter, ordinal);
+                for (final FilterList.Builder builder : byIndex.values()) {
+                    builder.add(filter, ordinal);
+                }
+            } else {
+                byIndex.computeIfAbsent(filter.index(), $ -> anyIndex.copy()).add(filter, ordinal);
+            }
+        }
+
+        final Int2ObjectMap<FilterList> compiledByIndex = new Int2ObjectOpenHashMap<>(byIndex.size());
+        for (final Int2ObjectMap.Entry<FilterList.Builder> entry : byIndex.int2ObjectEntrySet()) {
+            compiledByIndex.put(entry.getIntKey(), entry.getValue().build());
+        }
+        return new TypeFilters(type, anyIndex.build(), compiledByIndex);
+    }
+
+    public static final class TypeFilters {
+        private final EntityType type;
+        private final FilterList anyIndex;
+        private final Int2ObjectMap<FilterList> byIndex;
+
+        private TypeFilters(@Nullable final EntityType type, final FilterList anyIndex, final Int2ObjectMap<FilterList> byIndex) {
+            this.type = type;
+            this.anyIndex = anyIndex;
+            this.byIndex = byIndex;
+        }
+
+        /**
+         * Returns the filters applying to entity data at the given index, in registration order.
+         *
+         * @param index entity data index
+         * @return filters applying to the given index
+         */
+        public FilterList forIndex(final int index) {
+            final FilterList filters = byIndex.get(index);
+            return filters != null ? filters : anyIndex;
+        }
+
+        /**
+         * Returns whether no filter applies to the entity type at all.
+         *
+         * @return whether no filter applies to the entity type
+         */
+        public boolean isEmpty() {
+            return anyIndex.size() == 0 && byIndex.isEmpty();
+        }
+    }
+
+    public static final class FilterList {
+        private final EntityDataFilter[] filters;
+        private final int[] ordinals;
+
+        private FilterList(final EntityDataFilter[] filters, final int[] ordinals) {
+            this.filters = filters;
+            this.ordinals = ordinals;
+        }
+
+        public int size() {
+            return filters.length;
+        }
+
+        public EntityDataFilter filter(final int i) {
+            return filters[i];
+        }
+
+        /**
+         * Returns the registration order of the filter at the given position.
+         *
+         * @param i position in this list
+         * @return registration order of the filter
+         */
+        public int ordinal(final int i) {
+            return ordinals[i];
+        }
+
+        /**
+         * Returns the position of the first filter registered after the given ordinal, or {@link #size()} if there is none.
+         * Used to continue with the filters of another index after a handler changed the entity data index.
+         *
+         * @param ordinal registration order of the last handled filter
+         * @return position of the first filter registered after the given ordinal
+         */
+        public int indexAfter(final int ordinal) {
+            final int i = Arrays.binarySearch(ordinals, ordinal + 1);
+            return i >= 0 ? i : -i - 1;
+        }
+
+        private static final class Builder {
+            private final List<EntityDataFilter> filters = new ArrayList<>();
+            private final IntList ordinals = new IntArrayList();
+
+            private void add(final EntityDataFilter filter, final int ordinal) {
+                filters.add(filter);
+                ordinals.add(ordinal);
+            }
+
+            private Builder copy() {
+                final Builder builder = new Builder();
+                builder.filters.addAll(filters);
+                builder.ordinals.addAll(ordinals);
+                return builder;
+            }
+
+            private FilterList build() {
+                return new FilterList(filters.toArray(EntityDataFilter[]::new), ordinals.toIntArray());
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.rewriter.text;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.viaversion.nbt.tag.Tag;
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.api.type.types.misc.RawTagType;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded cache of rewritten components of a single component rewriter, mapping input components to their rewritten form.
+ * <p>
+ * Json components are cached in their serialized form. Tags are cached in their raw network form as read with {@link Types#RAW_TAG},
+ * so that a hit neither has to serialize the input nor parse the output. Both caches are bounded by the approximate size of their entries.
+ */
+public final class ComponentCache {
+    private final Cache<String, String> jsonComponents;
+    private final Cache<SerializedTag, byte[]> tagComponents;
+
+    /**
+     * @param maxBytes approximate maximum size of each of the json and tag caches in bytes
+     */
+    public ComponentCache(final long maxBytes) {
+        this.jsonComponents = CacheBuilder.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((String component, String rewritten) -> component.length() + rewritten.length())
+            .recordStats()
+            .build();
+        this.tagComponents = CacheBuilder.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((SerializedTag component, byte[] rewritten) -> component.bytes.length + rewritten.length)
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Returns the rewritten form of the serialized json component, rewriting and caching it if not present.
+     *
+     * @param component serialized json component
+     * @param rewriter  function rewriting the serialized component
+     * @return rewritten serialized component
+     */
+    public String rewriteText(final String component, final UnaryOperator<String> rewriter) {
+        String rewritten = jsonComponents.getIfPresent(component);
+        if (rewritten == null) {
+            rewritten = rewriter.apply(component);
+            jsonComponents.put(component, rewritten);
+        }
+        return rewritten;
+    }
+
+    /**
+     * Returns the rewritten form of the raw tag component, parsing, rewriting and caching it if not present.
+     *
+     * @param component raw tag component
+     * @param rewriter  consumer rewriting the parsed tag in place
+     * @return rewritten raw tag component, not to be modified
+     */
+    public byte[] rewriteTag(final byte[] component, final Consumer<Tag> rewriter) {
+        if (RawTagType.isEmpty(component)) {
+            return component;
+        }
+
+        final SerializedTag key = new SerializedTag(component);
+        byte[] rewritten = tagComponents.getIfPresent(key);
+        if (rewritten == null) {
+            final Tag tag = RawTagType.parse(component);
+            rewriter.accept(tag);
+            rewritten = RawTagType.serialize(tag);
+            tagComponents.put(key, rewritten);
+        }
+        return rewritten;
+    }
+
+    public CacheStats jsonStats() {
+        return jsonComponents.stats();
+    }
+
+    public CacheStats tagStats() {
+        return tagComponents.stats();
+    }
+
+    private static final class SerializedTag {
+        private final byte[] bytes;
+        private final int hashCode;
+
+        private SerializedTag(final byte[] bytes) {
+            this.bytes = bytes;
+            this.hashCode = Arrays.hashCode(bytes);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof final SerializedTag that)) return false;
+            return hashCode == that.hashCode && Arrays.equals(bytes, that.bytes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -17,6 +17,7 @@
  */
 package com.viaversion.viaversion.rewriter.text;
 
+import com.google.common.cache.CacheStats;
 import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
@@ -54,6 +55,8 @@ import org.checkerframework.checker.nullness.qual.Nullable;
 public abstract class ComponentRewriterBase<C extends ClientboundPacketType> implements ComponentRewriter {
     protected final Protocol<C, ?, ?, ?> protocol;
     protected final ReadType type;
+    private volatile ComponentCache componentCache;
+    private volatile boolean cacheInitialized;
 
     protected ComponentRewriterBase(final Protocol<C, ?, ?, ?> protocol, final ReadType type) {
         this.protocol = protocol;
@@ -216,17 +219,86 @@ public abstract class ComponentRewriterBase<C extends ClientboundPacketType> imp
     }
 
     public void passthroughAndProcess(final PacketWrapper wrapper) {
+        final ComponentCache cache = componentCache();
+        if (cache == null) {
+            switch (type) {
+                case JSON -> processText(wrapper.user(), wrapper.passthrough(Types.COMPONENT));
+                case NBT -> processTag(wrapper.user(), wrapper.passthrough(Types.TRUSTED_TAG));
+            }
+            return;
+        }
+
+        final UserConnection connection = wrapper.user();
         switch (type) {
-            case JSON -> processText(wrapper.user(), wrapper.passthrough(Types.COMPONENT));
-            case NBT -> processTag(wrapper.user(), wrapper.passthrough(Types.TRUSTED_TAG));
+            case JSON -> {
+                final String component = wrapper.read(Types.RAW_COMPONENT);
+                wrapper.write(Types.RAW_COMPONENT, cache.rewriteText(component, value -> processText(connection, value).toString()));
+            }
+            case NBT -> {
+                final byte[] component = wrapper.read(Types.RAW_TAG);
+                wrapper.write(Types.RAW_TAG, cache.rewriteTag(component, tag -> processTag(connection, tag)));
+            }
         }
     }
 
     public void passthroughAndProcessOptional(final PacketWrapper wrapper) {
+        final ComponentCache cache = componentCache();
+        if (cache == null) {
+            switch (type) {
+                case JSON -> processText(wrapper.user(), wrapper.passthrough(Types.OPTIONAL_COMPONENT));
+                case NBT -> processTag(wrapper.user(), wrapper.passthrough(Types.TRUSTED_OPTIONAL_TAG));
+            }
+            return;
+        }
+
+        final UserConnection connection = wrapper.user();
         switch (type) {
-            case JSON -> processText(wrapper.user(), wrapper.passthrough(Types.OPTIONAL_COMPONENT));
-            case NBT -> processTag(wrapper.user(), wrapper.passthrough(Types.TRUSTED_OPTIONAL_TAG));
+            case JSON -> {
+                final String component = wrapper.read(Types.OPTIONAL_RAW_COMPONENT);
+                wrapper.write(Types.OPTIONAL_RAW_COMPONENT, component != null ? cache.rewriteText(component, value -> processText(connection, value).toString()) : null);
+            }
+            case NBT -> {
+                // Empty raw tags are passed through as they are
+                final byte[] component = wrapper.read(Types.RAW_TAG);
+                wrapper.write(Types.RAW_TAG, cache.rewriteTag(component, tag -> processTag(connection, tag)));
+            }
+        }
+    }
+
+    /**
+     * Returns whether rewritten components only depend on the component itself, but not on any connection state.
+     * If true, components passed through {@link #passthroughAndProcess(PacketWrapper)} and {@link #passthroughAndProcessOptional(PacketWrapper)} may be taken from a cache
+     * when enabled in the config.
+     * <p>
+     * To be overridden by rewriters whose handling of components, including hover events and items, does not access the connection.
+     *
+     * @return whether rewritten components may be cached
+     */
+    protected boolean isCacheable() {
+        return false;
+    }
+
+    /**
+     * Returns the statistics of the component cache, or null if not enabled for this rewriter.
+     *
+     * @return statistics of the component cache, or null if not enabled
+     */
+    public @Nullable CacheStats componentCacheStats() {
+        final ComponentCache cache = componentCache();
+        if (cache == null) {
+            return null;
+        }
+        return type == ReadType.JSON ? cache.jsonStats() : cache.tagStats();
+    }
+
+    private @Nullable ComponentCache componentCache() {
+        if (!cacheInitialized) {
+            // Created on first use, after the config has been loaded
+            final int cacheSize = Via.getConfig().componentCacheSize();
+            componentCache = cacheSize > 0 && isCacheable() ? new ComponentCache(cacheSize * 1024L) : null;
+            cacheInitialized = true;
         }
+        return componentCache;
     }
 
     // -----------------------------------------------------------------------
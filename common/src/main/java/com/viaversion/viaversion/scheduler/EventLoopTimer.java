@@ -0,0 +1,70 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.scheduler;
+
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.scheduler.ConnectionTask;
+import io.netty.channel.EventLoop;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer of connection tasks on a single event loop, ticking every 50ms while any task is scheduled.
+ * Each tick only touches the tasks due in its {@link TimerWheel} bucket instead of every connection, and runs them in one batch on the event loop.
+ * <p>
+ * Tasks are only accessed from the event loop, scheduling from other threads is handed over to it.
+ */
+public final class EventLoopTimer {
+
+    private final EventLoop eventLoop;
+    private TimerWheel wheel;
+    private ScheduledFuture<?> tickTask;
+
+    EventLoopTimer(final EventLoop eventLoop) {
+        this.eventLoop = eventLoop;
+    }
+
+    /**
+     * Runs the task once the deadline has passed, at the latest in the tick after it.
+     *
+     * @param connection connection the task belongs to
+     * @param deadline   deadline in milliseconds as given by {@link System#currentTimeMillis()}
+     * @param repeating  whether the task should be retried after throwing an exception
+     * @param task       task to run
+     */
+    public void schedule(final UserConnection connection, final long deadline, final boolean repeating, final ConnectionTask task) {
+        if (!eventLoop.inEventLoop()) {
+            eventLoop.execute(() -> schedule(connection, deadline, repeating, task));
+            return;
+        }
+
+        if (tickTask == null) {
+            wheel = new TimerWheel(System.currentTimeMillis());
+            tickTask = eventLoop.scheduleAtFixedRate(this::tick, TimerWheel.TICK_MILLIS, TimerWheel.TICK_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        wheel.schedule(connection, deadline, repeating, task);
+    }
+
+    private void tick() {
+        wheel.advance(System.currentTimeMillis());
+        if (wheel.size() == 0) {
+            tickTask.cancel(false);
+            tickTask = null;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.scheduler;
+
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.scheduler.ConnectionTask;
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoop;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Event loop timers of all connections, see {@link EventLoopTimer}.
+ */
+public final class EventLoopTimers {
+
+    private final Map<EventLoop, EventLoopTimer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the task on the connection's event loop once the deadline has passed, batched with other connection tasks on the same loop.
+     * The task is dropped once the connection becomes inactive or its channel is closed.
+     *
+     * @param connection connection with a channel
+     * @param deadline   deadline in milliseconds as given by {@link System#currentTimeMillis()}
+     * @param repeating  whether the task should be retried after throwing an exception
+     * @param task       task to run, returning its next deadline or -1
+     */
+    public void schedule(final UserConnection connection, final long deadline, final boolean repeating, final ConnectionTask task) {
+        final Channel channel = connection.getChannel();
+        if (channel == null) {
+            throw new IllegalArgumentException("Connection has no channel");
+        }
+
+        final EventLoop eventLoop = channel.eventLoop();
+        timers.computeIfAbsent(eventLoop, EventLoopTimer::new).schedule(connection, deadline, repeating, task);
+    }
+}
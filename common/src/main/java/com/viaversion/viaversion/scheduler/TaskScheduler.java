@@ -18,6 +18,8 @@
 package com.viaversion.viaversion.scheduler;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.scheduler.ConnectionTask;
 import com.viaversion.viaversion.api.scheduler.Scheduler;
 import com.viaversion.viaversion.api.scheduler.Task;
 import java.util.concurrent.ExecutorService;
@@ -32,6 +34,7 @@ public final class TaskScheduler implements Scheduler {
         1, // Fix for https://bugs.openjdk.java.net/browse/JDK-8129861
         new ThreadFactoryBuilder().setNameFormat("Via Async Scheduler %d").build()
     );
+    private final EventLoopTimers eventLoopTimers = new EventLoopTimers();
 
     @Override
     public Task execute(final Runnable runnable) {
@@ -48,6 +51,11 @@ public final class TaskScheduler implements Scheduler {
         return new ScheduledTask(scheduledExecutorService.scheduleAtFixedRate(runnable, delay, period, timeUnit));
     }
 
+    @Override
+    public void scheduleConnectionTask(final UserConnection connection, final long deadline, final boolean repeating, final ConnectionTask task) {
+        eventLoopTimers.schedule(connection, deadline, repeating, task);
+    }
+
     @Override
     public void shutdown() {
         executorService.shutdown();
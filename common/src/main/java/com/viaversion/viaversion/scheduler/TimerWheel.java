@@ -0,0 +1,144 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2026 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.scheduler;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.scheduler.ConnectionTask;
+import io.netty.channel.Channel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+
+/**
+ * Hashed timer wheel of connection tasks with 50ms ticks, driven by {@link EventLoopTimer}.
+ * Advancing the wheel only touches the buckets of the passed ticks instead of every task.
+ * <p>
+ * Not thread-safe, only to be accessed from a single thread.
+ */
+public final class TimerWheel {
+
+    public static final long TICK_MILLIS = 50;
+    private static final int WHEEL_SIZE = 64; // Has to be a power of two
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final long FAILED_TASK_RETRY_MILLIS = 1000;
+    @SuppressWarnings("unchecked")
+    private final List<Entry>[] buckets = new List[WHEEL_SIZE];
+    private final List<Entry> rescheduled = new ArrayList<>();
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param now current time in milliseconds
+     */
+    public TimerWheel(final long now) {
+        this.currentTick = now / TICK_MILLIS;
+    }
+
+    /**
+     * Adds the task to be run once the deadline has passed, at the latest in the tick after it.
+     *
+     * @param connection connection the task belongs to
+     * @param deadline   deadline in milliseconds
+     * @param repeating  whether the task should be retried after throwing an exception
+     * @param task       task to run
+     */
+    public void schedule(final UserConnection connection, final long deadline, final boolean repeating, final ConnectionTask task) {
+        add(new Entry(connection, task, repeating, deadline));
+    }
+
+    private void add(final Entry entry) {
+        // Round up so the entry is due once its tick comes, already due entries are run in the next tick
+        final long tick = Math.max((entry.deadline + TICK_MILLIS - 1) / TICK_MILLIS, currentTick + 1);
+        final int index = (int) (tick & WHEEL_MASK);
+        List<Entry> bucket = buckets[index];
+        if (bucket == null) {
+            bucket = buckets[index] = new ArrayList<>();
+        }
+        bucket.add(entry);
+        size++;
+    }
+
+    /**
+     * Runs all tasks due until the given time.
+     *
+     * @param now current time in milliseconds
+     */
+    public void advance(final long now) {
+        final long targetTick = now / TICK_MILLIS;
+
+        // Catch up on the ticks since the last run, but never go through the same bucket twice
+        final long lastTick = Math.min(targetTick, currentTick + WHEEL_SIZE);
+        for (long tick = currentTick + 1; tick <= lastTick; tick++) {
+            final List<Entry> bucket = buckets[(int) (tick & WHEEL_MASK)];
+            if (bucket != null && !bucket.isEmpty()) {
+                runDue(bucket, now);
+            }
+        }
+
+        currentTick = Math.max(currentTick, targetTick);
+        for (final Entry entry : rescheduled) {
+            add(entry);
+        }
+        rescheduled.clear();
+    }
+
+    private void runDue(final List<Entry> bucket, final long now) {
+        int kept = 0;
+        for (int i = 0, bucketSize = bucket.size(); i < bucketSize; i++) {
+            final Entry entry = bucket.get(i);
+            final Channel channel = entry.connection.getChannel();
+            if (!entry.connection.isActive() || channel == null || !channel.isOpen()) {
+                size--;
+                continue;
+            }
+            if (entry.deadline > now) {
+                // Due in a later round of the wheel
+                bucket.set(kept++, entry);
+                continue;
+            }
+
+            size--;
+            long nextDeadline;
+            try {
+                nextDeadline = entry.task.run(entry.connection, now);
+            } catch (final Exception e) {
+                Via.getPlatform().getLogger().log(Level.WARNING, "Failed to run scheduled connection task", e);
+                // Keep repeating tasks going instead of silently stopping them for the rest of the connection
+                nextDeadline = entry.repeating ? now + FAILED_TASK_RETRY_MILLIS : -1;
+            }
+
+            if (nextDeadline != -1) {
+                rescheduled.add(new Entry(entry.connection, entry.task, entry.repeating, nextDeadline));
+            }
+        }
+        bucket.subList(kept, bucket.size()).clear();
+    }
+
+    /**
+     * Returns the number of scheduled tasks, including those of connections closed since the last time their bucket was passed.
+     *
+     * @return number of scheduled tasks
+     */
+    public int size() {
+        return size;
+    }
+
+    private record Entry(UserConnection connection, ConnectionTask task, boolean repeating, long deadline) {
+    }
+}
@@ -17,6 +17,7 @@
  */
 package com.viaversion.viaversion.util;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.io.CharStreams;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonArray;
@@ -24,9 +25,15 @@ import com.google.gson.JsonObject;
 import com.viaversion.viaversion.api.Via;
 import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.platform.ViaPlatform;
+import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
 import com.viaversion.viaversion.dump.DumpTemplate;
 import com.viaversion.viaversion.dump.VersionInfo;
+import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
+import com.viaversion.viaversion.protocol.TransformedPacketCache;
+import com.viaversion.viaversion.protocols.v1_12_2to1_13.blockconnections.ConnectionData;
+import com.viaversion.viaversion.protocols.v1_12_2to1_13.storage.BlockConnectionStorage;
+import com.viaversion.viaversion.rewriter.text.ComponentRewriterBase;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -72,7 +79,7 @@ public final class DumpUtil {
             Via.getManager().getSubPlatforms()
         );
         final Map<String, Object> configuration = ((Config) Via.getConfig()).getValues();
-        final DumpTemplate template = new DumpTemplate(version, configuration, platform.getDump(), Via.getManager().getInjector().getDump(), getPlayerSample(playerToSample));
+        final DumpTemplate template = new DumpTemplate(version, configuration, platform.getDump(), Via.getManager().getInjector().getDump(), getPlayerSample(playerToSample), getCaches());
         final CompletableFuture<String> result = new CompletableFuture<>();
         platform.runAsync(() -> {
             final HttpURLConnection con;
@@ -150,6 +157,24 @@ public final class DumpUtil {
             versions.addProperty(entry.getKey().getName(), entry.getValue());
         }
 
+        // Block connection storage usage if server-side block connections are used
+        long blockConnectionMemory = 0;
+        long maxBlockConnectionMemory = 0;
+        for (final UserConnection connection : Via.getManager().getConnectionManager().getConnections()) {
+            final BlockConnectionStorage storage = connection.get(BlockConnectionStorage.class);
+            if (storage != null) {
+                final long memoryUsage = storage.estimatedMemoryUsage();
+                blockConnectionMemory += memoryUsage;
+                maxBlockConnectionMemory = Math.max(maxBlockConnectionMemory, memoryUsage);
+            }
+        }
+        if (blockConnectionMemory != 0) {
+            final JsonObject blockConnections = new JsonObject();
+            blockConnections.addProperty("totalBytes", blockConnectionMemory);
+            blockConnections.addProperty("maxBytesPerConnection", maxBlockConnectionMemory);
+            playerSample.add("blockConnectionStorage", blockConnections);
+        }
+
         final Set<List<String>> pipelines = new HashSet<>();
         if (uuid != null) {
             // Pipeline of sender
@@ -184,6 +209,45 @@ public final class DumpUtil {
         return playerSample;
     }
 
+    private static JsonObject getCaches() {
+        final JsonObject caches = new JsonObject();
+
+        // Rewritten components of protocols with enabled component caches
+        final JsonObject componentCaches = new JsonObject();
+        for (final Protocol<?, ?, ?, ?> protocol : Via.getManager().getProtocolManager().getProtocols()) {
+            if (protocol.getComponentRewriter() instanceof final ComponentRewriterBase<?> componentRewriter) {
+                final CacheStats stats = componentRewriter.componentCacheStats();
+                if (stats != null) {
+                    componentCaches.add(protocol.getClass().getSimpleName(), cacheStats(stats));
+                }
+            }
+        }
+        if (!componentCaches.isEmpty()) {
+            caches.add("componentCaches", componentCaches);
+        }
+
+        // Connected chunk sections shared between players if server-side block connections are used
+        final CacheStats connectedSectionStats = ConnectionData.connectedSectionCacheStats();
+        if (connectedSectionStats != null) {
+            caches.add("connectedSectionCache", cacheStats(connectedSectionStats));
+        }
+
+        // Join packets shared between players
+        final TransformedPacketCache packetCache = ((ProtocolManagerImpl) Via.getManager().getProtocolManager()).getTransformedPacketCache();
+        if (packetCache != null) {
+            caches.add("transformedPacketCache", cacheStats(packetCache.stats()));
+        }
+        return caches;
+    }
+
+    private static JsonObject cacheStats(final CacheStats stats) {
+        final JsonObject object = new JsonObject();
+        object.addProperty("hits", stats.hitCount());
+        object.addProperty("misses", stats.missCount());
+        object.addProperty("evictions", stats.evictionCount());
+        return object;
+    }
+
     public static final class DumpException extends RuntimeException {
         private final DumpErrorType errorType;
 
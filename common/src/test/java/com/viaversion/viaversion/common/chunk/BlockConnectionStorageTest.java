@@ -0,0 +1,109 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.chunk;
+
+import com.viaversion.viaversion.protocols.v1_12_2to1_13.storage.BlockConnectionStorage;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class BlockConnectionStorageTest {
+
+    private static final int[][] SECTIONS = {{0, 0, 0}, {16, 0, 0}, {-16, 32, 48}};
+
+    @Test
+    void testPaletteGrowth() {
+        final BlockConnectionStorage storage = new BlockConnectionStorage();
+        Assertions.assertEquals(0, storage.estimatedMemoryUsage());
+
+        // Air is always the first palette entry, leaving room for 3, 15 and 255 more states with 2, 4 and 8 bits
+        long usage = 0;
+        for (int state = 1; state <= 300; state++) {
+            storage.store(state & 0xF, state >> 8, (state >> 4) & 0xF, state);
+            final long newUsage = storage.estimatedMemoryUsage();
+            if (state == 4 || state == 16) {
+                Assertions.assertTrue(newUsage > usage, "grown at " + state);
+            } else if (state == 256) {
+                Assertions.assertNotEquals(usage, newUsage, "direct at " + state);
+            } else if (state <= 16 || state > 256) {
+                Assertions.assertEquals(usage == 0 ? newUsage : usage, newUsage, "unchanged at " + state);
+            }
+            usage = newUsage;
+
+            for (int previous = 1; previous <= state; previous++) {
+                Assertions.assertEquals(previous, storage.get(previous & 0xF, previous >> 8, (previous >> 4) & 0xF));
+            }
+        }
+    }
+
+    @Test
+    void testMatchesStoredStates() {
+        final BlockConnectionStorage storage = new BlockConnectionStorage();
+        final int[][] expected = new int[SECTIONS.length][4096];
+        final Random random = new Random(0);
+        for (int i = 0; i < 50_000; i++) {
+            final int section = random.nextInt(SECTIONS.length);
+            final int index = random.nextInt(4096);
+            // Mostly few states, with the occasional section going past 256 distinct states
+            final int state = random.nextInt(4) == 0 ? 0 : random.nextInt(section == 0 ? 12 : section == 1 ? 200 : 2000);
+            storage.store(x(section, index), y(section, index), z(section, index), state);
+            expected[section][index] = state;
+        }
+
+        for (int section = 0; section < SECTIONS.length; section++) {
+            for (int index = 0; index < 4096; index++) {
+                Assertions.assertEquals(expected[section][index], storage.get(x(section, index), y(section, index), z(section, index)));
+            }
+        }
+
+        // Sections are removed once all of their blocks are
+        for (int section = 0; section < SECTIONS.length; section++) {
+            for (int index = 0; index < 4096; index++) {
+                storage.remove(x(section, index), y(section, index), z(section, index));
+            }
+        }
+        Assertions.assertEquals(0, storage.estimatedMemoryUsage());
+    }
+
+    @Test
+    void testReplacedBlocksRemoveSection() {
+        final BlockConnectionStorage storage = new BlockConnectionStorage();
+        storage.store(1, 2, 3, 5);
+        storage.store(1, 2, 3, 6);
+        storage.store(1, 2, 3, 7);
+        storage.store(4, 5, 6, 8);
+        storage.store(4, 5, 6, 0);
+
+        // Replacing a block must not count it as another non-empty block
+        storage.remove(1, 2, 3);
+        Assertions.assertEquals(0, storage.estimatedMemoryUsage());
+        Assertions.assertEquals(0, storage.get(1, 2, 3));
+    }
+
+    private static int x(final int section, final int index) {
+        return SECTIONS[section][0] + ((index >> 4) & 0xF);
+    }
+
+    private static int y(final int section, final int index) {
+        return SECTIONS[section][1] + (index >> 8);
+    }
+
+    private static int z(final int section, final int index) {
+        return SECTIONS[section][2] + (index & 0xF);
+    }
+}
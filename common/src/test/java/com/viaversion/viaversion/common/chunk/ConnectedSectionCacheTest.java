@@ -0,0 +1,153 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.chunk;
+
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPaletteImpl;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.protocols.v1_12_2to1_13.blockconnections.ConnectedSectionCache;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectedSectionCacheTest {
+
+    private static final int FENCE = 1;
+    private static final int CONNECTED_FENCE = 2;
+    private final Long2IntOpenHashMap world = new Long2IntOpenHashMap();
+    private final UserConnection user = new UserConnectionImpl(null);
+    private ConnectedSectionCache cache;
+    private int computed;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ConnectedSectionCache(16, new FenceConnector());
+    }
+
+    @Test
+    void testReuse() {
+        world.put(key(16, 0, 0), FENCE);
+
+        final DataPalette first = section();
+        cache.connectSection(user, 0, 0, 0, 0, first);
+        Assertions.assertEquals(CONNECTED_FENCE, first.idAt(edgeIndex()));
+        Assertions.assertEquals(1, computed);
+
+        world.clear();
+        world.put(key(16, 0, 0), FENCE);
+        final DataPalette second = section();
+        cache.connectSection(user, 0, 0, 0, 0, second);
+        Assertions.assertEquals(1, computed);
+        Assertions.assertEquals(1, cache.stats().hitCount());
+        assertSameIds(first, second);
+        // Changed blocks are stored as if they were computed
+        Assertions.assertEquals(CONNECTED_FENCE, world.get(key(15, 0, 0)));
+    }
+
+    @Test
+    void testOutsideReadInvalidates() {
+        world.put(key(16, 0, 0), FENCE);
+        final DataPalette first = section();
+        cache.connectSection(user, 0, 0, 0, 0, first);
+        Assertions.assertEquals(CONNECTED_FENCE, first.idAt(edgeIndex()));
+
+        // The neighbouring block was read when connecting the section, so a different one must not reuse the entry
+        world.put(key(16, 0, 0), 0);
+        final DataPalette second = section();
+        cache.connectSection(user, 0, 0, 0, 0, second);
+        Assertions.assertEquals(2, computed);
+        Assertions.assertEquals(FENCE, second.idAt(edgeIndex()));
+    }
+
+    @Test
+    void testDifferentContentsMiss() {
+        world.put(key(16, 0, 0), FENCE);
+        cache.connectSection(user, 0, 0, 0, 0, section());
+
+        final DataPalette changed = section();
+        changed.setIdAt(0, 3);
+        cache.connectSection(user, 0, 0, 0, 0, changed);
+        Assertions.assertEquals(2, computed);
+        Assertions.assertEquals(0, cache.stats().hitCount());
+    }
+
+    private void assertSameIds(final DataPalette expected, final DataPalette actual) {
+        for (int idx = 0; idx < ChunkSection.SIZE; idx++) {
+            Assertions.assertEquals(expected.idAt(idx), actual.idAt(idx), "Block " + idx);
+        }
+    }
+
+    private static DataPalette section() {
+        final int[] ids = new int[ChunkSection.SIZE];
+        ids[edgeIndex()] = FENCE;
+        ids[ChunkSection.index(3, 4, 5)] = FENCE;
+        final DataPalette palette = new DataPaletteImpl(ChunkSection.SIZE);
+        palette.setIds(ids);
+        return palette;
+    }
+
+    private static int edgeIndex() {
+        return ChunkSection.index(15, 0, 0);
+    }
+
+    private static long key(final int x, final int y, final int z) {
+        return ((long) x << 42) | ((long) y << 21) | z;
+    }
+
+    /**
+     * Connects fences to a fence in positive x direction.
+     */
+    private final class FenceConnector implements ConnectedSectionCache.SectionConnector {
+
+        @Override
+        public void connectSection(final UserConnection user, final DataPalette blocks, final int xOff, final int yOff, final int zOff, final ConnectedSectionCache.Recorder recorder) {
+            computed++;
+            for (int idx = 0; idx < ChunkSection.SIZE; idx++) {
+                if (blocks.idAt(idx) != FENCE) {
+                    continue;
+                }
+
+                final int x = xOff + ChunkSection.xFromIndex(idx);
+                final int y = yOff + ChunkSection.yFromIndex(idx);
+                final int z = zOff + ChunkSection.zFromIndex(idx);
+                final int neighbour = ChunkSection.xFromIndex(idx) == 15 ? getBlockData(user, x + 1, y, z) : blocks.idAt(idx + 1);
+                if (ChunkSection.xFromIndex(idx) == 15) {
+                    cache.recordRead(x + 1, y, z, neighbour);
+                }
+                if (neighbour == FENCE) {
+                    blocks.setIdAt(idx, CONNECTED_FENCE);
+                    updateBlockStorage(user, x, y, z, CONNECTED_FENCE);
+                    recorder.changed(idx, CONNECTED_FENCE);
+                }
+            }
+        }
+
+        @Override
+        public int getBlockData(final UserConnection user, final int x, final int y, final int z) {
+            return world.get(key(x, y, z));
+        }
+
+        @Override
+        public void updateBlockStorage(final UserConnection user, final int x, final int y, final int z, final int blockState) {
+            world.put(key(x, y, z), blockState);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.chunk;
+
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPaletteImpl;
+import com.viaversion.viaversion.util.CompactArrayUtil;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class DataPaletteTest {
+
+    @Test
+    void testIdsRoundTrip() {
+        final Random random = new Random(0);
+        // Few distinct ids fit into bytes, more than 256 need shorts
+        for (final int distinctIds : new int[]{1, 2, 16, 256, 257, 1000}) {
+            final int[] ids = new int[ChunkSection.SIZE];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = random.nextInt(distinctIds) * 7;
+            }
+
+            final DataPalette palette = new DataPaletteImpl(ChunkSection.SIZE);
+            palette.setIds(ids.clone());
+            final int[] readIds = new int[ChunkSection.SIZE];
+            palette.ids(readIds);
+            Assertions.assertArrayEquals(ids, readIds);
+
+            for (int i = 0; i < ids.length; i++) {
+                Assertions.assertEquals(ids[i], palette.idAt(i));
+            }
+        }
+    }
+
+    @Test
+    void testSetIdsMatchesSetIdAt() {
+        final Random random = new Random(1);
+        final int[] ids = new int[ChunkSection.SIZE];
+        for (int i = 0; i < ids.length; i++) {
+            // Runs of the same id, as the bulk method only looks up changed ids
+            ids[i] = i % 64 < 32 ? 5 : random.nextInt(300);
+        }
+
+        final DataPalette bulkPalette = new DataPaletteImpl(ChunkSection.SIZE);
+        bulkPalette.setIds(ids.clone());
+        final DataPalette palette = new DataPaletteImpl(ChunkSection.SIZE);
+        for (int i = 0; i < ids.length; i++) {
+            palette.setIdAt(i, ids[i]);
+        }
+
+        Assertions.assertEquals(palette.size(), bulkPalette.size());
+        for (int i = 0; i < palette.size(); i++) {
+            Assertions.assertEquals(palette.idByIndex(i), bulkPalette.idByIndex(i));
+        }
+        for (int i = 0; i < ids.length; i++) {
+            Assertions.assertEquals(palette.paletteIndexAt(i), bulkPalette.paletteIndexAt(i));
+        }
+    }
+
+    @Test
+    void testPaletteIndicesRoundTrip() {
+        final DataPalette palette = new DataPaletteImpl(ChunkSection.SIZE);
+        final int[] indices = new int[ChunkSection.SIZE];
+        palette.setPaletteIndices(indices.clone());
+        final int[] readIndices = new int[ChunkSection.SIZE];
+        palette.paletteIndices(readIndices);
+        Assertions.assertArrayEquals(indices, readIndices);
+
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = i % 700;
+        }
+        palette.setPaletteIndices(indices.clone());
+        palette.paletteIndices(readIndices);
+        Assertions.assertArrayEquals(indices, readIndices);
+
+        // Setting single values still works after a bulk set
+        palette.setPaletteIndexAt(0, 1);
+        Assertions.assertEquals(1, palette.paletteIndexAt(0));
+    }
+
+    @Test
+    void testCompactArrayPacking() {
+        final Random random = new Random(2);
+        for (int bitsPerEntry = 1; bitsPerEntry <= 15; bitsPerEntry++) {
+            final int[] values = new int[ChunkSection.SIZE];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = random.nextInt(1 << bitsPerEntry);
+            }
+
+            final long[] data = CompactArrayUtil.createCompactArrayWithPadding(bitsPerEntry, values);
+            Assertions.assertArrayEquals(CompactArrayUtil.createCompactArrayWithPadding(bitsPerEntry, values.length, i -> values[i]), data);
+
+            final int[] unpacked = new int[values.length];
+            CompactArrayUtil.unpackCompactArrayWithPadding(bitsPerEntry, data, unpacked);
+            Assertions.assertArrayEquals(values, unpacked);
+
+            final int[] iterated = new int[values.length];
+            CompactArrayUtil.iterateCompactArrayWithPadding(bitsPerEntry, values.length, data, (i, value) -> iterated[i] = value);
+            Assertions.assertArrayEquals(values, iterated);
+        }
+    }
+}
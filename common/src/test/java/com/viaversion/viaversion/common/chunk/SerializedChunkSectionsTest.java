@@ -0,0 +1,202 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.chunk;
+
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkSection;
+import com.viaversion.viaversion.api.minecraft.chunks.ChunkSectionImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPalette;
+import com.viaversion.viaversion.api.minecraft.chunks.DataPaletteImpl;
+import com.viaversion.viaversion.api.minecraft.chunks.PaletteType;
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.api.type.types.chunk.ChunkSectionType1_18;
+import com.viaversion.viaversion.api.type.types.chunk.SerializedChunkSections;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SerializedChunkSectionsTest {
+
+    private static final int GLOBAL_BLOCK_BITS = 15;
+    private static final int GLOBAL_BIOME_BITS = 6;
+    private static final IntUnaryOperator MAPPER = id -> id == 0 ? 0 : id + 1000;
+
+    private final ChunkSectionType1_18 sectionType = new ChunkSectionType1_18(GLOBAL_BLOCK_BITS, GLOBAL_BIOME_BITS);
+
+    @Test
+    void testRemapMatchesReadAndWrite() {
+        final ChunkSection[] sections = sections();
+        final ByteBuf serialized = Unpooled.buffer();
+        writeSections(serialized, sections);
+
+        final SerializedChunkSections serializedSections = sectionType.readSerialized(serialized, sections.length);
+        Assertions.assertFalse(serializedSections.isDetached());
+        serializedSections.remapBlockStates(MAPPER);
+        Assertions.assertTrue(serializedSections.isDetached());
+
+        Assertions.assertEquals(ByteBufUtil.hexDump(readRemapAndWrite(serialized, sections.length, MAPPER)), ByteBufUtil.hexDump(written(serializedSections)));
+    }
+
+    @Test
+    void testRemapTwiceKeepsSourceBuffer() {
+        final ChunkSection[] sections = sections();
+        final ByteBuf serialized = Unpooled.buffer();
+        writeSections(serialized, sections);
+        final String source = ByteBufUtil.hexDump(serialized);
+
+        // The second remap reuses the buffer of the first one, never the packet buffer
+        final SerializedChunkSections serializedSections = sectionType.readSerialized(serialized.duplicate(), sections.length);
+        serializedSections.remapBlockStates(MAPPER);
+        serializedSections.remapBlockStates(MAPPER);
+        serializedSections.remapBlockStates(MAPPER);
+        Assertions.assertEquals(source, ByteBufUtil.hexDump(serialized));
+
+        final IntUnaryOperator mappedThrice = MAPPER.andThen(MAPPER).andThen(MAPPER);
+        Assertions.assertEquals(ByteBufUtil.hexDump(readRemapAndWrite(serialized, sections.length, mappedThrice)), ByteBufUtil.hexDump(written(serializedSections)));
+    }
+
+    @Test
+    void testDetach() {
+        final ChunkSection[] sections = sections();
+        final ByteBuf serialized = Unpooled.buffer();
+        writeSections(serialized, sections);
+        final ByteBuf expected = written(sectionType.readSerialized(serialized.duplicate(), sections.length));
+
+        final SerializedChunkSections serializedSections = sectionType.readSerialized(serialized.duplicate(), sections.length);
+        serializedSections.detach();
+        Assertions.assertTrue(serializedSections.isDetached());
+
+        // Reusing the packet buffer must not change the kept sections
+        serialized.setZero(0, serialized.capacity());
+        Assertions.assertEquals(ByteBufUtil.hexDump(expected), ByteBufUtil.hexDump(written(serializedSections)));
+    }
+
+    @Test
+    void testTrailingDataFallback() {
+        final ChunkSection[] sections = sections();
+        final ByteBuf sectionsData = Unpooled.buffer();
+        for (final ChunkSection section : sections) {
+            sectionType.write(sectionsData, section);
+        }
+        sectionsData.writeLong(-1);
+
+        final ByteBuf serialized = Unpooled.buffer();
+        Types.VAR_INT.writePrimitive(serialized, sectionsData.readableBytes());
+        serialized.writeBytes(sectionsData);
+
+        // Trailing data isn't forwarded, the sections are read and written again
+        final SerializedChunkSections serializedSections = sectionType.readSerialized(serialized.duplicate(), sections.length);
+        Assertions.assertTrue(serializedSections.isDetached());
+        final ByteBuf expected = Unpooled.buffer();
+        writeSections(expected, sections);
+        Assertions.assertEquals(ByteBufUtil.hexDump(expected), ByteBufUtil.hexDump(written(serializedSections)));
+
+        serializedSections.remapBlockStates(MAPPER);
+        Assertions.assertEquals(ByteBufUtil.hexDump(readRemapAndWrite(expected, sections.length, MAPPER)), ByteBufUtil.hexDump(written(serializedSections)));
+    }
+
+    @Test
+    void testUnexpectedValuesLengthFallback() {
+        final ByteBuf sectionData = Unpooled.buffer();
+        sectionData.writeShort(ChunkSection.SIZE);
+        // Single value block palette with values it shouldn't have
+        sectionData.writeByte(0);
+        Types.VAR_INT.writePrimitive(sectionData, 5);
+        Types.VAR_INT.writePrimitive(sectionData, 1);
+        sectionData.writeLong(0);
+        // Single value biome palette
+        sectionData.writeByte(0);
+        Types.VAR_INT.writePrimitive(sectionData, 1);
+        Types.VAR_INT.writePrimitive(sectionData, 0);
+
+        final ByteBuf serialized = Unpooled.buffer();
+        Types.VAR_INT.writePrimitive(serialized, sectionData.readableBytes());
+        serialized.writeBytes(sectionData);
+
+        final SerializedChunkSections serializedSections = sectionType.readSerialized(serialized.duplicate(), 1);
+        Assertions.assertTrue(serializedSections.isDetached());
+        serializedSections.remapBlockStates(MAPPER);
+        Assertions.assertEquals(ByteBufUtil.hexDump(readRemapAndWrite(serialized, 1, MAPPER)), ByteBufUtil.hexDump(written(serializedSections)));
+    }
+
+    private ChunkSection[] sections() {
+        final Random random = new Random(0);
+        // Single value, linear and global block palettes
+        return new ChunkSection[]{
+            section(random, 1, 1),
+            section(random, 5, 2),
+            section(random, 16, 4),
+            section(random, 200, 8),
+            section(random, 1000, 1)
+        };
+    }
+
+    private ChunkSection section(final Random random, final int distinctBlocks, final int distinctBiomes) {
+        final ChunkSection section = new ChunkSectionImpl(false);
+        final int[] blocks = new int[ChunkSection.SIZE];
+        for (int i = 0; i < blocks.length; i++) {
+            blocks[i] = random.nextInt(distinctBlocks) * 13;
+        }
+        section.palette(PaletteType.BLOCKS).setIds(blocks);
+        section.setNonAirBlocksCount(blocks.length);
+
+        final DataPalette biomes = new DataPaletteImpl(ChunkSection.BIOME_SIZE);
+        final int[] biomeIds = new int[ChunkSection.BIOME_SIZE];
+        for (int i = 0; i < biomeIds.length; i++) {
+            biomeIds[i] = random.nextInt(distinctBiomes);
+        }
+        biomes.setIds(biomeIds);
+        section.addPalette(PaletteType.BIOMES, biomes);
+        return section;
+    }
+
+    private void writeSections(final ByteBuf buffer, final ChunkSection[] sections) {
+        final ByteBuf sectionsData = Unpooled.buffer();
+        for (final ChunkSection section : sections) {
+            sectionType.write(sectionsData, section);
+        }
+        Types.VAR_INT.writePrimitive(buffer, sectionsData.readableBytes());
+        buffer.writeBytes(sectionsData);
+    }
+
+    private ByteBuf readRemapAndWrite(final ByteBuf serialized, final int sectionCount, final IntUnaryOperator mapper) {
+        final ByteBuf input = serialized.duplicate();
+        Types.VAR_INT.readPrimitive(input);
+        final ChunkSection[] sections = new ChunkSection[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            sections[i] = sectionType.read(input);
+            final DataPalette blockPalette = sections[i].palette(PaletteType.BLOCKS);
+            for (int j = 0; j < blockPalette.size(); j++) {
+                blockPalette.setIdByIndex(j, mapper.applyAsInt(blockPalette.idByIndex(j)));
+            }
+        }
+
+        final ByteBuf output = Unpooled.buffer();
+        writeSections(output, sections);
+        return output;
+    }
+
+    private ByteBuf written(final SerializedChunkSections serializedSections) {
+        final ByteBuf buffer = Unpooled.buffer();
+        serializedSections.write(buffer);
+        return buffer;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.connection;
+
+import com.viaversion.viaversion.connection.PassthroughTokens;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PassthroughTokensTest {
+
+    @Test
+    void testSingleUse() {
+        final PassthroughTokens tokens = new PassthroughTokens();
+        final long sequence = tokens.issue();
+        Assertions.assertTrue(tokens.consume(sequence, tokens.hash(sequence)));
+        Assertions.assertFalse(tokens.consume(sequence, tokens.hash(sequence)));
+    }
+
+    @Test
+    void testInvalidTokens() {
+        final PassthroughTokens tokens = new PassthroughTokens();
+        final long sequence = tokens.issue();
+        Assertions.assertFalse(tokens.consume(sequence, tokens.hash(sequence) + 1));
+        Assertions.assertFalse(tokens.consume(sequence + 1, tokens.hash(sequence + 1)), "Token was never issued");
+        Assertions.assertFalse(tokens.consume(0, tokens.hash(0)));
+        Assertions.assertFalse(tokens.consume(-1, tokens.hash(-1)));
+
+        // Hashes are keyed per instance
+        final PassthroughTokens otherTokens = new PassthroughTokens();
+        Assertions.assertFalse(tokens.consume(sequence, otherTokens.hash(sequence)));
+        Assertions.assertTrue(tokens.consume(sequence, tokens.hash(sequence)));
+    }
+
+    @Test
+    void testManyUnconsumedTokens() {
+        final PassthroughTokens tokens = new PassthroughTokens();
+        final long[] sequences = new long[1000];
+        for (int i = 0; i < sequences.length; i++) {
+            sequences[i] = tokens.issue();
+        }
+
+        // None of the live tokens may be overwritten when growing, consume them in reverse order
+        for (int i = sequences.length - 1; i >= 0; i--) {
+            Assertions.assertTrue(tokens.consume(sequences[i], tokens.hash(sequences[i])));
+        }
+    }
+
+    @Test
+    void testInterleavedTokens() {
+        final PassthroughTokens tokens = new PassthroughTokens();
+        final long kept = tokens.issue();
+        for (int i = 0; i < 100; i++) {
+            final long sequence = tokens.issue();
+            Assertions.assertTrue(tokens.consume(sequence, tokens.hash(sequence)));
+        }
+        Assertions.assertTrue(tokens.consume(kept, tokens.hash(kept)));
+    }
+}
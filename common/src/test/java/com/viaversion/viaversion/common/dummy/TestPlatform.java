@@ -17,8 +17,12 @@
  */
 package com.viaversion.viaversion.common.dummy;
 
+import com.viaversion.viaversion.api.protocol.version.BlockedProtocolVersions;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
 import com.viaversion.viaversion.configuration.AbstractViaConfig;
 import com.viaversion.viaversion.platform.UserConnectionViaVersionPlatform;
+import com.viaversion.viaversion.protocol.BlockedProtocolVersionsImpl;
+import java.util.Set;
 import java.util.logging.Logger;
 
 public final class TestPlatform extends UserConnectionViaVersionPlatform {
@@ -48,6 +52,16 @@ public final class TestPlatform extends UserConnectionViaVersionPlatform {
             @Override
             public void reload() {
             }
+
+            @Override
+            public int transformedPacketCacheSize() {
+                return 64;
+            }
+
+            @Override
+            public BlockedProtocolVersions blockedProtocolVersions() {
+                return new BlockedProtocolVersionsImpl(Set.of(), ProtocolVersion.unknown, ProtocolVersion.unknown);
+            }
         };
     }
 }
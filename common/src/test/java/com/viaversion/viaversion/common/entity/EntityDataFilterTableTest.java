@@ -0,0 +1,114 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.entity;
+
+import com.viaversion.viaversion.api.minecraft.entities.EntityType;
+import com.viaversion.viaversion.api.minecraft.entities.EntityTypes1_14;
+import com.viaversion.viaversion.api.minecraft.entitydata.EntityData;
+import com.viaversion.viaversion.rewriter.entitydata.EntityDataFilter;
+import com.viaversion.viaversion.rewriter.entitydata.EntityDataFilterTable;
+import com.viaversion.viaversion.rewriter.entitydata.EntityDataHandler;
+import com.viaversion.viaversion.rewriter.entitydata.EntityDataHandlerEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class EntityDataFilterTableTest {
+
+    private static final EntityType[] FILTERED_TYPES = {
+        null, EntityTypes1_14.ENTITY, EntityTypes1_14.LIVING_ENTITY, EntityTypes1_14.ABSTRACT_MONSTER, EntityTypes1_14.ZOMBIE, EntityTypes1_14.HUSK, EntityTypes1_14.PIG
+    };
+
+    @Test
+    void testMatchesFilterChecks() {
+        final Random random = new Random(0);
+        for (int run = 0; run < 50; run++) {
+            final List<EntityDataFilter> filters = new ArrayList<>();
+            final int size = random.nextInt(30);
+            for (int i = 0; i < size; i++) {
+                final EntityType type = FILTERED_TYPES[random.nextInt(FILTERED_TYPES.length)];
+                final int index = random.nextInt(6) - 1;
+                filters.add(new EntityDataFilter(type, random.nextBoolean(), null, index, handler()));
+            }
+
+            final EntityDataFilterTable table = new EntityDataFilterTable(filters);
+            Assertions.assertEquals(filters.size(), table.size());
+            assertMatches(filters, table, null);
+            for (final EntityTypes1_14 type : EntityTypes1_14.values()) {
+                assertMatches(filters, table, type);
+            }
+        }
+    }
+
+    @Test
+    void testCachedPerType() {
+        final EntityDataFilterTable table = new EntityDataFilterTable(List.of(
+            new EntityDataFilter(EntityTypes1_14.ZOMBIE, true, null, 2, handler())
+        ));
+        Assertions.assertSame(table.filters(EntityTypes1_14.HUSK), table.filters(EntityTypes1_14.HUSK));
+        Assertions.assertFalse(table.filters(EntityTypes1_14.HUSK).isEmpty());
+        Assertions.assertTrue(table.filters(EntityTypes1_14.PIG).isEmpty());
+        Assertions.assertTrue(table.filters(null).isEmpty());
+    }
+
+    @Test
+    void testIndexAfter() {
+        final EntityDataFilter anyIndex = new EntityDataFilter(null, false, null, -1, handler());
+        final EntityDataFilter firstIndex = new EntityDataFilter(EntityTypes1_14.ZOMBIE, true, null, 1, handler());
+        final EntityDataFilter secondIndex = new EntityDataFilter(EntityTypes1_14.ZOMBIE, true, null, 2, handler());
+        final EntityDataFilterTable table = new EntityDataFilterTable(List.of(firstIndex, anyIndex, secondIndex));
+
+        // Continue with the filters of index 2 registered after the handled filter of index 1
+        final EntityDataFilterTable.FilterList filters = table.filters(EntityTypes1_14.ZOMBIE).forIndex(2);
+        Assertions.assertEquals(2, filters.size());
+        Assertions.assertSame(anyIndex, filters.filter(filters.indexAfter(0)));
+        Assertions.assertSame(secondIndex, filters.filter(filters.indexAfter(1)));
+        Assertions.assertEquals(filters.size(), filters.indexAfter(2));
+    }
+
+    private static EntityDataHandler handler() {
+        // Separate instances to tell otherwise equal filters apart
+        return new EntityDataHandler() {
+            @Override
+            public void handle(final EntityDataHandlerEvent event, final EntityData data) {
+            }
+        };
+    }
+
+    private static void assertMatches(final List<EntityDataFilter> filters, final EntityDataFilterTable table, final EntityType type) {
+        final EntityDataFilterTable.TypeFilters typeFilters = table.filters(type);
+        for (int index = 0; index < 6; index++) {
+            final List<EntityDataFilter> expected = new ArrayList<>();
+            for (final EntityDataFilter filter : filters) {
+                if ((filter.index() == -1 || filter.index() == index) && filter.filtersType(type)) {
+                    expected.add(filter);
+                }
+            }
+
+            final EntityDataFilterTable.FilterList compiled = typeFilters.forIndex(index);
+            final List<EntityDataFilter> actual = new ArrayList<>();
+            for (int i = 0; i < compiled.size(); i++) {
+                actual.add(compiled.filter(i));
+                Assertions.assertSame(filters.get(compiled.ordinal(i)), compiled.filter(i));
+            }
+            Assertions.assertEquals(expected, actual, "Filters of " + type + " at index " + index);
+        }
+    }
+}
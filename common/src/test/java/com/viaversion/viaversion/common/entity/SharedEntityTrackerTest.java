@@ -0,0 +1,111 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.entity;
+
+import com.viaversion.viaversion.api.data.entity.StoredEntityData;
+import com.viaversion.viaversion.api.data.entity.TrackedEntity;
+import com.viaversion.viaversion.api.minecraft.entities.EntityTypes1_14;
+import com.viaversion.viaversion.data.entity.SharedEntityStorage;
+import com.viaversion.viaversion.data.entity.SharedEntityTracker;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SharedEntityTrackerTest {
+
+    @Test
+    void testSlotReuse() {
+        final SharedEntityStorage storage = new SharedEntityStorage();
+        final SharedEntityTracker tracker = new SharedEntityTracker(null, EntityTypes1_14.PLAYER, storage);
+        tracker.addEntity(1, EntityTypes1_14.ZOMBIE);
+        final int slot = storage.slot(1);
+        tracker.removeEntity(1);
+        Assertions.assertEquals(-1, storage.slot(1));
+        Assertions.assertEquals(0, storage.size());
+
+        // The freed slot is used for the next entity without any leftover state
+        tracker.addEntity(2, EntityTypes1_14.PIG);
+        Assertions.assertEquals(slot, storage.slot(2));
+        Assertions.assertFalse(tracker.hasEntity(1));
+        Assertions.assertEquals(EntityTypes1_14.PIG, tracker.entityType(2));
+        Assertions.assertNull(tracker.entityDataIfPresent(2));
+        Assertions.assertFalse(tracker.entity(2).hasSentEntityData());
+    }
+
+    @Test
+    void testSharedSlots() {
+        final SharedEntityStorage storage = new SharedEntityStorage();
+        final SharedEntityTracker first = new SharedEntityTracker(null, EntityTypes1_14.PLAYER, storage);
+        final SharedEntityTracker second = new SharedEntityTracker(null, EntityTypes1_14.PLAYER, storage);
+        first.addEntity(1, EntityTypes1_14.ZOMBIE);
+        second.addEntity(1, EntityTypes1_14.HUSK);
+        Assertions.assertEquals(1, storage.size());
+        Assertions.assertEquals(EntityTypes1_14.ZOMBIE, first.entityType(1));
+        Assertions.assertEquals(EntityTypes1_14.HUSK, second.entityType(1));
+
+        // The slot is kept as long as any tracker still tracks the entity
+        first.removeEntity(1);
+        Assertions.assertFalse(first.hasEntity(1));
+        Assertions.assertTrue(second.hasEntity(1));
+        Assertions.assertNotEquals(-1, storage.slot(1));
+
+        second.removeEntity(1);
+        Assertions.assertEquals(0, storage.size());
+    }
+
+    @Test
+    void testDetachedEntity() {
+        final SharedEntityStorage storage = new SharedEntityStorage();
+        final SharedEntityTracker tracker = new SharedEntityTracker(null, EntityTypes1_14.PLAYER, storage);
+        tracker.addEntity(1, EntityTypes1_14.ZOMBIE);
+        final TrackedEntity entity = tracker.entity(1);
+        Assertions.assertSame(entity, tracker.entity(1));
+        entity.sentEntityData(true);
+        final StoredEntityData data = entity.data();
+
+        // A kept entity must not point at the entity reusing its slot
+        tracker.removeEntity(1);
+        tracker.addEntity(2, EntityTypes1_14.PIG);
+        Assertions.assertEquals(EntityTypes1_14.ZOMBIE, entity.entityType());
+        Assertions.assertTrue(entity.hasSentEntityData());
+        Assertions.assertSame(data, entity.data());
+
+        final TrackedEntity newEntity = tracker.entity(2);
+        Assertions.assertNotSame(entity, newEntity);
+        Assertions.assertEquals(EntityTypes1_14.PIG, newEntity.entityType());
+        Assertions.assertFalse(newEntity.hasSentEntityData());
+        Assertions.assertFalse(newEntity.hasData());
+    }
+
+    @Test
+    void testClientEntityIdChange() {
+        final SharedEntityStorage storage = new SharedEntityStorage();
+        final SharedEntityTracker tracker = new SharedEntityTracker(null, EntityTypes1_14.PLAYER, storage);
+        tracker.setClientEntityId(1);
+        final TrackedEntity entity = tracker.entity(1);
+        final StoredEntityData data = entity.data();
+
+        tracker.setClientEntityId(5);
+        Assertions.assertFalse(tracker.hasEntity(1));
+        Assertions.assertSame(entity, tracker.entity(5));
+        Assertions.assertSame(data, tracker.entityData(5));
+
+        tracker.clearEntities();
+        Assertions.assertTrue(tracker.hasEntity(5));
+        Assertions.assertEquals(1, storage.size());
+    }
+}
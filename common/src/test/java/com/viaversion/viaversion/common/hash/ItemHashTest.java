@@ -21,13 +21,16 @@ import com.viaversion.nbt.tag.CompoundTag;
 import com.viaversion.nbt.tag.FloatTag;
 import com.viaversion.nbt.tag.ListTag;
 import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.UserConnection;
 import com.viaversion.viaversion.api.minecraft.GameProfile;
 import com.viaversion.viaversion.api.minecraft.GlobalBlockPosition;
 import com.viaversion.viaversion.api.minecraft.Holder;
 import com.viaversion.viaversion.api.minecraft.HolderSet;
+import com.viaversion.viaversion.api.minecraft.RegistryEntry;
 import com.viaversion.viaversion.api.minecraft.ResolvableProfile;
 import com.viaversion.viaversion.api.minecraft.codec.CodecContext;
 import com.viaversion.viaversion.api.minecraft.data.StructuredDataKey;
+import com.viaversion.viaversion.api.minecraft.item.HashedItem;
 import com.viaversion.viaversion.api.minecraft.item.Item;
 import com.viaversion.viaversion.api.minecraft.item.StructuredItem;
 import com.viaversion.viaversion.api.minecraft.item.data.BannerPattern;
@@ -41,13 +44,18 @@ import com.viaversion.viaversion.api.protocol.Protocol;
 import com.viaversion.viaversion.api.type.Types;
 import com.viaversion.viaversion.api.type.types.version.VersionedTypes;
 import com.viaversion.viaversion.codec.CodecRegistryContext;
+import com.viaversion.viaversion.codec.hash.HashBuilder;
 import com.viaversion.viaversion.codec.hash.HashFunction;
 import com.viaversion.viaversion.codec.hash.HashOps;
 import com.viaversion.viaversion.common.PlatformTestBase;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.data.item.ItemHasherBase;
 import com.viaversion.viaversion.protocols.v1_21_6to1_21_7.Protocol1_21_6To1_21_7;
 import com.viaversion.viaversion.rewriter.RegistryDataRewriter;
 import com.viaversion.viaversion.util.KeyMappings;
 import com.viaversion.viaversion.util.UUIDUtil;
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import java.util.Random;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -137,6 +145,46 @@ public class ItemHashTest extends PlatformTestBase {
         Assertions.assertEquals(606382024, hasher.hash(), "banner_pattern hash mismatch");
     }
 
+    @Test
+    void testMemoizedHashAfterRegistryChange() {
+        final RegistryDataRewriter registryDataRewriter = (RegistryDataRewriter) protocol.getRegistryDataRewriter();
+        final UserConnection connection = new UserConnectionImpl(null);
+        registryDataRewriter.handle(connection, "banner_pattern", registryEntries("base", "bricks"));
+
+        final ItemHasherBase itemHasher = new ItemHasherBase(protocol, connection);
+        final StructuredItem item = new StructuredItem(1, 1);
+        item.dataContainer().setIdLookup(protocol, false);
+        // Large enough to be memoized
+        final BannerPatternLayer[] layers = new BannerPatternLayer[4];
+        for (int i = 0; i < layers.length; i++) {
+            layers[i] = new BannerPatternLayer(Holder.of(i % 2), i);
+        }
+        item.dataContainer().set(StructuredDataKey.BANNER_PATTERNS, layers);
+
+        final HashedItem hashed = itemHasher.toHashedItem(item, false);
+        Assertions.assertEquals(freshHash(item), hashed.dataHashesById());
+        Assertions.assertEquals(hashed.dataHashesById(), itemHasher.toHashedItem(item, false).dataHashesById());
+
+        // Same ids now refer to different registry entries
+        registryDataRewriter.handle(connection, "banner_pattern", registryEntries("bricks", "base"));
+        final HashedItem rehashed = itemHasher.toHashedItem(item, false);
+        Assertions.assertEquals(freshHash(item), rehashed.dataHashesById());
+        Assertions.assertNotEquals(hashed.dataHashesById(), rehashed.dataHashesById());
+    }
+
+    private static Int2IntMap freshHash(final Item item) {
+        final HashOps freshHasher = new HashOps(new CodecRegistryContext(protocol, CodecContext.RegistryAccess.of(protocol), false), HashFunction.CRC32C);
+        return ItemHasherBase.toHashedItem(freshHasher, item).dataHashesById();
+    }
+
+    private static RegistryEntry[] registryEntries(final String... keys) {
+        final RegistryEntry[] entries = new RegistryEntry[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            entries[i] = new RegistryEntry(keys[i], null);
+        }
+        return entries;
+    }
+
     @Test
     void testResolableProfile() {
         final GameProfile profile = new GameProfile(
@@ -164,4 +212,83 @@ public class ItemHashTest extends PlatformTestBase {
         tag.put("emptylist", new ListTag<>(CompoundTag.class));
         return tag;
     }
+
+    @Test
+    void testStreamedHashMatchesTableCrc() {
+        final HashFunction tableCrc = ItemHashTest::tableCrc32c;
+        final Random random = new Random(0);
+        for (int run = 0; run < 500; run++) {
+            final byte[] data = new byte[random.nextInt(2048)];
+            random.nextBytes(data);
+            Assertions.assertEquals(tableCrc.hashBytes(data), HashFunction.CRC32C.hashBytes(data));
+
+            // Same writes into a builder streaming into the checksum and one collecting all bytes
+            final HashBuilder streamed = new HashBuilder(HashFunction.CRC32C);
+            final HashBuilder collected = new HashBuilder(tableCrc);
+            final int writes = random.nextInt(64);
+            for (int i = 0; i < writes; i++) {
+                switch (random.nextInt(8)) {
+                    case 0 -> {
+                        final byte b = (byte) random.nextInt();
+                        streamed.writeByte(b);
+                        collected.writeByte(b);
+                    }
+                    case 1 -> {
+                        final byte[] bytes = new byte[random.nextInt(600)];
+                        random.nextBytes(bytes);
+                        streamed.writeBytes(bytes);
+                        collected.writeBytes(bytes);
+                    }
+                    case 2 -> {
+                        final byte[] bytes = new byte[random.nextInt(600)];
+                        random.nextBytes(bytes);
+                        streamed.writeBytesDirect(bytes);
+                        collected.writeBytesDirect(bytes.clone());
+                    }
+                    case 3 -> {
+                        final int value = random.nextInt();
+                        streamed.writeInt(value);
+                        collected.writeInt(value);
+                    }
+                    case 4 -> {
+                        final long value = random.nextLong();
+                        streamed.writeLong(value);
+                        collected.writeLong(value);
+                    }
+                    case 5 -> {
+                        final short value = (short) random.nextInt();
+                        streamed.writeShort(value);
+                        collected.writeShort(value);
+                    }
+                    case 6 -> {
+                        final StringBuilder builder = new StringBuilder();
+                        final int length = random.nextInt(300);
+                        for (int j = 0; j < length; j++) {
+                            builder.append((char) random.nextInt(Character.MAX_VALUE + 1));
+                        }
+                        streamed.writeString(builder);
+                        collected.writeString(builder);
+                    }
+                    case 7 -> {
+                        final int size = random.nextInt(1024);
+                        streamed.preSize(size);
+                        collected.preSize(size);
+                    }
+                }
+            }
+            Assertions.assertEquals(collected.hash(), streamed.hash(), "Hash mismatch in run " + run);
+        }
+    }
+
+    private static int tableCrc32c(final byte[] data, final int length) {
+        // Byte-at-a-time CRC32C as previously used for hashing
+        int crc = ~0;
+        for (int i = 0; i < length; i++) {
+            crc ^= data[i] & 0xFF;
+            for (int j = 0; j < 8; j++) {
+                crc = (crc & 1) == 1 ? (crc >>> 1) ^ 0x82F63B78 : crc >>> 1;
+            }
+        }
+        return ~crc;
+    }
 }
@@ -17,7 +17,28 @@
  */
 package com.viaversion.viaversion.common.nbt;
 
+import com.viaversion.nbt.limiter.TagLimiter;
+import com.viaversion.nbt.tag.ByteArrayTag;
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.nbt.tag.IntArrayTag;
+import com.viaversion.nbt.tag.ListTag;
+import com.viaversion.nbt.tag.LongArrayTag;
+import com.viaversion.nbt.tag.StringTag;
+import com.viaversion.viaversion.api.minecraft.LazyCompoundTag;
+import com.viaversion.viaversion.api.type.Type;
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.api.type.types.misc.ByteBufTagCodec;
+import com.viaversion.viaversion.api.type.types.misc.LazyCompoundTagType;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -49,4 +70,137 @@ public class NBTTagTest {
         Assertions.assertEquals((byte) 1, deserializeCompoundTag("{thisisabyte:true}").get("thisisabyte").getValue());
         Assertions.assertEquals((byte) 0, deserializeCompoundTag("{thisisabyte:false}").get("thisisabyte").getValue());
     }
+
+    @Test
+    void testByteBufCodecMatchesStreams() throws IOException {
+        final CompoundTag tag = testTag();
+
+        final ByteArrayOutputStream streamOut = new ByteArrayOutputStream();
+        tag.write(new DataOutputStream(streamOut));
+        final ByteBuf buffer = Unpooled.buffer();
+        ByteBufTagCodec.write(buffer, tag);
+        Assertions.assertArrayEquals(streamOut.toByteArray(), bytes(buffer));
+
+        Assertions.assertEquals(tag, ByteBufTagCodec.readCompound(buffer, unlimited(), 0));
+        Assertions.assertEquals(0, buffer.readableBytes());
+        Assertions.assertEquals(tag, CompoundTag.read(new DataInputStream(new ByteArrayInputStream(streamOut.toByteArray())), unlimited(), 0));
+    }
+
+    @Test
+    void testByteBufCodecTruncated() throws IOException {
+        final ByteBuf buffer = Unpooled.buffer();
+        ByteBufTagCodec.write(buffer, testTag());
+        final byte[] data = bytes(buffer);
+        for (int length = 0; length < data.length; length++) {
+            final ByteBuf truncated = Unpooled.wrappedBuffer(data, 0, length);
+            Assertions.assertThrows(EOFException.class, () -> ByteBufTagCodec.readCompound(truncated, unlimited(), 0), "read " + length);
+            final ByteBuf truncatedSkip = Unpooled.wrappedBuffer(data, 0, length);
+            Assertions.assertThrows(EOFException.class, () -> ByteBufTagCodec.skip(truncatedSkip, 10, unlimited(), 0), "skip " + length);
+        }
+    }
+
+    @Test
+    void testByteBufCodecLimiter() throws IOException {
+        final ByteBuf buffer = Unpooled.buffer();
+        ByteBufTagCodec.write(buffer, testTag());
+        final byte[] data = bytes(buffer);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ByteBufTagCodec.readCompound(Unpooled.wrappedBuffer(data), TagLimiter.create(16, 512), 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ByteBufTagCodec.skip(Unpooled.wrappedBuffer(data), 10, TagLimiter.create(16, 512), 0));
+
+        // testTag nests a compound inside a list, two levels below the root
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ByteBufTagCodec.readCompound(Unpooled.wrappedBuffer(data), TagLimiter.create(Integer.MAX_VALUE, 1), 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ByteBufTagCodec.skip(Unpooled.wrappedBuffer(data), 10, TagLimiter.create(Integer.MAX_VALUE, 1), 0));
+        Assertions.assertDoesNotThrow(() -> ByteBufTagCodec.readCompound(Unpooled.wrappedBuffer(data), unlimited(), 0));
+    }
+
+    @Test
+    void testLazyCompoundTagWritesRawBytes() {
+        for (final Type<CompoundTag> tagType : List.of(Types.COMPOUND_TAG, Types.NAMED_COMPOUND_TAG)) {
+            final ByteBuf buffer = Unpooled.buffer();
+            tagType.write(buffer, testTag());
+            assertLazyRoundTrip(tagType, bytes(buffer));
+
+            final ByteBuf empty = Unpooled.buffer();
+            tagType.write(empty, null);
+            assertLazyRoundTrip(tagType, bytes(empty));
+        }
+
+        // Duplicate keys are lost when parsing and writing the tag, but kept in the raw form
+        final ByteBuf buffer = Unpooled.buffer();
+        buffer.writeByte(CompoundTag.ID);
+        for (final String value : new String[]{"x", "y"}) {
+            buffer.writeByte(StringTag.ID);
+            writeUtf(buffer, "a");
+            writeUtf(buffer, value);
+        }
+        buffer.writeByte(0);
+        assertLazyRoundTrip(Types.COMPOUND_TAG, bytes(buffer));
+    }
+
+    private static void assertLazyRoundTrip(final Type<CompoundTag> tagType, final byte[] data) {
+        final LazyCompoundTagType lazyType = LazyCompoundTagType.of(tagType);
+        final ByteBuf input = Unpooled.wrappedBuffer(data);
+        final LazyCompoundTag lazyTag = lazyType.read(input);
+        Assertions.assertEquals(0, input.readableBytes());
+
+        final ByteBuf output = Unpooled.buffer();
+        lazyType.write(output, lazyTag);
+        Assertions.assertArrayEquals(data, bytes(output));
+
+        // Parsing gives the same tag as the normal type, which is then used for writing
+        final CompoundTag expected = tagType.read(Unpooled.wrappedBuffer(data));
+        Assertions.assertEquals(expected, lazyTag.get());
+        Assertions.assertTrue(lazyTag.isParsed());
+        final ByteBuf parsedOutput = Unpooled.buffer();
+        lazyType.write(parsedOutput, lazyTag);
+        final ByteBuf expectedOutput = Unpooled.buffer();
+        tagType.write(expectedOutput, expected);
+        Assertions.assertArrayEquals(bytes(expectedOutput), bytes(parsedOutput));
+    }
+
+    private static void writeUtf(final ByteBuf buffer, final String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.writeShort(bytes.length);
+        buffer.writeBytes(bytes);
+    }
+
+    private static CompoundTag testTag() {
+        final CompoundTag tag = new CompoundTag();
+        tag.putByte("byte", (byte) -3);
+        tag.putShort("short", (short) 1234);
+        tag.putInt("int", Integer.MIN_VALUE);
+        tag.putLong("long", Long.MAX_VALUE);
+        tag.putFloat("float", 3.5F);
+        tag.putDouble("double", -0.25D);
+        tag.put("byteArray", new ByteArrayTag(new byte[]{1, 2, 3}));
+        tag.put("intArray", new IntArrayTag(new int[]{4, 5, 6}));
+        tag.put("longArray", new LongArrayTag(new long[]{7L, 8L}));
+        tag.putString("ascii", "minecraft:stone");
+        tag.putString("unicode", "\u00e4\u20ac\0\ud83d\ude00");
+        tag.putString("", "empty name");
+
+        final CompoundTag nested = new CompoundTag();
+        nested.putString("key", "value");
+        final ListTag<CompoundTag> compounds = new ListTag<>(CompoundTag.class);
+        compounds.add(nested);
+        tag.put("compounds", compounds);
+
+        final ListTag<StringTag> strings = new ListTag<>(StringTag.class);
+        strings.add(new StringTag("a"));
+        strings.add(new StringTag("\u00df"));
+        tag.put("strings", strings);
+        tag.put("emptyList", new ListTag<>());
+        return tag;
+    }
+
+    private static TagLimiter unlimited() {
+        return TagLimiter.create(Integer.MAX_VALUE, 512);
+    }
+
+    private static byte[] bytes(final ByteBuf buffer) {
+        final byte[] data = new byte[buffer.readableBytes()];
+        buffer.getBytes(buffer.readerIndex(), data);
+        return data;
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.data.IntArrayMappings;
+import com.viaversion.viaversion.api.data.MappingData;
+import com.viaversion.viaversion.api.data.Mappings;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.common.PlatformTestBase;
+import com.viaversion.viaversion.protocol.ComposedMappingsCache;
+import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
+import com.viaversion.viaversion.protocols.v1_18_2to1_19.Protocol1_18_2To1_19;
+import com.viaversion.viaversion.protocols.v1_19_1to1_19_3.Protocol1_19_1To1_19_3;
+import com.viaversion.viaversion.protocols.v1_19_3to1_19_4.Protocol1_19_3To1_19_4;
+import com.viaversion.viaversion.protocols.v1_19to1_19_1.Protocol1_19To1_19_1;
+import com.viaversion.viaversion.protocols.v1_21_5to1_21_6.Protocol1_21_5To1_21_6;
+import com.viaversion.viaversion.protocols.v1_21_6to1_21_7.Protocol1_21_6To1_21_7;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ComposedMappingsCacheTest extends PlatformTestBase {
+
+    @Test
+    void testComposedMatchesSequentialMappings() {
+        assertComposedMatchesSequential(protocols(Protocol1_18_2To1_19.class, Protocol1_19To1_19_1.class, Protocol1_19_1To1_19_3.class, Protocol1_19_3To1_19_4.class));
+        assertComposedMatchesSequential(protocols(Protocol1_21_5To1_21_6.class, Protocol1_21_6To1_21_7.class));
+    }
+
+    @Test
+    void testUnmappedIds() {
+        final Mappings first = IntArrayMappings.of(new int[]{2, -1, 0, 1}, 3);
+        final Mappings second = IntArrayMappings.of(new int[]{-1, 4, 3}, 5);
+        final Mappings composed = ComposedMappingsCache.compose(List.of(first, second));
+        Assertions.assertEquals(4, composed.size());
+        Assertions.assertEquals(5, composed.mappedSize());
+
+        // Missing ids are mapped to 0 before going through the next mappings, the same as MappingData#getNewBlockStateId
+        Assertions.assertEquals(3, composed.getNewId(0));
+        Assertions.assertEquals(0, composed.getNewId(1)); // -1 -> 0 -> 0 (unmapped again)
+        Assertions.assertEquals(0, composed.getNewId(2)); // 0 -> -1 -> 0
+        Assertions.assertEquals(4, composed.getNewId(3));
+        for (int id = 0; id < first.size(); id++) {
+            Assertions.assertEquals(sequential(List.of(first, second), id), composed.getNewId(id), "Id " + id);
+        }
+    }
+
+    private static void assertComposedMatchesSequential(final List<Protocol> protocols) {
+        final List<Mappings> hops = new ArrayList<>();
+        for (final Protocol protocol : protocols) {
+            final MappingData mappingData = protocol.getMappingData();
+            if (mappingData != null && mappingData.getBlockStateMappings() != null) {
+                hops.add(mappingData.getBlockStateMappings());
+            }
+        }
+        Assertions.assertTrue(hops.size() >= 2, "Not enough block state mappings to compose");
+
+        final ComposedMappingsCache cache = ((ProtocolManagerImpl) Via.getManager().getProtocolManager()).getComposedMappings();
+        final Mappings composed = cache.getBlockStateMappings(protocols);
+        Assertions.assertEquals(hops.get(0).size(), composed.size());
+        Assertions.assertEquals(hops.get(hops.size() - 1).mappedSize(), composed.mappedSize());
+        for (int id = 0; id < composed.size(); id++) {
+            Assertions.assertEquals(sequential(hops, id), composed.getNewId(id), "Id " + id);
+        }
+
+        // Ids outside the first table stay unmapped
+        Assertions.assertEquals(-1, composed.getNewId(composed.size()));
+        Assertions.assertEquals(-1, composed.getNewId(-1));
+    }
+
+    private static int sequential(final List<Mappings> hops, final int id) {
+        int mappedId = id;
+        for (final Mappings hop : hops) {
+            mappedId = hop.getNewId(mappedId);
+            if (mappedId == -1) {
+                mappedId = 0;
+            }
+        }
+        return mappedId;
+    }
+
+    @SafeVarargs
+    private static List<Protocol> protocols(final Class<? extends Protocol>... protocolClasses) {
+        final ProtocolManagerImpl protocolManager = (ProtocolManagerImpl) Via.getManager().getProtocolManager();
+        final List<Protocol> protocols = new ArrayList<>(protocolClasses.length);
+        for (final Class<? extends Protocol> protocolClass : protocolClasses) {
+            protocolManager.completeMappingDataLoading(protocolClass);
+            protocols.add(protocolManager.getProtocol(protocolClass));
+        }
+        return protocols;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.viaversion.api.data.MappingData;
+import com.viaversion.viaversion.api.data.MappingDataBase;
+import com.viaversion.viaversion.api.protocol.AbstractSimpleProtocol;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.common.PlatformTestBase;
+import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LazyMappingLoadingTest extends PlatformTestBase {
+
+    private final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void testReloadDependencyBeforeDependent() {
+        final ProtocolManagerImpl protocolManager = new ProtocolManagerImpl();
+        protocolManager.enableLazyMappingLoading();
+        try {
+            final TrackedMappingData dependencyData = new TrackedMappingData("dependency");
+            final TrackedMappingData dependentData = new TrackedMappingData("dependent");
+            final Protocol dependency = protocol(dependencyData);
+            final Protocol dependent = protocol(dependentData);
+            protocolManager.registerProtocol(dependency, ProtocolVersion.v1_8, ProtocolVersion.v1_9);
+            protocolManager.registerProtocol(dependent, ProtocolVersion.v1_9, ProtocolVersion.v1_9_1);
+            protocolManager.addMappingLoaderFuture(dependent.getClass(), dependency.getClass(), dependent::loadMappingData);
+
+            Assertions.assertTrue(protocolManager.isLazyMappingLoading());
+            Assertions.assertTrue(events.isEmpty(), "Mappings loaded before being needed");
+
+            protocolManager.completeMappingDataLoading(dependent.getClass());
+            Assertions.assertEquals(List.of("load dependency", "load dependent"), drainEvents());
+
+            // The dependent cannot be unloaded, but its dependency can
+            protocolManager.unloadUnusedMappings(0);
+            Assertions.assertEquals(List.of("unload dependency"), drainEvents());
+
+            protocolManager.completeMappingDataLoading(dependent.getClass());
+            Assertions.assertEquals(List.of("load dependency"), drainEvents());
+
+            // Unload both, reloading the dependent has to reload its dependency first
+            dependentData.unloadable = true;
+            protocolManager.unloadUnusedMappings(0);
+            Assertions.assertEquals(2, drainEvents().size());
+
+            Assertions.assertNotNull(protocolManager.loadMappingDataAsync(dependent.getClass()));
+            protocolManager.completeMappingDataLoading(dependent.getClass());
+            Assertions.assertEquals(List.of("load dependency", "load dependent"), drainEvents());
+            Assertions.assertFalse(protocolManager.hasLoadedMappings());
+        } finally {
+            protocolManager.shutdownLoaderExecutor();
+        }
+    }
+
+    private List<String> drainEvents() {
+        synchronized (events) {
+            final List<String> drained = new ArrayList<>(events);
+            events.clear();
+            return drained;
+        }
+    }
+
+    private static Protocol protocol(final MappingData mappingData) {
+        return new AbstractSimpleProtocol() {
+            @Override
+            public MappingData getMappingData() {
+                return mappingData;
+            }
+        };
+    }
+
+    private final class TrackedMappingData extends MappingDataBase {
+
+        private final String name;
+        private boolean unloadable;
+
+        private TrackedMappingData(final String name) {
+            super(name, name);
+            this.name = name;
+        }
+
+        @Override
+        public void load() {
+            events.add("load " + name);
+        }
+
+        @Override
+        public boolean unload() {
+            if (name.equals("dependency") || unloadable) {
+                events.add("unload " + name);
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.AbstractSimpleProtocol;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.ProtocolPathEntry;
+import com.viaversion.viaversion.api.protocol.packet.ClientboundPacketType;
+import com.viaversion.viaversion.api.protocol.packet.Direction;
+import com.viaversion.viaversion.api.protocol.packet.PacketType;
+import com.viaversion.viaversion.api.protocol.packet.PacketWrapper;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.protocol.packet.mapping.PacketMapping;
+import com.viaversion.viaversion.api.protocol.packet.mapping.PacketMappings;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.common.PlatformTestBase;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.exception.CancelEncoderException;
+import com.viaversion.viaversion.protocol.PacketDispatchTable;
+import com.viaversion.viaversion.protocol.ProtocolPipelineImpl;
+import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
+import com.viaversion.viaversion.protocols.v1_20to1_20_2.Protocol1_20To1_20_2;
+import com.viaversion.viaversion.protocols.v1_20to1_20_2.storage.ConfigurationState;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PacketDispatchTest extends PlatformTestBase {
+
+    private final Random random = new Random(0);
+
+    @Test
+    void testInPlaceMatchesCopy() {
+        final UserConnectionImpl connection = connection();
+        final ProtocolPipelineImpl pipeline = (ProtocolPipelineImpl) connection.getProtocolInfo().getPipeline();
+        Assertions.assertNotNull(pipeline.dispatchTable(Direction.CLIENTBOUND));
+
+        int inPlace = 0;
+        int rewritten = 0;
+        for (int id = 0; id <= 0x7F; id++) {
+            final int mappedId = pipeline.mappedIdWithoutHandlers(Direction.CLIENTBOUND, State.PLAY, id);
+            if (mappedId == -1) {
+                continue;
+            }
+
+            final byte[] input = packet(id);
+            final byte[] copied = transformCopy(connection, input);
+            Assertions.assertEquals(mappedId, Types.VAR_INT.readPrimitive(Unpooled.wrappedBuffer(copied)), "Mapped id of packet " + id);
+
+            final long skippedCopies = connection.getPacketTracker().getSkippedCopies();
+            final ByteBuf buf = Unpooled.buffer().writeBytes(input);
+            Assertions.assertTrue(connection.transformInPlace(buf, Direction.CLIENTBOUND), "Packet " + id + " not transformed in place");
+            Assertions.assertArrayEquals(copied, ByteBufUtil.getBytes(buf), "Packet " + id);
+            Assertions.assertEquals(skippedCopies + 1, connection.getPacketTracker().getSkippedCopies());
+            buf.release();
+
+            inPlace++;
+            if (mappedId != id) {
+                rewritten++;
+            }
+        }
+
+        // Make sure both the retained and the rewritten paths were covered
+        Assertions.assertTrue(inPlace > rewritten, "No packet kept its id");
+        Assertions.assertTrue(rewritten > 0, "No packet id was rewritten in place");
+    }
+
+    @Test
+    void testSharedBuffersAreCopied() {
+        final UserConnectionImpl connection = connection();
+        final int id = rewrittenId(connection);
+        final byte[] input = packet(id);
+        final long skippedCopies = connection.getPacketTracker().getSkippedCopies();
+
+        // Retained buffers may still be read elsewhere
+        final ByteBuf retained = Unpooled.buffer().writeBytes(input).retain();
+        Assertions.assertFalse(connection.transformInPlace(retained, Direction.CLIENTBOUND));
+        Assertions.assertArrayEquals(input, ByteBufUtil.getBytes(retained));
+        retained.release(2);
+
+        // Slices and duplicates share their contents with the original buffer
+        final ByteBuf original = Unpooled.buffer().writeBytes(input);
+        final ByteBuf slice = original.slice();
+        Assertions.assertFalse(connection.transformInPlace(slice, Direction.CLIENTBOUND));
+        final ByteBuf duplicate = original.duplicate();
+        Assertions.assertFalse(connection.transformInPlace(duplicate, Direction.CLIENTBOUND));
+        Assertions.assertArrayEquals(input, ByteBufUtil.getBytes(original));
+        original.release();
+
+        final ByteBuf readOnly = Unpooled.wrappedBuffer(input.clone()).asReadOnly();
+        Assertions.assertFalse(connection.transformInPlace(readOnly, Direction.CLIENTBOUND));
+        Assertions.assertArrayEquals(input, ByteBufUtil.getBytes(readOnly));
+
+        Assertions.assertEquals(skippedCopies, connection.getPacketTracker().getSkippedCopies());
+
+        // The copy fallback still rewrites the id
+        final byte[] copied = transformCopy(connection, input);
+        Assertions.assertEquals(
+            connection.getProtocolInfo().getPipeline().mappedIdWithoutHandlers(Direction.CLIENTBOUND, State.PLAY, id),
+            Types.VAR_INT.readPrimitive(Unpooled.wrappedBuffer(copied))
+        );
+    }
+
+    @Test
+    void testCustomTransformSeesUnmappedPackets() {
+        final List<Integer> seenIds = new ArrayList<>();
+        final Protocol customProtocol = new AbstractSimpleProtocol() {
+            @Override
+            public void transform(final Direction direction, final State state, final PacketWrapper packetWrapper) {
+                seenIds.add(packetWrapper.getId());
+            }
+        };
+
+        final UserConnectionImpl connection = connection();
+        final int id = rewrittenId(connection);
+        final ProtocolPipelineImpl pipeline = (ProtocolPipelineImpl) connection.getProtocolInfo().getPipeline();
+        pipeline.add(customProtocol);
+        Assertions.assertTrue(customProtocol.transformsOutsidePacketMappings(connection, Direction.CLIENTBOUND));
+        Assertions.assertNull(pipeline.dispatchTable(Direction.CLIENTBOUND));
+        Assertions.assertEquals(-1, pipeline.mappedIdWithoutHandlers(Direction.CLIENTBOUND, State.PLAY, id));
+
+        final ByteBuf buf = Unpooled.buffer().writeBytes(packet(id));
+        Assertions.assertFalse(connection.transformInPlace(buf, Direction.CLIENTBOUND));
+        buf.release();
+
+        // Even without any registered packet, the protocol has to see everything passed through the pipeline
+        transformCopy(connection, packet(id));
+        Assertions.assertEquals(List.of(id), seenIds);
+    }
+
+    @Test
+    void testDispatchTablesResolvedOnce() {
+        final int[] checks = new int[1];
+        final boolean[] transformsOutside = new boolean[1];
+        final Protocol protocol = new AbstractSimpleProtocol() {
+            @Override
+            public boolean transformsOutsidePacketMappings(final UserConnection connection, final Direction direction) {
+                checks[0]++;
+                return transformsOutside[0];
+            }
+        };
+
+        final UserConnectionImpl connection = connection();
+        final ProtocolPipelineImpl pipeline = (ProtocolPipelineImpl) connection.getProtocolInfo().getPipeline();
+        pipeline.add(protocol);
+
+        final int id = rewrittenId(connection);
+        for (int i = 0; i < 10; i++) {
+            transformCopy(connection, packet(id));
+        }
+        Assertions.assertEquals(1, checks[0], "Dispatch table resolved per packet");
+
+        // Changes are only picked up after invalidating the tables
+        transformsOutside[0] = true;
+        Assertions.assertNotNull(pipeline.dispatchTable(Direction.CLIENTBOUND));
+        pipeline.invalidateDispatchTables();
+        Assertions.assertNull(pipeline.dispatchTable(Direction.CLIENTBOUND));
+        Assertions.assertEquals(2, checks[0]);
+    }
+
+    @Test
+    void testConfigurationBridgeInvalidatesDispatchTables() {
+        final UserConnectionImpl connection = new UserConnectionImpl(null);
+        final ProtocolPipelineImpl pipeline = new ProtocolPipelineImpl(connection);
+        pipeline.add(Via.getManager().getProtocolManager().getProtocol(Protocol1_20To1_20_2.class));
+        connection.getProtocolInfo().setState(State.PLAY);
+        Assertions.assertNotNull(pipeline.dispatchTable(Direction.CLIENTBOUND));
+
+        final ConfigurationState configurationState = connection.get(ConfigurationState.class);
+        configurationState.setBridgePhase(connection, ConfigurationState.BridgePhase.PROFILE_SENT);
+        Assertions.assertNull(pipeline.dispatchTable(Direction.CLIENTBOUND));
+        Assertions.assertNotNull(pipeline.dispatchTable(Direction.SERVERBOUND));
+
+        configurationState.setBridgePhase(connection, ConfigurationState.BridgePhase.CONFIGURATION);
+        Assertions.assertNull(pipeline.dispatchTable(Direction.CLIENTBOUND));
+
+        configurationState.setBridgePhase(connection, ConfigurationState.BridgePhase.NONE);
+        Assertions.assertNotNull(pipeline.dispatchTable(Direction.CLIENTBOUND));
+    }
+
+    @Test
+    void testSkippedMappingsMatchFullTransform() {
+        final List<String> handled = new ArrayList<>();
+        final Protocol first = protocol(mappings -> {
+            mappings.addMapping(State.PLAY, 1, PacketMapping.of(TestPacket.PLAY_PACKET, null));
+            mappings.addMapping(State.PLAY, 5, PacketMapping.of(TestPacket.CONFIGURATION_PACKET, null));
+        });
+        final Protocol second = protocol(mappings -> {
+            // Keeps the packet type set by the previous protocol
+            mappings.addMapping(State.PLAY, TestPacket.PLAY_PACKET.getId(), PacketMapping.of((PacketType) null, null));
+            // Only the configuration mapping may be used after the packet type switched states
+            mappings.addMapping(State.PLAY, TestPacket.CONFIGURATION_PACKET.getId(), PacketMapping.of(10, wrapper -> handled.add("play")));
+            mappings.addMapping(State.CONFIGURATION, TestPacket.CONFIGURATION_PACKET.getId(), PacketMapping.of(11, wrapper -> handled.add("configuration")));
+        });
+
+        final List<Protocol> protocols = List.of(first, second);
+        final PacketDispatchTable table = new PacketDispatchTable(protocols, Direction.CLIENTBOUND);
+        Assertions.assertEquals(TestPacket.PLAY_PACKET.getId(), table.mappedIdWithoutHandlers(State.PLAY, 1));
+        Assertions.assertEquals(-1, table.mappedIdWithoutHandlers(State.PLAY, 5));
+
+        final UserConnectionImpl connection = new UserConnectionImpl(null);
+        for (final int id : new int[]{1, 5}) {
+            final PacketWrapperImpl fullWrapper = new PacketWrapperImpl(id, Unpooled.buffer(), connection);
+            fullWrapper.apply(Direction.CLIENTBOUND, State.PLAY, protocols);
+            final List<String> fullHandled = new ArrayList<>(handled);
+            handled.clear();
+
+            final PacketWrapperImpl tableWrapper = new PacketWrapperImpl(id, Unpooled.buffer(), connection);
+            table.apply(State.PLAY, tableWrapper);
+            Assertions.assertEquals(fullWrapper.getId(), tableWrapper.getId(), "Packet " + id);
+            Assertions.assertEquals(fullWrapper.getPacketType(), tableWrapper.getPacketType(), "Packet " + id);
+            Assertions.assertEquals(fullHandled, handled, "Packet " + id);
+            handled.clear();
+        }
+
+        // Make sure the cases are still covered
+        final PacketWrapperImpl typedWrapper = new PacketWrapperImpl(1, Unpooled.buffer(), connection);
+        table.apply(State.PLAY, typedWrapper);
+        Assertions.assertEquals(TestPacket.PLAY_PACKET, typedWrapper.getPacketType());
+        final PacketWrapperImpl stateChangeWrapper = new PacketWrapperImpl(5, Unpooled.buffer(), connection);
+        table.apply(State.PLAY, stateChangeWrapper);
+        Assertions.assertEquals(List.of("configuration"), handled);
+        Assertions.assertEquals(11, stateChangeWrapper.getId());
+    }
+
+    private static Protocol protocol(final Consumer<PacketMappings> registrar) {
+        return new AbstractSimpleProtocol() {
+            {
+                registrar.accept(clientboundMappings);
+            }
+        };
+    }
+
+    private static UserConnectionImpl connection() {
+        final UserConnectionImpl connection = new UserConnectionImpl(null);
+        final ProtocolPipelineImpl pipeline = new ProtocolPipelineImpl(connection);
+        final List<ProtocolPathEntry> path = Via.getManager().getProtocolManager().getProtocolPath(ProtocolVersion.v1_21_11, ProtocolVersion.v1_21_5);
+        Assertions.assertNotNull(path);
+
+        final List<Protocol> protocols = new ArrayList<>(path.size());
+        for (final ProtocolPathEntry entry : path) {
+            protocols.add(entry.protocol());
+        }
+        pipeline.add(protocols);
+        connection.getProtocolInfo().setProtocolVersion(ProtocolVersion.v1_21_11);
+        connection.getProtocolInfo().setServerProtocolVersion(ProtocolVersion.v1_21_5);
+        connection.getProtocolInfo().setState(State.PLAY);
+        return connection;
+    }
+
+    private static int rewrittenId(final UserConnectionImpl connection) {
+        for (int id = 0; id <= 0x7F; id++) {
+            final int mappedId = connection.getProtocolInfo().getPipeline().mappedIdWithoutHandlers(Direction.CLIENTBOUND, State.PLAY, id);
+            if (mappedId != -1 && mappedId != id && mappedId <= 0x7F) {
+                return id;
+            }
+        }
+        return Assertions.fail("No packet id without handlers is changed by the pipeline");
+    }
+
+    private byte[] packet(final int id) {
+        final ByteBuf buf = Unpooled.buffer();
+        Types.VAR_INT.writePrimitive(buf, id);
+        final byte[] contents = new byte[1 + random.nextInt(64)];
+        random.nextBytes(contents);
+        buf.writeBytes(contents);
+        return ByteBufUtil.getBytes(buf);
+    }
+
+    private static byte[] transformCopy(final UserConnectionImpl connection, final byte[] input) {
+        final ByteBuf buf = Unpooled.buffer().writeBytes(input);
+        connection.transformClientbound(buf, CancelEncoderException::generate);
+        final byte[] output = ByteBufUtil.getBytes(buf);
+        buf.release();
+        return output;
+    }
+
+    private enum TestPacket implements ClientboundPacketType {
+        PLAY_PACKET(State.PLAY, 2),
+        CONFIGURATION_PACKET(State.CONFIGURATION, 6);
+
+        private final State state;
+        private final int id;
+
+        TestPacket(final State state, final int id) {
+            this.state = state;
+            this.id = id;
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name();
+        }
+
+        @Override
+        public State state() {
+            return state;
+        }
+    }
+}
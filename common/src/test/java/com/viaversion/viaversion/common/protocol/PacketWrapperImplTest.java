@@ -0,0 +1,259 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSyntaxException;
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.nbt.tag.StringTag;
+import com.viaversion.viaversion.api.minecraft.LazyCompoundTag;
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.api.type.types.misc.RawTagType;
+import com.viaversion.viaversion.common.PlatformTestBase;
+import com.viaversion.viaversion.protocol.packet.PacketWrapperImpl;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PacketWrapperImplTest extends PlatformTestBase {
+
+    @Test
+    void testWriteBetweenReadableValues() {
+        final PacketWrapperImpl wrapper = wrapper(1, 2, 3);
+        passthroughAll(wrapper, 3);
+        wrapper.resetReader();
+
+        // Writing while values are left to read has to make room in between
+        wrapper.passthrough(Types.VAR_INT);
+        wrapper.write(Types.STRING, "a");
+        wrapper.write(Types.STRING, "b");
+        wrapper.passthrough(Types.VAR_INT);
+        wrapper.passthrough(Types.VAR_INT);
+        wrapper.resetReader();
+
+        final ByteBuf expected = Unpooled.buffer();
+        Types.VAR_INT.writePrimitive(expected, 1);
+        Types.STRING.write(expected, "a");
+        Types.STRING.write(expected, "b");
+        Types.VAR_INT.writePrimitive(expected, 2);
+        Types.VAR_INT.writePrimitive(expected, 3);
+        assertOutput(expected, wrapper);
+    }
+
+    @Test
+    void testRepeatedWritesOverManyProtocols() {
+        final PacketWrapperImpl wrapper = wrapper(0);
+        wrapper.passthrough(Types.VAR_INT);
+        wrapper.resetReader();
+
+        // Every round inserts a value at the front and leaves most values unread, moving the written values further back each time
+        for (int i = 1; i < 100; i++) {
+            wrapper.write(Types.VAR_INT, i);
+            wrapper.passthrough(Types.VAR_INT);
+            wrapper.resetReader();
+        }
+
+        final ByteBuf expected = Unpooled.buffer();
+        for (int i = 99; i >= 0; i--) {
+            Types.VAR_INT.writePrimitive(expected, i);
+        }
+        assertOutput(expected, wrapper);
+    }
+
+    @Test
+    void testPassthroughAllAfterWrite() {
+        final PacketWrapperImpl wrapper = wrapper(1, 2, 3);
+        wrapper.passthrough(Types.VAR_INT);
+        wrapper.passthrough(Types.VAR_INT);
+        wrapper.resetReader();
+
+        // The readable values have to be moved directly behind the written one
+        wrapper.write(Types.VAR_INT, 0);
+        wrapper.passthroughAll();
+
+        final ByteBuf expected = Unpooled.buffer();
+        for (int i = 0; i <= 3; i++) {
+            Types.VAR_INT.writePrimitive(expected, i);
+        }
+        assertOutput(expected, wrapper);
+    }
+
+    @Test
+    void testRewindReader() {
+        final PacketWrapperImpl wrapper = wrapper(1, 2, 3);
+        passthroughAll(wrapper, 3);
+        wrapper.resetReader();
+
+        wrapper.passthrough(Types.VAR_INT);
+        wrapper.write(Types.VAR_INT, 5);
+        wrapper.rewindReader(2);
+        Assertions.assertEquals(1, wrapper.read(Types.VAR_INT));
+        Assertions.assertEquals(5, wrapper.read(Types.VAR_INT));
+        Assertions.assertEquals(2, wrapper.passthrough(Types.VAR_INT));
+
+        wrapper.rewindReader(1);
+        Assertions.assertEquals(2, wrapper.passthrough(Types.VAR_INT));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> wrapper.rewindReader(2));
+        passthroughAll(wrapper, 1);
+
+        final ByteBuf expected = Unpooled.buffer();
+        Types.VAR_INT.writePrimitive(expected, 2);
+        Types.VAR_INT.writePrimitive(expected, 3);
+        assertOutput(expected, wrapper);
+    }
+
+    @Test
+    void testTypedIndices() {
+        final PacketWrapperImpl wrapper = wrapper();
+        wrapper.write(Types.VAR_INT, 1);
+        wrapper.write(Types.STRING, "a");
+        wrapper.write(Types.VAR_INT, 2);
+
+        Assertions.assertEquals(2, wrapper.get(Types.VAR_INT, 1));
+        Assertions.assertEquals("a", wrapper.get(Types.STRING, 0));
+        Assertions.assertTrue(wrapper.is(Types.VAR_INT, 1));
+        Assertions.assertFalse(wrapper.is(Types.VAR_INT, 2));
+
+        wrapper.set(Types.VAR_INT, 1, 3);
+        Assertions.assertEquals(3, wrapper.get(Types.VAR_INT, 1));
+        Assertions.assertFalse(wrapper.is(Types.STRING, 1));
+
+        wrapper.resetReader();
+        Assertions.assertTrue(wrapper.isReadable(Types.STRING, 0));
+        Assertions.assertEquals(1, wrapper.read(Types.VAR_INT));
+        Assertions.assertFalse(wrapper.isReadable(Types.VAR_INT, 1));
+    }
+
+    @Test
+    void testRawComponentIndices() {
+        final ByteBuf input = Unpooled.buffer();
+        Types.RAW_COMPONENT.write(input, "{\"text\":\"a\"}");
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(-1, input, null);
+        wrapper.passthrough(Types.RAW_COMPONENT);
+
+        // Components passed through in their raw form are found as parsed components as well
+        Assertions.assertTrue(wrapper.is(Types.COMPONENT, 0));
+        final JsonElement component = wrapper.get(Types.COMPONENT, 0);
+        Assertions.assertEquals("a", component.getAsJsonObject().get("text").getAsString());
+        Assertions.assertSame(component, wrapper.get(Types.COMPONENT, 0));
+
+        wrapper.set(Types.COMPONENT, 0, new JsonPrimitive("b"));
+        Assertions.assertEquals("\"b\"", wrapper.get(Types.RAW_COMPONENT, 0));
+
+        final ByteBuf expected = Unpooled.buffer();
+        Types.RAW_COMPONENT.write(expected, "\"b\"");
+        assertOutput(expected, wrapper);
+    }
+
+    @Test
+    void testRawTagConversion() {
+        final CompoundTag tag = new CompoundTag();
+        tag.putString("text", "a");
+        final ByteBuf input = Unpooled.buffer();
+        Types.TRUSTED_TAG.write(input, tag);
+        Types.TRUSTED_OPTIONAL_TAG.write(input, null);
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(-1, input, null);
+        wrapper.passthrough(Types.RAW_TAG);
+        wrapper.passthrough(Types.RAW_TAG);
+        wrapper.resetReader();
+
+        // Raw tags are parsed once read as a tag, and serialized again once read in their raw form
+        Assertions.assertEquals(tag, wrapper.passthrough(Types.TRUSTED_TAG));
+        Assertions.assertNull(wrapper.passthrough(Types.TRUSTED_OPTIONAL_TAG));
+        wrapper.resetReader();
+        Assertions.assertArrayEquals(RawTagType.serialize(tag), wrapper.passthrough(Types.RAW_TAG));
+        Assertions.assertArrayEquals(RawTagType.serialize(null), wrapper.passthrough(Types.RAW_TAG));
+
+        wrapper.set(Types.TRUSTED_TAG, 0, new StringTag("b"));
+        Assertions.assertEquals(new StringTag("b"), RawTagType.parse(wrapper.get(Types.RAW_TAG, 0)));
+
+        final ByteBuf expected = Unpooled.buffer();
+        Types.TRUSTED_TAG.write(expected, new StringTag("b"));
+        Types.TRUSTED_OPTIONAL_TAG.write(expected, null);
+        assertOutput(expected, wrapper);
+    }
+
+    @Test
+    void testLazyCompoundTagConversion() {
+        final CompoundTag tag = new CompoundTag();
+        tag.putString("id", "a");
+        final ByteBuf input = Unpooled.buffer();
+        Types.COMPOUND_TAG.write(input, tag);
+        Types.COMPOUND_TAG.write(input, tag);
+        final PacketWrapperImpl wrapper = new PacketWrapperImpl(-1, input, null);
+        wrapper.passthrough(Types.LAZY_COMPOUND_TAG);
+        wrapper.passthrough(Types.LAZY_COMPOUND_TAG);
+        wrapper.resetReader();
+
+        // Lazy tags are parsed in place once read as a normal tag, and kept parsed when read as a lazy tag again
+        final CompoundTag readTag = wrapper.passthrough(Types.COMPOUND_TAG);
+        Assertions.assertEquals(tag, readTag);
+        readTag.putString("id", "b");
+        wrapper.resetReader();
+        final LazyCompoundTag lazyTag = wrapper.passthrough(Types.LAZY_COMPOUND_TAG);
+        Assertions.assertTrue(lazyTag.isParsed());
+        Assertions.assertSame(readTag, lazyTag.get());
+        Assertions.assertFalse(wrapper.passthrough(Types.LAZY_COMPOUND_TAG).isParsed());
+
+        final CompoundTag expectedTag = new CompoundTag();
+        expectedTag.putString("id", "b");
+        final ByteBuf expected = Unpooled.buffer();
+        Types.COMPOUND_TAG.write(expected, expectedTag);
+        Types.COMPOUND_TAG.write(expected, tag);
+        assertOutput(expected, wrapper);
+    }
+
+    @Test
+    void testMalformedRawComponent() {
+        // Malformed json has to fail when read, even if the component is not parsed
+        for (final String json : new String[]{"{\"text\":", "{\"text\":\"a\"}}", "[1,2"}) {
+            final ByteBuf input = Unpooled.buffer();
+            Types.STRING.write(input, json);
+            Assertions.assertThrows(JsonSyntaxException.class, () -> Types.RAW_COMPONENT.read(input), json);
+        }
+
+        for (final String json : new String[]{"{\"text\":\"a\"}", "\"a\"", "", "1"}) {
+            final ByteBuf input = Unpooled.buffer();
+            Types.STRING.write(input, json);
+            Assertions.assertEquals(json, Types.RAW_COMPONENT.read(input));
+        }
+    }
+
+    private static PacketWrapperImpl wrapper(final int... values) {
+        final ByteBuf input = Unpooled.buffer();
+        for (final int value : values) {
+            Types.VAR_INT.writePrimitive(input, value);
+        }
+        return new PacketWrapperImpl(-1, input, null);
+    }
+
+    private static void passthroughAll(final PacketWrapperImpl wrapper, final int values) {
+        for (int i = 0; i < values; i++) {
+            wrapper.passthrough(Types.VAR_INT);
+        }
+    }
+
+    private static void assertOutput(final ByteBuf expected, final PacketWrapperImpl wrapper) {
+        final ByteBuf output = Unpooled.buffer();
+        wrapper.writeToBuffer(output);
+        Assertions.assertEquals(ByteBufUtil.hexDump(expected), ByteBufUtil.hexDump(output));
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.protocol.version.ProtocolVersion;
+import com.viaversion.viaversion.common.PlatformTestBase;
+import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
+import com.viaversion.viaversion.protocol.StatusResponseCache;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StatusResponseCacheTest extends PlatformTestBase {
+
+    private static final byte[] STATUS = "{\"version\":{\"protocol\":47}}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void testKeyEquality() {
+        final StatusResponseCache.Key key = StatusResponseCache.key(ProtocolVersion.v1_21, ProtocolVersion.v1_8, STATUS.clone());
+        Assertions.assertEquals(key, StatusResponseCache.key(ProtocolVersion.v1_21, ProtocolVersion.v1_8, STATUS.clone()));
+        Assertions.assertEquals(key.hashCode(), StatusResponseCache.key(ProtocolVersion.v1_21, ProtocolVersion.v1_8, STATUS.clone()).hashCode());
+        Assertions.assertNotEquals(key, StatusResponseCache.key(ProtocolVersion.v1_8, ProtocolVersion.v1_8, STATUS.clone()));
+        Assertions.assertNotEquals(key, StatusResponseCache.key(ProtocolVersion.v1_21, ProtocolVersion.v1_8, "{}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testInvalidatedOnVersionRefresh() {
+        final ProtocolManagerImpl protocolManager = (ProtocolManagerImpl) Via.getManager().getProtocolManager();
+        final StatusResponseCache.Key key = cacheEntry(protocolManager.getStatusResponseCache());
+
+        protocolManager.refreshVersions();
+        Assertions.assertNull(protocolManager.getStatusResponseCache().get(key));
+        Assertions.assertEquals(0, protocolManager.getStatusResponseCache().size());
+        Assertions.assertNotNull(protocolManager.getSupportedVersionsJson());
+    }
+
+    @Test
+    void testInvalidatedOnConfigReload() {
+        final ProtocolManagerImpl protocolManager = (ProtocolManagerImpl) Via.getManager().getProtocolManager();
+        final StatusResponseCache.Key key = cacheEntry(protocolManager.getStatusResponseCache());
+
+        Via.getManager().getConfigurationProvider().reloadConfigs();
+        Assertions.assertNull(protocolManager.getStatusResponseCache().get(key));
+        Assertions.assertEquals(0, protocolManager.getStatusResponseCache().size());
+    }
+
+    private static StatusResponseCache.Key cacheEntry(final StatusResponseCache cache) {
+        final StatusResponseCache.Key key = StatusResponseCache.key(ProtocolVersion.v1_21, ProtocolVersion.v1_8, STATUS.clone());
+        final StatusResponseCache.Entry entry = new StatusResponseCache.Entry("{}", true);
+        cache.put(key, entry);
+        Assertions.assertEquals(entry, cache.get(key));
+        return key;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.protocol;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.protocol.ProtocolPipeline;
+import com.viaversion.viaversion.api.protocol.packet.State;
+import com.viaversion.viaversion.api.type.Types;
+import com.viaversion.viaversion.common.PlatformTestBase;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.exception.CancelEncoderException;
+import com.viaversion.viaversion.protocol.ProtocolManagerImpl;
+import com.viaversion.viaversion.protocol.ProtocolPipelineImpl;
+import com.viaversion.viaversion.protocol.TransformedPacketCache;
+import com.viaversion.viaversion.protocols.v1_21_7to1_21_9.packet.ClientboundConfigurationPackets1_21_9;
+import com.viaversion.viaversion.protocols.v1_21_9to1_21_11.Protocol1_21_9To1_21_11;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TransformedPacketCacheTest extends PlatformTestBase {
+
+    @Test
+    void testCacheHitMatchesTransform() {
+        final TransformedPacketCache cache = ((ProtocolManagerImpl) Via.getManager().getProtocolManager()).getTransformedPacketCache();
+        Assertions.assertNotNull(cache, "Transformed packet cache is not enabled in the test platform");
+
+        // Unique tag name, so the first transform can't hit entries of other tests
+        final byte[] input = tagsPacket("test_" + System.nanoTime(), new int[]{1, 2, 3, 100});
+        final long hits = cache.stats().hitCount();
+        final byte[] transformed = transform(input);
+        Assertions.assertEquals(hits, cache.stats().hitCount());
+
+        // Another connection with the same protocols gets the cached output
+        final byte[] cached = transform(input);
+        Assertions.assertEquals(hits + 1, cache.stats().hitCount());
+        Assertions.assertArrayEquals(transformed, cached);
+
+        // Different contents don't share an entry
+        final byte[] otherInput = tagsPacket("other_" + System.nanoTime(), new int[]{1, 2, 3, 100});
+        final byte[] otherTransformed = transform(otherInput);
+        Assertions.assertEquals(hits + 1, cache.stats().hitCount());
+        Assertions.assertFalse(Arrays.equals(transformed, otherTransformed));
+    }
+
+    private static byte[] transform(final byte[] input) {
+        final UserConnection connection = new UserConnectionImpl(null);
+        final ProtocolPipeline pipeline = new ProtocolPipelineImpl(connection);
+        pipeline.add(Via.getManager().getProtocolManager().getProtocol(Protocol1_21_9To1_21_11.class));
+        connection.getProtocolInfo().setState(State.CONFIGURATION);
+
+        final ByteBuf buf = Unpooled.buffer().writeBytes(input);
+        connection.transformClientbound(buf, CancelEncoderException::generate);
+        return ByteBufUtil.getBytes(buf);
+    }
+
+    private static byte[] tagsPacket(final String tagName, final int[] ids) {
+        final ByteBuf buf = Unpooled.buffer();
+        Types.VAR_INT.writePrimitive(buf, ClientboundConfigurationPackets1_21_9.UPDATE_TAGS.getId());
+        Types.VAR_INT.writePrimitive(buf, 1); // Registries
+        Types.STRING.write(buf, "minecraft:item");
+        Types.VAR_INT.writePrimitive(buf, 1); // Tags
+        Types.STRING.write(buf, tagName);
+        Types.VAR_INT_ARRAY_PRIMITIVE.write(buf, ids);
+        return ByteBufUtil.getBytes(buf);
+    }
+}
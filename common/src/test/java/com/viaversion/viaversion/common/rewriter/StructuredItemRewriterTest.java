@@ -0,0 +1,128 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.rewriter;
+
+import com.viaversion.viaversion.api.Via;
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.api.minecraft.data.StructuredData;
+import com.viaversion.viaversion.api.minecraft.data.StructuredDataContainer;
+import com.viaversion.viaversion.api.minecraft.data.StructuredDataKey;
+import com.viaversion.viaversion.api.minecraft.data.version.StructuredDataKeys1_21_2;
+import com.viaversion.viaversion.api.minecraft.item.Item;
+import com.viaversion.viaversion.api.minecraft.item.StructuredItem;
+import com.viaversion.viaversion.api.protocol.Protocol;
+import com.viaversion.viaversion.api.protocol.packet.ClientboundPacketType;
+import com.viaversion.viaversion.api.protocol.packet.ServerboundPacketType;
+import com.viaversion.viaversion.common.PlatformTestBase;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.protocols.v1_21_11to26_1.Protocol1_21_11To26_1;
+import com.viaversion.viaversion.protocols.v1_21_4to1_21_5.Protocol1_21_4To1_21_5;
+import com.viaversion.viaversion.protocols.v1_21_5to1_21_6.Protocol1_21_5To1_21_6;
+import com.viaversion.viaversion.rewriter.StructuredItemRewriter;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StructuredItemRewriterTest extends PlatformTestBase {
+
+    @Test
+    void testFastPathMatchesFullRewrite() {
+        assertFastPathMatches(Via.getManager().getProtocolManager().getProtocol(Protocol1_21_4To1_21_5.class));
+        assertFastPathMatches(Via.getManager().getProtocolManager().getProtocol(Protocol1_21_5To1_21_6.class));
+        assertFastPathMatches(Via.getManager().getProtocolManager().getProtocol(Protocol1_21_11To26_1.class));
+    }
+
+    private static <C extends ClientboundPacketType, S extends ServerboundPacketType> void assertFastPathMatches(final Protocol<C, ?, ?, S> protocol) {
+        final StructuredItemRewriter<C, S, Protocol<C, ?, ?, S>> fastRewriter = new StructuredItemRewriter<>(protocol);
+        final StructuredItemRewriter<C, S, Protocol<C, ?, ?, S>> fullRewriter = new StructuredItemRewriter<>(protocol) {
+            @Override
+            protected void handleItemDataComponentsToClient(final UserConnection connection, final Item item, final StructuredDataContainer container) {
+                // Overriding without declaring the touched keys disables the fast path
+                super.handleItemDataComponentsToClient(connection, item, container);
+            }
+        };
+
+        final UserConnection connection = new UserConnectionImpl(null);
+        final Random random = new Random(protocol.getClass().getName().hashCode());
+        for (int i = 0; i < 1000; i++) {
+            final Item item = randomItem(protocol, random, true);
+            final Item fastItem = fastRewriter.handleItemToClient(connection, item.copy());
+            final Item fullItem = fullRewriter.handleItemToClient(connection, item.copy());
+            assertItemEquals(fullItem, fastItem, protocol.getClass().getSimpleName() + " item " + i);
+        }
+    }
+
+    private static Item randomItem(final Protocol<?, ?, ?, ?> protocol, final Random random, final boolean allowContainer) {
+        final StructuredItem item = new StructuredItem(random.nextInt(protocol.getMappingData().getItemMappings().size()), 1 + random.nextInt(64));
+        final StructuredDataContainer container = item.dataContainer();
+        container.setIdLookup(protocol, false);
+        if (random.nextBoolean()) {
+            container.set(StructuredDataKey.MAX_STACK_SIZE, 1 + random.nextInt(99));
+        }
+        if (random.nextBoolean()) {
+            container.set(StructuredDataKey.DAMAGE, random.nextInt(100));
+        }
+        if (random.nextBoolean()) {
+            container.set(StructuredDataKey.REPAIR_COST, random.nextInt(40));
+        }
+        if (random.nextBoolean()) {
+            container.set(StructuredDataKey.ENCHANTMENT_GLINT_OVERRIDE, random.nextBoolean());
+        }
+        if (random.nextInt(4) == 0) {
+            container.setEmpty(StructuredDataKey.MAX_DAMAGE);
+        }
+        if (allowContainer && random.nextInt(4) == 0) {
+            // Nested items go through the rewriter again, hitting the fast path on their own
+            final Item[] items = new Item[1 + random.nextInt(3)];
+            for (int i = 0; i < items.length; i++) {
+                items[i] = randomItem(protocol, random, false);
+            }
+            container.set(((StructuredDataKeys1_21_2) protocol.types().structuredDataKeys()).container, items);
+        }
+        return item;
+    }
+
+    private static void assertItemEquals(final Item expected, final Item actual, final String message) {
+        Assertions.assertEquals(expected.identifier(), actual.identifier(), message);
+        Assertions.assertEquals(expected.amount(), actual.amount(), message);
+
+        final Map<StructuredDataKey<?>, StructuredData<?>> expectedData = expected.dataContainer().data();
+        final Map<StructuredDataKey<?>, StructuredData<?>> actualData = actual.dataContainer().data();
+        Assertions.assertEquals(expectedData.keySet(), actualData.keySet(), message);
+        for (final Map.Entry<StructuredDataKey<?>, StructuredData<?>> entry : expectedData.entrySet()) {
+            final StructuredData<?> expectedValue = entry.getValue();
+            final StructuredData<?> actualValue = actualData.get(entry.getKey());
+            Assertions.assertEquals(expectedValue.id(), actualValue.id(), message + " " + entry.getKey());
+            Assertions.assertEquals(expectedValue.isEmpty(), actualValue.isEmpty(), message + " " + entry.getKey());
+            if (expectedValue.isEmpty()) {
+                continue;
+            }
+
+            if (expectedValue.value() instanceof final Item[] expectedItems) {
+                final Item[] actualItems = (Item[]) actualValue.value();
+                Assertions.assertEquals(expectedItems.length, actualItems.length, message);
+                for (int i = 0; i < expectedItems.length; i++) {
+                    assertItemEquals(expectedItems[i], actualItems[i], message + " container " + i);
+                }
+            } else {
+                Assertions.assertEquals(expectedValue.value(), actualValue.value(), message + " " + entry.getKey());
+            }
+        }
+    }
+}
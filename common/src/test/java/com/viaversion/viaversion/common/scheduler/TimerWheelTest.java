@@ -0,0 +1,141 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.scheduler;
+
+import com.viaversion.viaversion.api.connection.UserConnection;
+import com.viaversion.viaversion.common.PlatformTestBase;
+import com.viaversion.viaversion.connection.UserConnectionImpl;
+import com.viaversion.viaversion.scheduler.TimerWheel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class TimerWheelTest extends PlatformTestBase {
+
+    private static final long START = 100_000;
+    private final List<Long> runs = new ArrayList<>();
+
+    @Test
+    void testDeadlineRoundedUpToTick() {
+        final TimerWheel wheel = new TimerWheel(START);
+        wheel.schedule(connection(), START + 120, false, this::runOnce);
+
+        wheel.advance(START + 100);
+        Assertions.assertTrue(runs.isEmpty());
+        Assertions.assertEquals(1, wheel.size());
+
+        wheel.advance(START + 150);
+        Assertions.assertEquals(List.of(START + 150), runs);
+        Assertions.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testDueTaskRunsInNextTick() {
+        final TimerWheel wheel = new TimerWheel(START);
+        wheel.schedule(connection(), START - 500, false, this::runOnce);
+
+        wheel.advance(START);
+        Assertions.assertTrue(runs.isEmpty());
+
+        wheel.advance(START + 50);
+        Assertions.assertEquals(List.of(START + 50), runs);
+    }
+
+    @Test
+    void testTaskInLaterRound() {
+        final TimerWheel wheel = new TimerWheel(START);
+        final long deadline = START + 64 * TimerWheel.TICK_MILLIS + 150;
+        wheel.schedule(connection(), deadline, false, this::runOnce);
+
+        // Same bucket as the deadline, but one round of the wheel earlier
+        wheel.advance(START + 150);
+        Assertions.assertTrue(runs.isEmpty());
+        Assertions.assertEquals(1, wheel.size());
+
+        wheel.advance(deadline);
+        Assertions.assertEquals(List.of(deadline), runs);
+    }
+
+    @Test
+    void testCatchUpRunsTasksOnce() {
+        final TimerWheel wheel = new TimerWheel(START);
+        wheel.schedule(connection(), START + 100, false, this::runOnce);
+
+        wheel.advance(START + 10_000);
+        wheel.advance(START + 10_050);
+        Assertions.assertEquals(List.of(START + 10_000), runs);
+    }
+
+    @Test
+    void testRepeatingTask() {
+        final TimerWheel wheel = new TimerWheel(START);
+        wheel.schedule(connection(), START + 50, true, (connection, now) -> {
+            runs.add(now);
+            return runs.size() < 3 ? now + 100 : -1;
+        });
+
+        for (long now = START; now <= START + 1000; now += TimerWheel.TICK_MILLIS) {
+            wheel.advance(now);
+        }
+        Assertions.assertEquals(List.of(START + 50, START + 150, START + 250), runs);
+        Assertions.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testFailedTaskRetriedOnlyIfRepeating() {
+        final TimerWheel wheel = new TimerWheel(START);
+        final UserConnection connection = connection();
+        wheel.schedule(connection, START + 50, true, (c, now) -> {
+            runs.add(now);
+            throw new IllegalStateException("Test");
+        });
+        wheel.schedule(connection, START + 50, false, (c, now) -> {
+            throw new IllegalStateException("Test");
+        });
+
+        wheel.advance(START + 50);
+        Assertions.assertEquals(1, wheel.size());
+
+        wheel.advance(START + 1050);
+        Assertions.assertEquals(List.of(START + 50, START + 1050), runs);
+    }
+
+    @Test
+    void testClosedConnectionDropped() {
+        final TimerWheel wheel = new TimerWheel(START);
+        final UserConnection connection = connection();
+        wheel.schedule(connection, START + 50, false, this::runOnce);
+        wheel.schedule(connection(), START + 50, false, this::runOnce);
+
+        connection.getChannel().close();
+        wheel.advance(START + 50);
+        Assertions.assertEquals(1, runs.size());
+        Assertions.assertEquals(0, wheel.size());
+    }
+
+    private long runOnce(final UserConnection connection, final long now) {
+        runs.add(now);
+        return -1;
+    }
+
+    private static UserConnection connection() {
+        return new UserConnectionImpl(new EmbeddedChannel());
+    }
+}
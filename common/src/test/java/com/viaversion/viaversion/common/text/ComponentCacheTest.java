@@ -0,0 +1,109 @@
+/*
+ * This file is part of ViaVersion - https://github.com/ViaVersion/ViaVersion
+ * Copyright (C) 2016-2025 ViaVersion and contributors
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package com.viaversion.viaversion.common.text;
+
+import com.viaversion.nbt.tag.CompoundTag;
+import com.viaversion.nbt.tag.StringTag;
+import com.viaversion.viaversion.api.type.types.misc.RawTagType;
+import com.viaversion.viaversion.rewriter.text.ComponentCache;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ComponentCacheTest {
+
+    @Test
+    void testTagComponents() {
+        final ComponentCache cache = new ComponentCache(16 * 1024);
+        final AtomicInteger rewrites = new AtomicInteger();
+        final CompoundTag rewritten = rewrite(cache, component("a"), rewrites);
+        Assertions.assertEquals("b", rewritten.getString("translate"));
+
+        // Equal tags hit the cache, each parsing their own copy to be modified by later rewriters
+        final CompoundTag cached = rewrite(cache, component("a"), rewrites);
+        Assertions.assertEquals(rewritten, cached);
+        Assertions.assertNotSame(rewritten, cached);
+        cached.putString("translate", "c");
+        Assertions.assertEquals("b", rewrite(cache, component("a"), rewrites).getString("translate"));
+        Assertions.assertEquals(1, rewrites.get());
+
+        rewrite(cache, component("c"), rewrites);
+        Assertions.assertEquals(2, rewrites.get());
+        Assertions.assertEquals(2, cache.tagStats().hitCount());
+    }
+
+    @Test
+    void testEmptyTagComponent() {
+        final ComponentCache cache = new ComponentCache(16 * 1024);
+        final byte[] empty = RawTagType.serialize(null);
+        Assertions.assertSame(empty, cache.rewriteTag(empty, tag -> Assertions.fail()));
+    }
+
+    @Test
+    void testSizeBound() {
+        final ComponentCache cache = new ComponentCache(64);
+        final AtomicInteger rewrites = new AtomicInteger();
+        final UnaryOperator<String> rewriter = value -> {
+            rewrites.incrementAndGet();
+            return value;
+        };
+
+        // Entries larger than the budget are not kept
+        final String large = "\"" + "a".repeat(64) + "\"";
+        cache.rewriteText(large, rewriter);
+        cache.rewriteText(large, rewriter);
+        Assertions.assertEquals(2, rewrites.get());
+
+        final String small = "\"a\"";
+        cache.rewriteText(small, rewriter);
+        cache.rewriteText(small, rewriter);
+        Assertions.assertEquals(3, rewrites.get());
+    }
+
+    @Test
+    void testTextComponents() {
+        final ComponentCache cache = new ComponentCache(16 * 1024);
+        final AtomicInteger rewrites = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals("{\"translate\":\"b\"}", cache.rewriteText("{\"translate\":\"a\"}", value -> {
+                rewrites.incrementAndGet();
+                return value.replace("\"a\"", "\"b\"");
+            }));
+        }
+        Assertions.assertEquals(1, rewrites.get());
+    }
+
+    private static CompoundTag rewrite(final ComponentCache cache, final CompoundTag component, final AtomicInteger rewrites) {
+        final byte[] rewritten = cache.rewriteTag(RawTagType.serialize(component), tag -> {
+            rewrites.incrementAndGet();
+            final CompoundTag compoundTag = (CompoundTag) tag;
+            if (compoundTag.getString("translate").equals("a")) {
+                compoundTag.putString("translate", "b");
+            }
+        });
+        return (CompoundTag) RawTagType.parse(rewritten);
+    }
+
+    private static CompoundTag component(final String translate) {
+        final CompoundTag tag = new CompoundTag();
+        tag.putString("translate", translate);
+        tag.put("with", new StringTag("x"));
+        return tag;
+    }
+}